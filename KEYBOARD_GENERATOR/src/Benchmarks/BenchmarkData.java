@@ -0,0 +1,102 @@
+package Benchmarks;
+
+import Domain.Alphabet;
+
+import java.util.Random;
+
+/**
+ * BenchmarkData generates the inputs of the benchmarks from fixed seeds, so that every run measures exactly the same
+ * work and the results of two versions of the code can be compared.
+ */
+public final class BenchmarkData {
+
+    /**
+     * The seed of every input.
+     */
+    public static final long SEED = 20240101L;
+
+    /**
+     * The characters from which the alphabets are taken. The first one is the blank that separates the words.
+     */
+    private static final String CHARACTERS = " ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789.,-!?";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Gives an alphabet with the first characters of the benchmarks, including the blank.
+     *
+     * @param numChars The number of characters, at most 42.
+     * @return The alphabet.
+     */
+    public static Alphabet alphabet(int numChars) {
+        return new Alphabet("Benchmark" + numChars, CHARACTERS.substring(0, numChars).toCharArray());
+    }
+
+    /**
+     * Gives a transition matrix whose transits decrease with the distance between the characters in the alphabet,
+     * as in a natural language, where a few transitions are much more frequent than the others.
+     *
+     * @param numChars The number of characters.
+     * @return The transits between every pair of characters.
+     */
+    public static int[][] transitTable(int numChars) {
+        Random random = new Random(SEED + numChars);
+        int[][] transitTable = new int[numChars][numChars];
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j) transitTable[i][j] = random.nextInt(1000) / (1 + Math.abs(i - j));
+            }
+        }
+        return transitTable;
+    }
+
+    /**
+     * Gives a text of random words of the given alphabet, separated by blanks and split in lines.
+     *
+     * @param numChars The number of characters of the alphabet used, including the blank.
+     * @param length   The number of characters of the text.
+     * @return The text.
+     */
+    public static String text(int numChars, int length) {
+        Random random = new Random(SEED + length);
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            int wordLength = 1 + random.nextInt(8);
+            for (int k = 0; k < wordLength && text.length() < length; ++k) text.append(CHARACTERS.charAt(1 + random.nextInt(numChars - 1)));
+            if (text.length() < length) text.append(random.nextInt(12) == 0 ? '\n' : ' ');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gives a list of random words of the given alphabet.
+     *
+     * @param numChars The number of characters of the alphabet used, including the blank, which the words do not contain.
+     * @param numWords The number of words.
+     * @return The words.
+     */
+    public static String[] words(int numChars, int numWords) {
+        Random random = new Random(SEED + numWords);
+        String[] words = new String[numWords];
+        for (int w = 0; w < numWords; ++w) {
+            StringBuilder word = new StringBuilder();
+            int wordLength = 2 + random.nextInt(9);
+            for (int k = 0; k < wordLength; ++k) word.append(CHARACTERS.charAt(1 + random.nextInt(numChars - 1)));
+            words[w] = word.toString();
+        }
+        return words;
+    }
+
+    /**
+     * Gives the frequencies of a list of words, following Zipf's law as the words of a natural language.
+     *
+     * @param numWords The number of words.
+     * @return The frequency of every word.
+     */
+    public static int[] frequencies(int numWords) {
+        int[] frequencies = new int[numWords];
+        for (int w = 0; w < numWords; ++w) frequencies[w] = 1 + 100000 / (w + 1);
+        return frequencies;
+    }
+}
@@ -0,0 +1,75 @@
+package Benchmarks;
+
+import Domain.ArrayKernels;
+import Domain.BoundStrategy;
+import Domain.FlowMatrix;
+import Domain.GilmoreLawlerBound;
+import Domain.SlotDistanceTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the GilmoreLawlerBound of the QAPAlgorithm with a quarter of the characters placed, which is where the
+ * kernels of ArrayKernels spend most of the search. Run with "make benchmarks-simd" to compare the SIMD kernels with
+ * the scalar ones of "make benchmarks".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoundBenchmark {
+
+    /**
+     * The number of characters of the Keyboard.
+     */
+    @Param({"20", "30", "42"})
+    public int numChars;
+
+    /**
+     * The way the reduced assignment problem of the bound is solved.
+     */
+    @Param({"ROW_MINIMUM", "LINEAR_ASSIGNMENT"})
+    public BoundStrategy strategy;
+
+    private GilmoreLawlerBound bound;
+    private int[][] availableChars;
+    private int depth;
+    private int next;
+
+    /**
+     * Places the first quarter of the characters on the first slots.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int cols = (int) Math.sqrt(numChars);
+        int rows = (int) Math.ceil((double) numChars / cols);
+        bound = new GilmoreLawlerBound(new FlowMatrix(BenchmarkData.transitTable(numChars)), SlotDistanceTable.get(rows, cols), strategy);
+        depth = numChars / 4;
+        availableChars = new int[numChars][2];
+        for (int i = 0; i < numChars; ++i) {
+            availableChars[i][0] = i;
+            availableChars[i][1] = i < depth ? 0 : 1;
+        }
+        for (int i = 0; i < depth; ++i) bound.place(i, i);
+        next = depth;
+        System.out.println("Kernels: " + ArrayKernels.get().getName());
+    }
+
+    /**
+     * Measures {@code GilmoreLawlerBound#calculateBound} for each of the characters not placed in turn.
+     *
+     * @return The bound, consumed by JMH.
+     */
+    @Benchmark
+    public double calculateBound() {
+        int character = next;
+        next = next == numChars - 1 ? depth : next + 1;
+        availableChars[character][1] = 0;
+        double result = bound.calculateBound(depth, character, availableChars);
+        availableChars[character][1] = 1;
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package Benchmarks;
+
+import Domain.Alphabet;
+import Domain.Text;
+import Domain.WordFrequencyList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of the transition matrices from a Text and from a WordFrequencyList, on fixed-seed
+ * inputs of several sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestionBenchmark {
+
+    /**
+     * The number of characters of the alphabet.
+     */
+    private static final int NUM_CHARS = 30;
+
+    /**
+     * The number of characters of the text, and ten times the number of words of the list.
+     */
+    @Param({"1000", "100000"})
+    public int size;
+
+    private Alphabet alphabet;
+    private String text;
+    private String[] words;
+    private int[] frequencies;
+
+    /**
+     * Generates the alphabet, the text and the list of words.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        alphabet = BenchmarkData.alphabet(NUM_CHARS);
+        text = BenchmarkData.text(NUM_CHARS, size);
+        words = BenchmarkData.words(NUM_CHARS, size / 10);
+        frequencies = BenchmarkData.frequencies(size / 10);
+    }
+
+    /**
+     * Measures the construction of a Text.
+     *
+     * @return The transition matrix, consumed by JMH.
+     */
+    @Benchmark
+    public int[][] text() {
+        return new Text("Benchmark", text, alphabet).getTransitionMatrix();
+    }
+
+    /**
+     * Measures the construction of a WordFrequencyList.
+     *
+     * @return The transition matrix, consumed by JMH.
+     */
+    @Benchmark
+    public int[][] wordFrequencyList() {
+        return new WordFrequencyList("Benchmark", frequencies, words, alphabet).getTransitionMatrix();
+    }
+}
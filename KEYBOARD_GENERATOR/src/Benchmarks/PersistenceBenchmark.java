@@ -0,0 +1,137 @@
+package Benchmarks;
+
+import Domain.BoundStrategy;
+import Domain.QAPCheckpoint;
+import Persistence.PersistenceController;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the load paths of the Persistence layer: the files uploaded to create a Text, a list of words and their
+ * frequencies, and the checkpoints of the QAPAlgorithm.
+ * The files are generated in a temporary directory from fixed seeds, so the benchmark neither depends on nor
+ * modifies the data of the user.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    /**
+     * The number of characters of the alphabet.
+     */
+    private static final int NUM_CHARS = 30;
+
+    /**
+     * The number of characters of the text, and ten times the number of words of the list.
+     */
+    @Param({"1000", "100000"})
+    public int size;
+
+    private PersistenceController persistence;
+    private Path directory;
+    private String textFile;
+    private String wordsFile;
+    private String frequenciesFile;
+    private byte[] checkpoint;
+
+    /**
+     * Writes the files to load.
+     *
+     * @throws IOException If the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        persistence = new PersistenceController();
+        directory = Files.createTempDirectory("benchmark");
+        textFile = write("text.txt", BenchmarkData.text(NUM_CHARS, size).replace('\n', ' '));
+        wordsFile = write("words.txt", String.join("\n", BenchmarkData.words(NUM_CHARS, size / 10)));
+        StringBuilder frequencies = new StringBuilder();
+        for (int frequency : BenchmarkData.frequencies(size / 10)) frequencies.append(frequency).append('\n');
+        frequenciesFile = write("frequencies.txt", frequencies.toString());
+
+        int[][] transitTable = BenchmarkData.transitTable(NUM_CHARS);
+        int[][] positions = new int[6][5];
+        for (int slot = 0; slot < NUM_CHARS; ++slot) positions[slot / 5][slot % 5] = slot;
+        List<int[]> frontier = new ArrayList<>();
+        for (int k = 0; k < size / 10; ++k) frontier.add(new int[] {2, k % NUM_CHARS, (k + 1) % NUM_CHARS});
+        checkpoint = new QAPCheckpoint(transitTable, 6, 5, null, BoundStrategy.ROW_MINIMUM, true,
+                positions, 0, 0, 0, frontier).toBytes();
+    }
+
+    /**
+     * Deletes the files.
+     *
+     * @throws IOException If the files cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        for (String name : new String[] {"text.txt", "words.txt", "frequencies.txt"}) Files.deleteIfExists(directory.resolve(name));
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Writes a file of the temporary directory.
+     *
+     * @param name    The name of the file.
+     * @param content The content of the file.
+     * @return The path of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private String write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content).toString();
+    }
+
+    /**
+     * Measures the load of an uploaded text.
+     *
+     * @return The text, consumed by JMH.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public String textFile() throws IOException {
+        return persistence.getTextFile(textFile);
+    }
+
+    /**
+     * Measures the load of an uploaded list of words.
+     *
+     * @return The words, consumed by JMH.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public String[] wordsFile() throws IOException {
+        return persistence.getWordsFile(wordsFile);
+    }
+
+    /**
+     * Measures the load of an uploaded list of frequencies.
+     *
+     * @return The frequencies, consumed by JMH.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public int[] frequenciesFile() throws IOException {
+        return persistence.getFrequenciesFile(frequenciesFile);
+    }
+
+    /**
+     * Measures the deserialization of a checkpoint of the QAPAlgorithm.
+     *
+     * @return The checkpoint, consumed by JMH.
+     * @throws IOException If the bytes are not a checkpoint.
+     */
+    @Benchmark
+    public QAPCheckpoint checkpoint() throws IOException {
+        return QAPCheckpoint.fromBytes(checkpoint);
+    }
+}
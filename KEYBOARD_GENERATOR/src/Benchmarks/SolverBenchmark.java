@@ -0,0 +1,76 @@
+package Benchmarks;
+
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.QAPAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the algorithms that create a Keyboard and the KeyboardAvaluator on fixed-seed transition matrices of 10 to
+ * 30 characters. The QAPAlgorithm runs with its default node budget, so every invocation expands the same nodes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    /**
+     * The number of characters of the Keyboard.
+     */
+    @Param({"10", "20", "30"})
+    public int numChars;
+
+    private int[][] transitTable;
+    private int[][] greedyPositions;
+    private int greedyCost;
+
+    /**
+     * Generates the transition matrix and the Keyboard of the GreedyAlgorithm, which is where the QAPAlgorithm starts.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        transitTable = BenchmarkData.transitTable(numChars);
+        greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        greedyCost = (int) new KeyboardAvaluator().getTotalCost(greedyPositions, transitTable);
+    }
+
+    /**
+     * Measures {@code GreedyAlgorithm#getPositions}.
+     *
+     * @return The positions of the characters, consumed by JMH.
+     */
+    @Benchmark
+    public int[][] greedy() {
+        return new GreedyAlgorithm().getPositions(transitTable);
+    }
+
+    /**
+     * Measures {@code QAPAlgorithm#getPositions} from the Keyboard of the GreedyAlgorithm.
+     *
+     * @return The positions of the characters, consumed by JMH.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int[][] qap() {
+        return new QAPAlgorithm().getPositions(transitTable, greedyPositions, greedyCost);
+    }
+
+    /**
+     * Measures {@code KeyboardAvaluator#avaluateKeyboard}.
+     *
+     * @return The evaluation of the Keyboard, consumed by JMH.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double avaluateKeyboard() {
+        return new KeyboardAvaluator().avaluateKeyboard(greedyPositions, transitTable);
+    }
+}
@@ -0,0 +1,40 @@
+package Domain;
+
+/**
+ * The capabilities that a KeyboardAlgorithm can declare, so that the callers can choose an algorithm and its
+ * parameters without knowing how it works.
+ */
+public enum AlgorithmCapability {
+    /**
+     * The algorithm can prove that its Keyboard is optimal, and computes a lower bound of the cost.
+     */
+    EXACT,
+
+    /**
+     * The algorithm improves its Keyboard while it runs and can be stopped at any time with the best Keyboard found,
+     * so it honours the time and node limits of the budget.
+     */
+    ANYTIME,
+
+    /**
+     * The algorithm runs on several threads.
+     */
+    PARALLEL,
+
+    /**
+     * The algorithm keeps the pinned characters of the parameters on their slots, and only places the others.
+     */
+    PINNED_KEYS,
+
+    /**
+     * The algorithm saves checkpoints of its search in the checkpoint store of the parameters, from which the search
+     * can be resumed after it is stopped or the program is closed.
+     */
+    CHECKPOINT,
+
+    /**
+     * The algorithm uses the distances between the slots of the parameters instead of the ones of the grid of the
+     * Keyboard, so it can solve any instance of the Quadratic Assignment Problem with symmetric distances.
+     */
+    CUSTOM_DISTANCES
+}
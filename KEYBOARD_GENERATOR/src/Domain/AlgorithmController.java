@@ -1,21 +1,75 @@
 package Domain;
 
+import java.util.Arrays;
+
 /**
  * AlgorithmController is responsible for the creation of Keyboard
  * distributions, given a TransitionMatrix and a
  * chosen available algorithm.
+ * The algorithms are looked up by name in a KeyboardAlgorithmRegistry, and every
+ * run uses its own solvers, so several searches can run at the same time.
  */
 public class AlgorithmController {
 
-    private GreedyAlgorithm greedy;
-    private QAPAlgorithmController qapController;
+    /**
+     * The suffix of the name of an algorithm that makes the LocalSearch improve the Keyboard found by the algorithm,
+     * for example "Greedy+LocalSearch".
+     */
+    public static final String LOCAL_SEARCH_SUFFIX = "+LocalSearch";
+
+    private final KeyboardAlgorithmRegistry registry;
 
     /**
-     * Constructs an AlgorithmController with instances of GreedyAlgorithm and QAPAlgorithmController.
+     * Constructs an AlgorithmController with the algorithms of the application and the
+     * ones discovered on the classpath.
      */
     public AlgorithmController() {
-        greedy = new GreedyAlgorithm();
-        qapController = new QAPAlgorithmController();
+        registry = new KeyboardAlgorithmRegistry();
+    }
+
+    /**
+     * Constructs an AlgorithmController with the algorithms of the given registry.
+     *
+     * @param registry The registry of the available algorithms.
+     */
+    public AlgorithmController(KeyboardAlgorithmRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the registry of the available algorithms.
+     *
+     * @return The registry.
+     */
+    public KeyboardAlgorithmRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Gets the names of the algorithms that can be chosen to create a Keyboard: the ones of the registry, followed by
+     * the Greedy algorithm improved by the LocalSearch, whose name ends with LOCAL_SEARCH_SUFFIX.
+     *
+     * @return The names, in the order they have been registered.
+     */
+    public String[] getAlgorithmNames() {
+        String[] registered = registry.getNames();
+        if (registry.get("Greedy") == null) return registered;
+        String[] names = Arrays.copyOf(registered, registered.length + 1);
+        names[registered.length] = "Greedy" + LOCAL_SEARCH_SUFFIX;
+        return names;
+    }
+
+    /**
+     * Gets the budget that the specified algorithm uses when it is given none.
+     *
+     * @param algorithm The chosen algorithm, optionally followed by LOCAL_SEARCH_SUFFIX.
+     * @param numChars  The number of characters of the Keyboard.
+     * @return The default budget of the algorithm, or null if the algorithm does not exist.
+     */
+    public SolverBudget getDefaultBudget(String algorithm, int numChars) {
+        if (algorithm.endsWith(LOCAL_SEARCH_SUFFIX)) algorithm = algorithm.substring(0, algorithm.length() - LOCAL_SEARCH_SUFFIX.length());
+        KeyboardAlgorithm keyboardAlgorithm = registry.get(algorithm);
+        return keyboardAlgorithm == null ? null : keyboardAlgorithm.getDefaultBudget(numChars);
     }
 
     /**
@@ -30,8 +84,117 @@ public class AlgorithmController {
      *         algorithm.
      */
     public int[][] useAlgorithm(int[][] transitTable, String algorithm) {
-        if (algorithm.equals("Greedy")) return greedy.getPositions(transitTable);
-        else if (algorithm.equals("QAP")) return qapController.getPositions(transitTable);
-        else return new int[][] {{ -1 }};
+        return useAlgorithm(transitTable, algorithm, (SolverBudget) null).getPositions();
+    }
+
+    /**
+     * Uses the specified algorithm and TransitionMatrix to find the positions of
+     * the characters of a Keyboard, within the given budget.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix,
+     *                     representing the number of times between 2 letters that
+     *                     the first letter will be written after the second letter.
+     * @param algorithm    The chosen algorithm to use, optionally followed by
+     *                     LOCAL_SEARCH_SUFFIX to improve its Keyboard with the LocalSearch.
+     * @param budget       The limits of the search, used by the anytime algorithms, or
+     *                     null for the default budget of the algorithm.
+     * @return The best Keyboard found by the specified algorithm, along with the
+     *         elapsed time, the nodes explored and the root lower bound. Its positions
+     *         are {{-1}} if the algorithm does not exist.
+     */
+    public SolverResult useAlgorithm(int[][] transitTable, String algorithm, SolverBudget budget) {
+        return useAlgorithm(transitTable, algorithm, new AlgorithmParameters(budget), null);
+    }
+
+    /**
+     * Uses the specified algorithm and TransitionMatrix to find the positions of
+     * the characters of a Keyboard, within the given budget, sharing its progress
+     * with the given incumbent.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix,
+     *                     representing the number of times between 2 letters that
+     *                     the first letter will be written after the second letter.
+     * @param algorithm    The chosen algorithm to use, optionally followed by
+     *                     LOCAL_SEARCH_SUFFIX to improve its Keyboard with the LocalSearch.
+     * @param budget       The limits of the search, used by the anytime algorithms, or
+     *                     null for the default budget of the algorithm.
+     * @param incumbent    The incumbent that gets the progress of the search, or null
+     *                     if nobody follows it.
+     * @return The best Keyboard found by the specified algorithm, along with the
+     *         elapsed time, the nodes explored and the root lower bound. Its positions
+     *         are {{-1}} if the algorithm does not exist.
+     */
+    public SolverResult useAlgorithm(int[][] transitTable, String algorithm, SolverBudget budget, QAPIncumbent incumbent) {
+        return useAlgorithm(transitTable, algorithm, new AlgorithmParameters(budget), incumbent);
+    }
+
+    /**
+     * Uses the specified algorithm and TransitionMatrix to find the positions of
+     * the characters of a Keyboard with the given parameters, sharing its progress
+     * with the given incumbent.
+     * The algorithm offers every better Keyboard it finds to the incumbent, reports
+     * its nodes or iterations to it, and stops as soon as the incumbent is stopped,
+     * so that a GenerationHandle can publish the progress and cancel the search.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix,
+     *                     representing the number of times between 2 letters that
+     *                     the first letter will be written after the second letter.
+     * @param algorithm    The chosen algorithm to use, optionally followed by
+     *                     LOCAL_SEARCH_SUFFIX to improve its Keyboard with the LocalSearch.
+     * @param parameters   The budget, seed and threads of the run.
+     * @param incumbent    The incumbent that gets the progress of the search, or null
+     *                     if nobody follows it.
+     * @return The best Keyboard found by the specified algorithm, along with the
+     *         elapsed time, the nodes explored and the root lower bound. Its positions
+     *         are {{-1}} if the algorithm does not exist, or if the parameters pin
+     *         characters and the algorithm cannot keep them on their slots.
+     */
+    public SolverResult useAlgorithm(int[][] transitTable, String algorithm, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        SolverResult result = solve(transitTable, algorithm, parameters, incumbent);
+        if (incumbent != null && result.getPositions()[0][0] != -1) {
+            incumbent.offer(new QAPPartialSolution(result.getPositions(), result.getCost()));
+        }
+        return result;
+    }
+
+    /**
+     * Runs the specified algorithm, followed by the LocalSearch if its name ends with LOCAL_SEARCH_SUFFIX.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix.
+     * @param algorithm    The chosen algorithm to use, optionally followed by LOCAL_SEARCH_SUFFIX.
+     * @param parameters   The budget, seed and threads of the run.
+     * @param incumbent    The incumbent that gets the progress of the search, or null.
+     * @return The best Keyboard found by the specified algorithm, whose positions are {{-1}} if it does not exist or
+     * the parameters pin characters and it does not have the capability {@link AlgorithmCapability#PINNED_KEYS}, or
+     * give the distances between the slots and it does not have the capability
+     * {@link AlgorithmCapability#CUSTOM_DISTANCES}.
+     */
+    private SolverResult solve(int[][] transitTable, String algorithm, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        if (algorithm.endsWith(LOCAL_SEARCH_SUFFIX)) {
+            String base = algorithm.substring(0, algorithm.length() - LOCAL_SEARCH_SUFFIX.length());
+            SolverResult result = solve(transitTable, base, parameters, incumbent);
+            if (result.getPositions()[0][0] == -1) return result;
+            int threads = parameters.getThreads() > 0 ? parameters.getThreads() : Runtime.getRuntime().availableProcessors();
+            LocalSearch localSearch = new LocalSearch(threads);
+            localSearch.setIncumbent(incumbent);
+            localSearch.setPinnedSlots(parameters.getPinnedSlots());
+            localSearch.setDistances(parameters.getDistances());
+            SolverResult improved = localSearch.solve(transitTable, result.getPositions(), LocalSearch.getDefaultBudget(transitTable.length));
+            return new SolverResult(improved.getPositions(), improved.getCost(), result.getRootBound(),
+                    result.getNodes() + improved.getNodes(), result.getElapsedTime() + improved.getElapsedTime(),
+                    result.isOptimal() && improved.getNodes() == 0, result.getStats());
+        }
+
+        KeyboardAlgorithm keyboardAlgorithm = registry.get(algorithm);
+        if (keyboardAlgorithm == null) return new SolverResult(new int[][] {{ -1 }}, 0, 0, 0, 0, false);
+        // An algorithm that does not keep the pinned characters would move them
+        if (parameters.getPinnedSlots() != null && !keyboardAlgorithm.getCapabilities().contains(AlgorithmCapability.PINNED_KEYS)) {
+            return new SolverResult(new int[][] {{ -1 }}, 0, 0, 0, 0, false);
+        }
+        // An algorithm that does not use the given distances would optimize the grid instead
+        if (parameters.getDistances() != null && !keyboardAlgorithm.getCapabilities().contains(AlgorithmCapability.CUSTOM_DISTANCES)) {
+            return new SolverResult(new int[][] {{ -1 }}, 0, 0, 0, 0, false);
+        }
+        return keyboardAlgorithm.solve(transitTable, parameters, incumbent);
     }
-}
\ No newline at end of file
+}
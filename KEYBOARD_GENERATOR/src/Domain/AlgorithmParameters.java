@@ -0,0 +1,157 @@
+package Domain;
+
+/**
+ * Represents the parameters of a run of a KeyboardAlgorithm. Every parameter has a value that means "the default of
+ * the algorithm", and the algorithms ignore the parameters that they do not use.
+ */
+public class AlgorithmParameters {
+    /**
+     * The limits of the search, or null for the default budget of the algorithm.
+     */
+    private SolverBudget budget;
+    /**
+     * The seed of the random number generator, or null for a random seed.
+     */
+    private Long seed;
+    /**
+     * The number of threads, or 0 for the default number of threads of the algorithm.
+     */
+    private int threads;
+    /**
+     * The positions of the characters from which the search starts, or null to start from the Keyboard of the
+     * GreedyAlgorithm.
+     */
+    private int[][] initialPositions;
+    /**
+     * The slot of every character that must not move, or null if no character is pinned.
+     */
+    private int[] pinnedSlots;
+    /**
+     * The store where the search saves its checkpoints, or null to not save any checkpoint.
+     */
+    private QAPCheckpointStore checkpointStore;
+    /**
+     * The distances between the slots, or null for the distances of the grid of the GreedyAlgorithm.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Constructs AlgorithmParameters with the default value of every parameter.
+     */
+    public AlgorithmParameters() {
+    }
+
+    /**
+     * Constructs AlgorithmParameters with the given budget and the default value of the other parameters.
+     *
+     * @param budget The limits of the search, or null for the default budget of the algorithm.
+     */
+    public AlgorithmParameters(SolverBudget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the limits of the search.
+     *
+     * @return The budget, or null for the default budget of the algorithm.
+     */
+    public SolverBudget getBudget() {return budget;}
+
+    /**
+     * Sets the limits of the search.
+     *
+     * @param budget The budget, or null for the default budget of the algorithm.
+     */
+    public void setBudget(SolverBudget budget) {this.budget = budget;}
+
+    /**
+     * Gets the seed of the random number generator, used by the randomized algorithms to make their runs
+     * reproducible.
+     *
+     * @return The seed, or null for a random seed.
+     */
+    public Long getSeed() {return seed;}
+
+    /**
+     * Sets the seed of the random number generator.
+     *
+     * @param seed The seed, or null for a random seed.
+     */
+    public void setSeed(Long seed) {this.seed = seed;}
+
+    /**
+     * Gets the number of threads used by the parallel algorithms.
+     *
+     * @return The number of threads, or 0 for the default number of threads of the algorithm.
+     */
+    public int getThreads() {return threads;}
+
+    /**
+     * Sets the number of threads used by the parallel algorithms.
+     *
+     * @param threads The number of threads, or 0 for the default number of threads of the algorithm.
+     */
+    public void setThreads(int threads) {this.threads = Math.max(0, threads);}
+
+    /**
+     * Gets the positions of the characters from which the algorithms that improve a Keyboard start their search,
+     * for example to reoptimize a Keyboard modified by the user.
+     *
+     * @return The initial positions, negative on the empty slots, or null to start from the Keyboard of the GreedyAlgorithm.
+     */
+    public int[][] getInitialPositions() {return initialPositions;}
+
+    /**
+     * Sets the positions of the characters from which the algorithms that improve a Keyboard start their search.
+     *
+     * @param initialPositions The initial positions, negative on the empty slots, or null to start from the Keyboard of the GreedyAlgorithm.
+     */
+    public void setInitialPositions(int[][] initialPositions) {this.initialPositions = initialPositions;}
+
+    /**
+     * Gets the slots of the pinned characters, which the algorithms with the capability
+     * {@link AlgorithmCapability#PINNED_KEYS} keep on their slots. The slots are numbered in row-major order on the
+     * grid of the GreedyAlgorithm.
+     *
+     * @return The slot of every character, or -1 if it is not pinned; null if no character is pinned.
+     */
+    public int[] getPinnedSlots() {return pinnedSlots;}
+
+    /**
+     * Sets the slots of the pinned characters.
+     *
+     * @param pinnedSlots The slot of every character, or -1 if it is not pinned; null if no character is pinned.
+     */
+    public void setPinnedSlots(int[] pinnedSlots) {this.pinnedSlots = pinnedSlots;}
+
+    /**
+     * Gets the store where the algorithms with the capability {@link AlgorithmCapability#CHECKPOINT} save the
+     * checkpoints of their search.
+     *
+     * @return The checkpoint store, or null to not save any checkpoint.
+     */
+    public QAPCheckpointStore getCheckpointStore() {return checkpointStore;}
+
+    /**
+     * Sets the store where the algorithms save the checkpoints of their search.
+     *
+     * @param checkpointStore The checkpoint store, or null to not save any checkpoint.
+     */
+    public void setCheckpointStore(QAPCheckpointStore checkpointStore) {this.checkpointStore = checkpointStore;}
+
+    /**
+     * Gets the distances between the slots used by the algorithms with the capability
+     * {@link AlgorithmCapability#CUSTOM_DISTANCES} instead of the ones of the grid. The Keyboards then have a single
+     * row with a slot for every character.
+     *
+     * @return The distances, or null for the distances of the grid of the GreedyAlgorithm.
+     */
+    public SlotDistanceTable getDistances() {return distances;}
+
+    /**
+     * Sets the distances between the slots.
+     *
+     * @param distances The distances, with a slot for every character, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {this.distances = distances;}
+}
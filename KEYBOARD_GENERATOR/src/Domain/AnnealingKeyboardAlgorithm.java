@@ -0,0 +1,34 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "Annealing", which improves the Keyboard of the GreedyAlgorithm with the SimulatedAnnealing.
+ * It uses the budget, the seed, the initial positions and the distances of the parameters.
+ */
+public class AnnealingKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Annealing";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.ANYTIME, AlgorithmCapability.CUSTOM_DISTANCES);
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return SimulatedAnnealing.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        SimulatedAnnealing annealing = parameters.getSeed() == null ? new SimulatedAnnealing() : new SimulatedAnnealing(parameters.getSeed());
+        annealing.setIncumbent(incumbent);
+        annealing.setDistances(parameters.getDistances());
+        return annealing.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
@@ -0,0 +1,106 @@
+package Domain;
+
+/**
+ * ArrayKernels computes the inner loops of the bound of the QAPAlgorithm and of the KeyboardAvaluator, which are dot
+ * products and linear combinations of transits and distances kept in flat primitive arrays.
+ * The kernels are chosen once, when the class is loaded: the SIMD kernels of the class Simd.SimdArrayKernels, which use
+ * the incubating Vector API of the JDK, if they have been compiled and the JVM runs with the module
+ * jdk.incubator.vector; otherwise, or if the system property keyboard.simd is false, the scalar kernels.
+ * Both kernels give the same results up to the rounding of the sums, whose order may differ.
+ */
+public abstract class ArrayKernels {
+
+    /**
+     * The name of the class of the SIMD kernels, which is only compiled with the module jdk.incubator.vector.
+     */
+    private static final String SIMD_KERNELS = "Simd.SimdArrayKernels";
+
+    /**
+     * The kernels used by the application.
+     */
+    private static final ArrayKernels INSTANCE = select();
+
+    /**
+     * Gets the kernels used by the application.
+     *
+     * @return The SIMD kernels if they are available, otherwise the scalar kernels.
+     */
+    public static ArrayKernels get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Chooses the kernels used by the application.
+     *
+     * @return The SIMD kernels if they are available and not disabled, otherwise the scalar kernels.
+     */
+    private static ArrayKernels select() {
+        if (!Boolean.parseBoolean(System.getProperty("keyboard.simd", "true"))) return new ScalarArrayKernels();
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return new ScalarArrayKernels();
+        try {
+            return (ArrayKernels) Class.forName(SIMD_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // The SIMD kernels have not been compiled, or the processor does not have vector registers
+            return new ScalarArrayKernels();
+        }
+    }
+
+    /**
+     * Gets the name of the kernels, to be logged.
+     *
+     * @return The name of the kernels.
+     */
+    public abstract String getName();
+
+    /**
+     * Calculates the dot product of a vector of transits and a vector of distances.
+     *
+     * @param a       The transits.
+     * @param aOffset The position of the first transit.
+     * @param b       The distances.
+     * @param bOffset The position of the first distance.
+     * @param length  The number of elements of the vectors.
+     * @return The sum of a[aOffset + k] * b[bOffset + k].
+     */
+    public abstract double dot(int[] a, int aOffset, double[] b, int bOffset, int length);
+
+    /**
+     * Adds a vector of distances multiplied by a number of transits to another vector.
+     *
+     * @param alpha     The number of transits.
+     * @param x         The distances.
+     * @param xOffset   The position of the first distance.
+     * @param y         The vector added.
+     * @param yOffset   The position of the first element of the vector added.
+     * @param out       The vector where the result is written, which may not overlap the other ones.
+     * @param outOffset The position of the first element of the result.
+     * @param length    The number of elements of the vectors.
+     */
+    public abstract void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length);
+
+    /**
+     * Calculates the dot product of a vector of distances and the flows picked from a row of a FlowMatrix.
+     *
+     * @param a           The distances.
+     * @param aOffset     The position of the first distance.
+     * @param flow        The flow of a FlowMatrix.
+     * @param flowOffset  The position of the row of the flow.
+     * @param index       The column of the flow of every element.
+     * @param indexOffset The position of the first column.
+     * @param length      The number of elements of the vectors.
+     * @return The sum of a[aOffset + k] * flow[flowOffset + index[indexOffset + k]].
+     */
+    public abstract double dotGather(double[] a, int aOffset, long[] flow, int flowOffset, int[] index, int indexOffset, int length);
+
+    /**
+     * Sums the flows picked from a row of a FlowMatrix.
+     *
+     * @param flow        The flow of a FlowMatrix.
+     * @param flowOffset  The position of the row of the flow.
+     * @param index       The column of the flow of every element.
+     * @param indexOffset The position of the first column.
+     * @param length      The number of elements.
+     * @return The sum of flow[flowOffset + index[indexOffset + k]].
+     */
+    public abstract long sumGather(long[] flow, int flowOffset, int[] index, int indexOffset, int length);
+}
@@ -0,0 +1,18 @@
+package Domain;
+
+/**
+ * The strategies available to close the Gilmore-Lawler bound of the QAPAlgorithm, that is, to solve the reduced
+ * assignment problem between the characters yet to be placed and the free slots of the Keyboard.
+ */
+public enum BoundStrategy {
+    /**
+     * Adds the minimum of every row of the reduced matrix. It is fast, but the bound is loose.
+     */
+    ROW_MINIMUM,
+
+    /**
+     * Solves the reduced assignment problem exactly with the Hungarian algorithm, warm-started from the dual values of
+     * the parent node. Every bound is more expensive, but it is tighter, so far fewer nodes are explored.
+     */
+    LINEAR_ASSIGNMENT
+}
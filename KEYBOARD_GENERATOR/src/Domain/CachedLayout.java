@@ -0,0 +1,193 @@
+package Domain;
+
+/**
+ * Represents a Keyboard stored in the LayoutCache: the positions of its characters, their cost and the lower bound
+ * achieved, along with the budget of the search that found them.
+ */
+public class CachedLayout {
+    /**
+     * The key of the search in the LayoutCache.
+     */
+    private final String key;
+    /**
+     * The algorithm that found the Keyboard.
+     */
+    private final String algorithm;
+    /**
+     * The positions of the characters of the Keyboard.
+     */
+    private final int[][] positions;
+    /**
+     * The total cost of the Keyboard.
+     */
+    private final double cost;
+    /**
+     * The best lower bound of the cost of any Keyboard achieved, or 0 if none.
+     */
+    private final double bound;
+    /**
+     * Whether the Keyboard is proven to be optimal.
+     */
+    private final boolean optimal;
+    /**
+     * The budget of the search that found the Keyboard.
+     */
+    private final SolverBudget budget;
+
+    /**
+     * Constructs a CachedLayout.
+     *
+     * @param key       The key of the search in the LayoutCache.
+     * @param algorithm The algorithm that found the Keyboard.
+     * @param positions The positions of the characters of the Keyboard.
+     * @param cost      The total cost of the Keyboard.
+     * @param bound     The best lower bound of the cost of any Keyboard achieved, or 0 if none.
+     * @param optimal   Whether the Keyboard is proven to be optimal.
+     * @param budget    The budget of the search that found the Keyboard.
+     */
+    public CachedLayout(String key, String algorithm, int[][] positions, double cost, double bound, boolean optimal, SolverBudget budget) {
+        this.key = key;
+        this.algorithm = algorithm;
+        this.positions = positions;
+        this.cost = cost;
+        this.bound = bound;
+        this.optimal = optimal;
+        this.budget = budget;
+    }
+
+    /**
+     * Gets the key of the search in the LayoutCache.
+     *
+     * @return The key.
+     */
+    public String getKey() {return key;}
+
+    /**
+     * Gets the algorithm that found the Keyboard.
+     *
+     * @return The name of the algorithm.
+     */
+    public String getAlgorithm() {return algorithm;}
+
+    /**
+     * Gets a copy of the positions of the characters of the Keyboard.
+     *
+     * @return A two-dimensional array representing the positions of characters on the Keyboard.
+     */
+    public int[][] getPositions() {
+        int[][] copy = new int[positions.length][];
+        for (int i = 0; i < positions.length; ++i) copy[i] = positions[i].clone();
+        return copy;
+    }
+
+    /**
+     * Gets the total cost of the Keyboard.
+     *
+     * @return The total cost.
+     */
+    public double getCost() {return cost;}
+
+    /**
+     * Gets the best lower bound of the cost of any Keyboard achieved.
+     *
+     * @return The lower bound, or 0 if none.
+     */
+    public double getBound() {return bound;}
+
+    /**
+     * Checks whether the Keyboard is proven to be optimal.
+     *
+     * @return True if it is optimal, false otherwise.
+     */
+    public boolean isOptimal() {return optimal;}
+
+    /**
+     * Gets the budget of the search that found the Keyboard.
+     *
+     * @return The budget.
+     */
+    public SolverBudget getBudget() {return budget;}
+
+    /**
+     * Checks whether a search with the given budget cannot do better than the one that found the Keyboard, because the
+     * Keyboard is optimal or because no limit of the budget is looser. A limit of 0 means no limit.
+     *
+     * @param requested The budget of the new search.
+     * @return True if the Keyboard can be returned instead of searching again, false otherwise.
+     */
+    public boolean covers(SolverBudget requested) {
+        if (optimal) return true;
+        return covers(budget.getTimeLimit(), requested.getTimeLimit())
+                && covers(budget.getNodeLimit(), requested.getNodeLimit())
+                && budget.getGapLimit() <= requested.getGapLimit();
+    }
+
+    /**
+     * Checks whether a limit is at least as loose as another one, where 0 means no limit.
+     *
+     * @param limit     The limit of the search that found the Keyboard.
+     * @param requested The limit of the new search.
+     * @return True if the first limit is at least as loose, false otherwise.
+     */
+    private static boolean covers(long limit, long requested) {
+        return limit == 0 || (requested != 0 && limit >= requested);
+    }
+
+    /**
+     * Gives the result of serving the Keyboard from the cache, without any search.
+     *
+     * @return The result, with no nodes explored and no time spent.
+     */
+    public SolverResult toResult() {
+        return new SolverResult(getPositions(), cost, bound, 0, 0, optimal);
+    }
+
+    /**
+     * Gives the values stored on disk for the CachedLayout, in the order read by fromStats.
+     *
+     * @return The key, the algorithm, the size of the grid, the cost, the bound, the optimality, the limits of the budget
+     * and the positions of the characters row by row.
+     */
+    public String[] toStats() {
+        int rows = positions.length, cols = positions[0].length;
+        String[] stats = new String[10 + rows * cols];
+        stats[0] = key;
+        stats[1] = algorithm;
+        stats[2] = String.valueOf(rows);
+        stats[3] = String.valueOf(cols);
+        stats[4] = String.valueOf(cost);
+        stats[5] = String.valueOf(bound);
+        stats[6] = String.valueOf(optimal);
+        stats[7] = String.valueOf(budget.getTimeLimit());
+        stats[8] = String.valueOf(budget.getNodeLimit());
+        stats[9] = String.valueOf(budget.getGapLimit());
+        int pointer = 10;
+        for (int[] row : positions) {
+            for (int position : row) {
+                stats[pointer] = String.valueOf(position);
+                ++pointer;
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Constructs a CachedLayout from the values stored on disk.
+     *
+     * @param stats The values given by toStats.
+     * @return The CachedLayout.
+     */
+    public static CachedLayout fromStats(String[] stats) {
+        int rows = Integer.parseInt(stats[2]), cols = Integer.parseInt(stats[3]), pointer = 10;
+        int[][] positions = new int[rows][cols];
+        for (int i = 0; i < rows; ++i) {
+            for (int j = 0; j < cols; ++j) {
+                positions[i][j] = Integer.parseInt(stats[pointer]);
+                ++pointer;
+            }
+        }
+        SolverBudget budget = new SolverBudget(Long.parseLong(stats[7]), Long.parseLong(stats[8]), Double.parseDouble(stats[9]));
+        return new CachedLayout(stats[0], stats[1], positions, Double.parseDouble(stats[4]), Double.parseDouble(stats[5]),
+                Boolean.parseBoolean(stats[6]), budget);
+    }
+}
@@ -1,9 +1,15 @@
 package Domain;
 
 import Exceptions.*;
+import Model.Pair;
 import Persistence.PersistenceController;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * The DomainController class acts as a controller for the domain layer,
@@ -12,6 +18,11 @@ import java.io.IOException;
  */
 public class DomainController {
 
+    /**
+     * The logger of the errors of the data layer that do not stop the operation in progress.
+     */
+    private static final Logger LOGGER = Logger.getLogger(DomainController.class.getName());
+
     /**
      * The InputController instance responsible for handling input-related
      * operations.
@@ -40,6 +51,40 @@ public class DomainController {
         // We initialize inputController by loading Data into the HashMap
         inputController = new InputController(persistenceController.getAllAlphabets(), persistenceController.getAllTMs());
         keyboardController = new KeyboardController(persistenceController.getAllKeyboards());
+        loadLayoutCache();
+    }
+
+    /**
+     * Loads the cache of solved keyboards from the data layer, and makes the data layer
+     * keep a copy of every change of the cache. The copy is best-effort: an error while
+     * saving or deleting a layout is logged, so it never discards the keyboard just found,
+     * and at worst the layout is searched again after a restart.
+     *
+     * @throws IOException If an I/O error occurs while reading the cache.
+     */
+    private void loadLayoutCache() throws IOException {
+        LayoutCache layoutCache = keyboardController.getLayoutCache();
+        layoutCache.setStore(new LayoutCacheStore() {
+            @Override
+            public void save(CachedLayout layout) {
+                try {
+                    persistenceController.saveCachedLayout(layout.getKey(), layout.toStats());
+                } catch (IOException | FileNotDeleted e) {
+                    LOGGER.log(Level.WARNING, "Could not save the cached layout " + layout.getKey(), e);
+                }
+            }
+
+            @Override
+            public void delete(String key) {
+                try {
+                    persistenceController.deleteCachedLayout(key);
+                } catch (IOException | FileNotDeleted e) {
+                    LOGGER.log(Level.WARNING, "Could not delete the cached layout " + key, e);
+                }
+            }
+        });
+        // The store is already set, so the layouts over the capacity of the cache are deleted from the data layer
+        for (String[] stats : persistenceController.getAllCachedLayouts()) layoutCache.load(CachedLayout.fromStats(stats));
     }
 
     // --------------------------------------------------
@@ -268,11 +313,296 @@ public class DomainController {
      * @throws ContainsKey If the specified key is already present in the data structures.
      */
     public void createKeyboard(String key, String transKey, String algorithm) throws IOException, NotContainsKey, IncorrectType, ContainsKey {
+        createKeyboard(key, transKey, algorithm, null);
+    }
+
+    /**
+     * Creates a keyboard with the specified key, transition matrix, alphabet, and
+     * algorithm, within the given time, node or optimality gap budget.
+     *
+     * @param key       The key associated with the new keyboard.
+     * @param transKey  The key associated with the transition matrix.
+     * @param algorithm The algorithm to use for keyboard creation.
+     * @param budget    The limits of the search, used by the anytime algorithms, or null
+     *                  for the default budget of the algorithm.
+     * @return The result of the algorithm: the best keyboard found, the elapsed time,
+     *         the nodes explored and the root lower bound.
+     * @throws IOException If an I/O error occurs while creating the keyboard.
+     * @throws NotContainsKey If the specified key is not present in the data structures.
+     * @throws IncorrectType If the specified key has an incorrect type.
+     * @throws ContainsKey If the specified key is already present in the data structures.
+     */
+    public SolverResult createKeyboard(String key, String transKey, String algorithm, SolverBudget budget) throws IOException, NotContainsKey, IncorrectType, ContainsKey {
+        return createKeyboard(key, transKey, algorithm, budget, null, null);
+    }
+
+    /**
+     * Creates a keyboard with the specified key, transition matrix and algorithm,
+     * within the given budget, keeping some characters fixed on their slots, for
+     * example the digits or the punctuation of an existing keyboard.
+     * The algorithm only places the other characters, so the exact algorithms can
+     * solve larger alphabets.
+     *
+     * @param key        The key associated with the new keyboard.
+     * @param transKey   The key associated with the transition matrix.
+     * @param algorithm  The algorithm to use for keyboard creation, which must keep
+     *                   the pinned characters, as the Greedy and the QAP algorithms do.
+     * @param budget     The limits of the search, or null for the default budget of the algorithm.
+     * @param pinnedKeys The distribution of the pinned characters, with the shape of the
+     *                   created keyboards and '\0' on the free slots.
+     * @return The result of the algorithm.
+     * @throws IOException If an I/O error occurs while creating the keyboard.
+     * @throws NotContainsKey If the specified key is not present in the data structures.
+     * @throws IncorrectType If the pinned characters do not fit the alphabet, or the
+     *         algorithm does not exist or cannot keep them.
+     * @throws ContainsKey If the specified key is already present in the data structures.
+     */
+    public SolverResult createKeyboard(String key, String transKey, String algorithm, SolverBudget budget, char[][] pinnedKeys) throws IOException, NotContainsKey, IncorrectType, ContainsKey {
+        return createKeyboard(key, transKey, algorithm, budget, pinnedKeys, null);
+    }
+
+    /**
+     * Starts creating a keyboard with the specified key, transition matrix and
+     * algorithm on another thread, and returns immediately.
+     * The returned handle publishes every better keyboard found, with its cost, the
+     * current lower bound and the nodes explored per second, and can cancel the
+     * search, in which case the best keyboard found so far is created. When the
+     * algorithm finishes, the keyboard is created and saved as in createKeyboard, and
+     * any exception thrown by then is the cause of the ExecutionException of the handle.
+     *
+     * @param key       The key associated with the new keyboard.
+     * @param transKey  The key associated with the transition matrix.
+     * @param algorithm The algorithm to use for keyboard creation.
+     * @param budget    The limits of the search, used by the anytime algorithms, or null
+     *                  for the default budget of the algorithm.
+     * @return The handle of the generation.
+     * @throws NotContainsKey If the specified transition matrix does not exist.
+     * @throws IncorrectType If the key of the keyboard is empty.
+     * @throws ContainsKey If a keyboard with the specified key already exists.
+     */
+    public GenerationHandle startKeyboard(String key, String transKey, String algorithm, SolverBudget budget) throws NotContainsKey, IncorrectType, ContainsKey {
+        if (key.isEmpty()) throw new IncorrectType("Input for Keyboard Incorrect, empty Keyboard ID");
+        inputController.getTransitionMatrix(transKey);
+        if (keyboardController.containsKeyboard(key)) throw new ContainsKey("Keyboard Map contains Key: " + key);
+        QAPIncumbent incumbent = new QAPIncumbent();
+        return new GenerationHandle(incumbent, () -> createKeyboard(key, transKey, algorithm, budget, null, incumbent));
+    }
+
+    /**
+     * Creates a keyboard with the specified key, transition matrix and algorithm,
+     * within the given budget, sharing the progress of the algorithm with the given
+     * incumbent.
+     *
+     * @param key        The key associated with the new keyboard.
+     * @param transKey   The key associated with the transition matrix.
+     * @param algorithm  The algorithm to use for keyboard creation.
+     * @param budget     The limits of the search, or null for the default budget of the algorithm.
+     * @param pinnedKeys The distribution of the pinned characters, or null if no character is pinned.
+     * @param incumbent  The incumbent that gets the progress of the algorithm, or null if nobody follows it.
+     * @return The result of the algorithm.
+     * @throws IOException If an I/O error occurs while creating the keyboard.
+     * @throws NotContainsKey If the specified key is not present in the data structures.
+     * @throws IncorrectType If the specified key has an incorrect type.
+     * @throws ContainsKey If the specified key is already present in the data structures.
+     */
+    private SolverResult createKeyboard(String key, String transKey, String algorithm, SolverBudget budget, char[][] pinnedKeys, QAPIncumbent incumbent) throws IOException, NotContainsKey, IncorrectType, ContainsKey {
         if (key.isEmpty()) throw new IncorrectType("Input for Keyboard Incorrect, empty Keyboard ID");
         TransitionMatrix transMatrix = inputController.getTransitionMatrix(transKey);
         Alphabet alpha = transMatrix.getAlphabet();
-        keyboardController.createKeyboard(key, transMatrix, alpha, algorithm);
+        SolverResult result = keyboardController.createKeyboard(key, transMatrix, alpha, algorithm, budget, pinnedKeys, incumbent, getCheckpointStore(key));
         persistenceController.createKeyboard(key, keyboardController.getKeyboardDistribution(key));
+        return result;
+    }
+
+    /**
+     * Checks if the search of the specified keyboard saved a checkpoint, because it was
+     * stopped by its budget, cancelled or interrupted by the end of the program before it
+     * explored the whole tree of solutions.
+     *
+     * @param key The key associated with the keyboard.
+     * @return True if the search of the keyboard can be resumed.
+     * @throws IOException If an I/O error occurs while reading the checkpoint.
+     */
+    public boolean hasCheckpoint(String key) throws IOException {
+        return persistenceController.getCheckpoint(key) != null;
+    }
+
+    /**
+     * Resumes the search of the specified keyboard from its checkpoint, within the given
+     * budget, and creates or replaces the keyboard with the best one found.
+     * The search continues where it stopped, with the alphabet, the pinned characters and
+     * the settings of the original search, and saves new checkpoints, so it can be resumed
+     * as many times as needed until it proves that its keyboard is optimal.
+     *
+     * @param key      The key associated with the keyboard.
+     * @param transKey The key associated with the transition matrix of the original search.
+     * @param budget   The limits of the resumed search, or null for the default budget of the QAP algorithm.
+     * @param threads  The number of threads of the resumed search; a single thread continues
+     *                 exactly where the search stopped.
+     * @return The result of the search, with the nodes explored and the elapsed time since
+     *         the original search started.
+     * @throws IOException If an I/O error occurs while reading the checkpoint or saving the keyboard.
+     * @throws NotContainsKey If the keyboard has no checkpoint or the transition matrix is not found.
+     * @throws IncorrectType If the checkpoint is corrupt or is not a search of the transition matrix.
+     */
+    public SolverResult resumeKeyboard(String key, String transKey, SolverBudget budget, int threads) throws IOException, NotContainsKey, IncorrectType {
+        return resumeKeyboard(key, transKey, budget, threads, null);
+    }
+
+    /**
+     * Starts resuming the search of the specified keyboard on another thread, and returns
+     * immediately. The returned handle publishes the progress and can cancel the search as
+     * in startKeyboard, in which case a new checkpoint is saved, and the keyboard is created
+     * or replaced and saved as in resumeKeyboard.
+     *
+     * @param key      The key associated with the keyboard.
+     * @param transKey The key associated with the transition matrix of the original search.
+     * @param budget   The limits of the resumed search, or null for the default budget of the QAP algorithm.
+     * @param threads  The number of threads of the resumed search.
+     * @return The handle of the resumed search.
+     * @throws IOException If an I/O error occurs while reading the checkpoint.
+     * @throws NotContainsKey If the keyboard has no checkpoint or the transition matrix is not found.
+     */
+    public GenerationHandle startResumeKeyboard(String key, String transKey, SolverBudget budget, int threads) throws IOException, NotContainsKey {
+        inputController.getTransitionMatrix(transKey);
+        if (!hasCheckpoint(key)) throw new NotContainsKey("No checkpoint of Keyboard: " + key);
+        QAPIncumbent incumbent = new QAPIncumbent();
+        return new GenerationHandle(incumbent, () -> resumeKeyboard(key, transKey, budget, threads, incumbent));
+    }
+
+    /**
+     * Resumes the search of the specified keyboard from its checkpoint, sharing the progress
+     * of the algorithm with the given incumbent, and saves the keyboard.
+     *
+     * @param key       The key associated with the keyboard.
+     * @param transKey  The key associated with the transition matrix of the original search.
+     * @param budget    The limits of the resumed search, or null for the default budget of the QAP algorithm.
+     * @param threads   The number of threads of the resumed search.
+     * @param incumbent The incumbent that gets the progress of the algorithm, or null if nobody follows it.
+     * @return The result of the search.
+     * @throws IOException If an I/O error occurs while reading the checkpoint or saving the keyboard.
+     * @throws NotContainsKey If the keyboard has no checkpoint or the transition matrix is not found.
+     * @throws IncorrectType If the checkpoint is corrupt or is not a search of the transition matrix.
+     */
+    private SolverResult resumeKeyboard(String key, String transKey, SolverBudget budget, int threads, QAPIncumbent incumbent) throws IOException, NotContainsKey, IncorrectType {
+        TransitionMatrix transMatrix = inputController.getTransitionMatrix(transKey);
+        byte[] data = persistenceController.getCheckpoint(key);
+        if (data == null) throw new NotContainsKey("No checkpoint of Keyboard: " + key);
+        QAPCheckpoint checkpoint;
+        try {
+            checkpoint = QAPCheckpoint.fromBytes(data);
+        } catch (IOException e) {
+            throw new IncorrectType("Checkpoint of Keyboard " + key + " is corrupt: " + e.getMessage());
+        }
+
+        boolean existed = keyboardController.containsKeyboard(key);
+        SolverResult result = keyboardController.resumeKeyboard(key, transMatrix, checkpoint, budget, threads, incumbent, getCheckpointStore(key));
+        if (existed) persistenceController.modifyKeyboard(key, keyboardController.getKeyboardDistribution(key));
+        else persistenceController.createKeyboard(key, keyboardController.getKeyboardDistribution(key));
+        return result;
+    }
+
+    /**
+     * Gets the store of the checkpoints of the search of a keyboard, which saves them in
+     * the data layer under the key of the keyboard. As with the cached layouts, an error
+     * of the data layer is logged instead of stopping the search, which then can only be
+     * resumed from the last checkpoint saved.
+     *
+     * @param key The key associated with the keyboard.
+     * @return The checkpoint store.
+     */
+    private QAPCheckpointStore getCheckpointStore(String key) {
+        return new QAPCheckpointStore() {
+            @Override
+            public void save(QAPCheckpoint checkpoint) {
+                try {
+                    persistenceController.saveCheckpoint(key, checkpoint.toBytes());
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Could not save the checkpoint of the keyboard " + key, e);
+                }
+            }
+
+            @Override
+            public void delete() {
+                try {
+                    persistenceController.deleteCheckpoint(key);
+                } catch (FileNotDeleted e) {
+                    LOGGER.log(Level.WARNING, "Could not delete the checkpoint of the keyboard " + key, e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Reoptimizes an existing keyboard, usually modified by hand, against the specified
+     * transition matrix with the specified algorithm, within the given budget.
+     * The search starts from the current distribution of the keyboard instead of a new
+     * one, so it converges much sooner than creating the keyboard again, and the keyboard
+     * is only replaced and saved if the algorithm finds a better one.
+     *
+     * @param key       The key associated with the keyboard.
+     * @param transKey  The key associated with the transition matrix.
+     * @param algorithm The algorithm to use for the reoptimization.
+     * @param budget    The limits of the search, or null for the default budget of the algorithm.
+     * @return The result of the algorithm: the best keyboard found, the elapsed time,
+     *         the nodes explored and the root lower bound.
+     * @throws IOException If an I/O error occurs while saving the keyboard.
+     * @throws NotContainsKey If the keyboard or the transition matrix is not found.
+     * @throws IncorrectType If the keyboard does not hold the alphabet of the transition
+     *         matrix, or the algorithm does not exist.
+     */
+    public SolverResult reoptimizeKeyboard(String key, String transKey, String algorithm, SolverBudget budget) throws IOException, NotContainsKey, IncorrectType {
+        return reoptimizeKeyboard(key, transKey, algorithm, budget, null);
+    }
+
+    /**
+     * Starts reoptimizing an existing keyboard on another thread, and returns immediately.
+     * The returned handle publishes the progress and can cancel the search as in
+     * startKeyboard, and the keyboard is replaced and saved as in reoptimizeKeyboard.
+     *
+     * @param key       The key associated with the keyboard.
+     * @param transKey  The key associated with the transition matrix.
+     * @param algorithm The algorithm to use for the reoptimization.
+     * @param budget    The limits of the search, or null for the default budget of the algorithm.
+     * @return The handle of the reoptimization.
+     * @throws NotContainsKey If the keyboard or the transition matrix is not found.
+     */
+    public GenerationHandle startReoptimizeKeyboard(String key, String transKey, String algorithm, SolverBudget budget) throws NotContainsKey {
+        inputController.getTransitionMatrix(transKey);
+        keyboardController.getKeyboard(key);
+        QAPIncumbent incumbent = new QAPIncumbent();
+        return new GenerationHandle(incumbent, () -> reoptimizeKeyboard(key, transKey, algorithm, budget, incumbent));
+    }
+
+    /**
+     * Reoptimizes an existing keyboard, sharing the progress of the algorithm with the
+     * given incumbent, and saves it.
+     *
+     * @param key       The key associated with the keyboard.
+     * @param transKey  The key associated with the transition matrix.
+     * @param algorithm The algorithm to use for the reoptimization.
+     * @param budget    The limits of the search, or null for the default budget of the algorithm.
+     * @param incumbent The incumbent that gets the progress of the algorithm, or null if nobody follows it.
+     * @return The result of the algorithm.
+     * @throws IOException If an I/O error occurs while saving the keyboard.
+     * @throws NotContainsKey If the keyboard or the transition matrix is not found.
+     * @throws IncorrectType If the keyboard does not fit the transition matrix, or the algorithm does not exist.
+     */
+    private SolverResult reoptimizeKeyboard(String key, String transKey, String algorithm, SolverBudget budget, QAPIncumbent incumbent) throws IOException, NotContainsKey, IncorrectType {
+        TransitionMatrix transMatrix = inputController.getTransitionMatrix(transKey);
+        SolverResult result = keyboardController.reoptimizeKeyboard(key, transMatrix, algorithm, budget, incumbent);
+        persistenceController.modifyKeyboard(key, keyboardController.getKeyboardDistribution(key));
+        return result;
+    }
+
+    /**
+     * Retrieves the names of the algorithms available to create keyboards, which
+     * include the ones discovered on the classpath.
+     *
+     * @return An array of strings containing the names of the algorithms.
+     */
+    public String[] listAlgorithms() {
+        return keyboardController.getAlgorithmNames();
     }
 
     /**
@@ -339,5 +669,38 @@ public class DomainController {
     public void deleteKeyboard(String key) throws IOException, NotContainsKey, FileNotDeleted {
         keyboardController.deleteKeyboard(key);
         persistenceController.deleteKeyboard(key);
+        persistenceController.deleteCheckpoint(key);
+    }
+
+    /**
+     * Gets the directory where the instances of QAPLIB are saved by default.
+     *
+     * @return The path of the directory.
+     */
+    public String getQAPLIBDirectory() {
+        return persistenceController.getQAPLIBDirectory();
+    }
+
+    /**
+     * Runs every algorithm that can use given distances on every instance of QAPLIB of a directory, under every time
+     * limit, and compares their solutions with the best known ones, given by the ".sln" files of the instances.
+     *
+     * @param directory  The directory of the ".dat" and ".sln" files.
+     * @param timeLimits The time limits of the runs, in milliseconds, which must be positive.
+     * @return The result of every run, by instance, then by time limit, then by algorithm.
+     * @throws IOException If an I/O error occurs while reading the instances.
+     * @throws IncorrectType If an instance does not have a symmetric matrix or its best known solution does not
+     * have its cost.
+     */
+    public List<QAPBenchmarkResult> runQAPLIBBenchmark(String directory, long[] timeLimits) throws IOException, IncorrectType {
+        List<QAPInstance> instances = new ArrayList<>();
+        for (String name : persistenceController.getQAPLIBInstanceNames(directory)) {
+            String path = directory + File.separator + name;
+            Pair<int[][], int[][]> matrices = persistenceController.getQAPLIBInstance(path + ".dat");
+            Pair<Long, int[]> solution = persistenceController.getQAPLIBSolution(path + ".sln");
+            instances.add(QAPInstance.fromMatrices(name, matrices.getFirst(), matrices.getSecond(),
+                    solution != null ? solution.getFirst() : null, solution != null ? solution.getSecond() : null));
+        }
+        return new QAPBenchmark().run(instances, timeLimits);
     }
 }
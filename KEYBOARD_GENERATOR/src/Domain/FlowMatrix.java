@@ -0,0 +1,107 @@
+package Domain;
+
+/**
+ * FlowMatrix holds the transits of a TransitionMatrix in the form used by the cost functions.
+ * The distances between the keys are symmetric, so the cost of a pair of characters only depends on their transits in
+ * both directions: the flow between two different characters is the sum of the transits from the first one to the
+ * second one and back, and the flow of a character with itself is 0, since it never moves a finger. The flow is kept
+ * in a single array indexed by character1 * size + character2, so every pair of characters is visited once instead of
+ * twice and the transits are not added on every visit.
+ * It also keeps the sum of the row of every character in the TransitionMatrix, which orders the characters of the
+ * GreedyAlgorithm and the QAPAlgorithm.
+ */
+public class FlowMatrix {
+
+    /**
+     * The matrix extracted from a TransitionMatrix.
+     */
+    private final int[][] transitTable;
+
+    /**
+     * The number of characters.
+     */
+    private final int size;
+
+    /**
+     * The transits in both directions between every pair of different characters, indexed by
+     * character1 * size + character2.
+     */
+    private final long[] flow;
+
+    /**
+     * The sum of the row of every character in the TransitionMatrix.
+     */
+    private final long[] rowSums;
+
+    /**
+     * Constructs the FlowMatrix of a TransitionMatrix.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     */
+    public FlowMatrix(int[][] transitTable) {
+        this.transitTable = transitTable;
+        size = transitTable.length;
+        flow = new long[size * size];
+        rowSums = new long[size];
+        for (int a = 0; a < size; ++a) {
+            long sum = 0;
+            for (int b = 0; b < size; ++b) {
+                sum += transitTable[a][b];
+                if (b > a) {
+                    long transits = (long) transitTable[a][b] + transitTable[b][a];
+                    flow[a * size + b] = transits;
+                    flow[b * size + a] = transits;
+                }
+            }
+            rowSums[a] = sum;
+        }
+    }
+
+    /**
+     * Gets the matrix the flow was computed from, for the computations that need the direction of the transits.
+     *
+     * @return The matrix extracted from a TransitionMatrix.
+     */
+    public int[][] getTransitTable() {
+        return transitTable;
+    }
+
+    /**
+     * Gets the number of characters.
+     *
+     * @return The number of characters.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the transits in both directions between two characters.
+     *
+     * @param character1 The first character.
+     * @param character2 The second character.
+     * @return The flow between the characters, 0 if they are the same one.
+     */
+    public long getFlow(int character1, int character2) {
+        return flow[character1 * size + character2];
+    }
+
+    /**
+     * Gets the flow between every pair of characters. The array is shared, so it must not be modified.
+     *
+     * @return The flow, indexed by character1 * size + character2.
+     */
+    public long[] getFlow() {
+        return flow;
+    }
+
+    /**
+     * Gets the sum of the row of a character in the TransitionMatrix.
+     *
+     * @param character The character.
+     * @return The number of transits from the character.
+     */
+    public long getRowSum(int character) {
+        return rowSums[character];
+    }
+}
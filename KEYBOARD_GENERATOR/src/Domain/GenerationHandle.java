@@ -0,0 +1,194 @@
+package Domain;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * GenerationHandle runs a keyboard generation on its own thread and lets the caller follow and control it, without
+ * blocking, from a Swing view as well as from a headless program.
+ * The algorithm shares a QAPIncumbent with the handle: every better Keyboard it offers is published to the
+ * GenerationListeners, along with its cost, the current lower bound and the nodes explored per second, and stopping the
+ * incumbent cancels the search cooperatively, at the next check of the algorithm.
+ * The progress is also published every PROGRESS_PERIOD milliseconds until the generation finishes, so that a long search
+ * without a better Keyboard still shows its nodes and its bound.
+ */
+public class GenerationHandle {
+
+    /**
+     * The time between two periodic publications of the progress, in milliseconds.
+     */
+    public static final long PROGRESS_PERIOD = 250;
+
+    /**
+     * The incumbent shared with the algorithm.
+     */
+    private final QAPIncumbent incumbent;
+
+    /**
+     * The result of the generation, completed by the thread of the generation.
+     */
+    private final CompletableFuture<SolverResult> result;
+
+    /**
+     * The listeners notified of every better Keyboard and of the periodic progress.
+     */
+    private final List<GenerationListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The thread that publishes the progress periodically, shut down when the generation finishes.
+     */
+    private final ScheduledExecutorService publisher;
+
+    /**
+     * The time at which the generation started, in milliseconds.
+     */
+    private final long startTime;
+
+    /**
+     * Whether the caller has cancelled the generation.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Starts the given generation on a new thread.
+     *
+     * @param incumbent The incumbent shared with the algorithm of the generation.
+     * @param task      The generation, which returns the result of the algorithm.
+     */
+    public GenerationHandle(QAPIncumbent incumbent, Callable<SolverResult> task) {
+        this.incumbent = incumbent;
+        result = new CompletableFuture<>();
+        startTime = System.currentTimeMillis();
+        incumbent.addListener(solution -> publish(getProgress(solution)));
+
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "keyboard-generation-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleAtFixedRate(() -> {
+            if (!result.isDone()) publish(getProgress());
+        }, PROGRESS_PERIOD, PROGRESS_PERIOD, TimeUnit.MILLISECONDS);
+        result.whenComplete((solverResult, error) -> publisher.shutdownNow());
+
+        Thread worker = new Thread(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, "keyboard-generation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Adds a listener notified of every better Keyboard found from now on, and of the progress every PROGRESS_PERIOD
+     * milliseconds until the generation finishes.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(GenerationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds an action run when the generation finishes, either with its result or with the exception that has stopped
+     * it. The action runs on the thread of the generation, or on the caller if the generation has already finished.
+     *
+     * @param action The action, which gets the result, or null, and the exception, or null.
+     */
+    public void whenDone(BiConsumer<SolverResult, Throwable> action) {
+        result.whenComplete(action);
+    }
+
+    /**
+     * Gets the current progress of the generation.
+     *
+     * @return The best Keyboard found so far, along with the current lower bound and the work done.
+     */
+    public GenerationProgress getProgress() {
+        return getProgress(incumbent.get());
+    }
+
+    /**
+     * Cancels the generation. The algorithm stops at its next check and returns the best Keyboard found so far, which
+     * still becomes the result of the generation.
+     */
+    public void cancel() {
+        cancelled = true;
+        incumbent.stop();
+    }
+
+    /**
+     * Checks whether the caller has cancelled the generation.
+     *
+     * @return True if it has been cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the generation has finished.
+     *
+     * @return True if it has finished, false otherwise.
+     */
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * Waits until the generation finishes.
+     *
+     * @return The result of the algorithm.
+     * @throws InterruptedException If the caller is interrupted while waiting.
+     * @throws ExecutionException   If the generation has thrown an exception, which is its cause.
+     */
+    public SolverResult get() throws InterruptedException, ExecutionException {
+        return result.get();
+    }
+
+    /**
+     * Waits until the generation finishes, for at most the given time.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit    The unit of the timeout.
+     * @return The result of the algorithm.
+     * @throws InterruptedException If the caller is interrupted while waiting.
+     * @throws ExecutionException   If the generation has thrown an exception, which is its cause.
+     * @throws TimeoutException     If the generation has not finished in time.
+     */
+    public SolverResult get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return result.get(timeout, unit);
+    }
+
+    /**
+     * Publishes the given progress to every listener.
+     *
+     * @param progress The progress of the generation.
+     */
+    private void publish(GenerationProgress progress) {
+        for (GenerationListener listener : listeners) listener.onProgress(progress);
+    }
+
+    /**
+     * Builds the progress of the generation with the given best Keyboard.
+     *
+     * @param solution The best Keyboard found so far, or null if none has been found yet.
+     * @return The progress of the generation.
+     */
+    private GenerationProgress getProgress(QAPPartialSolution solution) {
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        if (solution == null) return new GenerationProgress(null, Double.POSITIVE_INFINITY, incumbent.getBound(), incumbent.getNodes(), elapsedTime);
+        return new GenerationProgress(solution.getSolution(), solution.getCost(), incumbent.getBound(), incumbent.getNodes(), elapsedTime);
+    }
+}
@@ -0,0 +1,17 @@
+package Domain;
+
+/**
+ * Listens to the progress of a keyboard generation started with a GenerationHandle.
+ */
+public interface GenerationListener {
+
+    /**
+     * Called every time the generation finds a better Keyboard, and every {@link GenerationHandle#PROGRESS_PERIOD}
+     * milliseconds while it runs, so that the nodes explored and the lower bound keep updating during a long search
+     * without a better Keyboard. It is called by the threads of the algorithm and of the handle, so it must return
+     * quickly, and a Swing view must forward it to the event dispatch thread.
+     *
+     * @param progress The progress of the generation, with the best Keyboard found so far.
+     */
+    void onProgress(GenerationProgress progress);
+}
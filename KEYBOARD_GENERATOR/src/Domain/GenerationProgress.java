@@ -0,0 +1,91 @@
+package Domain;
+
+/**
+ * Represents the progress of a keyboard generation at a given moment: the best Keyboard found so far, along with the
+ * lower bound proved and the work done by the algorithm.
+ * The costs are the total cost of the Keyboard, as in the SolverResult.
+ */
+public class GenerationProgress {
+    /**
+     * The positions of the characters of the best Keyboard found so far, or null if none has been found yet.
+     */
+    private final int[][] positions;
+    /**
+     * The total cost of the best Keyboard found so far.
+     */
+    private final double cost;
+    /**
+     * The best lower bound of the cost of any Keyboard proved so far, or 0 if the algorithm does not compute it.
+     */
+    private final double bound;
+    /**
+     * The number of nodes or iterations done so far.
+     */
+    private final long nodes;
+    /**
+     * The time elapsed since the generation started, in milliseconds.
+     */
+    private final long elapsedTime;
+
+    /**
+     * Constructs a GenerationProgress.
+     *
+     * @param positions   The positions of the characters of the best Keyboard found so far, or null if there is none.
+     * @param cost        The total cost of the best Keyboard found so far.
+     * @param bound       The best lower bound of the cost of any Keyboard proved so far, or 0 if there is none.
+     * @param nodes       The number of nodes or iterations done so far.
+     * @param elapsedTime The time elapsed since the generation started, in milliseconds.
+     */
+    public GenerationProgress(int[][] positions, double cost, double bound, long nodes, long elapsedTime) {
+        this.positions = positions;
+        this.cost = cost;
+        this.bound = bound;
+        this.nodes = nodes;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Gets the positions of the characters of the best Keyboard found so far.
+     *
+     * @return A two-dimensional array representing the positions of characters on the Keyboard, or null if none has
+     * been found yet.
+     */
+    public int[][] getPositions() {return positions;}
+
+    /**
+     * Gets the total cost of the best Keyboard found so far.
+     *
+     * @return The total cost, or infinity if no Keyboard has been found yet.
+     */
+    public double getCost() {return cost;}
+
+    /**
+     * Gets the best lower bound of the cost of any Keyboard proved so far.
+     *
+     * @return The lower bound, or 0 if the algorithm does not compute it.
+     */
+    public double getBound() {return bound;}
+
+    /**
+     * Gets the number of nodes or iterations done so far.
+     *
+     * @return The number of nodes or iterations.
+     */
+    public long getNodes() {return nodes;}
+
+    /**
+     * Gets the time elapsed since the generation started.
+     *
+     * @return The elapsed time, in milliseconds.
+     */
+    public long getElapsedTime() {return elapsedTime;}
+
+    /**
+     * Gets the average number of nodes or iterations done per second.
+     *
+     * @return The nodes per second, or 0 if no time has elapsed yet.
+     */
+    public double getNodesPerSecond() {
+        return elapsedTime == 0 ? 0 : nodes * 1000.0 / elapsedTime;
+    }
+}
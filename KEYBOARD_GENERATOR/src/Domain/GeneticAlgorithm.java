@@ -0,0 +1,449 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * GeneticAlgorithm finds the positions of the characters of a Keyboard with a memetic algorithm on an island model.
+ * Every island evolves its own population in parallel: two parents chosen by tournament are combined with the order
+ * crossover, which always gives a valid permutation, and the offspring is improved with a descent of exchanges of two
+ * keys before replacing the worst layout of the population. Periodically, the best layout of every island migrates to
+ * the next one, in a ring.
+ * The islands and their populations are built within the time limit too: when it runs out, the search goes on with
+ * the islands and the layouts already built, and the populations grow with the offspring.
+ * All the islands share the same LayoutCost, which is read-only and does not allocate memory to evaluate layouts.
+ */
+public class GeneticAlgorithm {
+
+    /**
+     * The number of layouts of every island.
+     */
+    private static final int POPULATION_SIZE = 16;
+
+    /**
+     * The number of offspring generated by every island between two migrations.
+     */
+    private static final int MIGRATION_INTERVAL = 32;
+
+    /**
+     * The probability that an offspring exchanges two random keys after the crossover.
+     */
+    private static final double MUTATION_RATE = 0.2;
+
+    /**
+     * The number of islands.
+     */
+    private final int islands;
+
+    /**
+     * The random number generator used to seed the islands.
+     */
+    private final Random random;
+
+    /**
+     * The number of offspring generated by the last search.
+     */
+    private long offspring;
+
+    /**
+     * The best Keyboard shared with other algorithms running at the same time, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the initial Keyboard.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Constructs a GeneticAlgorithm with an island for every available processor, and at least four of them.
+     */
+    public GeneticAlgorithm() {
+        this(Math.max(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructs a GeneticAlgorithm with the given number of islands and a random seed.
+     *
+     * @param islands The number of islands, which evolve in parallel.
+     */
+    public GeneticAlgorithm(int islands) {
+        this.islands = Math.max(1, islands);
+        random = new Random();
+    }
+
+    /**
+     * Constructs a GeneticAlgorithm with the given number of islands and seed. The searches are reproducible with the
+     * same seed, whatever the number of processors.
+     *
+     * @param islands The number of islands, which evolve in parallel.
+     * @param seed    The seed of the random number generator.
+     */
+    public GeneticAlgorithm(int islands, long seed) {
+        this.islands = Math.max(1, islands);
+        random = new Random(seed);
+    }
+
+    /**
+     * Gets the default budget for a search of the given number of characters.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 100L * Math.max(numChars, 10), 0);
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid. The initial
+     * Keyboards then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms running at the same time. After every migration, the search
+     * offers its best Keyboard to it, reports its offspring to it and stops if it is stopped.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+    }
+
+    /**
+     * Gets the number of offspring generated by the last search.
+     *
+     * @return The number of offspring.
+     */
+    public long getOffspring() {
+        return offspring;
+    }
+
+    /**
+     * Evolves the islands, seeded with the given layout, until the budget is exhausted.
+     * The node limit of the budget is the total number of offspring, and the gap limit is not used.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param initialPositions The initial positions of the characters, negative on the empty slots.
+     * @param budget           The limits of the search. If it has neither a time nor a node limit, the default number of offspring is used.
+     * @return The best Keyboard found, along with the elapsed time and the offspring generated.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] initialPositions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        LayoutCost layoutCost = distances != null ? new LayoutCost(transitTable, distances)
+                : new LayoutCost(transitTable, initialPositions.length, initialPositions[0].length);
+        int[] seed = layoutCost.toPermutation(initialPositions);
+
+        long maxOffspring = budget.getNodeLimit();
+        if (maxOffspring <= 0) maxOffspring = budget.getTimeLimit() > 0 ? Long.MAX_VALUE : getDefaultBudget(layoutCost.getNumChars()).getNodeLimit();
+        long deadline = budget.getTimeLimit() > 0 ? startTime + budget.getTimeLimit() : Long.MAX_VALUE;
+
+        Island[] population = null;
+        ForkJoinPool pool = new ForkJoinPool(Math.min(islands, Runtime.getRuntime().availableProcessors()));
+        offspring = 0;
+        try {
+            List<Callable<Island>> creations = new ArrayList<>();
+            for (int k = 0; k < islands; ++k) {
+                long islandSeed = random.nextLong();
+                // The first island is always built, so that there is a population even if the time limit is tiny
+                boolean first = k == 0;
+                creations.add(() -> first || System.currentTimeMillis() < deadline ? new Island(layoutCost, seed, islandSeed, deadline) : null);
+            }
+            List<Island> created = new ArrayList<>();
+            for (Future<Island> creation : pool.invokeAll(creations)) {
+                if (creation.get() != null) created.add(creation.get());
+            }
+            population = created.toArray(new Island[0]);
+            int built = population.length;
+
+            while (offspring < maxOffspring && System.currentTimeMillis() < deadline) {
+                // Every island gets its share of the remaining budget, so the node limit is never exceeded
+                long remaining = maxOffspring - offspring;
+                List<Callable<Integer>> epochs = new ArrayList<>();
+                for (int k = 0; k < built; ++k) {
+                    Island island = population[k];
+                    int generations = (int) Math.min(MIGRATION_INTERVAL, remaining / built + (k < remaining % built ? 1 : 0));
+                    epochs.add(() -> island.evolve(generations, deadline));
+                }
+                long generated = 0;
+                for (Future<Integer> epoch : pool.invokeAll(epochs)) generated += epoch.get();
+                offspring += generated;
+
+                if (built > 1) {
+                    // Every migrant leaves before any arrives, so each one only moves to the next island of the ring
+                    int[][] migrants = new int[built][];
+                    double[] migrantCosts = new double[built];
+                    for (int k = 0; k < built; ++k) {
+                        migrants[k] = population[k].getBest();
+                        migrantCosts[k] = population[k].getBestCost();
+                    }
+                    for (int k = 0; k < built; ++k) population[(k + 1) % built].receive(migrants[k], migrantCosts[k]);
+                }
+
+                if (incumbent != null) {
+                    incumbent.addNodes(generated);
+                    int[] best = best(population).getBest();
+                    incumbent.offer(new QAPPartialSolution(layoutCost.toPositions(best), layoutCost.cost(best)));
+                    if (incumbent.isStopped()) break;
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+
+        int[] bestPermutation = best(population).getBest();
+        return new SolverResult(layoutCost.toPositions(bestPermutation), layoutCost.cost(bestPermutation), 0, offspring,
+                System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Gives the island whose population has the best layout.
+     *
+     * @param population The islands.
+     * @return The island with the lowest cost.
+     */
+    private static Island best(Island[] population) {
+        Island best = population[0];
+        for (Island island : population) {
+            if (island.getBestCost() < best.getBestCost()) best = island;
+        }
+        return best;
+    }
+
+    /**
+     * An island of the GeneticAlgorithm, with its own population and random number generator.
+     * The buffers of the offspring are allocated once, when the island is constructed.
+     */
+    private static class Island {
+
+        /**
+         * The evaluator of the layouts, shared by every island.
+         */
+        private final LayoutCost layoutCost;
+
+        /**
+         * The random number generator of the island.
+         */
+        private final Random random;
+
+        /**
+         * The descent of exchanges of two keys that improves every offspring.
+         */
+        private final LocalSearch localSearch;
+
+        /**
+         * The layouts of the population, as the slot of every item.
+         */
+        private final int[][] population;
+
+        /**
+         * The cost of every layout of the population.
+         */
+        private final double[] costs;
+
+        /**
+         * The number of layouts of the population, lower than its size if the time limit ran out while it was built.
+         */
+        private int members;
+
+        /**
+         * The buffer where the offspring is generated.
+         */
+        private int[] child;
+
+        /**
+         * Whether every slot has already been given to an item of the offspring.
+         */
+        private final boolean[] usedSlots;
+
+        /**
+         * Constructs an island whose population is the given layout and random layouts, all of them improved with
+         * the descent. The random layouts are only added while there is time left, but the given layout always is.
+         *
+         * @param layoutCost The evaluator of the layouts.
+         * @param seed       The initial layout, usually the one of the GreedyAlgorithm.
+         * @param randomSeed The seed of the random number generator of the island.
+         * @param deadline   The time at which the search must stop, in milliseconds.
+         */
+        Island(LayoutCost layoutCost, int[] seed, long randomSeed, long deadline) {
+            this.layoutCost = layoutCost;
+            random = new Random(randomSeed);
+            localSearch = new LocalSearch();
+            localSearch.setCycles(false);
+            int size = layoutCost.getSize();
+            population = new int[POPULATION_SIZE][];
+            costs = new double[POPULATION_SIZE];
+            child = new int[size];
+            usedSlots = new boolean[size];
+
+            for (int p = 0; p < POPULATION_SIZE && (p == 0 || System.currentTimeMillis() < deadline); ++p) {
+                int[] permutation = seed.clone();
+                if (p > 0) {
+                    for (int i = size - 1; i > 0; --i) swap(permutation, i, random.nextInt(i + 1));
+                }
+                population[p] = permutation;
+                costs[p] = localSearch.improve(layoutCost, permutation, layoutCost.cost(permutation), deadline);
+                ++members;
+            }
+        }
+
+        /**
+         * Generates offspring until the given number of them or the deadline is reached.
+         *
+         * @param generations The number of offspring to generate.
+         * @param deadline    The time at which the search must stop, in milliseconds.
+         * @return The number of offspring generated.
+         */
+        int evolve(int generations, long deadline) {
+            int size = layoutCost.getSize();
+            int generated = 0;
+            while (generated < generations && System.currentTimeMillis() < deadline) {
+                ++generated;
+                orderCrossover(population[tournament()], population[tournament()]);
+                if (size > 1 && random.nextDouble() < MUTATION_RATE) {
+                    int r = random.nextInt(layoutCost.getNumChars());
+                    int s = random.nextInt(size - 1);
+                    swap(child, r, s >= r ? s + 1 : s);
+                }
+                double cost = localSearch.improve(layoutCost, child, layoutCost.cost(child), deadline);
+                replaceWorst(cost);
+            }
+            return generated;
+        }
+
+        /**
+         * Adds a migrant to the population, in place of the worst layout.
+         *
+         * @param migrant The layout of the migrant.
+         * @param cost    The cost of the migrant.
+         */
+        void receive(int[] migrant, double cost) {
+            System.arraycopy(migrant, 0, child, 0, child.length);
+            replaceWorst(cost);
+        }
+
+        /**
+         * Gets a copy of the best layout of the population.
+         *
+         * @return The slot of every item in the best layout.
+         */
+        int[] getBest() {
+            return population[best()].clone();
+        }
+
+        /**
+         * Gets the cost of the best layout of the population.
+         *
+         * @return The lowest cost of the population.
+         */
+        double getBestCost() {
+            return costs[best()];
+        }
+
+        /**
+         * Gives the index of the best layout of the population.
+         *
+         * @return The index of the layout with the lowest cost.
+         */
+        private int best() {
+            int best = 0;
+            for (int p = 1; p < members; ++p) {
+                if (costs[p] < costs[best]) best = p;
+            }
+            return best;
+        }
+
+        /**
+         * Chooses a parent with a binary tournament.
+         *
+         * @return The index of the best of two random layouts of the population.
+         */
+        private int tournament() {
+            int a = random.nextInt(members), b = random.nextInt(members);
+            return costs[a] <= costs[b] ? a : b;
+        }
+
+        /**
+         * Replaces the worst layout of the population with the offspring, if the offspring is better and its cost is
+         * not already in the population, which keeps the population diverse. While the population is not full, the
+         * offspring is added instead.
+         * The buffer of the replaced layout becomes the new buffer of the offspring.
+         *
+         * @param cost The cost of the offspring.
+         */
+        private void replaceWorst(double cost) {
+            int worst = 0;
+            for (int p = 0; p < members; ++p) {
+                if (Math.abs(costs[p] - cost) < 1e-9) return;
+                if (costs[p] > costs[worst]) worst = p;
+            }
+            if (members < POPULATION_SIZE) {
+                population[members] = child;
+                costs[members] = cost;
+                ++members;
+                child = new int[child.length];
+            } else if (cost < costs[worst]) {
+                int[] replaced = population[worst];
+                population[worst] = child;
+                costs[worst] = cost;
+                child = replaced;
+            }
+        }
+
+        /**
+         * Combines two parents into the offspring with the order crossover: the items of a random segment keep the
+         * slots of the first parent, and the other items take the remaining slots in the order of the second parent.
+         *
+         * @param first  The first parent.
+         * @param second The second parent.
+         */
+        private void orderCrossover(int[] first, int[] second) {
+            int size = child.length;
+            int start = random.nextInt(size), end = random.nextInt(size);
+            if (start > end) {
+                int aux = start;
+                start = end;
+                end = aux;
+            }
+
+            Arrays.fill(usedSlots, false);
+            for (int item = start; item <= end; ++item) {
+                child[item] = first[item];
+                usedSlots[first[item]] = true;
+            }
+            int next = end + 1;
+            for (int k = 1; k <= size; ++k) {
+                int item = (end + k) % size;
+                if (item >= start && item <= end) continue;
+                while (usedSlots[second[next % size]]) ++next;
+                child[item] = second[next % size];
+                usedSlots[child[item]] = true;
+            }
+        }
+
+        /**
+         * Exchanges the slots of two items.
+         *
+         * @param permutation The slot of every item.
+         * @param r           The first item.
+         * @param s           The second item.
+         */
+        private static void swap(int[] permutation, int r, int s) {
+            int slot = permutation[r];
+            permutation[r] = permutation[s];
+            permutation[s] = slot;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "Genetic", which evolves the Keyboard of the GreedyAlgorithm with the GeneticAlgorithm.
+ * It uses the budget, the seed, the initial positions and the distances of the parameters, and evolves one island
+ * per thread.
+ */
+public class GeneticKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Genetic";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.ANYTIME, AlgorithmCapability.PARALLEL, AlgorithmCapability.CUSTOM_DISTANCES);
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return GeneticAlgorithm.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        GeneticAlgorithm genetic;
+        if (parameters.getThreads() == 0 && parameters.getSeed() == null) genetic = new GeneticAlgorithm();
+        else {
+            int islands = parameters.getThreads() > 0 ? parameters.getThreads() : Math.max(4, Runtime.getRuntime().availableProcessors());
+            genetic = parameters.getSeed() == null ? new GeneticAlgorithm(islands) : new GeneticAlgorithm(islands, parameters.getSeed());
+        }
+        genetic.setIncumbent(incumbent);
+        genetic.setDistances(parameters.getDistances());
+        return genetic.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
@@ -0,0 +1,425 @@
+package Domain;
+
+import java.util.Arrays;
+
+/**
+ * GilmoreLawlerBound computes the Gilmore-Lawler lower bound used by the QAPAlgorithm to prune the tree of solutions.
+ * The slots of the Keyboard are filled in row-major order, so a partial Keyboard is described by its depth (the number
+ * of characters already placed) and the characters placed on the first slots.
+ * The bound keeps, for every depth of the current branch, the cost between the placed characters and the interaction
+ * between every character and every slot with the placed characters, so the bound of a child is obtained from the
+ * values of its parent instead of being recomputed from scratch.
+ * Since the free slots only depend on the depth, the sorted distances between them are computed once per search, and
+ * the sorted transits of every character with the characters yet to be placed are kept per depth, removing from them
+ * the characters placed, so no vector is sorted while exploring the tree of solutions.
+ */
+public class GilmoreLawlerBound {
+
+    /**
+     * The flow of the TransitionMatrix, whose transits in both directions give the cost of every pair of characters.
+     */
+    private final FlowMatrix flowMatrix;
+
+    /**
+     * The matrix extracted from a TransitionMatrix, whose direction is needed by the sorted transits.
+     */
+    private final int[][] transitTable;
+
+    /**
+     * The transits in both directions between every pair of characters, indexed by character1 * numChars + character2.
+     */
+    private final long[] flow;
+
+    /**
+     * Precomputation of the distances between the keys in the Keyboard.
+     */
+    private final SlotDistanceTable distances;
+
+    /**
+     * The distances between the slots, indexed by slot1 * slots + slot2, so the distances from a slot are contiguous.
+     */
+    private final double[] slotDistances;
+
+    /**
+     * The number of slots of the distances.
+     */
+    private final int slots;
+
+    /**
+     * The kernels that compute the inner loops of the bound.
+     */
+    private static final ArrayKernels KERNELS = ArrayKernels.get();
+
+    /**
+     * The number of characters to place on the Keyboard.
+     */
+    private final int numChars;
+
+    /**
+     * The characters placed on the slots of the current branch.
+     */
+    private final int[] placedChars;
+
+    /**
+     * For every depth, the cost between the characters placed on the slots before it.
+     */
+    private final double[] placedCost;
+
+    /**
+     * For every depth, character and slot, the cost of the transits between that character, placed on that slot, and
+     * the characters placed on the slots before the depth.
+     */
+    private final double[][][] interactions;
+
+    /**
+     * For every depth, the distances from every free slot to the other free slots, in descending order.
+     * The free slots at a depth are the ones after it, so the vector of the free slot depth + 1 + pos starts at
+     * pos * (free slots - 1). It is shared by all the copies of the bound.
+     */
+    private final double[][] sortedDistances;
+
+    /**
+     * For every depth and character, the transits from the characters yet to be placed (other than itself) to that
+     * character, in ascending order.
+     */
+    private final int[][][] incomingTransits;
+
+    /**
+     * How the reduced assignment problem that closes the bound is solved.
+     */
+    private final BoundStrategy strategy;
+
+    /**
+     * The solver of the reduced assignment problem, when the strategy is {@link BoundStrategy#LINEAR_ASSIGNMENT}.
+     */
+    private final LinearAssignment assignment;
+
+    /**
+     * For every depth, the dual values of the free slots in the last assignment problem solved, used to warm-start
+     * the assignment problems of the children.
+     */
+    private final double[][] columnDuals;
+
+    /**
+     * Scratch buffer with the characters yet to be placed.
+     */
+    private final int[] notUsedChars;
+
+    /**
+     * Scratch buffer with the reduced assignment problem between the characters yet to be placed and the free slots.
+     */
+    private final double[][] aproxMatrix;
+
+    /**
+     * Scratch buffer with the sorted transits of a character yet to be placed with the other ones.
+     */
+    private final int[] sortedTransits;
+
+    /**
+     * The evaluations between two timed evaluations, minus one. Reading the clock costs about as much as the first
+     * term, so only a sample of the evaluations is timed.
+     */
+    private static final long TIMING_SAMPLE_MASK = 63;
+
+    /**
+     * The number of bounds calculated by this instance.
+     */
+    private long evaluations;
+
+    /**
+     * The number of bounds whose terms have been timed.
+     */
+    private long timedEvaluations;
+
+    /**
+     * The time spent on the first term of the timed bounds, in nanoseconds.
+     */
+    private long firstTermNanos;
+
+    /**
+     * The time spent on the second and third terms of the timed bounds, in nanoseconds.
+     */
+    private long secondTermNanos;
+
+    /**
+     * Constructs a GilmoreLawlerBound for an empty Keyboard.
+     * Every buffer needed to compute the bounds is allocated here, so computing them does not allocate any memory.
+     *
+     * @param flowMatrix The flow of a TransitionMatrix.
+     * @param distances  Precomputation of the distances between the keys in the Keyboard.
+     * @param strategy   How the reduced assignment problem that closes the bound is solved.
+     */
+    public GilmoreLawlerBound(FlowMatrix flowMatrix, SlotDistanceTable distances, BoundStrategy strategy) {
+        this(flowMatrix, distances, strategy, sortDistances(distances, flowMatrix.getSize()));
+        for (int i = 0; i < numChars; ++i) {
+            int k = 0;
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j) {
+                    incomingTransits[0][i][k] = transitTable[j][i];
+                    ++k;
+                }
+            }
+            Arrays.sort(incomingTransits[0][i], 0, numChars - 1);
+        }
+    }
+
+    /**
+     * Constructs a GilmoreLawlerBound with the given sorted distances between the free slots of every depth.
+     *
+     * @param flowMatrix      The flow of a TransitionMatrix.
+     * @param distances       Precomputation of the distances between the keys in the Keyboard.
+     * @param strategy        How the reduced assignment problem that closes the bound is solved.
+     * @param sortedDistances For every depth, the distances from every free slot to the other free slots, in descending order.
+     */
+    private GilmoreLawlerBound(FlowMatrix flowMatrix, SlotDistanceTable distances, BoundStrategy strategy, double[][] sortedDistances) {
+        this.flowMatrix = flowMatrix;
+        this.transitTable = flowMatrix.getTransitTable();
+        this.flow = flowMatrix.getFlow();
+        this.strategy = strategy;
+        this.distances = distances;
+        this.slotDistances = distances.getDistances();
+        this.slots = distances.getSlots();
+        this.sortedDistances = sortedDistances;
+        numChars = transitTable.length;
+        placedChars = new int[numChars];
+        placedCost = new double[numChars + 1];
+        interactions = new double[numChars + 1][numChars][numChars];
+        incomingTransits = new int[numChars + 1][numChars][numChars];
+        notUsedChars = new int[numChars];
+        aproxMatrix = new double[numChars][numChars];
+        sortedTransits = new int[numChars];
+        if (strategy == BoundStrategy.LINEAR_ASSIGNMENT) {
+            assignment = new LinearAssignment(numChars);
+            columnDuals = new double[numChars][numChars];
+        } else {
+            assignment = null;
+            columnDuals = null;
+        }
+    }
+
+    /**
+     * Sorts, for every depth, the distances from every free slot to the other free slots in descending order.
+     *
+     * @param distances Precomputation of the distances between the keys in the Keyboard.
+     * @param numChars  The number of characters to place on the Keyboard.
+     * @return For every depth, the sorted distance vectors of its free slots, one after the other.
+     */
+    private static double[][] sortDistances(SlotDistanceTable distances, int numChars) {
+        double[][] sortedDistances = new double[numChars][];
+        for (int depth = 0; depth < numChars; ++depth) {
+            int freeSlots = numChars - depth - 1;
+            double[] sorted = new double[freeSlots * Math.max(0, freeSlots - 1)];
+            for (int pos = 0; pos < freeSlots; ++pos) {
+                int start = pos * (freeSlots - 1), elem = start;
+                for (int pos2 = 0; pos2 < freeSlots; ++pos2) {
+                    if (pos != pos2) {
+                        sorted[elem] = distances.distance(depth + 1 + pos, depth + 1 + pos2);
+                        ++elem;
+                    }
+                }
+                Arrays.sort(sorted, start, elem);
+                for (int l = start, r = elem - 1; l < r; ++l, --r) {
+                    double aux = sorted[l];
+                    sorted[l] = sorted[r];
+                    sorted[r] = aux;
+                }
+            }
+            sortedDistances[depth] = sorted;
+        }
+        return sortedDistances;
+    }
+
+    /**
+     * Copies the partial sums of the current branch until the given depth, so that the copy can explore a subtree
+     * independently, for example on another thread.
+     *
+     * @param depth The number of characters already placed.
+     * @return A GilmoreLawlerBound with the same partial sums until the given depth.
+     */
+    public GilmoreLawlerBound copy(int depth) {
+        GilmoreLawlerBound copy = new GilmoreLawlerBound(flowMatrix, distances, strategy, sortedDistances);
+        System.arraycopy(placedChars, 0, copy.placedChars, 0, depth);
+        for (int d = 0; d <= depth; ++d) {
+            copy.placedCost[d] = placedCost[d];
+            for (int k = 0; k < numChars; ++k) {
+                System.arraycopy(interactions[d][k], 0, copy.interactions[d][k], 0, numChars);
+                System.arraycopy(incomingTransits[d][k], 0, copy.incomingTransits[d][k], 0, numChars);
+            }
+        }
+        if (columnDuals != null && depth > 0) {
+            System.arraycopy(columnDuals[depth - 1], 0, copy.columnDuals[depth - 1], 0, numChars);
+        }
+        return copy;
+    }
+
+    /**
+     * Places a character on the slot given by the depth, computing the partial sums of the next depth.
+     *
+     * @param depth     The number of characters already placed, which is also the slot where the character is placed.
+     * @param character The character placed.
+     */
+    public void place(int depth, int character) {
+        placedChars[depth] = character;
+        placedCost[depth + 1] = placedCost[depth] + placementCost(depth, character);
+        int characterRow = character * numChars;
+        int distanceRow = depth * slots;
+        for (int k = 0; k < numChars; ++k) {
+            long transits = flow[characterRow + k];
+            KERNELS.axpy(transits, slotDistances, distanceRow + depth + 1, interactions[depth][k], depth + 1,
+                    interactions[depth + 1][k], depth + 1, numChars - depth - 1);
+            removeTransit(incomingTransits[depth][k], incomingTransits[depth + 1][k], numChars - depth - 1, transitTable[character][k]);
+        }
+    }
+
+    /**
+     * Copies a sorted vector of transits removing one occurrence of the given value, keeping it sorted.
+     *
+     * @param from   The sorted vector of transits.
+     * @param to     The vector where the transits are copied.
+     * @param length The number of transits of the sorted vector.
+     * @param value  The value removed; if it does not appear, the last transit is removed.
+     */
+    private static void removeTransit(int[] from, int[] to, int length, int value) {
+        int k = 0;
+        boolean removed = false;
+        for (int e = 0; e < length && k < length - 1; ++e) {
+            if (!removed && from[e] == value) removed = true;
+            else {
+                to[k] = from[e];
+                ++k;
+            }
+        }
+    }
+
+    /**
+     * Calculates the lower bound of the partial Keyboard obtained by placing a character on the slot given by the
+     * depth, never lower than the lowest cost of all the Keyboards that can be created in this branch of the tree of
+     * solutions. For the last character, it is the cost of the whole Keyboard.
+     *
+     * @param depth          The number of characters already placed, which is also the slot where the character is placed.
+     * @param character      The character placed.
+     * @param availableChars List of the available characters yet to be placed on the Keyboard, with the placed character already marked as used.
+     * @return The calculated bound.
+     */
+    public double calculateBound(int depth, int character, int[][] availableChars) {
+        if ((evaluations++ & TIMING_SAMPLE_MASK) == 0) return timedBound(depth, character, availableChars);
+        double firstTerm = placedCost[depth] + placementCost(depth, character);
+        if (depth == numChars - 1) return firstTerm;
+        return firstTerm + term2and3(depth, character, availableChars);
+    }
+
+    /**
+     * Calculates the bound as calculateBound, timing each of its terms.
+     *
+     * @param depth          The number of characters already placed.
+     * @param character      The character placed.
+     * @param availableChars List of the available characters yet to be placed on the Keyboard.
+     * @return The calculated bound.
+     */
+    private double timedBound(int depth, int character, int[][] availableChars) {
+        long start = System.nanoTime();
+        double firstTerm = placedCost[depth] + placementCost(depth, character);
+        long firstEnd = System.nanoTime();
+        firstTermNanos += firstEnd - start;
+        ++timedEvaluations;
+        if (depth == numChars - 1) return firstTerm;
+        double bound = firstTerm + term2and3(depth, character, availableChars);
+        secondTermNanos += System.nanoTime() - firstEnd;
+        return bound;
+    }
+
+    /**
+     * Gets the number of bounds calculated by this instance, not by its copies.
+     *
+     * @return The number of bound evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Gets the estimated time spent by this instance on the first term of its bounds.
+     *
+     * @return The time, in nanoseconds, extrapolated from the timed evaluations.
+     */
+    public long getFirstTermNanos() {
+        return timedEvaluations == 0 ? 0 : firstTermNanos * evaluations / timedEvaluations;
+    }
+
+    /**
+     * Gets the estimated time spent by this instance on the second and third terms of its bounds.
+     *
+     * @return The time, in nanoseconds, extrapolated from the timed evaluations.
+     */
+    public long getSecondTermNanos() {
+        return timedEvaluations == 0 ? 0 : secondTermNanos * evaluations / timedEvaluations;
+    }
+
+    /**
+     * Calculates the cost between a character placed on the slot given by the depth and the characters placed before it.
+     *
+     * @param depth     The number of characters already placed, which is also the slot where the character is placed.
+     * @param character The character placed.
+     * @return The cost added to the first term of the bound.
+     */
+    private double placementCost(int depth, int character) {
+        // The distances are symmetric, so the distances from the slot to the previous ones are contiguous
+        return KERNELS.dotGather(slotDistances, depth * slots, flow, character * numChars, placedChars, 0, depth);
+    }
+
+    /**
+     * Calculates the second and third term of the bound.
+     *
+     * @param depth          The number of characters already placed, which is also the slot where the character is placed.
+     * @param character      The character placed.
+     * @param availableChars List of the available characters yet to be placed on the Keyboard.
+     * @return The calculated bound.
+     */
+    private double term2and3(int depth, int character, int[][] availableChars) {
+        int notUsedCharsSize = numChars - depth - 1;
+        int avCharsIt = 0;
+        for (int i = 0; i < notUsedCharsSize; ++i) {
+            while (availableChars[avCharsIt][1] == 0) ++avCharsIt;
+            notUsedChars[i] = availableChars[avCharsIt][0];
+            ++avCharsIt;
+        }
+
+        int characterRow = character * numChars;
+        int distanceRow = depth * slots;
+        for (int k = 0; k < notUsedCharsSize; ++k) {
+            long transits = flow[characterRow + notUsedChars[k]];
+            KERNELS.axpy(transits, slotDistances, distanceRow + depth + 1, interactions[depth][notUsedChars[k]], depth + 1,
+                    aproxMatrix[k], 0, notUsedCharsSize);
+        }
+
+        double[] D = sortedDistances[depth];
+        int vectorSize = notUsedCharsSize - 1;
+        for (int i = 0; i < notUsedCharsSize; ++i) {
+            // The transits to this character from the other characters yet to be placed, without the placed character
+            removeTransit(incomingTransits[depth][notUsedChars[i]], sortedTransits, vectorSize + 1, transitTable[character][notUsedChars[i]]);
+            for (int l = 0; l < notUsedCharsSize; ++l) {
+                // The lowest scalar product pairs the transits in ascending order with the distances in descending order
+                aproxMatrix[i][l] += KERNELS.dot(sortedTransits, 0, D, l * vectorSize, vectorSize);
+            }
+        }
+
+        if (strategy == BoundStrategy.LINEAR_ASSIGNMENT) {
+            // The free slots of the parent start one position before, so its dual values are shifted by one
+            double sum = assignment.solve(aproxMatrix, notUsedCharsSize, depth > 0 ? columnDuals[depth - 1] : null, 1);
+            assignment.getColumnDuals(columnDuals[depth], notUsedCharsSize);
+            return sum;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < notUsedCharsSize; ++i) {
+            double[] row = aproxMatrix[i];
+            double min = row[0];
+            for (int j = 1; j < notUsedCharsSize; ++j) {
+                if (row[j] < min) min = row[j];
+            }
+            sum += min;
+        }
+
+        return sum;
+    }
+}
@@ -17,36 +17,56 @@ public class GreedyAlgorithm {
      * @return A two-dimensional array representing the positions of characters on the Keyboard.
      */
     public int[][] getPositions(int[][] transitTable) {
-        int[][] charTransits = getCharTransits(transitTable); // Obtain character transitions
-        Arrays.sort(charTransits, Comparator.comparingInt(p -> -p[1])); // Sort characters by descending transit
-
-        int c = (int) Math.sqrt(transitTable.length); // Columns in the keyboard distribution
-        int f = (int) Math.ceil(transitTable.length / (double) c); // Rows in the keyboard distribution
-
-        return getCharacterPositions(f, c, charTransits);
+        return getPositions(transitTable, null);
     }
 
     /**
-     * Gives the characters to be placed on the Keyboard, along with the times that they appear in the TransitionMatrix.
+     * Gives the positions of characters on a Keyboard using a greedy algorithm, keeping the pinned characters on their
+     * slots. The other characters fill the free slots in the same spiral order as without pinned characters.
      *
      * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters
      *                     that the first letter will be written after the second letter.
-     * @return A two-dimensional array containing the character indices, along with the summation of their row in the
-     * TransitionMatrix.
+     * @param pinnedSlots  The slot of every character, in row-major order on the grid of the Keyboard, or -1 if the
+     *                     character is not pinned; null if no character is pinned.
+     * @return A two-dimensional array representing the positions of characters on the Keyboard.
      */
-    private int[][] getCharTransits(int[][] transitTable) {
-        int[][] charTransits = new int[transitTable.length][2];
+    public int[][] getPositions(int[][] transitTable, int[] pinnedSlots) {
+        return getPositions(new FlowMatrix(transitTable), pinnedSlots);
+    }
 
-        for (int i = 0; i < transitTable.length; ++i) {
-            int sum = 0;
-            for (int j = 0; j < transitTable[i].length; ++j) {
-                sum += transitTable[i][j];
-            }
-            charTransits[i][0] = i;
-            charTransits[i][1] = sum;
-        }
+    /**
+     * Gives the positions of characters on a Keyboard using a greedy algorithm, from the flow of a TransitionMatrix,
+     * keeping the pinned characters on their slots.
+     *
+     * @param flowMatrix  The flow of a TransitionMatrix, whose row sums order the characters.
+     * @param pinnedSlots The slot of every character, in row-major order on the grid of the Keyboard, or -1 if the
+     *                    character is not pinned; null if no character is pinned.
+     * @return A two-dimensional array representing the positions of characters on the Keyboard.
+     */
+    public int[][] getPositions(FlowMatrix flowMatrix, int[] pinnedSlots) {
+        int[] characters = getCharTransits(flowMatrix); // Sort characters by descending transit
+
+        int c = (int) Math.sqrt(flowMatrix.getSize()); // Columns in the keyboard distribution
+        int f = (int) Math.ceil(flowMatrix.getSize() / (double) c); // Rows in the keyboard distribution
+
+        return getCharacterPositions(f, c, characters, pinnedSlots);
+    }
 
-        return charTransits;
+    /**
+     * Gives the characters to be placed on the Keyboard, ordered by the times that they appear in the TransitionMatrix.
+     *
+     * @param flowMatrix The flow of a TransitionMatrix, which keeps the summation of the row of every character.
+     * @return The character indices in descending order of the summation of their row in the TransitionMatrix, the
+     * characters with the same summation in ascending order of their indices.
+     */
+    private int[] getCharTransits(FlowMatrix flowMatrix) {
+        Integer[] order = new Integer[flowMatrix.getSize()];
+        for (int i = 0; i < order.length; ++i) order[i] = i;
+        Arrays.sort(order, Comparator.comparingLong(i -> -flowMatrix.getRowSum(i)));
+
+        int[] characters = new int[order.length];
+        for (int i = 0; i < order.length; ++i) characters[i] = order[i];
+        return characters;
     }
 
     /**
@@ -55,12 +75,44 @@ public class GreedyAlgorithm {
      *
      * @param f            The number of rows in the keyboard distribution.
      * @param c            The number of columns in the keyboard distribution.
-     * @param charTransits The ordered array by transits of the characters to be placed on the Keyboard.
+     * @param characters   The characters to be placed on the Keyboard, ordered by transits.
+     * @param pinnedSlots  The slot of every character, or -1 if the character is not pinned; null if none is pinned.
      * @return A two-dimensional array representing the positions of characters on the Keyboard.
      */
-    private int[][] getCharacterPositions(int f, int c, int[][] charTransits) {
+    private int[][] getCharacterPositions(int f, int c, int[] characters, int[] pinnedSlots) {
         int[][] characterPositions = new int[f][c]; // Distribution matrix with necessary rows and columns
-        int i, j, dirx, diry, iter = 0; // The iterator for the CharTransits initially set to 0
+        if (c == 0) return characterPositions; // Special case when the matrix is empty
+
+        for (int[] row : characterPositions) Arrays.fill(row, -1);
+        if (pinnedSlots != null) {
+            for (int character = 0; character < pinnedSlots.length; ++character) {
+                if (pinnedSlots[character] >= 0) characterPositions[pinnedSlots[character] / c][pinnedSlots[character] % c] = character;
+            }
+        }
+
+        int iter = 0; // The iterator for the characters initially set to 0
+        for (int slot : getSlotOrder(f, c)) {
+            while (iter < characters.length && pinnedSlots != null && pinnedSlots[characters[iter]] >= 0) ++iter;
+            if (iter == characters.length) break;
+            if (characterPositions[slot / c][slot % c] >= 0) continue; // The slot holds a pinned character
+            characterPositions[slot / c][slot % c] = characters[iter];
+            ++iter;
+        }
+
+        return characterPositions;
+    }
+
+    /**
+     * Gives the order in which the slots of the Keyboard are filled: a spiral from the centre of the square of c rows
+     * and columns, followed by the row below it from right to left and the next row from left to right.
+     *
+     * @param f The number of rows in the keyboard distribution.
+     * @param c The number of columns in the keyboard distribution.
+     * @return The slots in row-major order, in the order in which they are filled.
+     */
+    private int[] getSlotOrder(int f, int c) {
+        int[] order = new int[f * c];
+        int i, j, dirx, diry, iter = 0;
 
         // Choose initial position/direction of character assignment
         if (c % 2 == 0) {
@@ -76,16 +128,15 @@ public class GreedyAlgorithm {
 
         boolean[][] visited = new boolean[f][c]; // Initialization of the matrix of visited positions in the keyboard distribution
 
-        if (c == 0) return characterPositions; // Special case when the matrix is empty
-        else if (c == 1) {
-            characterPositions[0][0] = charTransits[iter][0];
+        if (c == 1) {
+            order[iter] = 0;
             ++iter;
         } else {
             boolean cont = true; // Boolean representing whether characters can continue to be assigned in a spiral pattern
             boolean posinicial = true;
 
             while (cont) {
-                characterPositions[i][j] = charTransits[iter][0];
+                order[iter] = i * c + j;
                 ++iter;
                 visited[i][j] = true;
 
@@ -122,33 +173,19 @@ public class GreedyAlgorithm {
         }
 
         if (f > c) {
-            i = c;
-            j = c - 1;
-            while (j >= 0 && iter < charTransits.length) {
-                characterPositions[i][j] = charTransits[iter][0];
-                --j;
+            for (j = c - 1; j >= 0; --j) {
+                order[iter] = c * c + j;
                 ++iter;
             }
-            while (j >= 0) {
-                characterPositions[i][j] = -1;
-                --j;
-            }
         }
         if (f == c + 2) {
-            i = c + 1;
-            j = 0;
-            while (j < c && iter < charTransits.length) {
-                characterPositions[i][j] = charTransits[iter][0];
-                ++j;
+            for (j = 0; j < c; ++j) {
+                order[iter] = (c + 1) * c + j;
                 ++iter;
             }
-            while (j < c) {
-                characterPositions[i][j] = -1;
-                ++j;
-            }
         }
 
-        return characterPositions;
+        return order;
     }
 
     /**
@@ -0,0 +1,40 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "Greedy", which places the characters with the GreedyAlgorithm. It only uses the pinned
+ * characters of the parameters.
+ */
+public class GreedyKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Greedy";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.PINNED_KEYS);
+    }
+
+    /**
+     * Gets the default budget, which does not limit anything since the GreedyAlgorithm is not a search.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return A budget without limits.
+     */
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(0, 0, 0);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        long startTime = System.currentTimeMillis();
+        int[][] positions = new GreedyAlgorithm().getPositions(transitTable, parameters.getPinnedSlots());
+        double cost = new KeyboardAvaluator().getTotalCost(positions, transitTable);
+        return new SolverResult(positions, cost, 0, 0, System.currentTimeMillis() - startTime, false);
+    }
+}
@@ -0,0 +1,228 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GridSymmetry breaks the symmetries of the grid in the tree of solutions of the QAPAlgorithm.
+ * The distance between two keys only depends on the differences of their rows and columns, so mirroring a Keyboard
+ * horizontally or vertically, or transposing a square one, does not change its cost, and the tree of solutions holds
+ * up to 8 copies of every Keyboard. Only the symmetries that keep the slots used by the search and the slots of the
+ * pinned characters in place are considered.
+ * Every Keyboard has a symmetric one where a chosen character is on the first slot of its orbit and, among the
+ * symmetries that keep that slot in place, a second chosen character is on the first slot of its orbit, so the search
+ * only explores the Keyboards that satisfy both constraints, without losing any optimal Keyboard.
+ * The constraints only depend on the partial Keyboard of the branch, so a GridSymmetry can be shared by every worker.
+ */
+public class GridSymmetry {
+
+    /**
+     * The slot of the grid filled at every depth of the tree of solutions.
+     */
+    private final int[] slotOrder;
+
+    /**
+     * The character placed on the first slot of its orbit.
+     */
+    private final int first;
+
+    /**
+     * The character placed on the first slot of its orbit under the symmetries that keep the slot of the first one.
+     */
+    private final int second;
+
+    /**
+     * The number of symmetries of the grid, including the identity.
+     */
+    private final int order;
+
+    /**
+     * Whether the first character can be placed on every slot.
+     */
+    private final boolean[] allowedFirst;
+
+    /**
+     * The deepest depth where the first character can be placed, so every other character is rejected there if the
+     * first one has not been placed yet.
+     */
+    private final int lastDepthFirst;
+
+    /**
+     * For every slot of the first character, whether the second character can be placed on every slot.
+     */
+    private final boolean[][] allowedSecond;
+
+    /**
+     * For every slot of the first character, the deepest depth where the second character can be placed.
+     */
+    private final int[] lastDepthSecond;
+
+    /**
+     * Whether every depth is the deepest one of the second character for any slot of the first one.
+     */
+    private final boolean[] forcesSecond;
+
+    /**
+     * Constructs the GridSymmetry of a search.
+     *
+     * @param rows      The number of rows of the grid.
+     * @param cols      The number of columns of the grid.
+     * @param slotOrder The slot of the grid filled at every depth of the tree of solutions.
+     * @param numPinned The number of pinned characters, which are placed on the first depths.
+     * @param first     The character placed on the first slot of its orbit, which must not be pinned.
+     * @param second    The character placed on the first slot of its orbit under the symmetries that keep the slot of
+     *                  the first one, which must not be pinned.
+     */
+    public GridSymmetry(int rows, int cols, int[] slotOrder, int numPinned, int first, int second) {
+        this.slotOrder = slotOrder;
+        this.first = first;
+        this.second = second;
+        int slots = rows * cols;
+
+        boolean[] used = new boolean[slots];
+        for (int slot : slotOrder) used[slot] = true;
+        List<int[]> symmetries = new ArrayList<>();
+        for (int[] symmetry : getSymmetries(rows, cols)) {
+            boolean valid = true;
+            for (int slot = 0; slot < slots && valid; ++slot) valid = used[slot] == used[symmetry[slot]];
+            for (int depth = 0; depth < numPinned && valid; ++depth) valid = symmetry[slotOrder[depth]] == slotOrder[depth];
+            if (valid) symmetries.add(symmetry);
+        }
+        order = symmetries.size();
+
+        boolean[] free = used.clone();
+        for (int depth = 0; depth < numPinned; ++depth) free[slotOrder[depth]] = false;
+
+        allowedFirst = getFirstOfOrbits(symmetries, free, -1);
+        lastDepthFirst = getLastDepth(allowedFirst, numPinned);
+        allowedSecond = new boolean[slots][];
+        lastDepthSecond = new int[slots];
+        forcesSecond = new boolean[slotOrder.length];
+        for (int slot = 0; slot < slots; ++slot) {
+            if (!allowedFirst[slot]) continue;
+            List<int[]> stabilizer = new ArrayList<>();
+            for (int[] symmetry : symmetries) {
+                if (symmetry[slot] == slot) stabilizer.add(symmetry);
+            }
+            allowedSecond[slot] = getFirstOfOrbits(stabilizer, free, slot);
+            lastDepthSecond[slot] = getLastDepth(allowedSecond[slot], numPinned);
+            if (lastDepthSecond[slot] >= 0) forcesSecond[lastDepthSecond[slot]] = true;
+        }
+    }
+
+    /**
+     * Gives the symmetries of a grid: the identity, the horizontal and vertical mirrors and their composition, and, if
+     * the grid is square, the same four composed with the transposition.
+     *
+     * @param rows The number of rows of the grid.
+     * @param cols The number of columns of the grid.
+     * @return Every symmetry, as the slot where it moves every slot.
+     */
+    private static List<int[]> getSymmetries(int rows, int cols) {
+        List<int[]> symmetries = new ArrayList<>();
+        for (int transpose = 0; transpose < (rows == cols ? 2 : 1); ++transpose) {
+            for (int mirror = 0; mirror < 4; ++mirror) {
+                int[] symmetry = new int[rows * cols];
+                for (int i = 0; i < rows; ++i) {
+                    for (int j = 0; j < cols; ++j) {
+                        int row = (mirror & 1) != 0 ? rows - 1 - i : i;
+                        int col = (mirror & 2) != 0 ? cols - 1 - j : j;
+                        symmetry[i * cols + j] = transpose == 1 ? col * cols + row : row * cols + col;
+                    }
+                }
+                symmetries.add(symmetry);
+            }
+        }
+        return symmetries;
+    }
+
+    /**
+     * Gives the free slots that are the first slot of their orbit under the given symmetries.
+     *
+     * @param symmetries The symmetries.
+     * @param free       Whether every slot is used by the search and does not hold a pinned character.
+     * @param excluded   A slot that is never allowed, or -1.
+     * @return Whether every slot is the first slot of its orbit.
+     */
+    private static boolean[] getFirstOfOrbits(List<int[]> symmetries, boolean[] free, int excluded) {
+        boolean[] firstOfOrbit = new boolean[free.length];
+        for (int slot = 0; slot < free.length; ++slot) {
+            if (!free[slot] || slot == excluded) continue;
+            firstOfOrbit[slot] = true;
+            for (int[] symmetry : symmetries) {
+                if (symmetry[slot] < slot) firstOfOrbit[slot] = false;
+            }
+        }
+        return firstOfOrbit;
+    }
+
+    /**
+     * Gives the deepest depth whose slot is allowed.
+     *
+     * @param allowed   Whether every slot is allowed.
+     * @param numPinned The number of pinned characters, which are placed on the first depths.
+     * @return The deepest depth, or -1 if no slot is allowed.
+     */
+    private int getLastDepth(boolean[] allowed, int numPinned) {
+        int last = -1;
+        for (int depth = numPinned; depth < slotOrder.length; ++depth) {
+            if (allowed[slotOrder[depth]]) last = depth;
+        }
+        return last;
+    }
+
+    /**
+     * Gets the number of symmetries of the grid that keep the slots of the search in place, including the identity.
+     *
+     * @return The number of symmetries, which is 1 if no symmetry can be broken.
+     */
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * Checks whether a character can be placed on the slot of the given depth, which is true if the branch can still
+     * lead to a Keyboard that satisfies the constraints.
+     *
+     * @param depth            The number of characters already placed.
+     * @param character        The character placed.
+     * @param partialPositions The character placed on every depth of the branch, before the given one.
+     * @return True if the character can be placed, false if the branch only holds symmetric copies of other Keyboards.
+     */
+    public boolean isAllowed(int depth, int character, int[] partialPositions) {
+        int slot = slotOrder[depth];
+        if (character == first) {
+            if (!allowedFirst[slot]) return false;
+            int secondDepth = find(second, partialPositions, depth);
+            if (secondDepth < 0) return lastDepthSecond[slot] > depth;
+            return allowedSecond[slot][slotOrder[secondDepth]];
+        }
+
+        // The first character cannot be placed on any later slot
+        if (depth == lastDepthFirst && find(first, partialPositions, depth) < 0) return false;
+        if (character == second) {
+            int firstDepth = find(first, partialPositions, depth);
+            return firstDepth < 0 || allowedSecond[slotOrder[firstDepth]][slot];
+        }
+        if (forcesSecond[depth]) {
+            int firstDepth = find(first, partialPositions, depth);
+            if (firstDepth >= 0 && depth == lastDepthSecond[slotOrder[firstDepth]] && find(second, partialPositions, depth) < 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the depth where a character has been placed.
+     *
+     * @param character        The character.
+     * @param partialPositions The character placed on every depth of the branch.
+     * @param depth            The number of characters already placed.
+     * @return The depth of the character, or -1 if it has not been placed.
+     */
+    private static int find(int character, int[] partialPositions, int depth) {
+        for (int d = 0; d < depth; ++d) {
+            if (partialPositions[d] == character) return d;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,16 @@
+package Domain;
+
+/**
+ * The strategies available to choose the move applied at every step of the LocalSearch.
+ */
+public enum ImprovementStrategy {
+    /**
+     * Applies the first improving move found. Every step is cheap, but it may take more steps to reach a local optimum.
+     */
+    FIRST_IMPROVEMENT,
+
+    /**
+     * Scans the whole neighbourhood and applies the move that improves the cost the most.
+     */
+    BEST_IMPROVEMENT
+}
@@ -0,0 +1,88 @@
+package Domain;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * The service interface of the algorithms that find the positions of the characters of a Keyboard.
+ * The AlgorithmController runs the algorithms by name through a KeyboardAlgorithmRegistry, which contains the
+ * algorithms of the application and discovers any other implementation with the ServiceLoader. A new algorithm is
+ * added by listing its class, which must have a public constructor without arguments, in a
+ * {@code META-INF/services/Domain.KeyboardAlgorithm} file on the classpath.
+ * Every run must use its own solver, so that the same KeyboardAlgorithm can run several searches at the same time.
+ */
+public interface KeyboardAlgorithm {
+
+    /**
+     * Gets the name that identifies the algorithm, as chosen by the user.
+     *
+     * @return The name of the algorithm.
+     */
+    String getName();
+
+    /**
+     * Gets the capabilities of the algorithm.
+     *
+     * @return The capabilities, which may be empty.
+     */
+    Set<AlgorithmCapability> getCapabilities();
+
+    /**
+     * Gets the budget used when the parameters do not have any.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget of the algorithm.
+     */
+    SolverBudget getDefaultBudget(int numChars);
+
+    /**
+     * Gets the budget of a run: the one of the parameters, or the default budget of the algorithm if they have none.
+     *
+     * @param parameters The parameters of the run.
+     * @param numChars   The number of characters of the Keyboard.
+     * @return The budget of the run.
+     */
+    default SolverBudget getBudget(AlgorithmParameters parameters, int numChars) {
+        return parameters.getBudget() != null ? parameters.getBudget() : getDefaultBudget(numChars);
+    }
+
+    /**
+     * Gets the positions from which a run that improves a Keyboard starts: the ones of the parameters, or the Keyboard
+     * of the GreedyAlgorithm, with the pinned characters of the parameters on their slots, if they have none.
+     * If the parameters give the distances between the slots, the GreedyAlgorithm does not know them, so the run
+     * starts from a single row with the pinned characters on their slots and the others in order.
+     *
+     * @param parameters   The parameters of the run.
+     * @param transitTable The matrix extracted from a TransitionMatrix.
+     * @return The initial positions of the characters, negative on the empty slots.
+     */
+    default int[][] getInitialPositions(AlgorithmParameters parameters, int[][] transitTable) {
+        if (parameters.getInitialPositions() != null) return parameters.getInitialPositions();
+        int[] pinnedSlots = parameters.getPinnedSlots();
+        if (parameters.getDistances() == null) return new GreedyAlgorithm().getPositions(transitTable, pinnedSlots);
+
+        int[][] positions = new int[1][transitTable.length];
+        Arrays.fill(positions[0], -1);
+        for (int character = 0; pinnedSlots != null && character < transitTable.length; ++character) {
+            if (pinnedSlots[character] >= 0) positions[0][pinnedSlots[character]] = character;
+        }
+        int slot = 0;
+        for (int character = 0; character < transitTable.length; ++character) {
+            if (pinnedSlots != null && pinnedSlots[character] >= 0) continue;
+            while (positions[0][slot] >= 0) ++slot;
+            positions[0][slot] = character;
+        }
+        return positions;
+    }
+
+    /**
+     * Finds the positions of the characters of a Keyboard.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param parameters   The parameters of the run.
+     * @param incumbent    The incumbent to which the algorithm offers its Keyboards and reports its progress, and
+     *                     which stops it when it is stopped, or null if nobody follows the search.
+     * @return The best Keyboard found, along with the information of the search.
+     */
+    SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent);
+}
@@ -0,0 +1,64 @@
+package Domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * KeyboardAlgorithmRegistry contains the KeyboardAlgorithms available, by name.
+ * It starts with the algorithms of the application, in the order shown to the user, followed by the implementations
+ * discovered with the ServiceLoader. A discovered implementation with the name of an algorithm of the application
+ * replaces it.
+ */
+public class KeyboardAlgorithmRegistry {
+
+    /**
+     * The algorithms available, by name, in the order they have been registered.
+     */
+    private final Map<String, KeyboardAlgorithm> algorithms = new LinkedHashMap<>();
+
+    /**
+     * Constructs a KeyboardAlgorithmRegistry with the algorithms of the application and the ones discovered on the
+     * classpath.
+     */
+    public KeyboardAlgorithmRegistry() {
+        register(new GreedyKeyboardAlgorithm());
+        register(new QAPKeyboardAlgorithm());
+        register(new QAPParallelKeyboardAlgorithm());
+        register(new QAPAssignmentKeyboardAlgorithm());
+        register(new TabuKeyboardAlgorithm());
+        register(new AnnealingKeyboardAlgorithm());
+        register(new GeneticKeyboardAlgorithm());
+        register(new LNSKeyboardAlgorithm());
+        register(new PortfolioKeyboardAlgorithm());
+        for (KeyboardAlgorithm algorithm : ServiceLoader.load(KeyboardAlgorithm.class)) register(algorithm);
+    }
+
+    /**
+     * Registers an algorithm, replacing any algorithm with the same name.
+     *
+     * @param algorithm The algorithm.
+     */
+    public void register(KeyboardAlgorithm algorithm) {
+        algorithms.put(algorithm.getName(), algorithm);
+    }
+
+    /**
+     * Gets the algorithm with the given name.
+     *
+     * @param name The name of the algorithm.
+     * @return The algorithm, or null if there is none with that name.
+     */
+    public KeyboardAlgorithm get(String name) {
+        return algorithms.get(name);
+    }
+
+    /**
+     * Gets the names of the algorithms available.
+     *
+     * @return The names, in the order they have been registered.
+     */
+    public String[] getNames() {
+        return algorithms.keySet().toArray(new String[0]);
+    }
+}
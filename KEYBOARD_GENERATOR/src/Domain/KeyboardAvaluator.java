@@ -6,6 +6,11 @@ package Domain;
  */
 public class KeyboardAvaluator {
 
+    /**
+     * The kernels that compute the sums over the pairs of slots.
+     */
+    private static final ArrayKernels KERNELS = ArrayKernels.get();
+
     /**
      * Evaluates the keyboard layout based on their character positions and a TransitionMatrix.
      *
@@ -14,28 +19,128 @@ public class KeyboardAvaluator {
      * @return A double value representing the evaluation of the keyboard layout.
      */
     public double avaluateKeyboard(int[][] characterPositions, int[][] transitTable) {
+        return avaluateKeyboard(characterPositions, new FlowMatrix(transitTable));
+    }
+
+    /**
+     * Evaluates the keyboard layout based on their character positions and the flow of a TransitionMatrix.
+     *
+     * @param characterPositions The position layout of the characters on the keyboard.
+     * @param flowMatrix The flow of a TransitionMatrix.
+     * @return A double value representing the evaluation of the keyboard layout.
+     */
+    public double avaluateKeyboard(int[][] characterPositions, FlowMatrix flowMatrix) {
         double sum = 0; // Sum of the total cost between two characters in the transitTable
-        int numCharacters = 0; // Sum of the number of characters (with repetitions) appearing in the transitTable
-
-        for (int i = 0; i < characterPositions.length; ++i) {
-            for (int j = 0; j < characterPositions[0].length; ++j) {
-                for (int i2 = 0; i2 < characterPositions.length; ++i2) {
-                    for (int j2 = 0; j2 < characterPositions[0].length; ++j2) {
-                        if (characterPositions[i][j] >= 0 && characterPositions[i2][j2] >= 0 &&
-                                (i != i2 || j != j2)) {
-                            // There is a valid character appearing in the transit table at (i, j) and (i2, j2),
-                            // and (i, j) and (i2, j2) are different positions
-                            double keyDistances = Math.sqrt(Math.pow(2, Math.abs(i - i2)) + Math.pow(2, Math.abs(j - j2)));
-                            int transits = transitTable[characterPositions[i2][j2]][characterPositions[i][j]];
-                            numCharacters += transits;
-                            sum += keyDistances * transits;
-                        }
-                    }
-                }
-            }
+        long numCharacters = 0; // Sum of the number of characters (with repetitions) appearing in the transitTable
+
+        int cols = characterPositions[0].length;
+        SlotDistanceTable distances = SlotDistanceTable.get(characterPositions.length, cols);
+        double[] keyDistances = distances.getDistances();
+        int slots = distances.getSlots();
+        long[] flow = flowMatrix.getFlow();
+        int size = flowMatrix.getSize();
+        int[] slotCharacters = getSlotCharacters(characterPositions, slots);
+        int[] columns = slotCharacters.clone();
+        int[] emptySlots = getEmptySlots(slotCharacters);
+
+        for (int slot = 0; slot < slots; ++slot) {
+            int character = slotCharacters[slot];
+            if (character < 0) continue;
+            fillEmptySlots(emptySlots, columns, character);
+            // The distances are symmetric, so every pair of slots is visited once with the transits in both directions
+            int length = slots - slot - 1;
+            numCharacters += KERNELS.sumGather(flow, character * size, columns, slot + 1, length);
+            sum += KERNELS.dotGather(keyDistances, slot * slots + slot + 1, flow, character * size, columns, slot + 1, length);
         }
 
         // Return the average cost per character
         return numCharacters > 0 ? sum / numCharacters : 0;
     }
+
+    /**
+     * Calculates the total cost of the keyboard layout, that is, the sum of the distances between every pair of
+     * characters weighted by their transits, without dividing it by the number of transits.
+     *
+     * @param characterPositions The position layout of the characters on the keyboard.
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @return The total cost of the keyboard layout.
+     */
+    public double getTotalCost(int[][] characterPositions, int[][] transitTable) {
+        return getTotalCost(characterPositions, new FlowMatrix(transitTable));
+    }
+
+    /**
+     * Calculates the total cost of the keyboard layout from the flow of a TransitionMatrix.
+     *
+     * @param characterPositions The position layout of the characters on the keyboard.
+     * @param flowMatrix The flow of a TransitionMatrix.
+     * @return The total cost of the keyboard layout.
+     */
+    public double getTotalCost(int[][] characterPositions, FlowMatrix flowMatrix) {
+        double sum = 0;
+
+        int cols = characterPositions[0].length;
+        SlotDistanceTable distances = SlotDistanceTable.get(characterPositions.length, cols);
+        double[] keyDistances = distances.getDistances();
+        int slots = distances.getSlots();
+        long[] flow = flowMatrix.getFlow();
+        int size = flowMatrix.getSize();
+        int[] slotCharacters = getSlotCharacters(characterPositions, slots);
+        int[] columns = slotCharacters.clone();
+        int[] emptySlots = getEmptySlots(slotCharacters);
+
+        for (int slot = 0; slot < slots; ++slot) {
+            int character = slotCharacters[slot];
+            if (character < 0) continue;
+            fillEmptySlots(emptySlots, columns, character);
+            sum += KERNELS.dotGather(keyDistances, slot * slots + slot + 1, flow, character * size, columns, slot + 1, slots - slot - 1);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Gives the character on every slot of the keyboard, in row-major order.
+     *
+     * @param characterPositions The position layout of the characters on the keyboard.
+     * @param slots The number of slots of the keyboard.
+     * @return The character on every slot, negative on the empty slots.
+     */
+    private static int[] getSlotCharacters(int[][] characterPositions, int slots) {
+        int cols = characterPositions[0].length;
+        int[] slotCharacters = new int[slots];
+        for (int slot = 0; slot < slots; ++slot) slotCharacters[slot] = characterPositions[slot / cols][slot % cols];
+        return slotCharacters;
+    }
+
+    /**
+     * Finds the empty slots of a keyboard.
+     *
+     * @param slotCharacters The character on every slot, negative on the empty slots.
+     * @return The empty slots, in increasing order.
+     */
+    private static int[] getEmptySlots(int[] slotCharacters) {
+        int count = 0;
+        for (int character : slotCharacters) {
+            if (character < 0) ++count;
+        }
+        int[] emptySlots = new int[count];
+        count = 0;
+        for (int slot = 0; slot < slotCharacters.length; ++slot) {
+            if (slotCharacters[slot] < 0) emptySlots[count++] = slot;
+        }
+        return emptySlots;
+    }
+
+    /**
+     * Gives the empty slots the column of the given character in the flow, whose flow with itself is 0, so that the
+     * empty slots add nothing to the sums over the row of the character.
+     *
+     * @param emptySlots The empty slots.
+     * @param columns The column of the flow of every slot, whose empty slots are rewritten.
+     * @param character The character whose row of the flow is summed.
+     */
+    private static void fillEmptySlots(int[] emptySlots, int[] columns, int character) {
+        for (int slot : emptySlots) columns[slot] = character;
+    }
 }
@@ -5,6 +5,7 @@ import Exceptions.IncorrectType;
 import Exceptions.NotContainsKey;
 import Model.Pair;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Vector;
@@ -27,6 +28,11 @@ public class KeyboardController {
      */
     private final Map<String, Keyboard> keyboards;
 
+    /**
+     * The best Keyboards found by the previous searches.
+     */
+    private final LayoutCache layoutCache;
+
     /**
      * Default constructor for the KeyboardController class.
      * Initializes the HashMap of Keyboards and the AlgorithmController.
@@ -35,6 +41,7 @@ public class KeyboardController {
     public KeyboardController(Vector<Pair<String, char[][]>> boards) {
         keyboards = new HashMap<>();
         algControl = new AlgorithmController();
+        layoutCache = new LayoutCache();
 
         for (Pair<String, char[][]> board : boards) {
             Keyboard newKeyboard = new Keyboard(board.first, board.second);
@@ -55,12 +62,345 @@ public class KeyboardController {
      * @throws ContainsKey   If it does exist a keyboard with that key.
      */
     public void createKeyboard(String key, TransitionMatrix transMatrix, Alphabet alpha, String algorithm) throws ContainsKey, IncorrectType {
+        createKeyboard(key, transMatrix, alpha, algorithm, null);
+    }
+
+    /**
+     * Creates a new keyboard with the specified key, TransitionMatrix, Alphabet,
+     * and algorithm, within the given budget.
+     *
+     * @param key         The key associated with the new Keyboard.
+     * @param transMatrix The TransitionMatrix used for generating the Keyboard
+     *                    layout.
+     * @param alpha       The Alphabet used for generating the Keyboard layout.
+     * @param algorithm   The algorithm used for generating the Keyboard layout.
+     * @param budget      The limits of the search, used by the anytime algorithms, or
+     *                    null for the default budget of the algorithm.
+     * @return The result of the algorithm, with the elapsed time, the nodes explored
+     * and the root lower bound.
+     * @throws IncorrectType   If the algorithm returns an incorrect character positions.
+     * @throws ContainsKey   If it does exist a keyboard with that key.
+     */
+    public SolverResult createKeyboard(String key, TransitionMatrix transMatrix, Alphabet alpha, String algorithm, SolverBudget budget) throws ContainsKey, IncorrectType {
+        return createKeyboard(key, transMatrix, alpha, algorithm, budget, null);
+    }
+
+    /**
+     * Creates a new keyboard with the specified key, TransitionMatrix, Alphabet,
+     * and algorithm, within the given budget, sharing the progress of the
+     * algorithm with the given incumbent.
+     * If the same search has already been done with a budget at least as large, its
+     * Keyboard is taken from the LayoutCache without searching again. Otherwise, the
+     * Keyboard of a previous search with a smaller budget seeds the incumbent, so the
+     * algorithm starts from it, and the best Keyboard is kept in the LayoutCache.
+     *
+     * @param key         The key associated with the new Keyboard.
+     * @param transMatrix The TransitionMatrix used for generating the Keyboard
+     *                    layout.
+     * @param alpha       The Alphabet used for generating the Keyboard layout.
+     * @param algorithm   The algorithm used for generating the Keyboard layout.
+     * @param budget      The limits of the search, used by the anytime algorithms, or
+     *                    null for the default budget of the algorithm.
+     * @param incumbent   The incumbent that gets the progress of the algorithm and can
+     *                    cancel it, or null if nobody follows it.
+     * @return The result of the algorithm, with the elapsed time, the nodes explored
+     * and the root lower bound.
+     * @throws IncorrectType   If the algorithm returns an incorrect character positions.
+     * @throws ContainsKey   If it does exist a keyboard with that key.
+     */
+    public SolverResult createKeyboard(String key, TransitionMatrix transMatrix, Alphabet alpha, String algorithm, SolverBudget budget, QAPIncumbent incumbent) throws ContainsKey, IncorrectType {
+        return createKeyboard(key, transMatrix, alpha, algorithm, budget, null, incumbent);
+    }
+
+    /**
+     * Creates a new keyboard with the specified key, TransitionMatrix, Alphabet,
+     * and algorithm, within the given budget, keeping the pinned characters on
+     * their slots, and sharing the progress of the algorithm with the given incumbent.
+     * The pinned characters are a hard constraint: only the algorithms with the
+     * capability {@link AlgorithmCapability#PINNED_KEYS} can create the keyboard, and
+     * the exact ones only search the slots of the other characters.
+     *
+     * @param key         The key associated with the new Keyboard.
+     * @param transMatrix The TransitionMatrix used for generating the Keyboard
+     *                    layout.
+     * @param alpha       The Alphabet used for generating the Keyboard layout.
+     * @param algorithm   The algorithm used for generating the Keyboard layout.
+     * @param budget      The limits of the search, used by the anytime algorithms, or
+     *                    null for the default budget of the algorithm.
+     * @param pinnedKeys  The distribution of the pinned characters, with the shape of the
+     *                    generated Keyboards and '\0' on the free slots, or null if no
+     *                    character is pinned.
+     * @param incumbent   The incumbent that gets the progress of the algorithm and can
+     *                    cancel it, or null if nobody follows it.
+     * @return The result of the algorithm, with the elapsed time, the nodes explored
+     * and the root lower bound.
+     * @throws IncorrectType   If the pinned characters do not fit the Alphabet or the shape of the Keyboard, or the
+     *                         algorithm returns an incorrect character positions.
+     * @throws ContainsKey   If it does exist a keyboard with that key.
+     */
+    public SolverResult createKeyboard(String key, TransitionMatrix transMatrix, Alphabet alpha, String algorithm, SolverBudget budget, char[][] pinnedKeys, QAPIncumbent incumbent) throws ContainsKey, IncorrectType {
+        return createKeyboard(key, transMatrix, alpha, algorithm, budget, pinnedKeys, incumbent, null);
+    }
+
+    /**
+     * Creates a new keyboard as the previous method, saving the checkpoints of the
+     * search in the given store if the algorithm has the capability
+     * {@link AlgorithmCapability#CHECKPOINT}, so that a search stopped by its budget,
+     * cancelled or interrupted by the end of the program can be resumed with
+     * resumeKeyboard.
+     *
+     * @param key             The key associated with the new Keyboard.
+     * @param transMatrix     The TransitionMatrix used for generating the Keyboard
+     *                        layout.
+     * @param alpha           The Alphabet used for generating the Keyboard layout.
+     * @param algorithm       The algorithm used for generating the Keyboard layout.
+     * @param budget          The limits of the search, or null for the default budget of the algorithm.
+     * @param pinnedKeys      The distribution of the pinned characters, or null if no character is pinned.
+     * @param incumbent       The incumbent that gets the progress of the algorithm and can
+     *                        cancel it, or null if nobody follows it.
+     * @param checkpointStore The store of the checkpoints of the search, or null to not save any checkpoint.
+     * @return The result of the algorithm, with the elapsed time, the nodes explored
+     * and the root lower bound.
+     * @throws IncorrectType   If the pinned characters do not fit the Alphabet or the shape of the Keyboard, or the
+     *                         algorithm returns an incorrect character positions.
+     * @throws ContainsKey   If it does exist a keyboard with that key.
+     */
+    public SolverResult createKeyboard(String key, TransitionMatrix transMatrix, Alphabet alpha, String algorithm, SolverBudget budget, char[][] pinnedKeys, QAPIncumbent incumbent, QAPCheckpointStore checkpointStore) throws ContainsKey, IncorrectType {
         if (keyboards.containsKey(key)) throw new ContainsKey("Keyboard Map contains Key: " + key);
         char[] characters = alpha.getElem();
-        int[][] characterPositions = algControl.useAlgorithm(transMatrix.getTransitionMatrix(), algorithm);
+        int[] pinnedSlots = null;
+        if (pinnedKeys != null) {
+            pinnedSlots = getPinnedSlots(pinnedKeys, characters);
+            if (pinnedSlots == null) throw new IncorrectType("Pinned keys do not fit the Alphabet of the Keyboard");
+        }
+        SolverResult result = solve(transMatrix.getTransitionMatrix(), algorithm, budget, pinnedSlots, incumbent, checkpointStore);
+        // Another generation may have created a keyboard with the same key while the algorithm was running
+        if (keyboards.containsKey(key)) throw new ContainsKey("Keyboard Map contains Key: " + key);
+        int[][] characterPositions = result.getPositions();
         if (characterPositions[0][0] == -1) throw new IncorrectType("Keyboard Characters positions NULL");
         Keyboard newKeyboard = new Keyboard(key, characterPositions, characters);
         keyboards.put(key, newKeyboard);
+        return result;
+    }
+
+    /**
+     * Resumes the search of the QAPAlgorithm saved in a checkpoint, and stores the best
+     * Keyboard found with the given key, replacing the one created when the search stopped.
+     * The search continues with the problem and the settings of the checkpoint, exploring
+     * only the subtrees it had not explored, and saves its own checkpoints in the given
+     * store, so it can be resumed again if the budget runs out before the search ends.
+     * It starts from the best Keyboard of the checkpoint, so the stored Keyboard is never
+     * worse than the one of the search that saved the checkpoint.
+     *
+     * @param key             The key associated with the Keyboard.
+     * @param transMatrix     The TransitionMatrix of the search, whose transits must be the
+     *                        ones of the checkpoint.
+     * @param checkpoint      The checkpoint of the search.
+     * @param budget          The limits of the resumed search, or null for the default budget of the QAPAlgorithm.
+     * @param threads         The number of worker threads of the resumed search. With a single
+     *                        thread the search continues exactly where it stopped; with more, the
+     *                        subtrees that were being explored in parallel are explored again.
+     * @param incumbent       The incumbent that gets the progress of the algorithm and can
+     *                        cancel it, or null if nobody follows it.
+     * @param checkpointStore The store of the checkpoints of the resumed search, or null to not save any checkpoint.
+     * @return The result of the search, with the nodes explored and the elapsed time since
+     * the original search started.
+     * @throws IncorrectType If the checkpoint is not a search of the TransitionMatrix.
+     */
+    public SolverResult resumeKeyboard(String key, TransitionMatrix transMatrix, QAPCheckpoint checkpoint, SolverBudget budget, int threads, QAPIncumbent incumbent, QAPCheckpointStore checkpointStore) throws IncorrectType {
+        int[][] transitTable = transMatrix.getTransitionMatrix();
+        if (!Arrays.deepEquals(checkpoint.getTransitTable(), transitTable)) {
+            throw new IncorrectType("The checkpoint is not a search of the Transition Matrix");
+        }
+        if (budget == null) budget = QAPAlgorithm.getDefaultBudget(transitTable.length);
+
+        QAPAlgorithm qap = new QAPAlgorithm(Math.max(1, threads));
+        qap.setCheckpointStore(checkpointStore, QAPAlgorithm.DEFAULT_CHECKPOINT_INTERVAL);
+        SolverResult result = incumbent == null ? qap.resume(checkpoint, budget) : qap.resume(checkpoint, incumbent, budget);
+        keyboards.put(key, new Keyboard(key, result.getPositions(), transMatrix.getAlphabet().getElem()));
+        return result;
+    }
+
+    /**
+     * Reoptimizes the specified Keyboard against a TransitionMatrix, starting the
+     * algorithm from its current distribution instead of the one of the GreedyAlgorithm.
+     * The Keyboard and its cost seed the incumbent, so the QAPAlgorithm prunes from
+     * the root of the tree of solutions and the heuristics search around it, and the
+     * Keyboard is only replaced with a better one. The shape of the Keyboard is kept.
+     * The LayoutCache is not used, since the result depends on the initial Keyboard.
+     *
+     * @param key         The key associated with the Keyboard to reoptimize.
+     * @param transMatrix The TransitionMatrix against which the Keyboard is reoptimized.
+     * @param algorithm   The algorithm used for improving the Keyboard layout.
+     * @param budget      The limits of the search, or null for the default budget of the algorithm.
+     * @param incumbent   The incumbent that gets the progress of the algorithm and can
+     *                    cancel it, or null if nobody follows it.
+     * @return The result of the algorithm, whose cost is never higher than the one of the
+     * Keyboard before the reoptimization.
+     * @throws NotContainsKey If it does not exist a keyboard with that key.
+     * @throws IncorrectType  If the Keyboard does not hold exactly the characters of the
+     *                        Alphabet of the TransitionMatrix on the grid of the algorithms,
+     *                        or the algorithm does not exist.
+     */
+    public SolverResult reoptimizeKeyboard(String key, TransitionMatrix transMatrix, String algorithm, SolverBudget budget, QAPIncumbent incumbent) throws NotContainsKey, IncorrectType {
+        Keyboard keyboard = getKeyboard(key);
+        char[] characters = transMatrix.getAlphabet().getElem();
+        int[][] transitTable = transMatrix.getTransitionMatrix();
+        int[][] positions = getCharacterPositions(keyboard.getDistribution(), characters);
+        if (positions == null) throw new IncorrectType("Keyboard " + key + " does not fit the Alphabet of the Transition Matrix");
+
+        if (incumbent == null) incumbent = new QAPIncumbent();
+        incumbent.offer(new QAPPartialSolution(positions, new KeyboardAvaluator().getTotalCost(positions, transMatrix.getFlowMatrix())));
+        AlgorithmParameters parameters = new AlgorithmParameters(budget);
+        parameters.setInitialPositions(positions);
+        SolverResult result = algControl.useAlgorithm(transitTable, algorithm, parameters, incumbent);
+        if (result.getPositions()[0][0] == -1) throw new IncorrectType("Keyboard Characters positions NULL");
+
+        // The algorithm may not improve the Keyboard it started from
+        QAPPartialSolution best = incumbent.get();
+        // The keyboard may have been deleted while the algorithm was running
+        if (!keyboards.containsKey(key)) throw new NotContainsKey("Keyboard Map does NOT contain Key: " + key);
+        keyboards.put(key, new Keyboard(key, best.getSolution(), characters));
+        return new SolverResult(best.getSolution(), best.getCost(), result.getRootBound(), result.getNodes(),
+                result.getElapsedTime(), result.isOptimal(), result.getStats());
+    }
+
+    /**
+     * Gets the slots of the pinned characters of the given distribution.
+     *
+     * @param pinnedKeys The distribution of the pinned characters, with '\0' on the free slots.
+     * @param characters The characters of the Alphabet.
+     * @return The slot of every character in row-major order, or -1 if it is not pinned; null if the distribution
+     * does not have the shape of the grid of the algorithms, or a pinned character is not in the Alphabet or is
+     * pinned twice.
+     */
+    private int[] getPinnedSlots(char[][] pinnedKeys, char[] characters) {
+        int cols = (int) Math.sqrt(characters.length);
+        if (cols == 0 || pinnedKeys.length != (characters.length + cols - 1) / cols) return null;
+
+        int[] pinnedSlots = new int[characters.length];
+        Arrays.fill(pinnedSlots, -1);
+        for (int i = 0; i < pinnedKeys.length; ++i) {
+            if (pinnedKeys[i].length != cols) return null;
+            for (int j = 0; j < cols; ++j) {
+                if (pinnedKeys[i][j] == '\0') continue;
+                int character = getCharPosIntoAlphabet2(Character.toUpperCase(pinnedKeys[i][j]), characters);
+                if (character < 0 || pinnedSlots[character] >= 0) return null;
+                pinnedSlots[character] = i * cols + j;
+            }
+        }
+        return pinnedSlots;
+    }
+
+    /**
+     * Gets the positions of the characters of the given distribution, in the shape of the
+     * grid used by the algorithms.
+     * The empty slots of a Keyboard hold a blank, so if the Alphabet contains the blank,
+     * it is placed on the first blank slot.
+     *
+     * @param distribution The distribution of the characters on the Keyboard.
+     * @param characters   The characters of the Alphabet.
+     * @return The positions of the characters, -2 on the empty slots, or null if the
+     * distribution does not hold every character exactly once on the grid of the algorithms.
+     */
+    private int[][] getCharacterPositions(char[][] distribution, char[] characters) {
+        int cols = (int) Math.sqrt(characters.length);
+        if (cols == 0 || distribution.length != (characters.length + cols - 1) / cols || distribution[0].length != cols) return null;
+
+        int[][] positions = new int[distribution.length][cols];
+        boolean[] placed = new boolean[characters.length];
+        int numPlaced = 0;
+        for (int i = 0; i < distribution.length; ++i) {
+            for (int j = 0; j < cols; ++j) {
+                int character = getCharPosIntoAlphabet2(distribution[i][j], characters);
+                if (character >= 0 && !placed[character]) {
+                    placed[character] = true;
+                    ++numPlaced;
+                    positions[i][j] = character;
+                } else if (distribution[i][j] == ' ') {
+                    positions[i][j] = -2;
+                } else {
+                    return null;
+                }
+            }
+        }
+        return numPlaced == characters.length ? positions : null;
+    }
+
+    /**
+     * Finds the positions of the characters of a Keyboard with the specified algorithm, using the LayoutCache.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix.
+     * @param algorithm    The algorithm used for generating the Keyboard layout.
+     * @param budget       The limits of the search, or null for the default budget of the algorithm.
+     * @param pinnedSlots  The slot of every character, or -1 if it is not pinned; null if no character is pinned.
+     * @param incumbent    The incumbent that gets the progress of the algorithm, or null if nobody follows it.
+     * @param checkpointStore The store of the checkpoints of the search, or null to not save any checkpoint.
+     * @return The result of the algorithm, or the one of the LayoutCache, with no nodes explored. The result of a
+     * search stopped through the incumbent is not cached unless it is optimal.
+     */
+    private SolverResult solve(int[][] transitTable, String algorithm, SolverBudget budget, int[] pinnedSlots, QAPIncumbent incumbent, QAPCheckpointStore checkpointStore) {
+        if (budget == null) budget = algControl.getDefaultBudget(algorithm, transitTable.length);
+        // The algorithm does not exist
+        if (budget == null) return algControl.useAlgorithm(transitTable, algorithm, budget, incumbent);
+
+        AlgorithmParameters parameters = new AlgorithmParameters(budget);
+        parameters.setPinnedSlots(pinnedSlots);
+        parameters.setCheckpointStore(checkpointStore);
+        String cacheKey = LayoutCache.getKey(transitTable, algorithm, parameters);
+        CachedLayout cached = layoutCache.get(cacheKey);
+        if (cached != null && cached.covers(budget)) {
+            SolverResult result = cached.toResult();
+            if (incumbent != null) incumbent.offer(new QAPPartialSolution(result.getPositions(), result.getCost()));
+            return result;
+        }
+
+        if (cached != null) {
+            if (incumbent == null) incumbent = new QAPIncumbent();
+            incumbent.offer(new QAPPartialSolution(cached.getPositions(), cached.getCost()));
+        }
+        SolverResult result = algControl.useAlgorithm(transitTable, algorithm, parameters, incumbent);
+        if (result.getPositions()[0][0] == -1) return result;
+        if (cached != null) {
+            // The algorithm may not improve the Keyboard it started from
+            QAPPartialSolution best = incumbent.get();
+            result = new SolverResult(best.getSolution(), best.getCost(), Math.max(result.getRootBound(), cached.getBound()),
+                    result.getNodes(), result.getElapsedTime(), result.isOptimal(), result.getStats());
+        }
+        // A search cancelled before the end of its budget must not serve the later searches with the same budget
+        if (incumbent != null && incumbent.isStopped() && !result.isOptimal()) return result;
+        layoutCache.put(new CachedLayout(cacheKey, algorithm, result.getPositions(), result.getCost(),
+                result.getRootBound(), result.isOptimal(), budget));
+        return result;
+    }
+
+    /**
+     * Gets the cache of the best Keyboards found by the previous searches.
+     *
+     * @return The LayoutCache.
+     */
+    public LayoutCache getLayoutCache() {
+        return layoutCache;
+    }
+
+    /**
+     * Checks whether a keyboard with the specified key exists.
+     *
+     * @param key The key of the Keyboard.
+     * @return True if the Keyboard exists, false otherwise.
+     */
+    public boolean containsKeyboard(String key) {
+        return keyboards.containsKey(key);
+    }
+
+    /**
+     * Retrieves the names of the algorithms available to generate keyboard layouts.
+     *
+     * @return The names of the algorithms, in the order they have been registered, followed by the combinations with
+     * the LocalSearch listed by the AlgorithmController.
+     */
+    public String[] getAlgorithmNames() {
+        return algControl.getAlgorithmNames();
     }
 
     /**
@@ -128,7 +468,7 @@ public class KeyboardController {
         }
 
         KeyboardAvaluator boardEvaluator = new KeyboardAvaluator();
-        return boardEvaluator.avaluateKeyboard(charPositions, transits.getTransitionMatrix());
+        return boardEvaluator.avaluateKeyboard(charPositions, transits.getFlowMatrix());
     }
 
     /**
@@ -0,0 +1,42 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "LNS", which improves the Keyboard of the GreedyAlgorithm with the LargeNeighbourhoodSearch,
+ * solving a neighbourhood on every available processor at the same time unless the parameters give the number of
+ * threads.
+ * It uses the budget, the seed, the threads, the initial positions, the pinned characters and the distances of the
+ * parameters.
+ */
+public class LNSKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "LNS";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.ANYTIME, AlgorithmCapability.PARALLEL, AlgorithmCapability.PINNED_KEYS,
+                AlgorithmCapability.CUSTOM_DISTANCES);
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return LargeNeighbourhoodSearch.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        int threads = parameters.getThreads();
+        if (threads == 0) threads = Runtime.getRuntime().availableProcessors();
+        LargeNeighbourhoodSearch lns = parameters.getSeed() == null ? new LargeNeighbourhoodSearch(threads)
+                : new LargeNeighbourhoodSearch(parameters.getSeed(), threads);
+        lns.setIncumbent(incumbent);
+        lns.setDistances(parameters.getDistances());
+        lns.setPinnedSlots(parameters.getPinnedSlots());
+        return lns.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
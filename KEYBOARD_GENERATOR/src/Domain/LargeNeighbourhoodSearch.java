@@ -0,0 +1,643 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * LargeNeighbourhoodSearch improves the positions of the characters of a big Keyboard by solving small sub-problems
+ * exactly by branch and bound.
+ * The search starts from a local optimum of the LocalSearch, since a neighbourhood never exchanges two characters of
+ * different neighbourhoods.
+ * Every round frees a few disjoint neighbourhoods of characters, either the ones on the closest keys to a random key or
+ * a cluster of characters that are often written together, and places the characters of every neighbourhood on its
+ * slots with the lowest cost while every other character stays on its key. The neighbourhoods of a round are solved on
+ * separate threads from the same Keyboard, and their improvements are applied one after the other as long as the
+ * Keyboard keeps improving, since the cost of a neighbourhood depends on the characters of the others.
+ */
+public class LargeNeighbourhoodSearch {
+
+    /**
+     * The default number of characters freed by every neighbourhood.
+     */
+    private static final int NEIGHBOURHOOD_SIZE = 8;
+
+    /**
+     * The number of nodes that the branch and bound can expand to solve a neighbourhood.
+     */
+    private static final long SUBPROBLEM_NODES = 200000;
+
+    /**
+     * The random number generator used to choose the neighbourhoods.
+     */
+    private final Random random;
+
+    /**
+     * The number of neighbourhoods solved at the same time.
+     */
+    private final int parallelism;
+
+    /**
+     * The number of characters freed by every neighbourhood.
+     */
+    private int neighbourhoodSize = NEIGHBOURHOOD_SIZE;
+
+    /**
+     * The slot of every character that must not move, or null if no character is pinned.
+     */
+    private int[] pinnedSlots;
+
+    /**
+     * The number of neighbourhoods solved by the last search.
+     */
+    private long iterations;
+
+    /**
+     * The best Keyboard shared with other algorithms running at the same time, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the initial Keyboard.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Constructs a LargeNeighbourhoodSearch with a random seed that solves a neighbourhood at a time.
+     */
+    public LargeNeighbourhoodSearch() {
+        this(new Random(), 1);
+    }
+
+    /**
+     * Constructs a LargeNeighbourhoodSearch with a random seed and the given number of threads.
+     *
+     * @param parallelism The number of neighbourhoods solved at the same time on separate threads.
+     */
+    public LargeNeighbourhoodSearch(int parallelism) {
+        this(new Random(), parallelism);
+    }
+
+    /**
+     * Constructs a LargeNeighbourhoodSearch with the given seed and number of threads. The neighbourhoods are chosen
+     * in the same order with the same seed, so the searches are reproducible when they are limited by nodes.
+     *
+     * @param seed        The seed of the random number generator.
+     * @param parallelism The number of neighbourhoods solved at the same time on separate threads.
+     */
+    public LargeNeighbourhoodSearch(long seed, int parallelism) {
+        this(new Random(seed), parallelism);
+    }
+
+    /**
+     * Constructs a LargeNeighbourhoodSearch.
+     *
+     * @param random      The random number generator used to choose the neighbourhoods.
+     * @param parallelism The number of neighbourhoods solved at the same time on separate threads.
+     */
+    private LargeNeighbourhoodSearch(Random random, int parallelism) {
+        this.random = random;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Gets the default budget for a search of the given number of characters.
+     * The number of neighbourhoods grows linearly with the number of characters, so that every character is freed
+     * several times, and the time is limited to 5 seconds.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 20L * Math.max(numChars, 10), 0);
+    }
+
+    /**
+     * Sets the number of characters freed by every neighbourhood. The sub-problems are solved exactly, so their time
+     * grows quickly with this size.
+     *
+     * @param neighbourhoodSize The number of characters, at least 2.
+     */
+    public void setNeighbourhoodSize(int neighbourhoodSize) {
+        this.neighbourhoodSize = Math.max(2, neighbourhoodSize);
+    }
+
+    /**
+     * Sets the characters that must stay on their slots, which are never freed by a neighbourhood. The initial
+     * positions of the next searches must already place them on their slots.
+     *
+     * @param pinnedSlots The slot of every character, in row-major order on the grid of the initial positions, or -1
+     *                    if the character is not pinned; null if no character is pinned.
+     */
+    public void setPinnedSlots(int[] pinnedSlots) {
+        this.pinnedSlots = pinnedSlots;
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid. The initial
+     * Keyboards then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms running at the same time. After every round, the search
+     * offers its improvements to it, restarts from it when another algorithm improves it, reports its nodes to it and
+     * stops if it is stopped.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+    }
+
+    /**
+     * Gets the number of neighbourhoods solved by the last search.
+     *
+     * @return The number of neighbourhoods.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Improves the given layout by solving neighbourhoods until the budget is exhausted.
+     * The node limit of the budget is the number of neighbourhoods solved, and its gap limit is not used. If every
+     * character that is not pinned fits in a single neighbourhood, it is solved once.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param initialPositions The initial positions of the characters, negative on the empty slots.
+     * @param budget           The limits of the search. If it has neither a time nor a node limit, the default number of neighbourhoods is used.
+     * @return The best Keyboard found, along with the elapsed time and the nodes expanded by the neighbourhoods.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] initialPositions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        LayoutCost layoutCost = distances != null ? new LayoutCost(transitTable, distances)
+                : new LayoutCost(transitTable, initialPositions.length, initialPositions[0].length);
+        int numChars = layoutCost.getNumChars();
+
+        int[] permutation = layoutCost.toPermutation(initialPositions);
+        double cost = layoutCost.cost(permutation);
+
+        long maxIterations = budget.getNodeLimit();
+        if (maxIterations <= 0) maxIterations = budget.getTimeLimit() > 0 ? Long.MAX_VALUE : getDefaultBudget(numChars).getNodeLimit();
+        long timeLimit = budget.getTimeLimit();
+
+        int free = 0;
+        for (int character = 0; character < numChars; ++character) {
+            if (!isPinned(character)) ++free;
+        }
+        int size = Math.min(neighbourhoodSize, free);
+
+        iterations = 0;
+        long nodes = 0;
+        // The nodes already reported to the incumbent
+        long reported = 0;
+        ExecutorService executor = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        NeighbourhoodSolver[] solvers = new NeighbourhoodSolver[parallelism];
+        for (int k = 0; k < parallelism; ++k) solvers[k] = new NeighbourhoodSolver(Math.max(size, 2));
+        long deadline = timeLimit > 0 ? startTime + timeLimit : Long.MAX_VALUE;
+        // The neighbourhoods never exchange two characters of different neighbourhoods, so the exchanges come first
+        LocalSearch localSearch = new LocalSearch();
+        localSearch.setPinnedSlots(pinnedSlots);
+        cost = localSearch.improve(layoutCost, permutation, cost, deadline);
+        try {
+            while (size >= 2 && iterations < maxIterations) {
+                long elapsed = System.currentTimeMillis() - startTime;
+                if (timeLimit > 0 && elapsed >= timeLimit) break;
+                if (incumbent != null) {
+                    incumbent.addNodes(nodes - reported);
+                    reported = nodes;
+                    if (incumbent.isStopped()) break;
+                    if (incumbent.getCost() < cost - 1e-6) {
+                        // Another algorithm has found a better Keyboard, so the search restarts from it
+                        permutation = layoutCost.toPermutation(incumbent.get().getSolution());
+                        cost = layoutCost.cost(permutation);
+                    }
+                }
+
+                int count = (int) Math.min(parallelism, maxIterations - iterations);
+                List<int[]> neighbourhoods = getNeighbourhoods(layoutCost, permutation, size, count);
+                solveNeighbourhoods(executor, solvers, layoutCost, permutation, neighbourhoods, SUBPROBLEM_NODES, deadline);
+                iterations += neighbourhoods.size();
+
+                for (int k = 0; k < neighbourhoods.size(); ++k) {
+                    NeighbourhoodSolver solver = solvers[k];
+                    nodes += solver.getNodes();
+                    if (!solver.isImproved()) continue;
+                    int[] candidate = permutation.clone();
+                    int[] neighbourhood = neighbourhoods.get(k);
+                    for (int i = 0; i < neighbourhood.length; ++i) candidate[neighbourhood[i]] = solver.getSlot(i);
+                    double candidateCost = layoutCost.cost(candidate);
+                    if (candidateCost < cost - 1e-9) {
+                        permutation = candidate;
+                        cost = candidateCost;
+                    }
+                }
+                if (incumbent != null && cost < incumbent.getCost()) {
+                    incumbent.offer(new QAPPartialSolution(layoutCost.toPositions(permutation), cost));
+                }
+                // A single neighbourhood with every free character is solved exactly at once
+                if (size == free) break;
+            }
+        } finally {
+            if (executor != null) executor.shutdownNow();
+        }
+        if (incumbent != null) incumbent.addNodes(nodes - reported);
+
+        return new SolverResult(layoutCost.toPositions(permutation), cost, 0, nodes,
+                System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Checks whether a character is pinned.
+     *
+     * @param character The character.
+     * @return True if the character must stay on its slot.
+     */
+    private boolean isPinned(int character) {
+        return pinnedSlots != null && pinnedSlots[character] >= 0;
+    }
+
+    /**
+     * Chooses disjoint neighbourhoods of characters that are not pinned. Every neighbourhood starts from a random
+     * character, and is completed either with the characters on the closest keys or with the characters that have the
+     * most transits with the ones already chosen.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item.
+     * @param size        The number of characters of every neighbourhood.
+     * @param count       The maximum number of neighbourhoods.
+     * @return The characters of every neighbourhood, with at least 2 characters each.
+     */
+    private List<int[]> getNeighbourhoods(LayoutCost layoutCost, int[] permutation, int size, int count) {
+        int numChars = layoutCost.getNumChars();
+        boolean[] taken = new boolean[numChars];
+        int available = 0;
+        for (int character = 0; character < numChars; ++character) {
+            taken[character] = isPinned(character);
+            if (!taken[character]) ++available;
+        }
+
+        List<int[]> neighbourhoods = new ArrayList<>();
+        while (neighbourhoods.size() < count && available >= 2) {
+            int seed = random.nextInt(available);
+            int first = 0;
+            while (taken[first] || seed > 0) {
+                if (!taken[first]) --seed;
+                ++first;
+            }
+            boolean byDistance = random.nextBoolean();
+            int[] neighbourhood = new int[Math.min(size, available)];
+            neighbourhood[0] = first;
+            taken[first] = true;
+            for (int k = 1; k < neighbourhood.length; ++k) {
+                int next = -1;
+                double best = 0;
+                for (int character = 0; character < numChars; ++character) {
+                    if (taken[character]) continue;
+                    double score = 0;
+                    if (byDistance) score = -layoutCost.getDistance(permutation[first], permutation[character]);
+                    else {
+                        for (int j = 0; j < k; ++j) score += layoutCost.getFlow(neighbourhood[j], character);
+                    }
+                    if (next < 0 || score > best) {
+                        next = character;
+                        best = score;
+                    }
+                }
+                neighbourhood[k] = next;
+                taken[next] = true;
+            }
+            available -= neighbourhood.length;
+            neighbourhoods.add(neighbourhood);
+        }
+        return neighbourhoods;
+    }
+
+    /**
+     * Solves every neighbourhood from the same layout, on separate threads if there are several. The k-th
+     * neighbourhood is solved by the k-th solver, so every thread reuses the buffers of its solver in every round.
+     *
+     * @param executor       The threads, or null to solve the neighbourhoods on the current thread.
+     * @param solvers        The solvers of the neighbourhoods, at least one per neighbourhood.
+     * @param layoutCost     The evaluator of the layouts.
+     * @param permutation    The slot of every item.
+     * @param neighbourhoods The characters of every neighbourhood.
+     * @param nodeLimit      The number of nodes that every neighbourhood can expand.
+     * @param deadline       The time at which every neighbourhood stops, in milliseconds.
+     */
+    private static void solveNeighbourhoods(ExecutorService executor, NeighbourhoodSolver[] solvers, LayoutCost layoutCost,
+                                            int[] permutation, List<int[]> neighbourhoods, long nodeLimit, long deadline) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int k = 0; k < neighbourhoods.size(); ++k) {
+            NeighbourhoodSolver solver = solvers[k];
+            int[] neighbourhood = neighbourhoods.get(k);
+            tasks.add(() -> {
+                solver.solve(layoutCost, permutation, neighbourhood, nodeLimit, deadline);
+                return null;
+            });
+        }
+
+        try {
+            if (executor == null) {
+                for (Callable<Void> task : tasks) task.call();
+            } else {
+                for (Future<Void> future : executor.invokeAll(tasks)) future.get();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * NeighbourhoodSolver places the k characters of a neighbourhood on their k slots with the lowest cost, while
+     * every other character stays on its slot.
+     * The characters that stay only add, to every character of the neighbourhood on every one of its slots, a cost
+     * that does not depend on the other characters of the neighbourhood. The solver folds them into that linear cost
+     * and solves the reduced k by k problem by branch and bound, whose bound adds to the cost of the characters placed
+     * the cheapest slot of every other character, given its linear cost and its transits with the characters placed.
+     * The buffers are allocated once for the largest neighbourhood and reused by every neighbourhood.
+     */
+    private static class NeighbourhoodSolver {
+
+        /**
+         * The number of nodes between two checks of the clock.
+         */
+        private static final int CLOCK_CHECK_MASK = 1023;
+
+        /**
+         * The largest number of characters of a neighbourhood.
+         */
+        private final int capacity;
+
+        /**
+         * The number of characters of the current neighbourhood.
+         */
+        private int size;
+
+        /**
+         * The transits between every pair of characters of the neighbourhood, indexed by i * capacity + j.
+         */
+        private final double[] flow;
+
+        /**
+         * The distances between every pair of slots of the neighbourhood, indexed by a * capacity + b.
+         */
+        private final double[] distances;
+
+        /**
+         * For every depth of the search, the cost of every character that is not placed yet on every slot, given the
+         * characters that stay and the ones placed, indexed by depth * capacity * capacity + i * capacity + a. The
+         * layer of depth 0 is the linear cost of the characters that stay.
+         */
+        private final double[] costs;
+
+        /**
+         * The characters of the neighbourhood in the order they are placed.
+         */
+        private final int[] order;
+
+        /**
+         * The slot of every character of the neighbourhood on the current branch.
+         */
+        private final int[] slots;
+
+        /**
+         * Whether every slot of the neighbourhood is taken on the current branch.
+         */
+        private final boolean[] taken;
+
+        /**
+         * The candidate slots of every depth, sorted by their cost, indexed by depth * capacity + k.
+         */
+        private final int[] candidates;
+
+        /**
+         * The slot of every character of the neighbourhood in the best placement found.
+         */
+        private final int[] bestSlots;
+
+        /**
+         * The slots of the layout of the current neighbourhood.
+         */
+        private final int[] layoutSlots;
+
+        /**
+         * The weight of every character of the neighbourhood, which gives the order they are placed in.
+         */
+        private final double[] weights;
+
+        /**
+         * Whether every character of the Keyboard is in the current neighbourhood, allocated by the first one.
+         */
+        private boolean[] free;
+
+        /**
+         * The cost of the best placement found, without the cost of the characters that stay.
+         */
+        private double bestCost;
+
+        /**
+         * Whether the best placement found is better than the one of the layout.
+         */
+        private boolean improved;
+
+        /**
+         * The number of nodes expanded by the last neighbourhood.
+         */
+        private long nodes;
+
+        /**
+         * The limits of the current neighbourhood.
+         */
+        private long nodeLimit, deadline;
+
+        /**
+         * Whether the current neighbourhood has reached its limits.
+         */
+        private boolean stopped;
+
+        /**
+         * Constructs a NeighbourhoodSolver for neighbourhoods of at most the given number of characters.
+         *
+         * @param capacity The largest number of characters of a neighbourhood.
+         */
+        NeighbourhoodSolver(int capacity) {
+            this.capacity = capacity;
+            flow = new double[capacity * capacity];
+            distances = new double[capacity * capacity];
+            costs = new double[(capacity + 1) * capacity * capacity];
+            order = new int[capacity];
+            slots = new int[capacity];
+            taken = new boolean[capacity];
+            candidates = new int[capacity * capacity];
+            bestSlots = new int[capacity];
+            layoutSlots = new int[capacity];
+            weights = new double[capacity];
+        }
+
+        /**
+         * Solves a neighbourhood of the given layout.
+         *
+         * @param layoutCost    The evaluator of the layouts.
+         * @param permutation   The slot of every item.
+         * @param neighbourhood The characters freed.
+         * @param nodeLimit     The number of nodes that the search can expand.
+         * @param deadline      The time at which the search stops, in milliseconds.
+         */
+        void solve(LayoutCost layoutCost, int[] permutation, int[] neighbourhood, long nodeLimit, long deadline) {
+            size = neighbourhood.length;
+            this.nodeLimit = nodeLimit;
+            this.deadline = deadline;
+            nodes = 0;
+            stopped = false;
+            improved = false;
+
+            if (free == null || free.length != layoutCost.getNumChars()) free = new boolean[layoutCost.getNumChars()];
+            for (int i = 0; i < size; ++i) {
+                free[neighbourhood[i]] = true;
+                layoutSlots[i] = permutation[neighbourhood[i]];
+            }
+            for (int i = 0; i < size; ++i) {
+                for (int j = 0; j < size; ++j) {
+                    flow[i * capacity + j] = i == j ? 0 : layoutCost.getFlow(neighbourhood[i], neighbourhood[j]);
+                    distances[i * capacity + j] = layoutCost.getDistance(layoutSlots[i], layoutSlots[j]);
+                }
+            }
+            // Folds the transits with the characters that stay into the linear cost of the layer of depth 0
+            for (int i = 0; i < size; ++i) {
+                for (int a = 0; a < size; ++a) {
+                    double cost = 0;
+                    for (int other = 0; other < layoutCost.getNumChars(); ++other) {
+                        if (!free[other]) cost += layoutCost.getFlow(neighbourhood[i], other) * layoutCost.getDistance(layoutSlots[a], permutation[other]);
+                    }
+                    costs[i * capacity + a] = cost;
+                }
+            }
+
+            // The characters with the most transits inside the neighbourhood and the most spread linear costs first
+            for (int i = 0; i < size; ++i) {
+                double min = Double.MAX_VALUE, max = 0;
+                weights[i] = 0;
+                for (int a = 0; a < size; ++a) {
+                    weights[i] += flow[i * capacity + a];
+                    min = Math.min(min, costs[i * capacity + a]);
+                    max = Math.max(max, costs[i * capacity + a]);
+                }
+                weights[i] += max - min;
+                order[i] = i;
+            }
+            for (int i = 1; i < size; ++i) {
+                int character = order[i], k = i;
+                while (k > 0 && weights[order[k - 1]] < weights[character]) {
+                    order[k] = order[k - 1];
+                    --k;
+                }
+                order[k] = character;
+            }
+
+            // The layout itself is the first placement, so only a strictly better one is kept
+            bestCost = 0;
+            for (int i = 0; i < size; ++i) {
+                bestSlots[i] = i;
+                bestCost += costs[i * capacity + i];
+                for (int j = i + 1; j < size; ++j) bestCost += flow[i * capacity + j] * distances[i * capacity + j];
+            }
+            Arrays.fill(taken, false);
+            branch(0, 0);
+            for (int character : neighbourhood) free[character] = false;
+        }
+
+        /**
+         * Places the character of the given depth on every slot that can lead to a better placement.
+         *
+         * @param depth The number of characters placed.
+         * @param cost  The cost of the characters placed.
+         */
+        private void branch(int depth, double cost) {
+            int character = order[depth];
+            int layer = depth * capacity * capacity, row = layer + character * capacity;
+            int from = depth * capacity, count = 0;
+            // Tries the cheapest slots first, so that a good placement bounds the search early
+            for (int a = 0; a < size; ++a) {
+                if (taken[a]) continue;
+                int k = count++;
+                while (k > 0 && costs[row + candidates[from + k - 1]] > costs[row + a]) {
+                    candidates[from + k] = candidates[from + k - 1];
+                    --k;
+                }
+                candidates[from + k] = a;
+            }
+
+            for (int k = 0; k < count && !stopped; ++k) {
+                int slot = candidates[from + k];
+                double placed = cost + costs[row + slot];
+                if (placed >= bestCost - 1e-9) break;
+                if ((++nodes & CLOCK_CHECK_MASK) == 0 && System.currentTimeMillis() >= deadline || nodes >= nodeLimit) {
+                    stopped = true;
+                }
+                slots[character] = slot;
+                if (depth == size - 1) {
+                    bestCost = placed;
+                    System.arraycopy(slots, 0, bestSlots, 0, size);
+                    improved = true;
+                    continue;
+                }
+
+                taken[slot] = true;
+                int next = layer + capacity * capacity;
+                double bound = placed;
+                for (int d = depth + 1; d < size; ++d) {
+                    int other = order[d], parentRow = layer + other * capacity, childRow = next + other * capacity;
+                    double interaction = flow[other * capacity + character], min = Double.MAX_VALUE;
+                    for (int b = 0; b < size; ++b) {
+                        if (taken[b]) continue;
+                        double value = costs[parentRow + b] + interaction * distances[b * capacity + slot];
+                        costs[childRow + b] = value;
+                        if (value < min) min = value;
+                    }
+                    bound += min;
+                }
+                if (bound < bestCost - 1e-9) branch(depth + 1, placed);
+                taken[slot] = false;
+            }
+        }
+
+        /**
+         * Checks whether the last neighbourhood has found a placement better than the one of the layout.
+         *
+         * @return True if it has found a better placement.
+         */
+        boolean isImproved() {
+            return improved;
+        }
+
+        /**
+         * Gets the slot of a character of the last neighbourhood in the best placement found.
+         *
+         * @param i The index of the character in the neighbourhood.
+         * @return The slot of the layout.
+         */
+        int getSlot(int i) {
+            return layoutSlots[bestSlots[i]];
+        }
+
+        /**
+         * Gets the number of nodes expanded by the last neighbourhood.
+         *
+         * @return The number of nodes.
+         */
+        long getNodes() {
+            return nodes;
+        }
+    }
+}
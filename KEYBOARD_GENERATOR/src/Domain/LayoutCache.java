@@ -0,0 +1,153 @@
+package Domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LayoutCache keeps the best Keyboards found by the searches, so that a search that has already been done is answered
+ * instantly, and a search with a larger budget starts from the Keyboard already found.
+ * Every search is identified by a hash of the TransitionMatrix, the size of the grid, the algorithm and its seed. Its
+ * budget is not part of the key but stored with the Keyboard, so that it can be compared with the budget of a new
+ * search. When the cache is full, the least recently used Keyboard is evicted. A LayoutCacheStore can keep a copy of
+ * the cache on disk.
+ */
+public class LayoutCache {
+
+    /**
+     * The number of Keyboards kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The maximum number of Keyboards kept.
+     */
+    private final int capacity;
+
+    /**
+     * The Keyboards kept, by key, from the least to the most recently used.
+     */
+    private final Map<String, CachedLayout> layouts;
+
+    /**
+     * The store that keeps a copy of the cache on disk, or null if the cache is only kept in memory.
+     */
+    private LayoutCacheStore store;
+
+    /**
+     * Constructs an empty LayoutCache with the default capacity.
+     */
+    public LayoutCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty LayoutCache with the given capacity.
+     *
+     * @param capacity The maximum number of Keyboards kept.
+     */
+    public LayoutCache(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        layouts = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Sets the store that keeps a copy of the cache on disk from now on.
+     *
+     * @param store The store, or null to keep the cache only in memory.
+     */
+    public synchronized void setStore(LayoutCacheStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Gets the Keyboard found by a search.
+     *
+     * @param key The key of the search.
+     * @return The Keyboard, or null if the search is not in the cache.
+     */
+    public synchronized CachedLayout get(String key) {
+        return layouts.get(key);
+    }
+
+    /**
+     * Adds a Keyboard loaded from the store, without saving it again.
+     *
+     * @param layout The Keyboard.
+     */
+    public synchronized void load(CachedLayout layout) {
+        layouts.put(layout.getKey(), layout);
+        evict();
+    }
+
+    /**
+     * Adds the Keyboard found by a search, replacing the one of the same search, and saves it in the store.
+     *
+     * @param layout The Keyboard.
+     */
+    public synchronized void put(CachedLayout layout) {
+        layouts.put(layout.getKey(), layout);
+        if (store != null) store.save(layout);
+        evict();
+    }
+
+    /**
+     * Gets the number of Keyboards kept.
+     *
+     * @return The number of Keyboards.
+     */
+    public synchronized int size() {
+        return layouts.size();
+    }
+
+    /**
+     * Evicts the least recently used Keyboards until the cache is not over its capacity.
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, CachedLayout>> eldest = layouts.entrySet().iterator();
+        while (layouts.size() > capacity) {
+            String key = eldest.next().getKey();
+            eldest.remove();
+            if (store != null) store.delete(key);
+        }
+    }
+
+    /**
+     * Gives the key of a search: a SHA-256 hash of the TransitionMatrix, the size of the grid, the algorithm and the
+     * seed and pinned characters of the parameters.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param algorithm    The algorithm of the search.
+     * @param parameters   The parameters of the search.
+     * @return The key, as a hexadecimal string.
+     */
+    public static String getKey(int[][] transitTable, String algorithm, AlgorithmParameters parameters) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        int numChars = transitTable.length;
+        int cols = (int) Math.sqrt(numChars);
+        int rows = cols == 0 ? 0 : (int) Math.ceil(numChars / (double) cols);
+        StringBuilder description = new StringBuilder();
+        description.append(numChars).append(' ').append(rows).append('x').append(cols).append('\n');
+        for (int[] row : transitTable) {
+            for (int transits : row) description.append(transits).append(' ');
+            description.append('\n');
+        }
+        description.append(algorithm).append('\n').append(parameters.getSeed());
+        if (parameters.getPinnedSlots() != null) description.append('\n').append(Arrays.toString(parameters.getPinnedSlots()));
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest(description.toString().getBytes(StandardCharsets.UTF_8))) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package Domain;
+
+/**
+ * Keeps a copy of the LayoutCache on disk, so that the Keyboards found are not searched again after a restart.
+ */
+public interface LayoutCacheStore {
+
+    /**
+     * Saves a layout added to the LayoutCache, replacing any layout saved with the same key.
+     *
+     * @param layout The layout.
+     */
+    void save(CachedLayout layout);
+
+    /**
+     * Deletes a layout evicted from the LayoutCache.
+     *
+     * @param key The key of the layout.
+     */
+    void delete(String key);
+}
@@ -0,0 +1,229 @@
+package Domain;
+
+/**
+ * LayoutCost evaluates Keyboard layouts represented as permutations, for the algorithms that improve a layout by
+ * exchanging keys.
+ * Every slot of the grid holds an item: the characters of the TransitionMatrix are the first items, and the empty
+ * slots hold dummy items without transits. A layout is then a permutation that gives the slot of every item.
+ * The cost of a layout is the total cost of the KeyboardAvaluator, that is, the sum over every pair of characters of
+ * their transits in both directions multiplied by the distance between their keys.
+ */
+public class LayoutCost {
+
+    /**
+     * The number of characters of the TransitionMatrix.
+     */
+    private final int numChars;
+
+    /**
+     * The number of items, which is also the number of slots of the grid.
+     */
+    private final int size;
+
+    /**
+     * The number of rows of the grid.
+     */
+    private final int rows;
+
+    /**
+     * The number of columns of the grid.
+     */
+    private final int cols;
+
+    /**
+     * The flow of the FlowMatrix between every pair of items, indexed by item1 * size + item2.
+     */
+    private final double[] flow;
+
+    /**
+     * The distances between every pair of slots, indexed by slot1 * size + slot2.
+     */
+    private final double[] distances;
+
+    /**
+     * Constructs a LayoutCost for the given TransitionMatrix and grid shape.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param rows         The number of rows of the grid.
+     * @param cols         The number of columns of the grid.
+     */
+    public LayoutCost(int[][] transitTable, int rows, int cols) {
+        this(transitTable, SlotDistanceTable.get(rows, cols));
+    }
+
+    /**
+     * Constructs a LayoutCost for the given TransitionMatrix and distances between the slots, whose grid shape is the
+     * one of the layouts.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix.
+     * @param table        The distances between the slots.
+     */
+    public LayoutCost(int[][] transitTable, SlotDistanceTable table) {
+        this(new FlowMatrix(transitTable), table);
+    }
+
+    /**
+     * Constructs a LayoutCost for the flow of a TransitionMatrix and the distances between the slots, whose grid shape
+     * is the one of the layouts.
+     *
+     * @param flowMatrix The flow of a TransitionMatrix.
+     * @param table      The distances between the slots.
+     */
+    public LayoutCost(FlowMatrix flowMatrix, SlotDistanceTable table) {
+        rows = table.getRows();
+        cols = table.getCols();
+        numChars = flowMatrix.getSize();
+        size = table.getSlots();
+        distances = table.getDistances();
+
+        // The rows of the dummy items are left at 0, so the loops over the items need no check
+        long[] charFlow = flowMatrix.getFlow();
+        flow = new double[size * size];
+        for (int a = 0; a < numChars; ++a) {
+            for (int b = 0; b < numChars; ++b) flow[a * size + b] = charFlow[a * numChars + b];
+        }
+    }
+
+    /**
+     * Gets the number of characters of the TransitionMatrix.
+     *
+     * @return The number of characters.
+     */
+    public int getNumChars() {
+        return numChars;
+    }
+
+    /**
+     * Gets the number of items, which is also the number of slots of the grid.
+     *
+     * @return The number of items.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the transits in both directions between two items.
+     *
+     * @param item1 The first item.
+     * @param item2 The second item.
+     * @return The transits between both items, 0 if any of them is a dummy item.
+     */
+    public double getFlow(int item1, int item2) {
+        return flow[item1 * size + item2];
+    }
+
+    /**
+     * Gets the distance between two slots.
+     *
+     * @param slot1 The first slot.
+     * @param slot2 The second slot.
+     * @return The distance between the keys of both slots.
+     */
+    public double getDistance(int slot1, int slot2) {
+        return distances[slot1 * size + slot2];
+    }
+
+    /**
+     * Converts the positions of the characters of a Keyboard into a permutation.
+     *
+     * @param positions The positions of the characters on the grid, negative on the empty slots.
+     * @return The slot of every item.
+     */
+    public int[] toPermutation(int[][] positions) {
+        int[] permutation = new int[size];
+        int dummy = numChars;
+        for (int slot = 0; slot < size; ++slot) {
+            int character = positions[slot / cols][slot % cols];
+            if (character >= 0) permutation[character] = slot;
+            else {
+                permutation[dummy] = slot;
+                ++dummy;
+            }
+        }
+        return permutation;
+    }
+
+    /**
+     * Converts a permutation into the positions of the characters of a Keyboard.
+     *
+     * @param permutation The slot of every item.
+     * @return The positions of the characters on the grid, -2 on the empty slots (-1 in the first slot would mean
+     *         that there is no Keyboard).
+     */
+    public int[][] toPositions(int[] permutation) {
+        int[][] positions = new int[rows][cols];
+        for (int item = 0; item < size; ++item) {
+            int slot = permutation[item];
+            positions[slot / cols][slot % cols] = item < numChars ? item : -2;
+        }
+        return positions;
+    }
+
+    /**
+     * Calculates the total cost of a layout.
+     *
+     * @param permutation The slot of every item.
+     * @return The total cost of the layout.
+     */
+    public double cost(int[] permutation) {
+        double sum = 0;
+        for (int a = 0; a < numChars; ++a) {
+            int rowFlow = a * size, rowDistance = permutation[a] * size;
+            for (int b = a + 1; b < numChars; ++b) {
+                sum += flow[rowFlow + b] * distances[rowDistance + permutation[b]];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Calculates the change of the cost of a layout when two items exchange their slots, in O(n).
+     *
+     * @param permutation The slot of every item.
+     * @param r           The first item.
+     * @param s           The second item.
+     * @return The cost after the exchange minus the cost before it.
+     */
+    public double swapDelta(int[] permutation, int r, int s) {
+        int rowR = r * size, rowS = s * size;
+        int slotR = permutation[r] * size, slotS = permutation[s] * size;
+        double delta = 0;
+        for (int k = 0; k < numChars; ++k) {
+            if (k != r && k != s) {
+                int slotK = permutation[k];
+                delta += (flow[rowR + k] - flow[rowS + k]) * (distances[slotS + slotK] - distances[slotR + slotK]);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Calculates the change of the cost of a layout when three items rotate their slots, in O(n): the first item moves
+     * to the slot of the second one, the second item to the slot of the third one and the third item to the slot of
+     * the first one.
+     *
+     * @param permutation The slot of every item.
+     * @param r           The first item.
+     * @param s           The second item.
+     * @param t           The third item.
+     * @return The cost after the rotation minus the cost before it.
+     */
+    public double cycleDelta(int[] permutation, int r, int s, int t) {
+        int rowR = r * size, rowS = s * size, rowT = t * size;
+        int slotR = permutation[r], slotS = permutation[s], slotT = permutation[t];
+        int rowSlotR = slotR * size, rowSlotS = slotS * size, rowSlotT = slotT * size;
+        double delta = 0;
+        for (int k = 0; k < numChars; ++k) {
+            if (k != r && k != s && k != t) {
+                int slotK = permutation[k];
+                double distanceR = distances[rowSlotR + slotK], distanceS = distances[rowSlotS + slotK], distanceT = distances[rowSlotT + slotK];
+                delta += flow[rowR + k] * (distanceS - distanceR) + flow[rowS + k] * (distanceT - distanceS)
+                        + flow[rowT + k] * (distanceR - distanceT);
+            }
+        }
+        double distanceRS = distances[rowSlotR + slotS], distanceST = distances[rowSlotS + slotT], distanceTR = distances[rowSlotT + slotR];
+        return delta + flow[rowR + s] * (distanceST - distanceRS) + flow[rowS + t] * (distanceTR - distanceST)
+                + flow[rowT + r] * (distanceRS - distanceTR);
+    }
+}
@@ -0,0 +1,132 @@
+package Domain;
+
+import java.util.Arrays;
+
+/**
+ * LinearAssignment solves the Linear Assignment Problem (LAP) with the Hungarian algorithm in O(n^3): given a square
+ * cost matrix, it finds the assignment of every row to a different column with the lowest total cost.
+ * It keeps the dual values of the columns of the last problem solved, so a similar problem (for example the one of a
+ * child in the tree of solutions of the QAPAlgorithm) can be warm-started from them.
+ */
+public class LinearAssignment {
+
+    /**
+     * The dual values of the rows, indexed from 1.
+     */
+    private final double[] u;
+
+    /**
+     * The dual values of the columns, indexed from 1.
+     */
+    private final double[] v;
+
+    /**
+     * The row assigned to every column, indexed from 1 (0 if the column is not assigned yet).
+     */
+    private final int[] assigned;
+
+    /**
+     * The previous column in the augmenting path of every column.
+     */
+    private final int[] way;
+
+    /**
+     * The lowest reduced cost found to reach every column.
+     */
+    private final double[] minv;
+
+    /**
+     * Whether every column has been reached by the current augmenting path.
+     */
+    private final boolean[] used;
+
+    /**
+     * Constructs a LinearAssignment able to solve problems up to the given size.
+     *
+     * @param maxSize The maximum number of rows and columns of the problems to solve.
+     */
+    public LinearAssignment(int maxSize) {
+        u = new double[maxSize + 1];
+        v = new double[maxSize + 1];
+        assigned = new int[maxSize + 1];
+        way = new int[maxSize + 1];
+        minv = new double[maxSize + 1];
+        used = new boolean[maxSize + 1];
+    }
+
+    /**
+     * Solves the Linear Assignment Problem of the first rows and columns of the given cost matrix.
+     *
+     * @param cost        The cost matrix, at least of the given size.
+     * @param size        The number of rows and columns of the problem.
+     * @param columnDuals The dual values of the columns used to warm-start the search, or null to start from zero.
+     *                    They do not need to be feasible for the cost matrix.
+     * @param offset      The position in columnDuals of the dual value of the first column.
+     * @return The lowest total cost of an assignment.
+     */
+    public double solve(double[][] cost, int size, double[] columnDuals, int offset) {
+        v[0] = 0;
+        for (int j = 1; j <= size; ++j) v[j] = columnDuals == null ? 0 : columnDuals[offset + j - 1];
+        for (int i = 1; i <= size; ++i) {
+            // The row duals are the highest ones that keep every reduced cost non negative
+            double min = cost[i - 1][0] - v[1];
+            for (int j = 2; j <= size; ++j) min = Math.min(min, cost[i - 1][j - 1] - v[j]);
+            u[i] = min;
+        }
+        u[0] = 0;
+        Arrays.fill(assigned, 0, size + 1, 0);
+
+        for (int i = 1; i <= size; ++i) {
+            assigned[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, 0, size + 1, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, 0, size + 1, false);
+            do {
+                used[j0] = true;
+                int i0 = assigned[j0], j1 = 0;
+                double delta = Double.POSITIVE_INFINITY;
+                for (int j = 1; j <= size; ++j) {
+                    if (!used[j]) {
+                        double cur = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (cur < minv[j]) {
+                            minv[j] = cur;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= size; ++j) {
+                    if (used[j]) {
+                        u[assigned[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (assigned[j0] != 0);
+            do {
+                int j1 = way[j0];
+                assigned[j0] = assigned[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        double sum = 0;
+        for (int j = 1; j <= size; ++j) sum += cost[assigned[j] - 1][j - 1];
+        return sum;
+    }
+
+    /**
+     * Copies the dual values of the columns of the last problem solved.
+     *
+     * @param columnDuals The array where the dual values are copied, at least of the size of the last problem.
+     * @param size        The number of columns of the last problem solved.
+     */
+    public void getColumnDuals(double[] columnDuals, int size) {
+        System.arraycopy(v, 1, columnDuals, 0, size);
+    }
+}
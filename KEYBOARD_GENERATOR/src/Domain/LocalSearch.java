@@ -0,0 +1,388 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LocalSearch improves the layout of a Keyboard until it is a local optimum, so it can follow any algorithm.
+ * Every step applies an improving move: the exchange of the slots of two keys, or, when no exchange improves the
+ * layout, the rotation of the slots of three keys. The moves are scored in O(n) with the LayoutCost, and the
+ * neighbourhood can be scanned in parallel, splitting the first key of the moves between the workers.
+ */
+public class LocalSearch {
+
+    /**
+     * The lowest improvement of the cost accepted, so that the rounding errors never make the search cycle.
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * The number of worker threads that scan the neighbourhood.
+     */
+    private final int parallelism;
+
+    /**
+     * The strategy used to choose the move applied at every step.
+     */
+    private ImprovementStrategy strategy = ImprovementStrategy.FIRST_IMPROVEMENT;
+
+    /**
+     * Whether the rotations of three keys are tried when no exchange of two keys improves the layout.
+     */
+    private boolean cycles = true;
+
+    /**
+     * The number of moves applied by the last search.
+     */
+    private long moves;
+
+    /**
+     * The first key scanned by the next step, which is the first key of the last move applied, so that a search with
+     * the first improvement does not scan again the keys that did not improve the layout.
+     */
+    private int offset;
+
+    /**
+     * The best Keyboard shared with other algorithms running at the same time, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the initial Keyboard.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Whether every character is pinned, so that no move changes its slot, or null if no character is pinned.
+     */
+    private boolean[] pinned;
+
+    /**
+     * Constructs a LocalSearch that scans the neighbourhood sequentially.
+     */
+    public LocalSearch() {
+        this(1);
+    }
+
+    /**
+     * Constructs a LocalSearch that scans the neighbourhood with the given number of worker threads.
+     *
+     * @param parallelism The number of worker threads.
+     */
+    public LocalSearch(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Sets the strategy used to choose the move applied at every step.
+     *
+     * @param strategy The strategy, the first improvement by default.
+     */
+    public void setStrategy(ImprovementStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Sets whether the rotations of three keys are tried when no exchange of two keys improves the layout.
+     * They find better local optimums, but scanning them takes O(n^4).
+     *
+     * @param cycles True to try the rotations of three keys, which is the default.
+     */
+    public void setCycles(boolean cycles) {
+        this.cycles = cycles;
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid, for example the ones of an instance of QAPLIB. The initial
+     * Keyboards then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms running at the same time. The search reports its moves to
+     * it, stops if it is stopped and offers it the improved Keyboard.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+    }
+
+    /**
+     * Sets the characters that must stay on their slots: the moves that change the slot of any of them are not scanned.
+     * The initial layouts of the next searches must already place them on their slots.
+     *
+     * @param pinnedSlots The slot of every character, or -1 if it is not pinned; null if no character is pinned.
+     */
+    public void setPinnedSlots(int[] pinnedSlots) {
+        if (pinnedSlots == null) pinned = null;
+        else {
+            pinned = new boolean[pinnedSlots.length];
+            for (int character = 0; character < pinnedSlots.length; ++character) pinned[character] = pinnedSlots[character] >= 0;
+        }
+    }
+
+    /**
+     * Gets the default budget for a search of the given number of characters. The search stops by itself at a local
+     * optimum, so the budget only limits its time to 5 seconds.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 0, 0);
+    }
+
+    /**
+     * Gets the number of moves applied by the last search.
+     *
+     * @return The number of moves.
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * Improves the given layout until it is a local optimum or the budget is exhausted.
+     * The node limit of the budget is the number of moves applied, and the gap limit is not used.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param initialPositions The initial positions of the characters, negative on the empty slots.
+     * @param budget           The limits of the search.
+     * @return The improved Keyboard, along with the elapsed time and the moves applied.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] initialPositions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        LayoutCost layoutCost = distances != null ? new LayoutCost(transitTable, distances)
+                : new LayoutCost(transitTable, initialPositions.length, initialPositions[0].length);
+        int[] permutation = layoutCost.toPermutation(initialPositions);
+
+        long maxMoves = budget.getNodeLimit() > 0 ? budget.getNodeLimit() : Long.MAX_VALUE;
+        long deadline = budget.getTimeLimit() > 0 ? startTime + budget.getTimeLimit() : Long.MAX_VALUE;
+        if (parallelism == 1) improve(layoutCost, permutation, maxMoves, deadline, null, incumbent);
+        else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                improve(layoutCost, permutation, maxMoves, deadline, pool, incumbent);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        int[][] positions = layoutCost.toPositions(permutation);
+        double cost = layoutCost.cost(permutation);
+        if (incumbent != null) incumbent.offer(new QAPPartialSolution(positions, cost));
+        return new SolverResult(positions, cost, 0, moves, System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Improves the given layout in place until it is a local optimum, scanning the neighbourhood sequentially.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item, which is improved in place.
+     * @param cost        The cost of the layout.
+     * @return The cost of the improved layout.
+     */
+    public double improve(LayoutCost layoutCost, int[] permutation, double cost) {
+        return improve(layoutCost, permutation, cost, Long.MAX_VALUE);
+    }
+
+    /**
+     * Improves the given layout in place until it is a local optimum or the deadline is reached, scanning the
+     * neighbourhood sequentially.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item, which is improved in place.
+     * @param cost        The cost of the layout.
+     * @param deadline    The time at which the search must stop, in milliseconds.
+     * @return The cost of the improved layout.
+     */
+    public double improve(LayoutCost layoutCost, int[] permutation, double cost, long deadline) {
+        return cost + improve(layoutCost, permutation, Long.MAX_VALUE, deadline, null, null);
+    }
+
+    /**
+     * Applies improving moves to the given layout until it is a local optimum or a limit is reached.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item, which is improved in place.
+     * @param maxMoves    The maximum number of moves to apply.
+     * @param deadline    The time at which the search must stop, in milliseconds.
+     * @param pool        The pool of the workers that scan the neighbourhood, or null to scan it sequentially.
+     * @param shared      The incumbent to which the moves are reported, or null if there is none.
+     * @return The change of the cost of the layout.
+     */
+    private double improve(LayoutCost layoutCost, int[] permutation, long maxMoves, long deadline, ForkJoinPool pool,
+                           QAPIncumbent shared) {
+        double change = 0;
+        moves = 0;
+        offset = 0;
+        while (moves < maxMoves && System.currentTimeMillis() < deadline) {
+            if (shared != null && shared.isStopped()) break;
+            Move move = findMove(layoutCost, permutation, false, deadline, pool);
+            if (move == null && cycles) move = findMove(layoutCost, permutation, true, deadline, pool);
+            if (move == null) break;
+
+            int slot = permutation[move.r];
+            if (move.t < 0) {
+                permutation[move.r] = permutation[move.s];
+                permutation[move.s] = slot;
+            } else {
+                permutation[move.r] = permutation[move.s];
+                permutation[move.s] = permutation[move.t];
+                permutation[move.t] = slot;
+            }
+            change += move.delta;
+            offset = move.r;
+            ++moves;
+            if (shared != null) shared.addNodes(1);
+        }
+        return change;
+    }
+
+    /**
+     * Finds the move to apply to the given layout, according to the strategy.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item.
+     * @param cycle       True to scan the rotations of three keys, false to scan the exchanges of two keys.
+     * @param deadline    The time at which the search must stop, in milliseconds.
+     * @param pool        The pool of the workers that scan the neighbourhood, or null to scan it sequentially.
+     * @return The move found, or null if no move improves the layout.
+     */
+    private Move findMove(LayoutCost layoutCost, int[] permutation, boolean cycle, long deadline, ForkJoinPool pool) {
+        if (pool == null) return scan(layoutCost, permutation, cycle, 0, 1, deadline, null);
+
+        AtomicBoolean found = new AtomicBoolean(false);
+        List<Callable<Move>> scans = new ArrayList<>();
+        for (int worker = 0; worker < parallelism; ++worker) {
+            int first = worker;
+            scans.add(() -> scan(layoutCost, permutation, cycle, first, parallelism, deadline, found));
+        }
+        Move best = null;
+        try {
+            for (Future<Move> scan : pool.invokeAll(scans)) {
+                Move move = scan.get();
+                if (move != null && (best == null || move.delta < best.delta)) best = move;
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
+        return best;
+    }
+
+    /**
+     * Scans the moves whose first key is one of every given number of keys, starting from the key of the given index.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item.
+     * @param cycle       True to scan the rotations of three keys, false to scan the exchanges of two keys.
+     * @param first       The index of the first key scanned.
+     * @param step        The distance between the indexes of two consecutive keys scanned.
+     * @param deadline    The time at which the search must stop, in milliseconds.
+     * @param found       Whether any worker has already found an improving move, or null if there is a single worker.
+     * @return The move found, or null if no move improves the layout.
+     */
+    private Move scan(LayoutCost layoutCost, int[] permutation, boolean cycle, int first, int step, long deadline, AtomicBoolean found) {
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+        boolean firstImprovement = strategy == ImprovementStrategy.FIRST_IMPROVEMENT;
+        Move best = null;
+        double bestDelta = -EPSILON;
+
+        for (int index = first; index < numChars; index += step) {
+            if (firstImprovement && found != null && found.get()) break;
+            if (cycle && System.currentTimeMillis() >= deadline) break;
+
+            // Every move is scanned from the key with the lowest index, so the others are higher
+            int r = (offset + index) % numChars;
+            if (isPinned(r)) continue;
+            for (int s = 0; s < size; ++s) {
+                if (s == r || (s < numChars && (s - offset + numChars) % numChars < index) || isPinned(s)) continue;
+                if (!cycle) {
+                    double delta = layoutCost.swapDelta(permutation, r, s);
+                    if (delta < bestDelta) {
+                        best = new Move(r, s, -1, delta);
+                        bestDelta = delta;
+                    }
+                } else {
+                    for (int t = 0; t < size; ++t) {
+                        if (t == r || t == s || (t < numChars && (t - offset + numChars) % numChars < index) || isPinned(t)) continue;
+                        // Rotating a key with two empty slots is the same as exchanging it with one of them
+                        if (s >= numChars && t >= numChars) continue;
+                        double delta = layoutCost.cycleDelta(permutation, r, s, t);
+                        if (delta < bestDelta) {
+                            best = new Move(r, s, t, delta);
+                            bestDelta = delta;
+                        }
+                    }
+                }
+            }
+            if (firstImprovement && best != null) {
+                if (found != null) found.set(true);
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether an item is a pinned character.
+     *
+     * @param item The item, which is an empty slot if it is not lower than the number of characters.
+     * @return True if the item is a pinned character, false otherwise.
+     */
+    private boolean isPinned(int item) {
+        return pinned != null && item < pinned.length && pinned[item];
+    }
+
+    /**
+     * A move of the LocalSearch: the exchange of the slots of two items, or the rotation of the slots of three items.
+     */
+    private static class Move {
+
+        /**
+         * The first item, which moves to the slot of the second one.
+         */
+        final int r;
+
+        /**
+         * The second item, which moves to the slot of the third one, or to the slot of the first one in an exchange.
+         */
+        final int s;
+
+        /**
+         * The third item, which moves to the slot of the first one, or -1 in an exchange.
+         */
+        final int t;
+
+        /**
+         * The change of the cost of the layout.
+         */
+        final double delta;
+
+        /**
+         * Constructs a Move.
+         *
+         * @param r     The first item.
+         * @param s     The second item.
+         * @param t     The third item, or -1 in an exchange.
+         * @param delta The change of the cost of the layout.
+         */
+        Move(int r, int s, int t, double delta) {
+            this.r = r;
+            this.s = s;
+            this.t = t;
+            this.delta = delta;
+        }
+    }
+}
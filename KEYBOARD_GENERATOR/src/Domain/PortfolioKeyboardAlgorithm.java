@@ -0,0 +1,34 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "Portfolio", which races several algorithms with the PortfolioSolver.
+ * It uses the budget, the seed, the threads and the initial positions of the parameters: the seed gives the seeds of
+ * the heuristics, and the threads are shared by the racers.
+ */
+public class PortfolioKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Portfolio";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.EXACT, AlgorithmCapability.ANYTIME, AlgorithmCapability.PARALLEL);
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return PortfolioSolver.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        PortfolioSolver portfolio = new PortfolioSolver(parameters.getSeed(), parameters.getThreads());
+        portfolio.setIncumbent(incumbent);
+        return portfolio.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
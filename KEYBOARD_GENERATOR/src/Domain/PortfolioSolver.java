@@ -0,0 +1,176 @@
+package Domain;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * PortfolioSolver races several algorithms on separate threads under a shared deadline, so the caller does not have to
+ * choose one of them.
+ * The Keyboard given by the GreedyAlgorithm and improved with the LocalSearch seeds a QAPIncumbent shared by the
+ * TabuSearch, the SimulatedAnnealing and the QAPAlgorithm: the branch and bound prunes with the Keyboards found by the
+ * heuristics, and the heuristics restart from the Keyboards found by any other algorithm. The best Keyboard at the
+ * deadline is returned.
+ * The race has its own incumbent, the child of the one of the caller, so that the QAPAlgorithm can stop the other
+ * algorithms when it proves that the best Keyboard is optimal without stopping the algorithms that follow the race.
+ */
+public class PortfolioSolver {
+
+    /**
+     * The number of algorithms that run at the same time.
+     */
+    private static final int RACERS = 3;
+
+    /**
+     * The part of the time limit of the race given to the LocalSearch that improves the initial Keyboard. The
+     * LocalSearch stops by itself at a local optimum, so this only matters on large Keyboards, where the racers would
+     * otherwise start with no time left.
+     */
+    private static final double SEED_TIME_FRACTION = 0.25;
+
+    private GreedyAlgorithm greedy;
+    private LocalSearch localSearch;
+
+    /**
+     * The seed from which the seeds of the heuristics are drawn, or null to use random seeds.
+     */
+    private final Long seed;
+
+    /**
+     * The number of threads of the race, or 0 to run every algorithm on its own thread and the QAPAlgorithm on one.
+     */
+    private final int threads;
+
+    /**
+     * The incumbent shared with a GenerationHandle, or null if the race does not report its progress.
+     */
+    private QAPIncumbent shared;
+
+    /**
+     * Constructs a PortfolioSolver with instances of GreedyAlgorithm and LocalSearch to seed the race, which runs
+     * every algorithm on its own thread with random seeds.
+     */
+    public PortfolioSolver() {
+        this(null, 0);
+    }
+
+    /**
+     * Constructs a PortfolioSolver whose race uses the given seed and number of threads.
+     * With fewer threads than algorithms, the algorithms take turns and share the time limit; with more, the extra
+     * threads are workers of the QAPAlgorithm.
+     *
+     * @param seed    The seed from which the seeds of the heuristics are drawn, so that the heuristics are
+     *                reproducible, or null to use random seeds.
+     * @param threads The number of threads of the race, or 0 for one thread per algorithm.
+     */
+    public PortfolioSolver(Long seed, int threads) {
+        greedy = new GreedyAlgorithm();
+        localSearch = new LocalSearch();
+        this.seed = seed;
+        this.threads = Math.max(0, threads);
+    }
+
+    /**
+     * Gets the default budget for a race of the given number of characters.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget, which only limits the time to 5 seconds.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 0, 0);
+    }
+
+    /**
+     * Sets the incumbent shared with a GenerationHandle, which becomes the parent of the incumbent of the race: it gets
+     * every Keyboard found by the algorithms, and stopping it stops the race, but the end of the race does not stop it.
+     *
+     * @param incumbent The shared incumbent, or null to use a new one in every race.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        shared = incumbent;
+        localSearch.setIncumbent(incumbent);
+    }
+
+    /**
+     * Races the algorithms until the deadline, or until the QAPAlgorithm proves that the best Keyboard is optimal.
+     * The QAPAlgorithm only places the characters on the first slots of the grid, so it can only prove optimality when
+     * the characters fill the whole grid; otherwise the heuristics always run until the deadline.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param budget       The limits of the race: its time limit is the shared deadline (5 seconds if it has none), and
+     *                     its node and gap limits only apply to the QAPAlgorithm.
+     * @return The best Keyboard found by any algorithm, along with the elapsed time and the nodes and iterations of
+     * every algorithm.
+     */
+    public SolverResult solve(int[][] transitTable, SolverBudget budget) {
+        return solve(transitTable, greedy.getPositions(transitTable), budget);
+    }
+
+    /**
+     * Races the algorithms from the given Keyboard, improved with the LocalSearch, until the deadline or until the
+     * QAPAlgorithm proves that the best Keyboard is optimal.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param positions    The initial positions of the characters, negative on the empty slots, which give the shape of the grid.
+     * @param budget       The limits of the race, as in the race from the Keyboard of the GreedyAlgorithm.
+     * @return The best Keyboard found by any algorithm, along with the elapsed time and the nodes and iterations of
+     * every algorithm.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] positions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        int numChars = transitTable.length;
+        long timeLimit = budget.getTimeLimit() > 0 ? budget.getTimeLimit() : getDefaultBudget(numChars).getTimeLimit();
+
+        SolverBudget seedBudget = new SolverBudget(Math.max(1, (long) (timeLimit * SEED_TIME_FRACTION)), 0, 0);
+        SolverResult start = localSearch.solve(transitTable, positions, seedBudget);
+        QAPPartialSolution startSolution = new QAPPartialSolution(start.getPositions(), start.getCost());
+        // Stopping the incumbent of the race must not stop the caller, which may still have work to do
+        QAPIncumbent incumbent = shared != null ? new QAPIncumbent(shared) : new QAPIncumbent(startSolution);
+        incumbent.offer(startSolution);
+        boolean fullGrid = positions.length * positions[0].length == numChars;
+
+        // With fewer threads than algorithms, the algorithms take turns, so each one gets its share of the time
+        int poolSize = threads > 0 ? Math.min(threads, RACERS) : RACERS;
+        long remaining = Math.max(1, (timeLimit - (System.currentTimeMillis() - startTime)) * poolSize / RACERS);
+        SolverBudget heuristicBudget = new SolverBudget(remaining, 0, 0);
+        SolverBudget exactBudget = new SolverBudget(remaining, budget.getNodeLimit(), budget.getGapLimit());
+
+        Random seeds = seed != null ? new Random(seed) : null;
+        TabuSearch tabu = seeds != null ? new TabuSearch(seeds.nextLong()) : new TabuSearch();
+        tabu.setIncumbent(incumbent);
+        SimulatedAnnealing annealing = seeds != null ? new SimulatedAnnealing(seeds.nextLong()) : new SimulatedAnnealing();
+        annealing.setIncumbent(incumbent);
+        QAPAlgorithm qap = new QAPAlgorithm(Math.max(1, threads - RACERS + 1));
+
+        SolverResult[] results = new SolverResult[RACERS];
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            Future<SolverResult> exact = executor.submit(() -> {
+                SolverResult result = qap.solve(transitTable, incumbent, exactBudget);
+                if (result.isOptimal() && fullGrid) incumbent.stop();
+                return result;
+            });
+            Future<SolverResult> tabuResult = executor.submit(() -> tabu.solve(transitTable, start.getPositions(), heuristicBudget));
+            Future<SolverResult> annealingResult = executor.submit(() -> annealing.solve(transitTable, start.getPositions(), heuristicBudget));
+            results[0] = exact.get();
+            results[1] = tabuResult.get();
+            results[2] = annealingResult.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long nodes = start.getNodes();
+        for (SolverResult result : results) {
+            incumbent.offer(new QAPPartialSolution(result.getPositions(), result.getCost()));
+            nodes += result.getNodes();
+        }
+        QAPPartialSolution best = incumbent.get();
+        boolean optimal = results[0].isOptimal() && fullGrid;
+        return new SolverResult(best.getSolution(), best.getCost(), fullGrid ? results[0].getRootBound() : 0, nodes,
+                System.currentTimeMillis() - startTime, optimal, results[0].getStats());
+    }
+}
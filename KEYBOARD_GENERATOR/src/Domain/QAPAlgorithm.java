@@ -1,8 +1,16 @@
 package Domain;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * QAPAlgorithm implements an algorithm based on the Quadratic Assignment Problem (QAP), used to create a Keyboard.
@@ -10,13 +18,242 @@ import java.util.Comparator;
  */
 public class QAPAlgorithm {
 
-    private int reps;
-    private int limit;
+    /**
+     * Number of subtrees that each worker should receive when the search is run in parallel.
+     */
+    private static final int TASKS_PER_WORKER = 8;
+
+    /**
+     * The nodes between two checks of the time of the next checkpoint, minus one.
+     */
+    private static final long CHECKPOINT_CHECK_MASK = 1023;
+
+    /**
+     * The nodes that a worker expands between two additions to the shared counters of nodes, minus one.
+     */
+    private static final long NODE_FLUSH_MASK = 1023;
+
+    /**
+     * The checks of the budget of a worker between two readings of the clock, minus one. The search checks the budget
+     * before every child of every node, which is far more often than the time limit needs.
+     */
+    private static final long STOP_CHECK_MASK = 63;
+
+    /**
+     * The time between two checkpoints used when no other is specified, in milliseconds.
+     */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL = 60000;
+
+    private final int parallelism;
+    private BoundStrategy boundStrategy = BoundStrategy.ROW_MINIMUM;
+    private AtomicLong reps;
+    private SolverBudget budget;
+    private long startTime;
+    private volatile boolean stopped;
+    private double rootBound;
+    private int splitDepth;
+    private int rows;
+    private int cols;
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the incumbent.
+     */
+    private SlotDistanceTable distanceTable;
+
+    /**
+     * The slot of every character that must not move, or null if no character is pinned.
+     */
+    private int[] pinnedSlots;
+
+    /**
+     * The slot of the grid filled at every depth of the tree of solutions: the slots of the pinned characters first,
+     * and then the other slots in row-major order.
+     */
+    private int[] slotOrder;
+
+    /**
+     * Whether the search only explores one Keyboard of every set of mirrored Keyboards.
+     */
+    private boolean symmetryBreaking = true;
+
+    /**
+     * The symmetries of the grid broken by the current search, or null if none can be broken.
+     */
+    private GridSymmetry symmetry;
+
+    /**
+     * The store where the search saves its checkpoints, or null if it does not save them.
+     */
+    private QAPCheckpointStore checkpointStore;
+
+    /**
+     * The time between two checkpoints, in milliseconds, or 0 to only save a checkpoint when the search stops.
+     */
+    private long checkpointInterval;
+
+    /**
+     * The time when the last checkpoint was saved.
+     */
+    private volatile long lastCheckpoint;
 
     /**
-     * Constructs a QAPAlgorithm with default settings.
+     * The matrix of the transits of the current search, saved in its checkpoints.
      */
-    public QAPAlgorithm() {}
+    private int[][] transitTable;
+
+    /**
+     * The nodes expanded by the searches that the current one resumes.
+     */
+    private long previousNodes;
+
+    /**
+     * The time spent by the searches that the current one resumes, in milliseconds.
+     */
+    private long previousTime;
+
+    /**
+     * The subtrees of the frontier that the sequential search has not started yet.
+     */
+    private ArrayDeque<int[]> pendingSubtrees;
+
+    /**
+     * The depth of the root of the subtree explored by the sequential search.
+     */
+    private int currentRoot;
+
+    /**
+     * The branch where the sequential search stopped, as a subtree of the frontier, or null if it has not stopped.
+     */
+    private int[] stoppedSubtree;
+
+    /**
+     * The tasks of the parallel search whose subtrees have not been explored completely.
+     */
+    private final Set<SubtreeTask> openTasks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The children pruned on every depth by the current search.
+     */
+    private LongAdder[] prunedPerDepth;
+
+    /**
+     * The bounds calculated by the instances of the GilmoreLawlerBound that have finished their subtree.
+     */
+    private final LongAdder boundEvaluations = new LongAdder();
+
+    /**
+     * The time spent on the first term of the bounds counted in boundEvaluations, in nanoseconds.
+     */
+    private final LongAdder firstTermNanos = new LongAdder();
+
+    /**
+     * The time spent on the second and third terms of the bounds counted in boundEvaluations, in nanoseconds.
+     */
+    private final LongAdder secondTermNanos = new LongAdder();
+
+    /**
+     * The time since the search started and the cost of every Keyboard found by the current search that improved the
+     * incumbent.
+     */
+    private final List<double[]> improvements = new ArrayList<>();
+
+    /**
+     * Constructs a QAPAlgorithm with default settings, exploring the tree of solutions on a single thread.
+     */
+    public QAPAlgorithm() {
+        this(1);
+    }
+
+    /**
+     * Constructs a QAPAlgorithm that explores the tree of solutions with the given number of worker threads.
+     * With more than one worker, the first levels of the tree are split into fork/join tasks that share the best
+     * solution found so far, so every worker prunes with the global best.
+     *
+     * @param parallelism The number of worker threads used to explore the tree of solutions.
+     */
+    public QAPAlgorithm(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Sets how the reduced assignment problem that closes the Gilmore-Lawler bound is solved.
+     *
+     * @param boundStrategy The strategy used to compute the bound of every node of the tree of solutions.
+     */
+    public void setBoundStrategy(BoundStrategy boundStrategy) {
+        this.boundStrategy = boundStrategy;
+    }
+
+    /**
+     * Sets the characters that must stay on their slots. They are placed on the first levels of the tree of
+     * solutions before the search starts, so their placements are part of every bound, and pinning k characters
+     * removes k levels from the tree. The incumbent of the next searches must already place them on their slots.
+     *
+     * @param pinnedSlots The slot of every character, in row-major order on the grid of the incumbent, or -1 if the
+     *                    character is not pinned; null if no character is pinned.
+     */
+    public void setPinnedSlots(int[] pinnedSlots) {
+        this.pinnedSlots = pinnedSlots;
+    }
+
+    /**
+     * Sets whether the search only explores one Keyboard of every set of Keyboards that are mirrors or transpositions
+     * of each other, which have the same cost. It is enabled by default, and only takes effect when the characters
+     * fill the grid, since otherwise the slots used by the search are not symmetric.
+     *
+     * @param symmetryBreaking True to break the symmetries of the grid, false to explore every Keyboard.
+     */
+    public void setSymmetryBreaking(boolean symmetryBreaking) {
+        this.symmetryBreaking = symmetryBreaking;
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid, for example the
+     * ones of an instance of QAPLIB. The incumbent then has a single row with a slot for every character, and the
+     * symmetries of the grid are not broken, since the distances may not have them.
+     * The distances are not saved in the checkpoints, so a search with given distances must be resumed with the same
+     * distances.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distanceTable = distances;
+    }
+
+    /**
+     * Sets the store where the next searches save their checkpoints: periodically while they run, and when they stop
+     * before exploring the whole tree of solutions, so that they can be resumed with {@code resume}. When a search
+     * explores the whole tree, its checkpoint is deleted.
+     *
+     * @param checkpointStore    The store, or null to not save any checkpoint.
+     * @param checkpointInterval The time between two checkpoints, in milliseconds, or 0 to only save a checkpoint
+     *                           when the search stops.
+     */
+    public void setCheckpointStore(QAPCheckpointStore checkpointStore, long checkpointInterval) {
+        this.checkpointStore = checkpointStore;
+        this.checkpointInterval = Math.max(0, checkpointInterval);
+    }
+
+    /**
+     * Gets the number of nodes of the tree of solutions expanded by the last search.
+     *
+     * @return The number of nodes expanded, or 0 if no search has been done.
+     */
+    public long getExpandedNodes() {
+        return reps == null ? 0 : reps.get();
+    }
+
+    /**
+     * Gives the budget used when no budget is specified, which limits the number of nodes expanded depending on the
+     * number of characters.
+     *
+     * @param numChars The number of characters to place on the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(0, (long) (1000000 / (Math.pow(2, numChars / 10 - 2))), 0);
+    }
 
     /**
      * Gets the positions of the characters of a Keyboard that minimize its cost associated with the given TransitionMatrix.
@@ -27,249 +264,741 @@ public class QAPAlgorithm {
      * @return The possible solutions of the Keyboard that minimize the cost.
      */
     public int[][] getPositions(int[][] transitTable, int[][] greedyPositions, int initialbound) {
-        QAPPartialSolution greedySol = new QAPPartialSolution(greedyPositions, initialbound);
-        int[][] availableCharacters = getAvailableCharacters(transitTable);
-        Arrays.sort(availableCharacters, Comparator.comparingInt(p -> p[2]));
-
-        int[][] positions = new int[greedyPositions.length][greedyPositions[0].length];
-        for (int i = 0; i < positions.length; ++i) {
-            for (int j = 0; j < positions[0].length; ++j) {
-                if ((positions[0].length * i + j) < transitTable.length) positions[i][j] = -1;
-                else positions[i][j] = -2;
+        return solve(transitTable, greedyPositions, initialbound, getDefaultBudget(transitTable.length)).getPositions();
+    }
+
+    /**
+     * Searches the positions of the characters of a Keyboard that minimize its cost associated with the given
+     * TransitionMatrix, until the whole tree of solutions is explored or the budget runs out.
+     * It is an anytime search: when the budget runs out, the best Keyboard found so far is returned.
+     *
+     * @param transitTable    The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param greedyPositions A possible solution of the Keyboard, obtained by using a GreedyAlgorithm.
+     * @param initialbound    The total cost of the solution given by the GreedyAlgorithm.
+     * @param budget          The limits of the search.
+     * @return The best Keyboard found, along with its cost, the root lower bound, the nodes expanded and the time spent.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] greedyPositions, double initialbound, SolverBudget budget) {
+        return solve(transitTable, new QAPIncumbent(new QAPPartialSolution(greedyPositions, initialbound)), budget);
+    }
+
+    /**
+     * Searches the positions of the characters of a Keyboard that minimize its cost associated with the given
+     * TransitionMatrix, pruning with the given incumbent, until the whole tree of solutions is explored or the budget
+     * runs out.
+     * The incumbent can be shared with other algorithms running at the same time: the search prunes with the Keyboards
+     * they find, and they can restart from the Keyboards found by the search.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param incumbent    The best Keyboard known, whose positions give the shape of the grid.
+     * @param budget       The limits of the search.
+     * @return The best Keyboard found, along with its cost, the root lower bound, the nodes expanded and the time spent.
+     */
+    public SolverResult solve(int[][] transitTable, QAPIncumbent incumbent, SolverBudget budget) {
+        previousNodes = 0;
+        previousTime = 0;
+        return search(transitTable, incumbent, budget, null);
+    }
+
+    /**
+     * Resumes a search from a checkpoint, with its problem and its settings, and with the best Keyboard of the
+     * checkpoint as the incumbent.
+     *
+     * @param checkpoint The checkpoint saved by a search that did not explore the whole tree of solutions.
+     * @param budget     The limits of the resumed search, which do not count the nodes and the time of the previous ones.
+     * @return The best Keyboard found, along with its cost, the root lower bound, and the nodes expanded and the time
+     * spent since the original search started.
+     */
+    public SolverResult resume(QAPCheckpoint checkpoint, SolverBudget budget) {
+        return resume(checkpoint, new QAPIncumbent(new QAPPartialSolution(checkpoint.getPositions(), checkpoint.getCost())), budget);
+    }
+
+    /**
+     * Resumes a search from a checkpoint, with its problem and its settings, pruning with the given incumbent, which
+     * is offered the best Keyboard of the checkpoint first.
+     * Only the subtrees of the frontier are explored, so the search continues where it stopped, with any number of
+     * worker threads.
+     *
+     * @param checkpoint The checkpoint saved by a search that did not explore the whole tree of solutions.
+     * @param incumbent  The best Keyboard known, whose positions have the shape of the grid of the checkpoint.
+     * @param budget     The limits of the resumed search, which do not count the nodes and the time of the previous ones.
+     * @return The best Keyboard found, along with its cost, the root lower bound, and the nodes expanded and the time
+     * spent since the original search started.
+     */
+    public SolverResult resume(QAPCheckpoint checkpoint, QAPIncumbent incumbent, SolverBudget budget) {
+        pinnedSlots = checkpoint.getPinnedSlots();
+        boundStrategy = checkpoint.getBoundStrategy();
+        symmetryBreaking = checkpoint.isSymmetryBreaking();
+        previousNodes = checkpoint.getNodes();
+        previousTime = checkpoint.getElapsedTime();
+        incumbent.offer(new QAPPartialSolution(checkpoint.getPositions(), checkpoint.getCost()));
+        return search(checkpoint.getTransitTable(), incumbent, budget, checkpoint.getFrontier());
+    }
+
+    /**
+     * Explores the given subtrees of the tree of solutions, or the whole tree, pruning with the given incumbent.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix.
+     * @param incumbent    The best Keyboard known, whose positions give the shape of the grid.
+     * @param budget       The limits of the search.
+     * @param frontier     The subtrees to explore, as in a QAPCheckpoint, or null to explore the whole tree.
+     * @return The best Keyboard found, along with its cost, the root lower bound, the nodes expanded and the time spent.
+     */
+    private SolverResult search(int[][] transitTable, QAPIncumbent incumbent, SolverBudget budget, List<int[]> frontier) {
+        startTime = System.currentTimeMillis();
+        lastCheckpoint = startTime;
+        this.transitTable = transitTable;
+        this.budget = budget;
+        stopped = false;
+        int[][] initialPositions = incumbent.get().getSolution();
+        FlowMatrix flowMatrix = new FlowMatrix(transitTable);
+        int[][] availableCharacters = getAvailableCharacters(flowMatrix);
+
+        rows = initialPositions.length;
+        cols = initialPositions[0].length;
+        int numPinned = getSlotOrder(transitTable.length);
+        symmetry = symmetryBreaking && distanceTable == null ? getSymmetry(availableCharacters, numPinned) : null;
+        int[] partialPositions = new int[transitTable.length];
+        Arrays.fill(partialPositions, -1);
+
+        reps = new AtomicLong(1);
+        this.incumbent = incumbent;
+        resetStats(transitTable.length);
+        SlotDistanceTable distances = distanceTable != null ? distanceTable : SlotDistanceTable.get(rows, cols);
+        // The depths of the tree of solutions are the slots of the reordered table
+        if (numPinned > 0) distances = distances.reorder(slotOrder);
+        GilmoreLawlerBound bound = new GilmoreLawlerBound(flowMatrix, distances, boundStrategy);
+        rootBound = numPinned == 0 ? getRootBound(availableCharacters, bound) : placePinned(availableCharacters, partialPositions, numPinned, bound);
+        // The search only places the characters on the first slots, so its bound only holds when they fill the grid
+        if (rows * cols == transitTable.length) incumbent.raiseBound(rootBound);
+        if (frontier == null) frontier = List.of(toSubtree(numPinned, partialPositions, numPinned));
+        pendingSubtrees = new ArrayDeque<>();
+        stoppedSubtree = null;
+        openTasks.clear();
+        if (numPinned == transitTable.length) {
+            if (rootBound < incumbent.getCost()) offer(partialPositions, rootBound);
+        } else if (parallelism == 1) {
+            pendingSubtrees.addAll(frontier);
+            NodeCounter nodes = new NodeCounter();
+            while (!pendingSubtrees.isEmpty() && !isStopped()) {
+                int[] subtree = pendingSubtrees.poll();
+                int[][] chars = copyCharacters(availableCharacters);
+                int[] positions = partialPositions.clone();
+                GilmoreLawlerBound subtreeBound = placeBranch(subtree, numPinned, chars, positions, bound.copy(numPinned));
+                currentRoot = subtree[0];
+                partialPositions(transitTable, chars, positions, subtree[0], subtreeBound, subtree.length > subtree[0] + 1 ? subtree : null, nodes);
+                nodes.flush();
+                collectStats(subtreeBound);
+            }
+        } else {
+            splitDepth = numPinned + getSplitDepth(transitTable.length - numPinned);
+            List<SubtreeTask> tasks = new ArrayList<>();
+            for (int[] subtree : frontier) {
+                int[][] chars = copyCharacters(availableCharacters);
+                int[] positions = partialPositions.clone();
+                GilmoreLawlerBound subtreeBound = placeBranch(subtree, numPinned, chars, positions, bound.copy(numPinned));
+                SubtreeTask task = new SubtreeTask(transitTable, chars, positions, subtree[0], subtreeBound, subtree);
+                openTasks.add(task);
+                tasks.add(task);
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (SubtreeTask task : tasks) pool.execute(task);
+                for (SubtreeTask task : tasks) task.join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        if (checkpointStore != null) {
+            List<int[]> remaining = getFrontier(null, 0);
+            if (remaining.isEmpty()) checkpointStore.delete();
+            else checkpointStore.save(toCheckpoint(remaining));
+        }
+        collectStats(bound);
+        QAPPartialSolution best = incumbent.get();
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        return new SolverResult(best.getSolution(), best.getCost(), rootBound, previousNodes + reps.get(),
+                previousTime + elapsedTime, !stopped, getStats(best.getCost(), elapsedTime));
+    }
+
+    /**
+     * Clears the statistics of the previous search.
+     *
+     * @param numChars The number of characters to place on the Keyboard.
+     */
+    private void resetStats(int numChars) {
+        prunedPerDepth = new LongAdder[numChars];
+        for (int depth = 0; depth < numChars; ++depth) prunedPerDepth[depth] = new LongAdder();
+        boundEvaluations.reset();
+        firstTermNanos.reset();
+        secondTermNanos.reset();
+        synchronized (improvements) {
+            improvements.clear();
+        }
+    }
+
+    /**
+     * Adds the bound evaluations of a GilmoreLawlerBound that will not be used anymore to the statistics.
+     *
+     * @param bound The bound.
+     */
+    private void collectStats(GilmoreLawlerBound bound) {
+        boundEvaluations.add(bound.getEvaluations());
+        firstTermNanos.add(bound.getFirstTermNanos());
+        secondTermNanos.add(bound.getSecondTermNanos());
+    }
+
+    /**
+     * Offers a complete Keyboard to the incumbent, recording when it is an improvement.
+     *
+     * @param partialPositions The character placed on every depth.
+     * @param cost             The cost of the Keyboard.
+     */
+    private void offer(int[] partialPositions, double cost) {
+        if (incumbent.offer(new QAPPartialSolution(toPositions(partialPositions), cost))) {
+            synchronized (improvements) {
+                improvements.add(new double[] {System.currentTimeMillis() - startTime, cost});
             }
         }
+    }
 
-        double[][][][] keyDistances = new double[greedyPositions.length][greedyPositions[0].length][greedyPositions.length][greedyPositions.length];
-        for (int i = 0; i < keyDistances.length; ++i) {
-            for (int j = 0; j < keyDistances[0].length; ++j) {
+    /**
+     * Gives the statistics of the current search.
+     *
+     * @param cost        The cost of the best Keyboard found.
+     * @param elapsedTime The time spent by the search, in milliseconds.
+     * @return The statistics.
+     */
+    private SolverStats getStats(double cost, long elapsedTime) {
+        long[] pruned = new long[prunedPerDepth.length];
+        for (int depth = 0; depth < pruned.length; ++depth) pruned[depth] = prunedPerDepth[depth].sum();
+        long[] improvementTimes;
+        double[] improvementCosts;
+        synchronized (improvements) {
+            // The workers may record their improvements in a different order than the incumbent accepted them
+            improvements.sort(Comparator.comparingDouble(improvement -> -improvement[1]));
+            improvementTimes = new long[improvements.size()];
+            improvementCosts = new double[improvements.size()];
+            for (int k = 0; k < improvements.size(); ++k) {
+                improvementTimes[k] = (long) improvements.get(k)[0];
+                improvementCosts[k] = improvements.get(k)[1];
+            }
+        }
+        double gap = !stopped || cost <= 0 ? 0 : Math.max(0, (cost - rootBound) / cost);
+        return new SolverStats(reps.get(), pruned, boundEvaluations.sum(), firstTermNanos.sum(), secondTermNanos.sum(),
+                improvementTimes, improvementCosts, elapsedTime, gap);
+    }
 
-                for (int i2 = 0; i2 < keyDistances.length; ++i2) {
-                    for (int j2 = 0; j2 < keyDistances[0].length; ++j2) {
-                        keyDistances[i][j][i2][j2] = Math.sqrt(Math.pow(2, Math.abs(i - i2)) + Math.pow(2, Math.abs(j - j2)));
-                    }
-                }
+    /**
+     * Copies the available characters, so that a subtree can mark them as used independently.
+     *
+     * @param availableChars The available characters.
+     * @return A deep copy of the available characters.
+     */
+    private static int[][] copyCharacters(int[][] availableChars) {
+        int[][] copy = new int[availableChars.length][];
+        for (int i = 0; i < availableChars.length; ++i) copy[i] = availableChars[i].clone();
+        return copy;
+    }
 
+    /**
+     * Places the characters of the branch of a subtree of the frontier, until the root of the subtree.
+     *
+     * @param subtree          The subtree, as the depth of its root followed by the characters of its branch.
+     * @param numPinned        The number of pinned characters, which are already placed.
+     * @param availableChars   The available characters, where the characters placed are marked as used.
+     * @param partialPositions The character placed on every depth, where the characters are placed.
+     * @param bound            The Gilmore-Lawler bound with the pinned characters, where the characters are placed.
+     * @return The bound, holding the partial sums until the root of the subtree.
+     */
+    private static GilmoreLawlerBound placeBranch(int[] subtree, int numPinned, int[][] availableChars, int[] partialPositions, GilmoreLawlerBound bound) {
+        for (int depth = numPinned; depth < subtree[0]; ++depth) {
+            int character = subtree[depth + 1];
+            partialPositions[depth] = character;
+            for (int[] availableChar : availableChars) {
+                if (availableChar[0] == character) availableChar[1] = 0;
             }
+            bound.place(depth, character);
         }
+        return bound;
+    }
 
-        reps = 1;
-        limit = (int) (1000000 / (Math.pow(2, transitTable.length / 10 - 2)));
-        QAPPartialSolution solution = partialPositions(transitTable, greedySol, availableCharacters, positions, 0, keyDistances);
-        return solution.getSolution();
+    /**
+     * Builds a subtree of the frontier from a branch of the tree of solutions.
+     *
+     * @param root             The depth of the root of the subtree.
+     * @param partialPositions The character placed on every depth of the branch.
+     * @param depth            The number of characters of the branch.
+     * @return The depth of the root followed by the characters of the branch.
+     */
+    private static int[] toSubtree(int root, int[] partialPositions, int depth) {
+        int[] subtree = new int[depth + 1];
+        subtree[0] = root;
+        System.arraycopy(partialPositions, 0, subtree, 1, depth);
+        return subtree;
     }
 
     /**
-     * Gives the available characters yet to be placed on the Keyboard, based on the given TransitionMatrix.
+     * Gives the subtrees that the search has not explored yet.
      *
-     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
-     * @return The available characters yet to be placed on the Keyboard (initially all of them), along with the times that they appear in the TransitionMatrix.
+     * @param partialPositions The branch of the node being explored by the sequential search, or null if it is not
+     *                         exploring any node.
+     * @param depth            The number of characters of the branch.
+     * @return The subtrees, as in a QAPCheckpoint.
      */
-    private int[][] getAvailableCharacters(int[][] transitTable) {
-        int[][] availableCharacters = new int[transitTable.length][3];
+    private List<int[]> getFrontier(int[] partialPositions, int depth) {
+        List<int[]> frontier = new ArrayList<>();
+        if (parallelism == 1) {
+            if (partialPositions != null) frontier.add(toSubtree(currentRoot, partialPositions, depth));
+            else if (stoppedSubtree != null) frontier.add(stoppedSubtree);
+            frontier.addAll(pendingSubtrees);
+        } else {
+            for (SubtreeTask task : openTasks) frontier.add(task.subtree);
+        }
+        return frontier;
+    }
+
+    /**
+     * Builds a checkpoint of the current search.
+     *
+     * @param frontier The subtrees that the search has not explored yet.
+     * @return The checkpoint.
+     */
+    private QAPCheckpoint toCheckpoint(List<int[]> frontier) {
+        QAPPartialSolution best = incumbent.get();
+        return new QAPCheckpoint(transitTable, rows, cols, pinnedSlots, boundStrategy, symmetryBreaking,
+                best.getSolution(), best.getCost(), previousNodes + reps.get(), previousTime + System.currentTimeMillis() - startTime, frontier);
+    }
 
-        for (int i = 0; i < transitTable.length; ++i) {
-            int sum = 0;
-            for (int j = 0; j < transitTable[i].length; ++j) {
-                sum += transitTable[i][j];
+    /**
+     * Saves a checkpoint if the interval since the last one has passed. It is called on every node, but only checks
+     * the time once every few nodes of the worker.
+     *
+     * @param partialPositions The branch of the node being explored.
+     * @param depth            The number of characters of the branch.
+     * @param nodes            The nodes expanded by the worker.
+     */
+    private void checkpoint(int[] partialPositions, int depth, NodeCounter nodes) {
+        if (checkpointStore == null || checkpointInterval == 0 || (nodes.getCount() & CHECKPOINT_CHECK_MASK) != 0) return;
+        if (System.currentTimeMillis() - lastCheckpoint < checkpointInterval) return;
+        nodes.flush();
+        synchronized (this) {
+            if (System.currentTimeMillis() - lastCheckpoint < checkpointInterval) return;
+            checkpointStore.save(toCheckpoint(getFrontier(partialPositions, depth)));
+            lastCheckpoint = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records the branch where the sequential search stopped, the first time it stops, so that its checkpoint resumes
+     * the search from there.
+     *
+     * @param partialPositions The branch of the node being explored.
+     * @param depth            The number of characters of the branch.
+     */
+    private void recordStop(int[] partialPositions, int depth) {
+        if (parallelism == 1 && stoppedSubtree == null) stoppedSubtree = toSubtree(currentRoot, partialPositions, depth);
+    }
+
+    /**
+     * Gives the symmetries of the grid that the search can break. The characters with the most transits are the ones
+     * restricted to the first slots of their orbits, since they are usually placed on the best slots.
+     *
+     * @param availableChars The available characters, sorted by their transits in ascending order.
+     * @param numPinned      The number of pinned characters.
+     * @return The symmetries of the grid, or null if there is none or less than 2 characters are not pinned.
+     */
+    private GridSymmetry getSymmetry(int[][] availableChars, int numPinned) {
+        if (availableChars.length - numPinned < 2) return null;
+        int[] restricted = new int[2];
+        int found = 0;
+        for (int i = availableChars.length - 1; i >= 0 && found < 2; --i) {
+            int character = availableChars[i][0];
+            if (pinnedSlots == null || pinnedSlots[character] < 0) restricted[found++] = character;
+        }
+        GridSymmetry gridSymmetry = new GridSymmetry(rows, cols, slotOrder, numPinned, restricted[0], restricted[1]);
+        return gridSymmetry.getOrder() > 1 ? gridSymmetry : null;
+    }
+
+    /**
+     * Calculates the lower bound of the cost of any Keyboard, as the lowest bound of placing any character on the
+     * first slot.
+     *
+     * @param availableChars List of the available characters to be placed on the Keyboard.
+     * @param bound          The Gilmore-Lawler bound of the empty Keyboard.
+     * @return The lower bound of the root of the tree of solutions.
+     */
+    private double getRootBound(int[][] availableChars, GilmoreLawlerBound bound) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < availableChars.length; ++i) {
+            availableChars[i][1] = 0;
+            min = Math.min(min, bound.calculateBound(0, availableChars[i][0], availableChars));
+            availableChars[i][1] = 1;
+        }
+        return min;
+    }
+
+    /**
+     * Computes the slot of the grid filled at every depth of the tree of solutions: the slots of the pinned characters
+     * first, and then the first free slots in row-major order, until there is a slot for every character.
+     *
+     * @param numChars The number of characters to place on the Keyboard.
+     * @return The number of pinned characters, which are placed on the first depths.
+     */
+    private int getSlotOrder(int numChars) {
+        slotOrder = new int[numChars];
+        boolean[] used = new boolean[rows * cols];
+        int depth = 0;
+        for (int character = 0; pinnedSlots != null && character < numChars; ++character) {
+            if (pinnedSlots[character] >= 0) {
+                slotOrder[depth] = pinnedSlots[character];
+                used[pinnedSlots[character]] = true;
+                ++depth;
             }
+        }
+        int numPinned = depth;
+        for (int slot = 0; depth < numChars; ++slot) {
+            if (!used[slot]) {
+                slotOrder[depth] = slot;
+                ++depth;
+            }
+        }
+        return numPinned;
+    }
+
+    /**
+     * Places the pinned characters on the first depths of the tree of solutions, in the same order as their slots in
+     * the slot order, and calculates the lower bound of the cost of any Keyboard with them.
+     *
+     * @param availableChars   List of the available characters to be placed on the Keyboard, where the pinned ones are marked as used.
+     * @param partialPositions The character placed on every depth, where the pinned ones are placed.
+     * @param numPinned        The number of pinned characters.
+     * @param bound            The Gilmore-Lawler bound of the empty Keyboard, where the pinned characters are placed.
+     * @return The lower bound of the root of the tree of solutions, which is the cost of the Keyboard if every
+     * character is pinned.
+     */
+    private double placePinned(int[][] availableChars, int[] partialPositions, int numPinned, GilmoreLawlerBound bound) {
+        int depth = 0;
+        for (int character = 0; character < pinnedSlots.length; ++character) {
+            if (pinnedSlots[character] >= 0) {
+                partialPositions[depth] = character;
+                ++depth;
+            }
+        }
+        for (int[] availableChar : availableChars) {
+            if (pinnedSlots[availableChar[0]] >= 0) availableChar[1] = 0;
+        }
+        for (depth = 0; depth < numPinned - 1; ++depth) bound.place(depth, partialPositions[depth]);
+        double pinnedBound = bound.calculateBound(numPinned - 1, partialPositions[numPinned - 1], availableChars);
+        if (numPinned < partialPositions.length) bound.place(numPinned - 1, partialPositions[numPinned - 1]);
+        return pinnedBound;
+    }
+
+    /**
+     * Checks whether the budget of the search has run out, stopping every worker if so. The node limit includes the
+     * nodes of the worker not yet added to the shared counter, so the sequential search stops exactly at it, while the
+     * clock, the incumbent and the gap are only checked once every few calls of the worker.
+     *
+     * @param nodes The nodes expanded by the worker.
+     * @return True if the search has to stop, false otherwise.
+     */
+    private boolean isStopped(NodeCounter nodes) {
+        if (stopped) return true;
+        if (budget.getNodeLimit() > 0 && reps.get() + nodes.getPending() >= budget.getNodeLimit()) stopped = true;
+        else if ((nodes.nextCheck() & STOP_CHECK_MASK) == 0) return isStopped();
+        return stopped;
+    }
+
+    /**
+     * Checks whether the budget of the search has run out, stopping every worker if so.
+     *
+     * @return True if the search has to stop, false otherwise.
+     */
+    private boolean isStopped() {
+        if (stopped) return true;
+        if (incumbent.isStopped()) stopped = true;
+        if ((budget.getNodeLimit() > 0 && reps.get() >= budget.getNodeLimit())
+                || (budget.getTimeLimit() > 0 && System.currentTimeMillis() - startTime >= budget.getTimeLimit())
+                || (budget.getGapLimit() > 0 && incumbent.getCost() - rootBound <= budget.getGapLimit() * incumbent.getCost())) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Gives the depth of the tree of solutions until which the subtrees are split into parallel tasks, so that
+     * every worker gets enough subtrees to balance the load.
+     *
+     * @param numChars The number of characters to place on the Keyboard.
+     * @return The number of characters placed before the subtrees are explored sequentially.
+     */
+    private int getSplitDepth(int numChars) {
+        int depth = 0;
+        long tasks = 1;
+        while (depth < numChars - 2 && tasks < (long) TASKS_PER_WORKER * parallelism) {
+            tasks *= numChars - depth;
+            ++depth;
+        }
+        return depth;
+    }
+
+    /**
+     * Gives the available characters yet to be placed on the Keyboard, based on the given TransitionMatrix.
+     *
+     * @param flowMatrix The flow of a TransitionMatrix, which keeps the summation of the row of every character.
+     * @return The available characters yet to be placed on the Keyboard (initially all of them), each one with a 1 that
+     * marks it as available, in ascending order of the times that they appear in the TransitionMatrix.
+     */
+    private int[][] getAvailableCharacters(FlowMatrix flowMatrix) {
+        int[][] availableCharacters = new int[flowMatrix.getSize()][2];
+
+        for (int i = 0; i < availableCharacters.length; ++i) {
             availableCharacters[i][0] = i;
             availableCharacters[i][1] = 1;
-            availableCharacters[i][2] = sum;
         }
+        Arrays.sort(availableCharacters, Comparator.comparingLong(p -> flowMatrix.getRowSum(p[0])));
 
         return availableCharacters;
     }
 
     /**
      * Recursively explores partial positions to find the optimal solution for the QAP.
+     * The slots are filled in the slot order, which is the row-major order when no character is pinned, and the
+     * partial Keyboard and the available characters are modified in place and restored when going back, so exploring
+     * a node does not allocate any memory.
+     * Every better Keyboard found is offered to the shared incumbent.
      *
      * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
-     * @param bestSolution     The best possible solution of the positions of the characters of the Keyboard found so far.
      * @param availableChars   List of the available characters yet to be placed on the Keyboard.
-     * @param partialPositions The positions of the characters already on a possible Keyboard.
+     * @param partialPositions The character placed on every slot of the possible Keyboard, -1 if the slot is free.
      * @param charnum          The number of the characters already placed in the partial Keyboard.
-     * @param keydistances     Precomputation of the distances between the keys in the Keyboard.
-     * @return The best solution on the Keyboards generated in this branch of the tree of solutions, or the bestSolution given by the parameters if there are no better Keyboards in this branch or if the limit number of recursions has been surpassed.
+     * @param bound            The Gilmore-Lawler bound holding the partial sums of the characters already placed.
+     * @param resume           The subtree of a checkpoint whose branch goes through this node, whose children before
+     *                         the one of the branch have already been explored, or null to explore every child.
+     * @param nodes            The nodes expanded by the worker exploring the node.
      */
-    private QAPPartialSolution partialPositions(int[][] transitTable, QAPPartialSolution bestSolution, int[][] availableChars, int[][] partialPositions, int charnum, double[][][][] keydistances) {
-        if (reps >= limit) return bestSolution;
-        QAPPartialSolution newBestSolution = bestSolution;
+    private void partialPositions(int[][] transitTable, int[][] availableChars, int[] partialPositions, int charnum, GilmoreLawlerBound bound, int[] resume, NodeCounter nodes) {
+        if (isStopped(nodes)) {
+            recordStop(partialPositions, charnum);
+            return;
+        }
+        checkpoint(partialPositions, charnum, nodes);
 
-        int posi = charnum / partialPositions[0].length;
-        int posj = charnum - posi * partialPositions[0].length;
         if (charnum == transitTable.length - 1) {
             int i = 0;
             while (availableChars[i][1] == 0) ++i;
-            partialPositions[posi][posj] = availableChars[i][0];
+            if (symmetry != null && !symmetry.isAllowed(charnum, availableChars[i][0], partialPositions)) return;
+            partialPositions[charnum] = availableChars[i][0];
 
-            double bound = calculateBound(partialPositions, transitTable, availableChars, charnum, keydistances);
-            if (bound < newBestSolution.getCost()) {
-                newBestSolution = new QAPPartialSolution(partialPositions, bound);
-            }
-
-            availableChars[i][1] = 1;
-
-            return newBestSolution;
+            double cost = bound.calculateBound(charnum, availableChars[i][0], availableChars);
+            if (cost < incumbent.getCost()) offer(partialPositions, cost);
         } else {
-            for (int i = 0; i < availableChars.length; ++i) {
+            // The children before the one of the branch of the checkpoint have already been explored
+            int first = 0;
+            if (resume != null && charnum + 1 < resume.length) {
+                while (availableChars[first][0] != resume[charnum + 1]) ++first;
+            } else {
+                resume = null;
+            }
+            for (int i = first; i < availableChars.length; ++i) {
                 if (availableChars[i][1] == 1) {
-                    partialPositions[posi][posj] = availableChars[i][0];
+                    if (isStopped(nodes)) {
+                        recordStop(partialPositions, charnum);
+                        break;
+                    }
+                    // The branch would only hold mirrors of Keyboards explored in other branches
+                    if (symmetry != null && !symmetry.isAllowed(charnum, availableChars[i][0], partialPositions)) continue;
+                    partialPositions[charnum] = availableChars[i][0];
                     availableChars[i][1] = 0;
 
-                    if (calculateBound(partialPositions, transitTable, availableChars, charnum, keydistances) < newBestSolution.getCost()) {
-                        int[][] partialPositions2 = new int[partialPositions.length][partialPositions[0].length];
-                        for (int j = 0; j < partialPositions.length; ++j) {
-                            System.arraycopy(partialPositions[j], 0, partialPositions2[j], 0, partialPositions[0].length);
-                        }
-                        ++reps;
-                        newBestSolution = partialPositions(transitTable, newBestSolution, availableChars, partialPositions2, charnum + 1, keydistances);
+                    if (bound.calculateBound(charnum, availableChars[i][0], availableChars) < incumbent.getCost()) {
+                        nodes.increment();
+                        bound.place(charnum, availableChars[i][0]);
+                        partialPositions(transitTable, availableChars, partialPositions, charnum + 1, bound, i == first ? resume : null, nodes);
+                    } else {
+                        prunedPerDepth[charnum].increment();
                     }
 
                     availableChars[i][1] = 1;
                 }
             }
-
-            return newBestSolution;
         }
+        partialPositions[charnum] = -1;
     }
 
     /**
-     * Calculates the lower bound, never lower than the lowest cost of all the Keyboards that can be created in this branch of the tree of solutions.
+     * Converts the characters placed on every slot into the positions of the characters of a Keyboard.
      *
-     * @param partialPositions The positions of the characters already on a possible Keyboard.
-     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
-     * @param availableChars   List of the available characters yet to be placed on the Keyboard.
-     * @param usedChars          The number of the characters already placed in the partial Keyboard.
-     * @param keydistances     Precomputation of the distances between the keys in the Keyboard.
-     * @return The calculated bound.
+     * @param partialPositions The character placed on every depth of the tree of solutions, whose slot is given by the slot order.
+     * @return The positions of the characters of the Keyboard, with -2 on the slots that are not used.
      */
-    private double calculateBound(int[][] partialPositions, int[][] transitTable, int[][] availableChars, int usedChars, double[][][][] keydistances) {
-        if(usedChars == transitTable.length-1) return firstTerm(partialPositions, transitTable, usedChars, keydistances);
-        return firstTerm(partialPositions, transitTable, usedChars, keydistances) + term2and3(partialPositions, transitTable, availableChars, usedChars, keydistances);
-    }
-
-    /**
-     * Calculates the first term of the bound.
-     *
-     * @param partialPositions The positions of the characters already on a possible Keyboard.
-     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
-     * @param usedChars          The number of the characters already placed in the partial Keyboard.
-     * @param keydistances     Precomputation of the distances between the keys in the Keyboard.
-     * @return The calculated bound.
-     */
-    private double firstTerm(int[][] partialPositions, int[][] transitTable, int usedChars, double[][][][] keydistances) {
-        double sum = 0; //primer terme del calcul de la cota de Gilmore-Lawler
-        int maxi = (usedChars/partialPositions[0].length)+1;
-        for(int i = 0; i < maxi; ++i) {
-            for(int j = 0; j < partialPositions[0].length && partialPositions[i][j] >= 0; ++j) {
-
-                for(int i2 = 0; i2 < maxi; ++i2) {
-                    for(int j2 = 0; j2 < partialPositions[0].length && partialPositions[i2][j2] >= 0; ++j2) {
-                        if(i != i2 || j != j2) {
-                            int transits = transitTable[partialPositions[i2][j2]][partialPositions[i][j]];
-                            sum += keydistances[i][j][i2][j2]*transits;
-                        }
-                    }
-                }
-            }
+    private int[][] toPositions(int[] partialPositions) {
+        int[][] positions = new int[rows][cols];
+        for (int[] row : positions) Arrays.fill(row, -2);
+        for (int depth = 0; depth < partialPositions.length; ++depth) {
+            positions[slotOrder[depth] / cols][slotOrder[depth] % cols] = partialPositions[depth];
         }
-        return sum;
+        return positions;
     }
 
     /**
-     * Calculates the second and third term of the bound.
-     *
-     * @param partialPositions The positions of the characters already on a possible Keyboard.
-     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
-     * @param availableChars   List of the available characters yet to be placed on the Keyboard.
-     * @param usedChars          The number of the characters already placed in the partial Keyboard.
-     * @param keydistances     Precomputation of the distances between the keys in the Keyboard.
-     * @return The calculated bound.
-     */
-    private double term2and3(int[][] partialPositions, int[][] transitTable, int[][] availableChars, int usedChars, double[][][][] keydistances) {
-        int notUsedCharsSize = transitTable.length-usedChars-1;
-        int[] notUsedChars = new int[notUsedCharsSize];
-        int avCharsIt = 0;
-        for(int i = 0; i < notUsedCharsSize; ++i) {
-            while(availableChars[avCharsIt][1] == 0) ++avCharsIt;
-            notUsedChars[i] = availableChars[avCharsIt][0];
-            ++avCharsIt;
+     * A fork/join task exploring the subtree of solutions rooted at a partial Keyboard.
+     * Until the split depth is reached, each promising child is forked as a new task with its own copy of the
+     * partial Keyboard and the available characters; below it, the subtree is explored sequentially.
+     * Every task stays open until its subtree has been explored or split into open children, so the open tasks are
+     * the frontier of the checkpoints of the parallel search.
+     */
+    private class SubtreeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] transitTable;
+        private final int[][] availableChars;
+        private final int[] partialPositions;
+        private final int charnum;
+        private final GilmoreLawlerBound bound;
+
+        /**
+         * The subtree explored, as in a QAPCheckpoint.
+         */
+        private final int[] subtree;
+
+        /**
+         * The nodes expanded by this task, added to the shared counters in batches.
+         */
+        private final NodeCounter nodes = new NodeCounter();
+
+        /**
+         * Constructs a SubtreeTask for the given partial Keyboard.
+         *
+         * @param transitTable     The matrix extracted from a TransitionMatrix.
+         * @param availableChars   List of the available characters yet to be placed on the Keyboard, owned by this task.
+         * @param partialPositions The character placed on every slot of the possible Keyboard, owned by this task.
+         * @param charnum          The number of the characters already placed in the partial Keyboard.
+         * @param bound            The Gilmore-Lawler bound holding the partial sums of the characters already placed, owned by this task.
+         * @param subtree          The subtree explored, as in a QAPCheckpoint, whose branch may continue below the
+         *                         partial Keyboard if it resumes a sequential search.
+         */
+        SubtreeTask(int[][] transitTable, int[][] availableChars, int[] partialPositions, int charnum, GilmoreLawlerBound bound, int[] subtree) {
+            this.transitTable = transitTable;
+            this.availableChars = availableChars;
+            this.partialPositions = partialPositions;
+            this.charnum = charnum;
+            this.bound = bound;
+            this.subtree = subtree;
         }
 
-        double[][] aproxMatrix = new double[notUsedCharsSize][notUsedCharsSize];
-
-        for(int i = 0; i < partialPositions.length && partialPositions[i][0] >= 0; ++i) {
-            for(int j = 0; j < partialPositions[0].length && partialPositions[i][j] >= 0; ++j) {
-                int mini = (usedChars+1)/partialPositions[0].length;
-                int pos = 0;
-
-                for(int i2 = mini; i2 < partialPositions.length; ++i2) {
-                    for(int j2 = 0; j2 < partialPositions[0].length; ++j2) {
-                        if(partialPositions[i2][j2] == -1) {
-                            for(int k = 0; k < aproxMatrix.length; ++k) {
-                                int transits = transitTable[notUsedChars[k]][partialPositions[i][j]] + transitTable[partialPositions[i][j]][notUsedChars[k]];
-                                aproxMatrix[k][pos]+= keydistances[i][j][i2][j2] * transits;
-                            }
-                            ++pos;
-                        }
-                    }
-                }
+        /**
+         * Explores the subtree, forking its children while the split depth has not been reached.
+         */
+        @Override
+        protected void compute() {
+            boolean resuming = subtree.length > charnum + 1;
+            if (resuming || charnum >= splitDepth || charnum == transitTable.length - 1) {
+                partialPositions(transitTable, availableChars, partialPositions, charnum, bound, resuming ? subtree : null, nodes);
+                nodes.flush();
+                collectStats(bound);
+                if (!isStopped()) openTasks.remove(this);
+                return;
             }
-        }
+            if (isStopped()) return;
+
+            List<SubtreeTask> children = new ArrayList<>();
+            for (int i = 0; i < availableChars.length; ++i) {
+                if (availableChars[i][1] == 1) {
+                    if (isStopped()) break;
+                    // The branch would only hold mirrors of Keyboards explored in other branches
+                    if (symmetry != null && !symmetry.isAllowed(charnum, availableChars[i][0], partialPositions)) continue;
+                    partialPositions[charnum] = availableChars[i][0];
+                    availableChars[i][1] = 0;
 
-        Double[][] D = new Double[notUsedCharsSize][notUsedCharsSize-1];
-        int mini = (usedChars+1)/partialPositions[0].length;
-        int pos = 0;
-        for(int i = mini; i < partialPositions.length; ++i) {
-            for(int j = 0; j < partialPositions[0].length; ++j) {
-
-                if(partialPositions[i][j] == -1) {
-                    int elem = 0;
-                    for (int i2 = mini; i2 < partialPositions.length; ++i2) {
-                        for (int j2 = 0; j2 < partialPositions[0].length; ++j2) {
-                            if (partialPositions[i2][j2] == -1 && (i != i2 || j != j2)) {
-                                D[pos][elem] = keydistances[i][j][i2][j2];
-                                ++elem;
-                            }
-                        }
+                    if (bound.calculateBound(charnum, availableChars[i][0], availableChars) < incumbent.getCost()) {
+                        nodes.increment();
+                        bound.place(charnum, availableChars[i][0]);
+                        int[] childPositions = partialPositions.clone();
+                        SubtreeTask child = new SubtreeTask(transitTable, copyCharacters(availableChars), childPositions, charnum + 1,
+                                bound.copy(charnum + 1), toSubtree(charnum + 1, childPositions, charnum + 1));
+                        openTasks.add(child);
+                        children.add(child);
+                    } else {
+                        prunedPerDepth[charnum].increment();
                     }
-                    ++pos;
+
+                    availableChars[i][1] = 1;
                 }
             }
+            nodes.flush();
+            collectStats(bound);
+            // A task stopped while splitting stays open, so its subtree is split again when the search is resumed
+            if (!isStopped()) openTasks.remove(this);
+            invokeAll(children);
+        }
+    }
+
+    /**
+     * Counts the nodes expanded by one worker of the search, and adds them to the shared counter of the search and to
+     * the incumbent in batches, so that the workers do not contend on them on every node. It also counts the checks
+     * of the budget of the worker, so that the clock is only read on a sample of them.
+     */
+    private class NodeCounter {
+
+        /**
+         * The nodes expanded by the worker.
+         */
+        private long count;
+
+        /**
+         * The nodes expanded by the worker that have not been added to the shared counters.
+         */
+        private long pending;
+
+        /**
+         * The checks of the budget done by the worker.
+         */
+        private long checks;
+
+        /**
+         * Counts an expanded node, adding the batch to the shared counters when it is full.
+         */
+        void increment() {
+            ++pending;
+            if ((++count & NODE_FLUSH_MASK) == 0) flush();
         }
 
-        for(int i = 0; i < notUsedCharsSize; ++i) {
-            Arrays.sort(D[i], Collections.reverseOrder());
+        /**
+         * Adds the nodes not yet added to the shared counters. It is called when the worker finishes its subtree.
+         */
+        void flush() {
+            if (pending == 0) return;
+            reps.addAndGet(pending);
+            incumbent.addNodes(pending);
+            pending = 0;
         }
-        for(int i = 0; i < notUsedCharsSize; ++i) {
-            int[] T = new int[notUsedCharsSize-1];
-            int k = 0;
-            for(int j = 0; j < notUsedCharsSize; ++j) {
-                if(i != j) {
-                    T[k] = transitTable[notUsedChars[j]][notUsedChars[i]];
-                    ++k;
-                }
-            }
-            Arrays.sort(T);
-            for(int l = 0; l < notUsedCharsSize; ++l) {
-                double sum = 0;
-                for(int m = 0; m < notUsedCharsSize-1; ++m) {
-                    sum += T[m]*D[l][m];
-                }
 
-                aproxMatrix[i][l] += sum;
-            }
+        /**
+         * Gets the nodes expanded by the worker.
+         *
+         * @return The number of nodes.
+         */
+        long getCount() {
+            return count;
         }
 
-        double sum = 0;
-        for(int i = 0; i < aproxMatrix.length; ++i) {
-            double min = aproxMatrix[i][0];
-            for(int j = 1; j < aproxMatrix.length; ++j) {
-                if(aproxMatrix[i][j] < min) min = aproxMatrix[i][j];
-            }
-            sum += min;
+        /**
+         * Gets the nodes expanded by the worker that have not been added to the shared counters.
+         *
+         * @return The number of nodes.
+         */
+        long getPending() {
+            return pending;
         }
 
-        return sum;
+        /**
+         * Counts a check of the budget by the worker.
+         *
+         * @return The number of checks before this one.
+         */
+        long nextCheck() {
+            return checks++;
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,15 +6,100 @@ package Domain;
  */
 public class QAPAlgorithmController {
 
+    /**
+     * The part of the time limit of the caller given to the LocalSearch that improves the initial Keyboard. The
+     * LocalSearch stops by itself at a local optimum, so it only uses it all on large Keyboards, where the
+     * QAPAlgorithm cannot prove much within the time limit anyway.
+     */
+    private static final double SEED_TIME_FRACTION = 0.5;
+
     private GreedyAlgorithm greedy;
     private QAPAlgorithm qap;
+    private LocalSearch localSearch;
+
+    /**
+     * The best Keyboard shared with other algorithms or with a GenerationHandle, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The slot of every character that must not move, or null if no character is pinned.
+     */
+    private int[] pinnedSlots;
 
     /**
-     * Constructs a QAPAlgorithmController with instances of GreedyAlgorithm and QAPAlgorithm.
+     * Constructs a QAPAlgorithmController with instances of GreedyAlgorithm, LocalSearch and QAPAlgorithm.
      */
     public QAPAlgorithmController() {
         greedy = new GreedyAlgorithm();
         qap = new QAPAlgorithm();
+        localSearch = new LocalSearch();
+    }
+
+    /**
+     * Constructs a QAPAlgorithmController whose QAPAlgorithm explores the tree of solutions with the given number of
+     * worker threads.
+     *
+     * @param parallelism The number of worker threads used by the QAPAlgorithm.
+     */
+    public QAPAlgorithmController(int parallelism) {
+        greedy = new GreedyAlgorithm();
+        qap = new QAPAlgorithm(parallelism);
+        localSearch = new LocalSearch();
+    }
+
+    /**
+     * Sets how the QAPAlgorithm solves the reduced assignment problem that closes its bound.
+     *
+     * @param boundStrategy The strategy used to compute the bound of every node of the tree of solutions.
+     */
+    public void setBoundStrategy(BoundStrategy boundStrategy) {
+        qap.setBoundStrategy(boundStrategy);
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms or with a GenerationHandle. The LocalSearch and the
+     * QAPAlgorithm offer their Keyboards to it, prune with it and stop when it is stopped.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+        localSearch.setIncumbent(incumbent);
+    }
+
+    /**
+     * Sets the characters that must stay on their slots. The GreedyAlgorithm places them first, the LocalSearch does
+     * not move them and the QAPAlgorithm only searches the slots of the other characters.
+     *
+     * @param pinnedSlots The slot of every character, in row-major order on the grid of the GreedyAlgorithm, or -1 if
+     *                    the character is not pinned; null if no character is pinned.
+     */
+    public void setPinnedSlots(int[] pinnedSlots) {
+        this.pinnedSlots = pinnedSlots;
+        localSearch.setPinnedSlots(pinnedSlots);
+        qap.setPinnedSlots(pinnedSlots);
+    }
+
+    /**
+     * Sets the distances between the slots used by the LocalSearch and the QAPAlgorithm instead of the ones of the
+     * grid. The initial positions must then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        localSearch.setDistances(distances);
+        qap.setDistances(distances);
+    }
+
+    /**
+     * Sets the store where the QAPAlgorithm saves the checkpoints of its search, every
+     * {@link QAPAlgorithm#DEFAULT_CHECKPOINT_INTERVAL} milliseconds and when it stops.
+     *
+     * @param checkpointStore The store, or null to not save any checkpoint.
+     */
+    public void setCheckpointStore(QAPCheckpointStore checkpointStore) {
+        qap.setCheckpointStore(checkpointStore, QAPAlgorithm.DEFAULT_CHECKPOINT_INTERVAL);
     }
 
     /**
@@ -25,17 +110,67 @@ public class QAPAlgorithmController {
      * @return A two-dimensional array representing the positions of characters on the Keyboard.
      */
     public int[][] getPositions(int[][] transitTable) {
-        int[][] positions = greedy.getPositions(transitTable);
-
-        int sum = 0; // Number of characters (with repetitions) that appear in the transitTable
-        for (int i = 0; i < transitTable.length; ++i) {
-            for (int j = 0; j < transitTable[0].length; ++j) {
-                if (i != j)
-                    sum += transitTable[i][j];
-            }
-        }
-        KeyboardAvaluator boardAvaluator = new KeyboardAvaluator();
-        int initialbound = (int) (sum * boardAvaluator.avaluateKeyboard(positions, transitTable));
-        return qap.getPositions(transitTable, positions, initialbound);
+        return solve(transitTable, QAPAlgorithm.getDefaultBudget(transitTable.length)).getPositions();
+    }
+
+    /**
+     * Searches the positions of characters on a Keyboard using the QAP algorithm, starting from the Keyboard given by
+     * the GreedyAlgorithm improved with the LocalSearch, until the search is complete or the budget runs out.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters
+     *                     that the first letter will be written after the second letter.
+     * @param budget       The limits of the search.
+     * @return The best Keyboard found, along with the information of the search.
+     */
+    public SolverResult solve(int[][] transitTable, SolverBudget budget) {
+        return solve(transitTable, greedy.getPositions(transitTable, pinnedSlots), budget);
+    }
+
+    /**
+     * Searches the positions of characters on a Keyboard using the QAP algorithm, starting from the given Keyboard
+     * improved with the LocalSearch, until the search is complete or the budget runs out.
+     * Starting from a good Keyboard, such as one slightly modified by the user, the QAPAlgorithm prunes from the root
+     * of the tree of solutions. Both share the budget: the LocalSearch gets a part of the time limit, and the
+     * QAPAlgorithm the time left.
+     *
+     * @param transitTable The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters
+     *                     that the first letter will be written after the second letter.
+     * @param positions    The initial positions of the characters, negative on the empty slots, which give the shape
+     *                     of the grid and must place the pinned characters on their slots.
+     * @param budget       The limits of the search.
+     * @return The best Keyboard found, along with the information of the search.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] positions, SolverBudget budget) {
+        // The local optimum is a much tighter initial bound than the greedy Keyboard, so the QAPAlgorithm prunes earlier
+        SolverResult improved = localSearch.solve(transitTable, positions, getSeedBudget(transitTable.length, budget));
+        SolverBudget remaining = getRemainingBudget(budget, improved.getElapsedTime());
+        if (incumbent == null) return qap.solve(transitTable, improved.getPositions(), improved.getCost(), remaining);
+        return qap.solve(transitTable, incumbent, remaining);
+    }
+
+    /**
+     * Gives the budget of the LocalSearch that improves the initial Keyboard, which is a part of the time limit of the
+     * caller, or the default budget of the LocalSearch if the caller has no time limit.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @param budget   The limits of the whole search.
+     * @return The budget of the LocalSearch.
+     */
+    private static SolverBudget getSeedBudget(int numChars, SolverBudget budget) {
+        if (budget.getTimeLimit() <= 0) return LocalSearch.getDefaultBudget(numChars);
+        return new SolverBudget(Math.max(1, (long) (budget.getTimeLimit() * SEED_TIME_FRACTION)), 0, 0);
+    }
+
+    /**
+     * Gives the budget left to the QAPAlgorithm once the LocalSearch has improved the initial Keyboard.
+     *
+     * @param budget  The limits of the whole search.
+     * @param elapsed The time spent by the LocalSearch, in milliseconds.
+     * @return The budget of the QAPAlgorithm, with the time spent subtracted from the time limit, but never 0, which
+     * would mean that there is no limit.
+     */
+    private static SolverBudget getRemainingBudget(SolverBudget budget, long elapsed) {
+        if (budget.getTimeLimit() <= 0) return budget;
+        return new SolverBudget(Math.max(1, budget.getTimeLimit() - elapsed), budget.getNodeLimit(), budget.getGapLimit());
     }
 }
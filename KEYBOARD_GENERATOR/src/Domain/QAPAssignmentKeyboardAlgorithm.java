@@ -0,0 +1,15 @@
+package Domain;
+
+/**
+ * The KeyboardAlgorithm "QAPAssignment", which runs the branch and bound of the QAPAlgorithmController bounding every
+ * node with the exact linear assignment.
+ */
+public class QAPAssignmentKeyboardAlgorithm extends QAPKeyboardAlgorithm {
+
+    /**
+     * Constructs the KeyboardAlgorithm "QAPAssignment".
+     */
+    public QAPAssignmentKeyboardAlgorithm() {
+        super("QAPAssignment", false, BoundStrategy.LINEAR_ASSIGNMENT);
+    }
+}
@@ -0,0 +1,113 @@
+package Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QAPBenchmark runs the KeyboardAlgorithms on QAPInstances with known optima, such as the ones of QAPLIB, to check
+ * that a change of an algorithm keeps finding them, and how fast.
+ * Every algorithm with the capability {@link AlgorithmCapability#CUSTOM_DISTANCES} runs on every instance under every
+ * time limit, with the same seed, and reports the gap of its best solution to the best known one and the time it took
+ * to reach the best known cost.
+ */
+public class QAPBenchmark {
+
+    /**
+     * The seed of the random algorithms, so that the runs can be repeated.
+     */
+    public static final long SEED = 1;
+
+    /**
+     * The relative tolerance under which a cost is taken as the best known one.
+     */
+    private static final double TARGET_TOLERANCE = 1e-9;
+
+    /**
+     * The AlgorithmController that runs the algorithms.
+     */
+    private final AlgorithmController algorithmController;
+
+    /**
+     * Constructs a QAPBenchmark with the algorithms of the application and the ones discovered on the classpath.
+     */
+    public QAPBenchmark() {
+        this(new KeyboardAlgorithmRegistry());
+    }
+
+    /**
+     * Constructs a QAPBenchmark with the algorithms of the given registry.
+     *
+     * @param registry The registry of the available algorithms.
+     */
+    public QAPBenchmark(KeyboardAlgorithmRegistry registry) {
+        algorithmController = new AlgorithmController(registry);
+    }
+
+    /**
+     * Gets the names of the algorithms that can solve a QAPInstance.
+     *
+     * @return The names of the algorithms with the capability {@link AlgorithmCapability#CUSTOM_DISTANCES}, in the
+     * order they have been registered.
+     */
+    public String[] getAlgorithms() {
+        KeyboardAlgorithmRegistry registry = algorithmController.getRegistry();
+        List<String> names = new ArrayList<>();
+        for (String name : registry.getNames()) {
+            if (registry.get(name).getCapabilities().contains(AlgorithmCapability.CUSTOM_DISTANCES)) names.add(name);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    /**
+     * Runs every algorithm that can solve a QAPInstance on every instance, under every time limit.
+     *
+     * @param instances  The instances.
+     * @param timeLimits The time limits of the runs, in milliseconds, which must be positive.
+     * @return The result of every run, by instance, then by time limit, then by algorithm.
+     */
+    public List<QAPBenchmarkResult> run(List<QAPInstance> instances, long[] timeLimits) {
+        List<QAPBenchmarkResult> results = new ArrayList<>();
+        String[] algorithms = getAlgorithms();
+        for (QAPInstance instance : instances) {
+            for (long timeLimit : timeLimits) {
+                for (String algorithm : algorithms) results.add(run(instance, algorithm, timeLimit));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs an algorithm on a QAPInstance.
+     *
+     * @param instance  The instance.
+     * @param algorithm The name of the algorithm, which must have the capability
+     *                  {@link AlgorithmCapability#CUSTOM_DISTANCES}.
+     * @param timeLimit The time limit of the run, in milliseconds, which must be positive.
+     * @return The result of the run.
+     */
+    public QAPBenchmarkResult run(QAPInstance instance, String algorithm, long timeLimit) {
+        AlgorithmParameters parameters = new AlgorithmParameters(new SolverBudget(timeLimit, 0, 0));
+        parameters.setSeed(SEED);
+        parameters.setDistances(instance.getDistances());
+
+        double target = instance.getBestKnownCost() * (1 + TARGET_TOLERANCE);
+        AtomicLong timeToTarget = new AtomicLong(-1);
+        QAPIncumbent incumbent = new QAPIncumbent();
+        long startTime = System.currentTimeMillis();
+        incumbent.addListener(solution -> {
+            if (solution.getCost() <= target) timeToTarget.compareAndSet(-1, System.currentTimeMillis() - startTime);
+        });
+        SolverResult result = algorithmController.useAlgorithm(instance.getTransitTable(), algorithm, parameters, incumbent);
+        long elapsedTime = System.currentTimeMillis() - startTime;
+        if (result.getPositions()[0][0] == -1) {
+            throw new IllegalArgumentException("The algorithm " + algorithm + " cannot solve a QAPInstance");
+        }
+
+        // The cost is recalculated, so an algorithm that reports a wrong cost is caught
+        double cost = instance.getCost(result.getPositions());
+        if (cost <= target) timeToTarget.compareAndSet(-1, elapsedTime);
+        return new QAPBenchmarkResult(instance.getName(), algorithm, timeLimit, cost, instance.getBestKnownCost(),
+                timeToTarget.get(), elapsedTime, result.isOptimal());
+    }
+}
@@ -0,0 +1,145 @@
+package Domain;
+
+import java.util.Locale;
+
+/**
+ * Represents the run of an algorithm on a QAPInstance by the QAPBenchmark: the cost of the best solution found,
+ * recalculated from the instance, its gap to the best known solution, and the time the algorithm took to reach it.
+ */
+public class QAPBenchmarkResult {
+    /**
+     * The name of the instance.
+     */
+    private final String instance;
+    /**
+     * The name of the algorithm.
+     */
+    private final String algorithm;
+    /**
+     * The time limit of the run, in milliseconds.
+     */
+    private final long timeLimit;
+    /**
+     * The cost of the best solution found.
+     */
+    private final double cost;
+    /**
+     * The cost of the best known solution of the instance, or NaN if it is not known.
+     */
+    private final double bestKnownCost;
+    /**
+     * The time when the algorithm first found a solution as good as the best known one, or -1 if it did not.
+     */
+    private final long timeToTarget;
+    /**
+     * The time spent by the run, in milliseconds.
+     */
+    private final long elapsedTime;
+    /**
+     * Whether the algorithm proved that its solution is optimal.
+     */
+    private final boolean optimal;
+
+    /**
+     * Constructs a QAPBenchmarkResult.
+     *
+     * @param instance      The name of the instance.
+     * @param algorithm     The name of the algorithm.
+     * @param timeLimit     The time limit of the run, in milliseconds.
+     * @param cost          The cost of the best solution found.
+     * @param bestKnownCost The cost of the best known solution, or NaN if it is not known.
+     * @param timeToTarget  The time when the algorithm reached the best known cost, in milliseconds, or -1.
+     * @param elapsedTime   The time spent by the run, in milliseconds.
+     * @param optimal       Whether the algorithm proved that its solution is optimal.
+     */
+    public QAPBenchmarkResult(String instance, String algorithm, long timeLimit, double cost, double bestKnownCost,
+                              long timeToTarget, long elapsedTime, boolean optimal) {
+        this.instance = instance;
+        this.algorithm = algorithm;
+        this.timeLimit = timeLimit;
+        this.cost = cost;
+        this.bestKnownCost = bestKnownCost;
+        this.timeToTarget = timeToTarget;
+        this.elapsedTime = elapsedTime;
+        this.optimal = optimal;
+    }
+
+    /**
+     * Gets the name of the instance.
+     *
+     * @return The name of the instance.
+     */
+    public String getInstance() {return instance;}
+
+    /**
+     * Gets the name of the algorithm.
+     *
+     * @return The name of the algorithm.
+     */
+    public String getAlgorithm() {return algorithm;}
+
+    /**
+     * Gets the time limit of the run.
+     *
+     * @return The time limit, in milliseconds.
+     */
+    public long getTimeLimit() {return timeLimit;}
+
+    /**
+     * Gets the cost of the best solution found, recalculated from the matrices of the instance.
+     *
+     * @return The cost.
+     */
+    public double getCost() {return cost;}
+
+    /**
+     * Gets the cost of the best known solution of the instance.
+     *
+     * @return The cost, or NaN if it is not known.
+     */
+    public double getBestKnownCost() {return bestKnownCost;}
+
+    /**
+     * Gets the gap of the best solution found to the best known one.
+     *
+     * @return The difference of their costs relative to the best known cost, negative if the algorithm improved it,
+     * or NaN if the best known cost is not known.
+     */
+    public double getGap() {
+        if (Double.isNaN(bestKnownCost)) return Double.NaN;
+        return bestKnownCost != 0 ? (cost - bestKnownCost) / bestKnownCost : cost - bestKnownCost;
+    }
+
+    /**
+     * Gets the time the algorithm took to find a solution as good as the best known one.
+     *
+     * @return The time since the run started, in milliseconds, or -1 if it did not reach the best known cost.
+     */
+    public long getTimeToTarget() {return timeToTarget;}
+
+    /**
+     * Gets the time spent by the run.
+     *
+     * @return The time, in milliseconds.
+     */
+    public long getElapsedTime() {return elapsedTime;}
+
+    /**
+     * Gets whether the algorithm proved that its solution is optimal.
+     *
+     * @return True if the solution is proven to be optimal.
+     */
+    public boolean isOptimal() {return optimal;}
+
+    /**
+     * Gives a summary of the result on a single line, to be logged.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "instance=%s algorithm=%s limit=%dms cost=%.0f best=%.0f gap=%.4f%% "
+                        + "timeToTarget=%dms time=%dms optimal=%b",
+                instance, algorithm, timeLimit, cost, bestKnownCost, 100 * getGap(), timeToTarget, elapsedTime, optimal);
+    }
+}
@@ -0,0 +1,249 @@
+package Domain;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QAPCheckpoint holds the state of a search of the QAPAlgorithm that has not explored the whole tree of solutions, so
+ * that it can be resumed later, even on another JVM.
+ * Besides the problem and the settings of the search, it holds the best Keyboard found, the counters and the frontier:
+ * the subtrees not explored yet. Every subtree of the frontier is given by the characters placed on the depths of its
+ * branch, and by the depth of its root: below the root, every sibling placed before the character of the branch has
+ * already been explored, so resuming a subtree continues the search where it stopped.
+ * It is serialized into a compact binary format of big-endian integers and doubles.
+ */
+public class QAPCheckpoint {
+
+    /**
+     * The first integer of the binary format, used to reject files that are not checkpoints.
+     */
+    private static final int MAGIC = 0x51415043;
+
+    /**
+     * The version of the binary format.
+     */
+    private static final int VERSION = 2;
+
+    private final int[][] transitTable;
+    private final int rows;
+    private final int cols;
+    private final int[] pinnedSlots;
+    private final BoundStrategy boundStrategy;
+    private final boolean symmetryBreaking;
+    private final int[][] positions;
+    private final double cost;
+    private final long nodes;
+    private final long elapsedTime;
+    private final List<int[]> frontier;
+
+    /**
+     * Constructs a QAPCheckpoint.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param rows             The number of rows of the grid.
+     * @param cols             The number of columns of the grid.
+     * @param pinnedSlots      The slot of every character that must not move, or -1; null if no character is pinned.
+     * @param boundStrategy    The strategy used to compute the bound of every node of the tree of solutions.
+     * @param symmetryBreaking Whether the search breaks the symmetries of the grid.
+     * @param positions        The positions of the characters of the best Keyboard found.
+     * @param cost             The cost of the best Keyboard found.
+     * @param nodes            The number of nodes expanded until the checkpoint.
+     * @param elapsedTime      The time spent until the checkpoint, in milliseconds.
+     * @param frontier         The subtrees not explored yet, each one as the depth of its root followed by the
+     *                         characters placed on the depths of its branch.
+     */
+    public QAPCheckpoint(int[][] transitTable, int rows, int cols, int[] pinnedSlots, BoundStrategy boundStrategy,
+                         boolean symmetryBreaking, int[][] positions, double cost, long nodes, long elapsedTime, List<int[]> frontier) {
+        this.transitTable = transitTable;
+        this.rows = rows;
+        this.cols = cols;
+        this.pinnedSlots = pinnedSlots;
+        this.boundStrategy = boundStrategy;
+        this.symmetryBreaking = symmetryBreaking;
+        this.positions = positions;
+        this.cost = cost;
+        this.nodes = nodes;
+        this.elapsedTime = elapsedTime;
+        this.frontier = frontier;
+    }
+
+    /**
+     * Gets the matrix of the transits of the search.
+     *
+     * @return The matrix extracted from a TransitionMatrix.
+     */
+    public int[][] getTransitTable() {return transitTable;}
+
+    /**
+     * Gets the number of rows of the grid.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {return rows;}
+
+    /**
+     * Gets the number of columns of the grid.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {return cols;}
+
+    /**
+     * Gets the slots of the pinned characters.
+     *
+     * @return The slot of every character, or -1 if it is not pinned; null if no character is pinned.
+     */
+    public int[] getPinnedSlots() {return pinnedSlots;}
+
+    /**
+     * Gets the strategy used to compute the bound of every node of the tree of solutions.
+     *
+     * @return The bound strategy.
+     */
+    public BoundStrategy getBoundStrategy() {return boundStrategy;}
+
+    /**
+     * Gets whether the search breaks the symmetries of the grid.
+     *
+     * @return True if the symmetries are broken.
+     */
+    public boolean isSymmetryBreaking() {return symmetryBreaking;}
+
+    /**
+     * Gets the positions of the characters of the best Keyboard found.
+     *
+     * @return The positions, -2 on the slots that are not used.
+     */
+    public int[][] getPositions() {return positions;}
+
+    /**
+     * Gets the cost of the best Keyboard found.
+     *
+     * @return The cost.
+     */
+    public double getCost() {return cost;}
+
+    /**
+     * Gets the number of nodes expanded until the checkpoint, including the ones of the searches it was resumed from.
+     *
+     * @return The number of nodes.
+     */
+    public long getNodes() {return nodes;}
+
+    /**
+     * Gets the time spent until the checkpoint, including the one of the searches it was resumed from.
+     *
+     * @return The time, in milliseconds.
+     */
+    public long getElapsedTime() {return elapsedTime;}
+
+    /**
+     * Gets the subtrees not explored yet.
+     *
+     * @return Every subtree, as the depth of its root followed by the characters placed on the depths of its branch.
+     */
+    public List<int[]> getFrontier() {return frontier;}
+
+    /**
+     * Serializes the checkpoint into its binary format.
+     *
+     * @return The bytes of the checkpoint.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(transitTable.length);
+            for (int[] row : transitTable) {
+                for (int transits : row) out.writeInt(transits);
+            }
+            out.writeInt(rows);
+            out.writeInt(cols);
+            writeArray(out, pinnedSlots);
+            out.writeInt(boundStrategy.ordinal());
+            out.writeBoolean(symmetryBreaking);
+            for (int[] row : positions) {
+                for (int character : row) out.writeInt(character);
+            }
+            out.writeDouble(cost);
+            out.writeLong(nodes);
+            out.writeLong(elapsedTime);
+            out.writeInt(frontier.size());
+            for (int[] subtree : frontier) writeArray(out, subtree);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a checkpoint from its binary format.
+     *
+     * @param data The bytes of the checkpoint.
+     * @return The checkpoint.
+     * @throws IOException If the bytes are not a checkpoint of a known version.
+     */
+    public static QAPCheckpoint fromBytes(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a checkpoint of the QAPAlgorithm");
+            if (in.readInt() != VERSION) throw new IOException("Unknown version of the checkpoint");
+            int numChars = in.readInt();
+            int[][] transitTable = new int[numChars][numChars];
+            for (int[] row : transitTable) {
+                for (int j = 0; j < numChars; ++j) row[j] = in.readInt();
+            }
+            int rows = in.readInt();
+            int cols = in.readInt();
+            int[] pinnedSlots = readArray(in);
+            BoundStrategy boundStrategy = BoundStrategy.values()[in.readInt()];
+            boolean symmetryBreaking = in.readBoolean();
+            int[][] positions = new int[rows][cols];
+            for (int[] row : positions) {
+                for (int j = 0; j < cols; ++j) row[j] = in.readInt();
+            }
+            double cost = in.readDouble();
+            long nodes = in.readLong();
+            long elapsedTime = in.readLong();
+            int subtrees = in.readInt();
+            List<int[]> frontier = new ArrayList<>(subtrees);
+            for (int k = 0; k < subtrees; ++k) frontier.add(readArray(in));
+            return new QAPCheckpoint(transitTable, rows, cols, pinnedSlots, boundStrategy, symmetryBreaking,
+                    positions, cost, nodes, elapsedTime, frontier);
+        }
+    }
+
+    /**
+     * Writes an array of integers preceded by its length, or -1 if it is null.
+     *
+     * @param out   The stream.
+     * @param array The array, or null.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeArray(DataOutputStream out, int[] array) throws IOException {
+        out.writeInt(array == null ? -1 : array.length);
+        if (array != null) {
+            for (int value : array) out.writeInt(value);
+        }
+    }
+
+    /**
+     * Reads an array of integers written by {@code writeArray}.
+     *
+     * @param in The stream.
+     * @return The array, or null.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        int[] array = new int[length];
+        for (int k = 0; k < length; ++k) array[k] = in.readInt();
+        return array;
+    }
+}
@@ -0,0 +1,20 @@
+package Domain;
+
+/**
+ * Keeps the last checkpoint of a search of the QAPAlgorithm, so that the search can be resumed after a restart.
+ */
+public interface QAPCheckpointStore {
+
+    /**
+     * Saves a checkpoint of the search, replacing the previous one.
+     *
+     * @param checkpoint The checkpoint.
+     */
+    void save(QAPCheckpoint checkpoint);
+
+    /**
+     * Deletes the checkpoint of a search that has explored the whole tree of solutions, since there is nothing left
+     * to resume.
+     */
+    void delete();
+}
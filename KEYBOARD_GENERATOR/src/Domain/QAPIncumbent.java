@@ -0,0 +1,184 @@
+package Domain;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Holds the best solution (incumbent) found so far by a QAP search.
+ * The QAPIncumbent class can be shared between several threads exploring different branches of the tree of solutions,
+ * so that every one of them prunes with the best cost found by any of them, and also between several algorithms of a
+ * PortfolioSolver, so that the heuristics can restart from the solutions found by the others.
+ * It also gathers the progress of the algorithms that share it, the nodes or iterations they have done and the lower
+ * bound they have proved, so that a GenerationHandle can publish it while the search runs.
+ * An incumbent can be the child of another one, for a group of algorithms that must be stopped on their own: the child
+ * passes its solutions, nodes and bounds on to its parent and stops when its parent stops, but stopping the child does
+ * not stop the parent.
+ */
+public class QAPIncumbent {
+    /**
+     * The best solution found so far.
+     */
+    private final AtomicReference<QAPPartialSolution> best;
+
+    /**
+     * Whether the algorithms sharing the incumbent must stop, because the best solution cannot be improved or the search has
+     * been cancelled.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * The number of nodes or iterations done by the algorithms sharing the incumbent.
+     */
+    private final LongAdder nodes = new LongAdder();
+
+    /**
+     * The best lower bound of the cost proved by the algorithms sharing the incumbent, or 0 if none has proved any.
+     */
+    private volatile double bound;
+
+    /**
+     * The listeners notified of every new best solution.
+     */
+    private final List<Consumer<QAPPartialSolution>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The incumbent to which this one passes its progress on, or null if it has none.
+     */
+    private final QAPIncumbent parent;
+
+    /**
+     * Constructs a QAPIncumbent without any solution, whose cost is infinite until a solution is offered.
+     */
+    public QAPIncumbent() {
+        best = new AtomicReference<>();
+        parent = null;
+    }
+
+    /**
+     * Constructs a QAPIncumbent starting from the given solution.
+     *
+     * @param initialSolution The initial solution, usually the one given by the GreedyAlgorithm.
+     */
+    public QAPIncumbent(QAPPartialSolution initialSolution) {
+        best = new AtomicReference<>(initialSolution);
+        parent = null;
+    }
+
+    /**
+     * Constructs a QAPIncumbent that is the child of the given one, starting from its best solution.
+     *
+     * @param parent The incumbent to which the new one passes its progress on.
+     */
+    public QAPIncumbent(QAPIncumbent parent) {
+        best = new AtomicReference<>(parent.get());
+        this.parent = parent;
+    }
+
+    /**
+     * Gets the best solution found so far.
+     *
+     * @return The best solution found so far, or null if no solution has been offered.
+     */
+    public QAPPartialSolution get() {
+        return best.get();
+    }
+
+    /**
+     * Gets the cost of the best solution found so far.
+     *
+     * @return The cost of the best solution found so far, or infinity if no solution has been offered.
+     */
+    public double getCost() {
+        QAPPartialSolution current = best.get();
+        return current == null ? Double.POSITIVE_INFINITY : current.getCost();
+    }
+
+    /**
+     * Replaces the best solution with the given one if it has a lower cost, and then notifies the listeners on the
+     * thread of the caller.
+     *
+     * @param candidate The candidate solution.
+     * @return True if the candidate has become the new best solution, false otherwise.
+     */
+    public boolean offer(QAPPartialSolution candidate) {
+        QAPPartialSolution current = best.get();
+        while (current == null || candidate.getCost() < current.getCost()) {
+            if (best.compareAndSet(current, candidate)) {
+                for (Consumer<QAPPartialSolution> listener : listeners) listener.accept(candidate);
+                if (parent != null) parent.offer(candidate);
+                return true;
+            }
+            current = best.get();
+        }
+        return false;
+    }
+
+    /**
+     * Adds a listener notified of every new best solution. The listeners are called by the threads of the algorithms,
+     * so they must return quickly.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Consumer<QAPPartialSolution> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds nodes or iterations to the work done by the algorithms sharing the incumbent.
+     *
+     * @param count The number of nodes or iterations done.
+     */
+    public void addNodes(long count) {
+        nodes.add(count);
+        if (parent != null) parent.addNodes(count);
+    }
+
+    /**
+     * Gets the number of nodes or iterations done by the algorithms sharing the incumbent.
+     *
+     * @return The number of nodes or iterations.
+     */
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Raises the lower bound of the cost proved by the algorithms sharing the incumbent.
+     *
+     * @param lowerBound A lower bound of the cost of any solution.
+     */
+    public void raiseBound(double lowerBound) {
+        synchronized (this) {
+            if (lowerBound > bound) bound = lowerBound;
+        }
+        if (parent != null) parent.raiseBound(lowerBound);
+    }
+
+    /**
+     * Gets the best lower bound of the cost proved by the algorithms sharing the incumbent.
+     *
+     * @return The lower bound, or 0 if none has been proved.
+     */
+    public double getBound() {
+        return bound;
+    }
+
+    /**
+     * Tells the algorithms sharing the incumbent that they must stop. The parent of the incumbent is not stopped.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Checks whether the algorithms sharing the incumbent must stop, because it or its parent has been stopped.
+     *
+     * @return True if they must stop, false otherwise.
+     */
+    public boolean isStopped() {
+        return stopped || (parent != null && parent.isStopped());
+    }
+}
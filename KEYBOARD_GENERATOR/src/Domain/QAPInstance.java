@@ -0,0 +1,193 @@
+package Domain;
+
+import Exceptions.IncorrectType;
+
+/**
+ * QAPInstance represents an instance of the Quadratic Assignment Problem given by its matrices instead of a
+ * TransitionMatrix and a grid, such as the instances of QAPLIB, along with its best known solution.
+ * Its items are the characters of a transit table and its locations are the slots of a SlotDistanceTable of a single
+ * row, so the algorithms with the capability {@link AlgorithmCapability#CUSTOM_DISTANCES} solve it as a Keyboard of
+ * a single row, and a layout is a permutation that gives the slot of every item.
+ */
+public class QAPInstance {
+
+    /**
+     * The name of the instance.
+     */
+    private final String name;
+
+    /**
+     * The flow between every pair of items, used as the transits between characters.
+     */
+    private final int[][] transitTable;
+
+    /**
+     * The distances between the locations.
+     */
+    private final SlotDistanceTable distances;
+
+    /**
+     * The cost of the best known solution, or NaN if it is not known.
+     */
+    private final double bestKnownCost;
+
+    /**
+     * The location of every item on the best known solution, or null if it is not known.
+     */
+    private final int[] bestKnownPermutation;
+
+    /**
+     * Constructs a QAPInstance.
+     *
+     * @param name                 The name of the instance.
+     * @param transitTable         The flow between every pair of items, 0 on the diagonal.
+     * @param distances            The symmetric distances between the locations.
+     * @param bestKnownCost        The cost of the best known solution, or NaN if it is not known.
+     * @param bestKnownPermutation The location of every item on the best known solution, or null if it is not known.
+     */
+    public QAPInstance(String name, int[][] transitTable, SlotDistanceTable distances, double bestKnownCost, int[] bestKnownPermutation) {
+        this.name = name;
+        this.transitTable = transitTable;
+        this.distances = distances;
+        this.bestKnownCost = bestKnownCost;
+        this.bestKnownPermutation = bestKnownPermutation;
+    }
+
+    /**
+     * Constructs a QAPInstance from the matrices of QAPLIB, whose cost is the sum of first[i][j] * second[p(i)][p(j)]
+     * over every pair of facilities i and j, where p(i) is the location of the facility i.
+     * The symmetric matrix gives the distances, since the bound of the QAPAlgorithm needs them to be symmetric: if
+     * only the first one is symmetric, the roles of the facilities and the locations are exchanged and the best known
+     * permutation is inverted, which keeps the cost of every solution.
+     * The diagonals are dropped, since the distance of a location to itself is 0 on a Keyboard, so they must not give
+     * a cost.
+     *
+     * @param name          The name of the instance.
+     * @param first         The first matrix of the instance.
+     * @param second        The second matrix of the instance.
+     * @param bestKnownCost The cost of the best known solution, or null if it is not known.
+     * @param solution      The location of every facility on the best known solution, starting from 0, or null if it
+     *                      is not known.
+     * @return The instance.
+     * @throws IncorrectType If neither matrix is symmetric, the diagonals give a cost, or the best known solution does
+     * not have the given cost.
+     */
+    public static QAPInstance fromMatrices(String name, int[][] first, int[][] second, Long bestKnownCost, int[] solution) throws IncorrectType {
+        int size = first.length;
+        if (second.length != size || (solution != null && solution.length != size)) {
+            throw new IncorrectType("The matrices of the instance " + name + " do not have the same size");
+        }
+        boolean swapped;
+        if (isSymmetric(second)) swapped = false;
+        else if (isSymmetric(first)) swapped = true;
+        else throw new IncorrectType("The instance " + name + " does not have a symmetric matrix of distances");
+        int[][] flow = swapped ? second : first;
+        int[][] distance = swapped ? first : second;
+        for (int i = 0; i < size; ++i) {
+            if (flow[i][i] != 0 && distance[i][i] != 0) {
+                throw new IncorrectType("The instance " + name + " has a linear cost on its diagonals");
+            }
+        }
+
+        int[][] transitTable = new int[size][size];
+        double[][] distances = new double[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) {
+                if (i == j) continue;
+                transitTable[i][j] = flow[i][j];
+                distances[i][j] = distance[i][j];
+            }
+        }
+        int[] permutation = solution;
+        if (solution != null && swapped) {
+            permutation = new int[size];
+            for (int i = 0; i < size; ++i) permutation[solution[i]] = i;
+        }
+        QAPInstance instance = new QAPInstance(name, transitTable, SlotDistanceTable.of(distances),
+                bestKnownCost != null ? bestKnownCost : Double.NaN, permutation);
+        if (permutation != null && bestKnownCost != null
+                && Math.abs(instance.getCost(instance.toPositions(permutation)) - bestKnownCost) > 1e-6) {
+            throw new IncorrectType("The best known solution of the instance " + name + " does not have its cost");
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the name of the instance.
+     *
+     * @return The name.
+     */
+    public String getName() {return name;}
+
+    /**
+     * Gets the number of items, which is also the number of locations.
+     *
+     * @return The size of the instance.
+     */
+    public int getSize() {return transitTable.length;}
+
+    /**
+     * Gets the flow between every pair of items.
+     *
+     * @return The flow, used as the transits between characters.
+     */
+    public int[][] getTransitTable() {return transitTable;}
+
+    /**
+     * Gets the distances between the locations.
+     *
+     * @return The SlotDistanceTable of the locations.
+     */
+    public SlotDistanceTable getDistances() {return distances;}
+
+    /**
+     * Gets the cost of the best known solution.
+     *
+     * @return The cost, or NaN if it is not known.
+     */
+    public double getBestKnownCost() {return bestKnownCost;}
+
+    /**
+     * Gets the location of every item on the best known solution.
+     *
+     * @return The permutation, or null if it is not known.
+     */
+    public int[] getBestKnownPermutation() {return bestKnownPermutation;}
+
+    /**
+     * Calculates the cost of a solution from the matrices of the instance, independently of the cost reported by the
+     * algorithm that found it.
+     *
+     * @param positions The positions of the items, as a Keyboard of a single row.
+     * @return The cost of the solution.
+     */
+    public double getCost(int[][] positions) {
+        LayoutCost layoutCost = new LayoutCost(transitTable, distances);
+        return layoutCost.cost(layoutCost.toPermutation(positions));
+    }
+
+    /**
+     * Gives the positions of the items of a solution given as a permutation.
+     *
+     * @param permutation The location of every item.
+     * @return The positions of the items, as a Keyboard of a single row.
+     */
+    public int[][] toPositions(int[] permutation) {
+        return new LayoutCost(transitTable, distances).toPositions(permutation);
+    }
+
+    /**
+     * Checks whether a matrix is symmetric.
+     *
+     * @param matrix The square matrix.
+     * @return True if the matrix is symmetric.
+     */
+    private static boolean isSymmetric(int[][] matrix) {
+        for (int i = 0; i < matrix.length; ++i) {
+            for (int j = i + 1; j < matrix.length; ++j) {
+                if (matrix[i][j] != matrix[j][i]) return false;
+            }
+        }
+        return true;
+    }
+}
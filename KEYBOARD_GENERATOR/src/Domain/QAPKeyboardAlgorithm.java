@@ -0,0 +1,68 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "QAP", which runs the branch and bound of the QAPAlgorithmController on a single thread with
+ * the bound of the row minimums. Its subclasses give the variants of the branch and bound.
+ * It uses the budget, the threads, the initial positions, the pinned characters, the checkpoint store and the
+ * distances of the parameters.
+ */
+public class QAPKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    private final String name;
+    private final boolean parallel;
+    private final BoundStrategy boundStrategy;
+
+    /**
+     * Constructs the KeyboardAlgorithm "QAP".
+     */
+    public QAPKeyboardAlgorithm() {
+        this("QAP", false, BoundStrategy.ROW_MINIMUM);
+    }
+
+    /**
+     * Constructs a variant of the branch and bound.
+     *
+     * @param name          The name of the variant.
+     * @param parallel      Whether the variant uses every available processor by default.
+     * @param boundStrategy The strategy used to compute the bound of every node of the tree of solutions.
+     */
+    protected QAPKeyboardAlgorithm(String name, boolean parallel, BoundStrategy boundStrategy) {
+        this.name = name;
+        this.parallel = parallel;
+        this.boundStrategy = boundStrategy;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        Set<AlgorithmCapability> capabilities = EnumSet.of(AlgorithmCapability.EXACT, AlgorithmCapability.ANYTIME, AlgorithmCapability.PINNED_KEYS,
+                AlgorithmCapability.CHECKPOINT, AlgorithmCapability.CUSTOM_DISTANCES);
+        if (parallel) capabilities.add(AlgorithmCapability.PARALLEL);
+        return capabilities;
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return QAPAlgorithm.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        int threads = parameters.getThreads();
+        if (threads == 0) threads = parallel ? Runtime.getRuntime().availableProcessors() : 1;
+        QAPAlgorithmController controller = new QAPAlgorithmController(threads);
+        controller.setBoundStrategy(boundStrategy);
+        controller.setIncumbent(incumbent);
+        controller.setPinnedSlots(parameters.getPinnedSlots());
+        controller.setCheckpointStore(parameters.getCheckpointStore());
+        controller.setDistances(parameters.getDistances());
+        return controller.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
@@ -0,0 +1,15 @@
+package Domain;
+
+/**
+ * The KeyboardAlgorithm "QAPParallel", which runs the branch and bound of the QAPAlgorithmController on every
+ * available processor, unless the parameters give the number of threads.
+ */
+public class QAPParallelKeyboardAlgorithm extends QAPKeyboardAlgorithm {
+
+    /**
+     * Constructs the KeyboardAlgorithm "QAPParallel".
+     */
+    public QAPParallelKeyboardAlgorithm() {
+        super("QAPParallel", true, BoundStrategy.ROW_MINIMUM);
+    }
+}
@@ -0,0 +1,39 @@
+package Domain;
+
+/**
+ * The ArrayKernels written as plain loops, used when the Vector API is not available. The JIT compiler may still
+ * vectorize some of them.
+ */
+public class ScalarArrayKernels extends ArrayKernels {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public double dot(int[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0;
+        for (int k = 0; k < length; ++k) sum += a[aOffset + k] * b[bOffset + k];
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+        for (int k = 0; k < length; ++k) out[outOffset + k] = y[yOffset + k] + x[xOffset + k] * alpha;
+    }
+
+    @Override
+    public double dotGather(double[] a, int aOffset, long[] flow, int flowOffset, int[] index, int indexOffset, int length) {
+        double sum = 0;
+        for (int k = 0; k < length; ++k) sum += a[aOffset + k] * flow[flowOffset + index[indexOffset + k]];
+        return sum;
+    }
+
+    @Override
+    public long sumGather(long[] flow, int flowOffset, int[] index, int indexOffset, int length) {
+        long sum = 0;
+        for (int k = 0; k < length; ++k) sum += flow[flowOffset + index[indexOffset + k]];
+        return sum;
+    }
+}
@@ -0,0 +1,231 @@
+package Domain;
+
+import java.util.Random;
+
+/**
+ * SimulatedAnnealing finds the positions of the characters of a Keyboard with simulated annealing.
+ * Starting from an initial layout, usually the one of the GreedyAlgorithm, every iteration proposes to exchange the
+ * slots of two random keys. The exchange is accepted if it improves the cost, or otherwise with a probability that
+ * decreases with the worsening and with the temperature, which cools down geometrically as the budget is consumed.
+ * Every proposed exchange is scored in O(n) from the transits and the distances of both keys.
+ */
+public class SimulatedAnnealing {
+
+    /**
+     * The number of iterations between two updates of the temperature and checks of the time limit.
+     */
+    private static final int ITERATIONS_PER_STEP = 256;
+
+    /**
+     * The number of random exchanges sampled to choose the initial temperature automatically.
+     */
+    private static final int TEMPERATURE_SAMPLES = 100;
+
+    /**
+     * The random number generator used to propose and accept the exchanges.
+     */
+    private final Random random;
+
+    /**
+     * The temperature at the start of the search, or 0 to choose it automatically.
+     */
+    private double initialTemperature;
+
+    /**
+     * The temperature at the end of the search, or 0 to choose it automatically.
+     */
+    private double finalTemperature;
+
+    /**
+     * The number of iterations done by the last search.
+     */
+    private long iterations;
+
+    /**
+     * The best Keyboard shared with other algorithms running at the same time, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the initial Keyboard.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Constructs a SimulatedAnnealing with a random seed.
+     */
+    public SimulatedAnnealing() {
+        random = new Random();
+    }
+
+    /**
+     * Constructs a SimulatedAnnealing with the given seed, so that its searches are reproducible.
+     *
+     * @param seed The seed of the random number generator.
+     */
+    public SimulatedAnnealing(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Gets the default budget for a search of the given number of characters.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 20000L * Math.max(numChars, 10), 0);
+    }
+
+    /**
+     * Sets the cooling schedule of the next searches.
+     * By default, the initial temperature accepts an average worsening exchange with a probability of one half, and
+     * the final temperature is a thousandth of it.
+     *
+     * @param initialTemperature The temperature at the start of the search, or 0 to choose it automatically.
+     * @param finalTemperature   The temperature at the end of the search, or 0 to choose it automatically.
+     */
+    public void setCooling(double initialTemperature, double finalTemperature) {
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid. The initial
+     * Keyboards then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms running at the same time. Every time the temperature is
+     * updated, the search offers its best Keyboard to it, restarts from it when another algorithm improves it, reports
+     * its iterations to it and stops if it is stopped.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+    }
+
+    /**
+     * Gets the number of iterations done by the last search.
+     *
+     * @return The number of iterations.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Improves the given layout with simulated annealing until the budget is exhausted.
+     * The temperature follows the consumed fraction of the node limit or of the time limit, whichever is higher, so
+     * the search cools down completely with any of both limits. The gap limit of the budget is not used.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param initialPositions The initial positions of the characters, negative on the empty slots.
+     * @param budget           The limits of the search. If it has neither a time nor a node limit, the default number of iterations is used.
+     * @return The best Keyboard found, along with the elapsed time and the iterations done.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] initialPositions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        LayoutCost layoutCost = distances != null ? new LayoutCost(transitTable, distances)
+                : new LayoutCost(transitTable, initialPositions.length, initialPositions[0].length);
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+
+        int[] permutation = layoutCost.toPermutation(initialPositions);
+        int[] best = permutation.clone();
+        double cost = layoutCost.cost(permutation);
+        double bestCost = cost;
+
+        long maxIterations = budget.getNodeLimit();
+        if (maxIterations <= 0) maxIterations = budget.getTimeLimit() > 0 ? Long.MAX_VALUE : getDefaultBudget(numChars).getNodeLimit();
+        long timeLimit = budget.getTimeLimit();
+
+        double startTemperature = initialTemperature > 0 ? initialTemperature : sampleTemperature(layoutCost, permutation);
+        double endTemperature = finalTemperature > 0 ? finalTemperature : startTemperature / 1000;
+        double temperature = startTemperature;
+
+        iterations = 0;
+        // The iterations already reported to the incumbent
+        long reported = 0;
+        while (numChars > 1 && size > 1 && iterations < maxIterations) {
+            if (iterations % ITERATIONS_PER_STEP == 0) {
+                double progress = maxIterations == Long.MAX_VALUE ? 0 : (double) iterations / maxIterations;
+                if (timeLimit > 0) {
+                    long elapsed = System.currentTimeMillis() - startTime;
+                    if (elapsed >= timeLimit) break;
+                    progress = Math.max(progress, (double) elapsed / timeLimit);
+                }
+                temperature = startTemperature * Math.pow(endTemperature / startTemperature, progress);
+
+                if (incumbent != null) {
+                    incumbent.addNodes(iterations - reported);
+                    reported = iterations;
+                    if (incumbent.isStopped()) break;
+                    if (bestCost < incumbent.getCost()) {
+                        incumbent.offer(new QAPPartialSolution(layoutCost.toPositions(best), layoutCost.cost(best)));
+                    } else if (incumbent.getCost() < bestCost - 1e-6) {
+                        // Another algorithm has found a better Keyboard, so the search restarts from it
+                        int[] shared = layoutCost.toPermutation(incumbent.get().getSolution());
+                        System.arraycopy(shared, 0, permutation, 0, size);
+                        System.arraycopy(shared, 0, best, 0, size);
+                        cost = bestCost = layoutCost.cost(permutation);
+                    }
+                }
+            }
+            ++iterations;
+
+            int r = random.nextInt(numChars);
+            int s = random.nextInt(size - 1);
+            if (s >= r) ++s;
+            double delta = layoutCost.swapDelta(permutation, r, s);
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                int slot = permutation[r];
+                permutation[r] = permutation[s];
+                permutation[s] = slot;
+                cost += delta;
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(permutation, 0, best, 0, size);
+                }
+            }
+        }
+        if (incumbent != null) incumbent.addNodes(iterations - reported);
+
+        return new SolverResult(layoutCost.toPositions(best), layoutCost.cost(best), 0, iterations,
+                System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Chooses an initial temperature that accepts an average worsening exchange of the given layout with a
+     * probability of one half.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item.
+     * @return The initial temperature.
+     */
+    private double sampleTemperature(LayoutCost layoutCost, int[] permutation) {
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+        if (numChars < 2 || size < 2) return 1;
+
+        double sum = 0;
+        int worsening = 0;
+        for (int k = 0; k < TEMPERATURE_SAMPLES; ++k) {
+            int r = random.nextInt(numChars);
+            int s = random.nextInt(size - 1);
+            if (s >= r) ++s;
+            double delta = layoutCost.swapDelta(permutation, r, s);
+            if (delta > 0) {
+                sum += delta;
+                ++worsening;
+            }
+        }
+        return worsening == 0 ? 1 : sum / worsening / Math.log(2);
+    }
+}
@@ -0,0 +1,181 @@
+package Domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SlotDistanceTable is the precomputation of the distances between every pair of slots (keys) of a Keyboard grid.
+ * The slots are numbered in row-major order, so the slot of row i and column j is i * cols + j, and the distances are
+ * stored in a flat array indexed by slot1 * slots + slot2.
+ * The tables are immutable and shared: there is a single one for every grid shape.
+ * A table can also be given directly, for problems whose slots are not the keys of a grid, such as the instances of
+ * QAPLIB; its slots are then seen as a grid of a single row.
+ */
+public class SlotDistanceTable {
+
+    /**
+     * The tables already computed, by grid shape.
+     */
+    private static final Map<Long, SlotDistanceTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * The number of rows of the grid.
+     */
+    private final int rows;
+
+    /**
+     * The number of columns of the grid.
+     */
+    private final int cols;
+
+    /**
+     * The number of slots of the grid.
+     */
+    private final int slots;
+
+    /**
+     * The distance between every pair of slots, indexed by slot1 * slots + slot2.
+     */
+    private final double[] distances;
+
+    /**
+     * Constructs the SlotDistanceTable of a grid.
+     * The distance between two keys is computed only once for every difference of rows and columns.
+     *
+     * @param rows The number of rows of the grid.
+     * @param cols The number of columns of the grid.
+     */
+    private SlotDistanceTable(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        slots = rows * cols;
+
+        double[][] byOffset = new double[rows][cols];
+        for (int di = 0; di < rows; ++di) {
+            for (int dj = 0; dj < cols; ++dj) {
+                byOffset[di][dj] = Math.sqrt(Math.pow(2, di) + Math.pow(2, dj));
+            }
+        }
+
+        distances = new double[slots * slots];
+        for (int slot1 = 0; slot1 < slots; ++slot1) {
+            for (int slot2 = 0; slot2 < slots; ++slot2) {
+                // A key is never at a distance from itself, so the pairs of the same slot do not add any cost
+                if (slot1 != slot2) {
+                    distances[slot1 * slots + slot2] = byOffset[Math.abs(slot1 / cols - slot2 / cols)][Math.abs(slot1 % cols - slot2 % cols)];
+                }
+            }
+        }
+    }
+
+    /**
+     * Constructs a SlotDistanceTable with the given distances.
+     *
+     * @param rows      The number of rows of the grid.
+     * @param cols      The number of columns of the grid.
+     * @param slots     The number of slots of the table.
+     * @param distances The distance between every pair of slots, indexed by slot1 * slots + slot2.
+     */
+    private SlotDistanceTable(int rows, int cols, int slots, double[] distances) {
+        this.rows = rows;
+        this.cols = cols;
+        this.slots = slots;
+        this.distances = distances;
+    }
+
+    /**
+     * Gets the SlotDistanceTable of a grid, computing it only the first time it is requested.
+     *
+     * @param rows The number of rows of the grid.
+     * @param cols The number of columns of the grid.
+     * @return The SlotDistanceTable of the grid.
+     */
+    public static SlotDistanceTable get(int rows, int cols) {
+        return tables.computeIfAbsent(((long) rows << 32) | cols, shape -> new SlotDistanceTable(rows, cols));
+    }
+
+    /**
+     * Gives a table with the given distances between its slots, seen as a grid of a single row. Unlike the tables of
+     * the grids, it is not shared.
+     * The distance of a slot to itself is taken as 0, as on a grid.
+     *
+     * @param distances The distance between every pair of slots, which must be symmetric.
+     * @return The SlotDistanceTable with the given distances.
+     */
+    public static SlotDistanceTable of(double[][] distances) {
+        int slots = distances.length;
+        double[] flat = new double[slots * slots];
+        for (int slot1 = 0; slot1 < slots; ++slot1) {
+            for (int slot2 = 0; slot2 < slots; ++slot2) {
+                if (slot1 != slot2) flat[slot1 * slots + slot2] = distances[slot1][slot2];
+            }
+        }
+        return new SlotDistanceTable(1, slots, slots, flat);
+    }
+
+    /**
+     * Gives a table whose slots are the given slots of this one, so that a search can fill the slots in another order
+     * than the row-major one, for example the slots of the pinned characters first.
+     * Unlike the tables of the grids, the reordered tables are not shared.
+     *
+     * @param order The slot of this table that becomes every slot of the new table.
+     * @return The reordered SlotDistanceTable, with as many slots as the order and the shape of this grid.
+     */
+    public SlotDistanceTable reorder(int[] order) {
+        double[] reordered = new double[order.length * order.length];
+        for (int slot1 = 0; slot1 < order.length; ++slot1) {
+            for (int slot2 = 0; slot2 < order.length; ++slot2) {
+                reordered[slot1 * order.length + slot2] = distance(order[slot1], order[slot2]);
+            }
+        }
+        return new SlotDistanceTable(rows, cols, order.length, reordered);
+    }
+
+    /**
+     * Gets the number of rows of the grid.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns of the grid.
+     *
+     * @return The number of columns.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Gets the number of slots of the grid.
+     *
+     * @return The number of slots.
+     */
+    public int getSlots() {
+        return slots;
+    }
+
+    /**
+     * Gives the distance between two slots of the grid.
+     *
+     * @param slot1 The first slot.
+     * @param slot2 The second slot.
+     * @return The distance between the keys of both slots, 0 if they are the same slot.
+     */
+    public double distance(int slot1, int slot2) {
+        return distances[slot1 * slots + slot2];
+    }
+
+    /**
+     * Gets the flat array with the distance between every pair of slots, indexed by slot1 * slots + slot2.
+     * The array is shared, so it must not be modified.
+     *
+     * @return The distances between the slots.
+     */
+    public double[] getDistances() {
+        return distances;
+    }
+}
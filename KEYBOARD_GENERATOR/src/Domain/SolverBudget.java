@@ -0,0 +1,56 @@
+package Domain;
+
+/**
+ * Represents the budget given to an algorithm to create a Keyboard.
+ * The search stops as soon as any of its limits is reached, returning the best Keyboard found so far.
+ * A limit of 0 means that there is no limit of that kind.
+ */
+public class SolverBudget {
+    /**
+     * The maximum time of the search, in milliseconds.
+     */
+    private final long timeLimit;
+    /**
+     * The maximum number of nodes of the tree of solutions to expand.
+     */
+    private final long nodeLimit;
+    /**
+     * The optimality gap at which the search stops, relative to the cost of the best Keyboard found.
+     */
+    private final double gapLimit;
+
+    /**
+     * Constructs a SolverBudget with the given limits.
+     *
+     * @param timeLimit The maximum time of the search, in milliseconds, or 0 for no limit.
+     * @param nodeLimit The maximum number of nodes of the tree of solutions to expand, or 0 for no limit.
+     * @param gapLimit  The optimality gap at which the search stops, for example 0.05 to stop when the best Keyboard
+     *                  found is at most 5% worse than the lower bound of the optimal one, or 0 for no limit.
+     */
+    public SolverBudget(long timeLimit, long nodeLimit, double gapLimit) {
+        this.timeLimit = timeLimit;
+        this.nodeLimit = nodeLimit;
+        this.gapLimit = gapLimit;
+    }
+
+    /**
+     * Gets the maximum time of the search.
+     *
+     * @return The maximum time of the search, in milliseconds, or 0 if there is no limit.
+     */
+    public long getTimeLimit() {return timeLimit;}
+
+    /**
+     * Gets the maximum number of nodes of the tree of solutions to expand.
+     *
+     * @return The maximum number of nodes, or 0 if there is no limit.
+     */
+    public long getNodeLimit() {return nodeLimit;}
+
+    /**
+     * Gets the optimality gap at which the search stops.
+     *
+     * @return The optimality gap, relative to the cost of the best Keyboard found, or 0 if there is no limit.
+     */
+    public double getGapLimit() {return gapLimit;}
+}
@@ -0,0 +1,131 @@
+package Domain;
+
+/**
+ * Represents the result of an algorithm creating a Keyboard: the best positions of the characters found, along with
+ * how the search went.
+ * The costs are the total cost of the Keyboard, that is, the evaluation of the KeyboardAvaluator before dividing it
+ * by the number of transits.
+ */
+public class SolverResult {
+    /**
+     * The positions of the characters of the best Keyboard found.
+     */
+    private final int[][] positions;
+    /**
+     * The total cost of the best Keyboard found.
+     */
+    private final double cost;
+    /**
+     * The lower bound of the cost of any Keyboard, computed at the root of the tree of solutions.
+     */
+    private final double rootBound;
+    /**
+     * The number of nodes of the tree of solutions expanded.
+     */
+    private final long nodes;
+    /**
+     * The time spent by the search, in milliseconds.
+     */
+    private final long elapsedTime;
+    /**
+     * Whether the whole tree of solutions has been explored, so that the best Keyboard found is optimal.
+     */
+    private final boolean optimal;
+    /**
+     * How the search spent its time, or null if the algorithm does not collect statistics.
+     */
+    private final SolverStats stats;
+
+    /**
+     * Constructs a SolverResult.
+     *
+     * @param positions   The positions of the characters of the best Keyboard found.
+     * @param cost        The total cost of the best Keyboard found.
+     * @param rootBound   The lower bound of the cost of any Keyboard, or 0 if the algorithm does not compute it.
+     * @param nodes       The number of nodes of the tree of solutions expanded.
+     * @param elapsedTime The time spent by the search, in milliseconds.
+     * @param optimal     Whether the best Keyboard found is proven to be optimal.
+     */
+    public SolverResult(int[][] positions, double cost, double rootBound, long nodes, long elapsedTime, boolean optimal) {
+        this(positions, cost, rootBound, nodes, elapsedTime, optimal, null);
+    }
+
+    /**
+     * Constructs a SolverResult with the statistics of the search.
+     *
+     * @param positions   The positions of the characters of the best Keyboard found.
+     * @param cost        The total cost of the best Keyboard found.
+     * @param rootBound   The lower bound of the cost of any Keyboard, or 0 if the algorithm does not compute it.
+     * @param nodes       The number of nodes of the tree of solutions expanded.
+     * @param elapsedTime The time spent by the search, in milliseconds.
+     * @param optimal     Whether the best Keyboard found is proven to be optimal.
+     * @param stats       How the search spent its time, or null if the algorithm does not collect statistics.
+     */
+    public SolverResult(int[][] positions, double cost, double rootBound, long nodes, long elapsedTime, boolean optimal, SolverStats stats) {
+        this.positions = positions;
+        this.cost = cost;
+        this.rootBound = rootBound;
+        this.nodes = nodes;
+        this.elapsedTime = elapsedTime;
+        this.optimal = optimal;
+        this.stats = stats;
+    }
+
+    /**
+     * Gets the positions of the characters of the best Keyboard found.
+     *
+     * @return A two-dimensional array representing the positions of characters on the Keyboard.
+     */
+    public int[][] getPositions() {return positions;}
+
+    /**
+     * Gets the total cost of the best Keyboard found.
+     *
+     * @return The total cost of the Keyboard.
+     */
+    public double getCost() {return cost;}
+
+    /**
+     * Gets the lower bound of the cost of any Keyboard, computed at the root of the tree of solutions.
+     *
+     * @return The lower bound, or 0 if the algorithm does not compute it.
+     */
+    public double getRootBound() {return rootBound;}
+
+    /**
+     * Gets the number of nodes of the tree of solutions expanded.
+     *
+     * @return The number of nodes expanded.
+     */
+    public long getNodes() {return nodes;}
+
+    /**
+     * Gets the time spent by the search.
+     *
+     * @return The time spent, in milliseconds.
+     */
+    public long getElapsedTime() {return elapsedTime;}
+
+    /**
+     * Gets whether the best Keyboard found is proven to be optimal.
+     *
+     * @return True if the whole tree of solutions has been explored, false if the search stopped because of its budget.
+     */
+    public boolean isOptimal() {return optimal;}
+
+    /**
+     * Gets the optimality gap of the best Keyboard found with respect to the root lower bound.
+     *
+     * @return The gap, relative to the cost of the best Keyboard found.
+     */
+    public double getGap() {
+        return cost > 0 ? Math.max(0, (cost - rootBound) / cost) : 0;
+    }
+
+    /**
+     * Gets how the search spent its time, to tell whether a slow search is limited by its bound or by its branching.
+     *
+     * @return The statistics of the search, or null if the algorithm does not collect them.
+     */
+    public SolverStats getStats() {return stats;}
+}
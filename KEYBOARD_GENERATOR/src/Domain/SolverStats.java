@@ -0,0 +1,183 @@
+package Domain;
+
+import java.util.Locale;
+
+/**
+ * Represents how a run of the QAPAlgorithm spent its time: the nodes expanded, the nodes pruned on every depth of the
+ * tree of solutions, the evaluations of the bound and the time spent on each of its terms, and when the best Keyboard
+ * was improved.
+ * A run whose time goes to the second and third terms of the bound is bound-limited, and a tighter or cheaper bound
+ * helps; a run that prunes few nodes on the first depths is branching-limited, and a better initial Keyboard or the
+ * symmetry breaking helps.
+ * The statistics only describe the run that returns them, not the searches it was resumed from.
+ */
+public class SolverStats {
+    /**
+     * The number of nodes of the tree of solutions expanded.
+     */
+    private final long nodes;
+    /**
+     * The number of children discarded on every depth because their bound was not lower than the best cost.
+     */
+    private final long[] prunedPerDepth;
+    /**
+     * The number of bounds calculated.
+     */
+    private final long boundEvaluations;
+    /**
+     * The time spent on the first term of the bounds, in nanoseconds.
+     */
+    private final long firstTermNanos;
+    /**
+     * The time spent on the second and third terms of the bounds, in nanoseconds.
+     */
+    private final long secondTermNanos;
+    /**
+     * The time of every improvement of the best Keyboard since the run started, in milliseconds.
+     */
+    private final long[] improvementTimes;
+    /**
+     * The cost of the Keyboard found on every improvement.
+     */
+    private final double[] improvementCosts;
+    /**
+     * The time spent by the run, in milliseconds.
+     */
+    private final long elapsedTime;
+    /**
+     * The optimality gap of the best Keyboard found when the run ended.
+     */
+    private final double gap;
+
+    /**
+     * Constructs a SolverStats.
+     *
+     * @param nodes            The number of nodes of the tree of solutions expanded.
+     * @param prunedPerDepth   The number of children pruned on every depth.
+     * @param boundEvaluations The number of bounds calculated.
+     * @param firstTermNanos   The time spent on the first term of the bounds, in nanoseconds.
+     * @param secondTermNanos  The time spent on the second and third terms of the bounds, in nanoseconds.
+     * @param improvementTimes The time of every improvement of the best Keyboard, in milliseconds.
+     * @param improvementCosts The cost of the Keyboard found on every improvement.
+     * @param elapsedTime      The time spent by the run, in milliseconds.
+     * @param gap              The optimality gap of the best Keyboard found, 0 if it is proven to be optimal.
+     */
+    public SolverStats(long nodes, long[] prunedPerDepth, long boundEvaluations, long firstTermNanos, long secondTermNanos,
+                       long[] improvementTimes, double[] improvementCosts, long elapsedTime, double gap) {
+        this.nodes = nodes;
+        this.prunedPerDepth = prunedPerDepth;
+        this.boundEvaluations = boundEvaluations;
+        this.firstTermNanos = firstTermNanos;
+        this.secondTermNanos = secondTermNanos;
+        this.improvementTimes = improvementTimes;
+        this.improvementCosts = improvementCosts;
+        this.elapsedTime = elapsedTime;
+        this.gap = gap;
+    }
+
+    /**
+     * Gets the number of nodes of the tree of solutions expanded.
+     *
+     * @return The number of nodes expanded.
+     */
+    public long getNodes() {return nodes;}
+
+    /**
+     * Gets the number of children pruned on every depth of the tree of solutions.
+     *
+     * @return The number of children pruned, indexed by the depth of their parent.
+     */
+    public long[] getPrunedPerDepth() {return prunedPerDepth;}
+
+    /**
+     * Gets the number of children pruned on the whole tree of solutions.
+     *
+     * @return The number of children pruned.
+     */
+    public long getPrunedNodes() {
+        long pruned = 0;
+        for (long count : prunedPerDepth) pruned += count;
+        return pruned;
+    }
+
+    /**
+     * Gets the number of bounds calculated.
+     *
+     * @return The number of bound evaluations.
+     */
+    public long getBoundEvaluations() {return boundEvaluations;}
+
+    /**
+     * Gets the number of bounds calculated per second.
+     *
+     * @return The bound evaluations per second, or 0 if the run took no measurable time.
+     */
+    public double getBoundEvaluationsPerSecond() {
+        return elapsedTime > 0 ? boundEvaluations * 1000.0 / elapsedTime : 0;
+    }
+
+    /**
+     * Gets the time spent on the first term of the bounds: the cost between the characters already placed. It is
+     * estimated from a sample of the evaluations.
+     *
+     * @return The time, in nanoseconds.
+     */
+    public long getFirstTermNanos() {return firstTermNanos;}
+
+    /**
+     * Gets the time spent on the second and third terms of the bounds: the reduced assignment of the characters yet to
+     * be placed. It is estimated from a sample of the evaluations.
+     *
+     * @return The time, in nanoseconds.
+     */
+    public long getSecondTermNanos() {return secondTermNanos;}
+
+    /**
+     * Gets the time of every improvement of the best Keyboard found by the run.
+     *
+     * @return The time since the run started, in milliseconds, in ascending order.
+     */
+    public long[] getImprovementTimes() {return improvementTimes;}
+
+    /**
+     * Gets the cost of the Keyboard found on every improvement.
+     *
+     * @return The costs, in descending order.
+     */
+    public double[] getImprovementCosts() {return improvementCosts;}
+
+    /**
+     * Gets the time spent by the run.
+     *
+     * @return The time, in milliseconds.
+     */
+    public long getElapsedTime() {return elapsedTime;}
+
+    /**
+     * Gets the optimality gap of the best Keyboard found when the run ended.
+     *
+     * @return The gap relative to the cost of the Keyboard, 0 if it is proven to be optimal.
+     */
+    public double getGap() {return gap;}
+
+    /**
+     * Gives a summary of the statistics on a single line, to be logged.
+     *
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        StringBuilder pruned = new StringBuilder();
+        for (int depth = 0; depth < prunedPerDepth.length; ++depth) {
+            if (depth > 0) pruned.append(',');
+            pruned.append(prunedPerDepth[depth]);
+        }
+        long boundNanos = firstTermNanos + secondTermNanos;
+        return String.format(Locale.ROOT,
+                "nodes=%d pruned=%d bounds=%d bounds/s=%.0f firstTerm=%.1fms term2and3=%.1fms (%.0f%% of bound time) "
+                        + "improvements=%d lastImprovement=%dms time=%dms gap=%.4f prunedPerDepth=[%s]",
+                nodes, getPrunedNodes(), boundEvaluations, getBoundEvaluationsPerSecond(), firstTermNanos / 1e6,
+                secondTermNanos / 1e6, boundNanos > 0 ? 100.0 * secondTermNanos / boundNanos : 0, improvementTimes.length,
+                improvementTimes.length > 0 ? improvementTimes[improvementTimes.length - 1] : 0, elapsedTime, gap, pruned);
+    }
+}
@@ -0,0 +1,34 @@
+package Domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The KeyboardAlgorithm "Tabu", which improves the Keyboard of the GreedyAlgorithm with the TabuSearch.
+ * It uses the budget, the seed, the initial positions and the distances of the parameters.
+ */
+public class TabuKeyboardAlgorithm implements KeyboardAlgorithm {
+
+    @Override
+    public String getName() {
+        return "Tabu";
+    }
+
+    @Override
+    public Set<AlgorithmCapability> getCapabilities() {
+        return EnumSet.of(AlgorithmCapability.ANYTIME, AlgorithmCapability.CUSTOM_DISTANCES);
+    }
+
+    @Override
+    public SolverBudget getDefaultBudget(int numChars) {
+        return TabuSearch.getDefaultBudget(numChars);
+    }
+
+    @Override
+    public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+        TabuSearch tabu = parameters.getSeed() == null ? new TabuSearch() : new TabuSearch(parameters.getSeed());
+        tabu.setIncumbent(incumbent);
+        tabu.setDistances(parameters.getDistances());
+        return tabu.solve(transitTable, getInitialPositions(parameters, transitTable), getBudget(parameters, transitTable.length));
+    }
+}
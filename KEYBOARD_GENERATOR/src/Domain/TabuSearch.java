@@ -0,0 +1,250 @@
+package Domain;
+
+import java.util.Random;
+
+/**
+ * TabuSearch finds the positions of the characters of a Keyboard with the Robust Tabu Search of Taillard.
+ * Starting from an initial layout, usually the one of the GreedyAlgorithm, every iteration exchanges the slots of the
+ * pair of keys that improves the cost the most, or worsens it the least, among the exchanges that are not tabu.
+ * After an exchange, moving back any of both keys to the slot it has left is tabu for a random number of iterations.
+ * The change of cost of every possible exchange is kept in a matrix that is updated in O(1) for most of the pairs
+ * after every exchange, so an iteration takes O(n^2) for a grid of n slots.
+ */
+public class TabuSearch {
+
+    /**
+     * The random number generator used to choose the tabu tenures.
+     */
+    private final Random random;
+
+    /**
+     * The number of iterations between two synchronizations with the shared incumbent.
+     */
+    private static final int SYNC_INTERVAL = 64;
+
+    /**
+     * The number of iterations done by the last search.
+     */
+    private long iterations;
+
+    /**
+     * The best Keyboard shared with other algorithms running at the same time, or null if the search runs alone.
+     */
+    private QAPIncumbent incumbent;
+
+    /**
+     * The distances between the slots, or null for the distances of the grid of the initial Keyboard.
+     */
+    private SlotDistanceTable distances;
+
+    /**
+     * Constructs a TabuSearch with a random seed.
+     */
+    public TabuSearch() {
+        random = new Random();
+    }
+
+    /**
+     * Constructs a TabuSearch with the given seed, so that its searches are reproducible.
+     *
+     * @param seed The seed of the random number generator.
+     */
+    public TabuSearch(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Gets the default budget for a search of the given number of characters.
+     * The number of iterations grows linearly with the number of characters, since every iteration already takes
+     * quadratic time, and the time is limited to 5 seconds.
+     *
+     * @param numChars The number of characters of the Keyboard.
+     * @return The default budget.
+     */
+    public static SolverBudget getDefaultBudget(int numChars) {
+        return new SolverBudget(5000, 200L * Math.max(numChars, 10), 0);
+    }
+
+    /**
+     * Sets the distances between the slots used by the next searches instead of the ones of the grid. The initial
+     * Keyboards then have a single row with a slot for every character.
+     *
+     * @param distances The distances, or null for the distances of the grid.
+     */
+    public void setDistances(SlotDistanceTable distances) {
+        this.distances = distances;
+    }
+
+    /**
+     * Sets the best Keyboard shared with other algorithms running at the same time. The search offers every improvement
+     * to it, restarts from it when another algorithm improves it, reports its iterations to it and stops when it is
+     * stopped.
+     *
+     * @param incumbent The shared incumbent, or null to run alone.
+     */
+    public void setIncumbent(QAPIncumbent incumbent) {
+        this.incumbent = incumbent;
+    }
+
+    /**
+     * Gets the number of iterations done by the last search.
+     *
+     * @return The number of iterations.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Improves the given layout with the Robust Tabu Search until the budget is exhausted.
+     * The gap limit of the budget is not used, since the search does not compute any lower bound.
+     *
+     * @param transitTable     The matrix extracted from a TransitionMatrix, representing the number of times between 2 letters that the first letter will be written after the second letter.
+     * @param initialPositions The initial positions of the characters, negative on the empty slots.
+     * @param budget           The limits of the search. If it has neither a time nor a node limit, the default number of iterations is used.
+     * @return The best Keyboard found, along with the elapsed time and the iterations done.
+     */
+    public SolverResult solve(int[][] transitTable, int[][] initialPositions, SolverBudget budget) {
+        long startTime = System.currentTimeMillis();
+        LayoutCost layoutCost = distances != null ? new LayoutCost(transitTable, distances)
+                : new LayoutCost(transitTable, initialPositions.length, initialPositions[0].length);
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+
+        int[] permutation = layoutCost.toPermutation(initialPositions);
+        int[] best = permutation.clone();
+        double cost = layoutCost.cost(permutation);
+        double bestCost = cost;
+
+        long maxIterations = budget.getNodeLimit();
+        if (maxIterations <= 0) maxIterations = budget.getTimeLimit() > 0 ? Long.MAX_VALUE : getDefaultBudget(numChars).getNodeLimit();
+        long timeLimit = budget.getTimeLimit();
+
+        // Only the exchanges that move at least one character are considered: the ones between two empty slots
+        // never change the cost
+        double[][] delta = new double[numChars][size];
+        initDeltas(layoutCost, permutation, delta);
+
+        double[] flowDiff = new double[size];
+        double[] distanceDiff = new double[size];
+        // The iteration until which every item cannot be moved to every slot, also indexed by slot and item so that
+        // both checks of an exchange read rows sequentially
+        long[][] tabu = new long[size][size];
+        long[][] tabuBySlot = new long[size][size];
+        int minTenure = Math.max(1, (int) (0.9 * size));
+        int maxTenure = Math.max(minTenure, (int) Math.ceil(1.1 * size));
+        long aspiration = 5L * size * size;
+
+        iterations = 0;
+        // The iterations already reported to the incumbent
+        long reported = 0;
+        while (numChars > 1 && iterations < maxIterations && (timeLimit <= 0 || System.currentTimeMillis() - startTime < timeLimit)) {
+            if (incumbent != null && iterations % SYNC_INTERVAL == 0) {
+                incumbent.addNodes(iterations - reported);
+                reported = iterations;
+                if (incumbent.isStopped()) break;
+                if (incumbent.getCost() < bestCost - 1e-6) {
+                    // Another algorithm has found a better Keyboard, so the search restarts from it
+                    int[] shared = layoutCost.toPermutation(incumbent.get().getSolution());
+                    System.arraycopy(shared, 0, permutation, 0, size);
+                    System.arraycopy(shared, 0, best, 0, size);
+                    cost = bestCost = layoutCost.cost(permutation);
+                    initDeltas(layoutCost, permutation, delta);
+                }
+            }
+            ++iterations;
+            int r = -1, s = -1;
+            double minDelta = Double.POSITIVE_INFINITY;
+            boolean alreadyAspired = false;
+            for (int i = 0; i < numChars; ++i) {
+                long[] tabuI = tabu[i], tabuJ = tabuBySlot[permutation[i]];
+                double[] row = delta[i];
+                for (int j = i + 1; j < size; ++j) {
+                    long untilI = tabuI[permutation[j]], untilJ = tabuJ[j];
+                    boolean authorized = untilI < iterations || untilJ < iterations;
+                    // An exchange is aspired if it improves the best Keyboard or if any of both keys has not been
+                    // moved for too long, which forces the search to visit other regions
+                    boolean aspired = untilI < iterations - aspiration || untilJ < iterations - aspiration
+                            || cost + row[j] < bestCost;
+                    if ((aspired && !alreadyAspired) || (aspired == alreadyAspired && row[j] < minDelta && (aspired || authorized))) {
+                        r = i;
+                        s = j;
+                        minDelta = row[j];
+                        if (aspired) alreadyAspired = true;
+                    }
+                }
+            }
+            if (r < 0) continue;
+
+            int slot = permutation[r];
+            permutation[r] = permutation[s];
+            permutation[s] = slot;
+            cost += delta[r][s];
+            tabu[r][permutation[s]] = iterations + minTenure + random.nextInt(maxTenure - minTenure + 1);
+            tabu[s][permutation[r]] = iterations + minTenure + random.nextInt(maxTenure - minTenure + 1);
+            tabuBySlot[permutation[s]][r] = tabu[r][permutation[s]];
+            tabuBySlot[permutation[r]][s] = tabu[s][permutation[r]];
+
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(permutation, 0, best, 0, size);
+                if (incumbent != null) incumbent.offer(new QAPPartialSolution(layoutCost.toPositions(best), layoutCost.cost(best)));
+            }
+
+            updateDeltas(layoutCost, permutation, delta, r, s, flowDiff, distanceDiff);
+        }
+        if (incumbent != null) incumbent.addNodes(iterations - reported);
+
+        return new SolverResult(layoutCost.toPositions(best), layoutCost.cost(best), 0, iterations,
+                System.currentTimeMillis() - startTime, false);
+    }
+
+    /**
+     * Computes the change of cost of every exchange of a layout.
+     *
+     * @param layoutCost  The evaluator of the layouts.
+     * @param permutation The slot of every item.
+     * @param delta       The matrix where the change of cost of every exchange is stored.
+     */
+    private static void initDeltas(LayoutCost layoutCost, int[] permutation, double[][] delta) {
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = i + 1; j < size; ++j) delta[i][j] = layoutCost.swapDelta(permutation, i, j);
+        }
+    }
+
+    /**
+     * Updates the change of cost of every exchange after the exchange of two items.
+     * The pairs that do not contain any of both items are updated in O(1), and the others are recomputed in O(n).
+     *
+     * @param layoutCost   The evaluator of the layouts.
+     * @param permutation  The slot of every item, after the exchange.
+     * @param delta        The change of cost of every exchange, before the exchange.
+     * @param r            The first item exchanged.
+     * @param s            The second item exchanged.
+     * @param flowDiff     A buffer for the difference between the transits of both items with every item.
+     * @param distanceDiff A buffer for the difference between the distances from the slots of both items to the slot of every item.
+     */
+    private static void updateDeltas(LayoutCost layoutCost, int[] permutation, double[][] delta, int r, int s,
+                                     double[] flowDiff, double[] distanceDiff) {
+        int numChars = layoutCost.getNumChars();
+        int size = layoutCost.getSize();
+        int slotR = permutation[r], slotS = permutation[s];
+        for (int item = 0; item < size; ++item) {
+            flowDiff[item] = layoutCost.getFlow(r, item) - layoutCost.getFlow(s, item);
+            distanceDiff[item] = layoutCost.getDistance(slotR, permutation[item]) - layoutCost.getDistance(slotS, permutation[item]);
+        }
+        for (int i = 0; i < numChars; ++i) {
+            double[] row = delta[i];
+            if (i == r || i == s) {
+                for (int j = i + 1; j < size; ++j) row[j] = layoutCost.swapDelta(permutation, i, j);
+                continue;
+            }
+            double flowI = flowDiff[i], distanceI = distanceDiff[i];
+            for (int j = i + 1; j < size; ++j) row[j] += (flowI - flowDiff[j]) * (distanceDiff[j] - distanceI);
+            if (r > i) row[r] = layoutCost.swapDelta(permutation, i, r);
+            if (s > i) row[s] = layoutCost.swapDelta(permutation, i, s);
+        }
+    }
+}
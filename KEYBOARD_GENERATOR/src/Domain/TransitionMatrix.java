@@ -19,6 +19,11 @@ public class TransitionMatrix {
      */
     private Alphabet alphabet;
 
+    /**
+     * The flow of the Transition Matrix, computed the first time it is needed.
+     */
+    private FlowMatrix flowMatrix;
+
     /**
      * Constructs a Transition Matrix without parameters.
      */
@@ -53,6 +58,18 @@ public class TransitionMatrix {
      */
     public void setTransitionMatrix(int[][] transMatrix) {
         this.transitionMatrix = transMatrix;
+        this.flowMatrix = null;
+    }
+
+    /**
+     * Gets the flow of the Transition Matrix used by the cost functions, which is computed once and kept until the
+     * Transition Matrix is replaced.
+     *
+     * @return The FlowMatrix of the Transition Matrix.
+     */
+    public FlowMatrix getFlowMatrix() {
+        if (flowMatrix == null) flowMatrix = new FlowMatrix(transitionMatrix);
+        return flowMatrix;
     }
 
     /**
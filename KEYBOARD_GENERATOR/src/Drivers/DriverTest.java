@@ -1,6 +1,7 @@
 package Drivers;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Scanner;
 
 import Domain.*;
@@ -328,9 +329,11 @@ public class DriverTest {
     }
 
     public void testCreateKeyboard() throws IOException {
-        System.out.println("Enter the identificator of the ALGORITHM ('QAP' or 'Greedy')\n");
+        String[] algorithms = this.domainCtrl.listAlgorithms();
+        System.out.println("Enter the identificator of the ALGORITHM ('" + String.join("', '", algorithms) + "', optionally followed by '" + AlgorithmController.LOCAL_SEARCH_SUFFIX + "')\n");
         String algorithKey = this.scan.next();
-        if (!algorithKey.equals("QAP") && !algorithKey.equals("Greedy")) {
+        String baseKey = algorithKey.endsWith(AlgorithmController.LOCAL_SEARCH_SUFFIX) ? algorithKey.substring(0, algorithKey.length() - AlgorithmController.LOCAL_SEARCH_SUFFIX.length()) : algorithKey;
+        if (!Arrays.asList(algorithms).contains(baseKey)) {
             System.out.println(
                     "ERROR: Algorithm " + algorithKey + " is not included in the list of algorithms implemented");
             return;
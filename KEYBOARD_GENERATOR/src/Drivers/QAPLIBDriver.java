@@ -0,0 +1,34 @@
+package Drivers;
+
+import java.io.IOException;
+import java.util.List;
+
+import Domain.*;
+import Exceptions.*;
+
+/**
+ * Runs the algorithms on the instances of QAPLIB of a directory and prints their gap to the best known solutions and
+ * their time to reach them, one line per run.
+ * The arguments are the directory, by default the "QAPLIB" directory of the data, and the time limits in
+ * milliseconds separated by commas, by default 1000. Real instances of QAPLIB can be copied to the directory along
+ * with their ".sln" files. The last line tells whether the SIMD or the scalar ArrayKernels were used.
+ */
+public class QAPLIBDriver {
+
+    public static void main(String[] args) throws IOException, NotContainsKey, IncorrectType {
+        DomainController domainCtrl = new DomainController();
+        String directory = args.length > 0 ? args[0] : domainCtrl.getQAPLIBDirectory();
+        String[] limits = (args.length > 1 ? args[1] : "1000").split(",");
+        long[] timeLimits = new long[limits.length];
+        for (int i = 0; i < limits.length; ++i) timeLimits[i] = Long.parseLong(limits[i].trim());
+
+        List<QAPBenchmarkResult> results = domainCtrl.runQAPLIBBenchmark(directory, timeLimits);
+        int reached = 0;
+        for (QAPBenchmarkResult result : results) {
+            System.out.println(result);
+            if (result.getTimeToTarget() >= 0) ++reached;
+        }
+        System.out.println(reached + " of " + results.size() + " runs reached the best known cost");
+        System.out.println("Kernels: " + ArrayKernels.get().getName());
+    }
+}
@@ -26,6 +26,15 @@ public class CSVController {
         }
     }
 
+    /**
+     * Gets the path of the data directory, which holds a directory for every type of files.
+     *
+     * @return The path of the data directory, ending with the separator.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
     /**
      * Retrieves the names of files of a specified type from the index CSV file.
      *
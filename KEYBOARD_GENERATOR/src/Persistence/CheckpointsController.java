@@ -0,0 +1,88 @@
+package Persistence;
+
+import Exceptions.FileNotDeleted;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * The CheckpointsController class manages the checkpoints of the searches of keyboards, saved
+ * in the "Checkpoints" directory as binary files named after the key of the keyboard.
+ * A checkpoint is written to a temporary file first and then moved over the previous one, so a
+ * program closed while saving never leaves a truncated checkpoint.
+ */
+public class CheckpointsController {
+
+    private final CSVController csvCtrl;
+
+    /**
+     * Constructs an instance of CheckpointsController with an associated CSVController.
+     */
+    public CheckpointsController() {
+        this.csvCtrl = new CSVController();
+    }
+
+    /**
+     * Saves the checkpoint of the search of a keyboard, replacing the previous one.
+     *
+     * @param key  The key of the keyboard being searched.
+     * @param data The bytes of the checkpoint.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public void saveCheckpoint(String key, byte[] data) throws IOException {
+        Path file = getFile(key);
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, data);
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Retrieves the checkpoint of the search of a keyboard.
+     *
+     * @param key The key of the keyboard being searched.
+     * @return The bytes of the checkpoint, or null if the keyboard has no checkpoint.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public byte[] getCheckpoint(String key) throws IOException {
+        Path file = getFile(key);
+        if (!Files.exists(file)) return null;
+        return Files.readAllBytes(file);
+    }
+
+    /**
+     * Deletes the checkpoint of the search of a keyboard, if it exists.
+     *
+     * @param key The key of the keyboard being searched.
+     * @throws FileNotDeleted If the file cannot be deleted.
+     */
+    public void deleteCheckpoint(String key) throws FileNotDeleted {
+        try {
+            Files.deleteIfExists(getFile(key));
+        } catch (IOException e) {
+            throw new FileNotDeleted("Checkpoint of " + key + " NOT deleted");
+        }
+    }
+
+    /**
+     * Gets the file of the checkpoint of a keyboard. The characters of the key that are not
+     * letters or digits are written as their hexadecimal code, so every key gets its own file.
+     *
+     * @param key The key of the keyboard being searched.
+     * @return The path of the file.
+     */
+    private Path getFile(String key) {
+        StringBuilder name = new StringBuilder();
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) name.append(c);
+            else name.append('_').append(String.format("%02X", b & 0xFF));
+        }
+        return Paths.get(this.csvCtrl.getPath(), "Checkpoints", name + ".bin");
+    }
+}
@@ -0,0 +1,66 @@
+package Persistence;
+
+import Exceptions.FileNotDeleted;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The LayoutCacheController class manages the layouts of the cache of solved keyboards
+ * through CSV files, one value per line, indexed by the key of the search.
+ */
+public class LayoutCacheController {
+
+    private final CSVController csvCtrl;
+
+    /**
+     * Constructs an instance of LayoutCacheController with an associated CSVController.
+     */
+    public LayoutCacheController() {
+        this.csvCtrl = new CSVController();
+    }
+
+    /**
+     * Retrieves the values of all the cached layouts from the "LayoutCache" type files.
+     *
+     * @return A Vector containing the values of every cached layout, in the order they were saved.
+     * @throws IOException If an I/O error occurs while reading the CSV files.
+     */
+    public Vector<String[]> getAll() throws IOException {
+        Vector<String> fileNames = this.csvCtrl.getFileNames("LayoutCache");
+
+        Vector<String[]> listLayouts = new Vector<>();
+        for (String fileName : fileNames) {
+            listLayouts.add(this.csvCtrl.getStatsFromFile("LayoutCache", fileName));
+        }
+        return listLayouts;
+    }
+
+    /**
+     * Saves a cached layout, replacing the layout saved with the same key.
+     *
+     * @param key   The key of the search that found the layout.
+     * @param stats The values of the layout.
+     * @throws IOException If an I/O error occurs while writing the CSV files.
+     * @throws FileNotDeleted If the file of the replaced layout cannot be deleted.
+     */
+    public void saveLayout(String key, String[] stats) throws IOException, FileNotDeleted {
+        deleteLayout(key);
+        this.csvCtrl.createFile("LayoutCache", key, String.join("\n", stats));
+    }
+
+    /**
+     * Deletes the cached layout with the specified key, if it exists.
+     *
+     * @param key The key of the search that found the layout.
+     * @throws IOException If an I/O error occurs while deleting the CSV file.
+     * @throws FileNotDeleted If the file cannot be deleted.
+     */
+    public void deleteLayout(String key) throws IOException, FileNotDeleted {
+        String[] keyRelation = this.csvCtrl.getKeyRelation("LayoutCache", key);
+
+        if (keyRelation != null) {
+            this.csvCtrl.deleteFile("LayoutCache", keyRelation);
+        }
+    }
+}
@@ -17,14 +17,21 @@ public class PersistenceController {
     private final KeyboardsController keyboardsController;
     private final AlphabetsController alphabetsController;
     private final TransitionsController transitionController;
+    private final LayoutCacheController layoutCacheController;
+    private final CheckpointsController checkpointsController;
+    private final QAPLIBController qaplibController;
 
     /**
-     * Constructs an instance of PersistenceController with associated controllers for keyboards, alphabets, and transition matrices.
+     * Constructs an instance of PersistenceController with associated controllers for keyboards, alphabets, transition matrices
+     * the cache of solved layouts, the checkpoints of the searches and the instances of QAPLIB.
      */
     public PersistenceController() {
         keyboardsController = new KeyboardsController();
         alphabetsController = new AlphabetsController();
         transitionController = new TransitionsController();
+        layoutCacheController = new LayoutCacheController();
+        checkpointsController = new CheckpointsController();
+        qaplibController = new QAPLIBController();
     }
 
     // CREATION
@@ -63,6 +70,29 @@ public class PersistenceController {
         transitionController.createTransition(name, alphabet, transitions);
     }
 
+    /**
+     * Saves a layout of the cache of solved keyboards, replacing the one with the same key.
+     *
+     * @param key   The key of the search that found the layout.
+     * @param stats The values of the layout.
+     * @throws IOException If an I/O error occurs while saving the layout.
+     * @throws FileNotDeleted If the file of the replaced layout cannot be deleted.
+     */
+    public void saveCachedLayout(String key, String[] stats) throws IOException, FileNotDeleted {
+        layoutCacheController.saveLayout(key, stats);
+    }
+
+    /**
+     * Saves the checkpoint of the search of a keyboard, replacing the previous one.
+     *
+     * @param key  The key of the keyboard being searched.
+     * @param data The bytes of the checkpoint.
+     * @throws IOException If an I/O error occurs while saving the checkpoint.
+     */
+    public void saveCheckpoint(String key, byte[] data) throws IOException {
+        checkpointsController.saveCheckpoint(key, data);
+    }
+
     // GETTER LIST
 
     /**
@@ -95,6 +125,70 @@ public class PersistenceController {
         return transitionController.getAll();
     }
 
+    /**
+     * Retrieves the values of all the layouts of the cache of solved keyboards.
+     *
+     * @return A Vector containing the values of every cached layout.
+     * @throws IOException If an I/O error occurs while retrieving the layouts.
+     */
+    public Vector<String[]> getAllCachedLayouts() throws IOException {
+        return layoutCacheController.getAll();
+    }
+
+    /**
+     * Retrieves the checkpoint of the search of a keyboard.
+     *
+     * @param key The key of the keyboard being searched.
+     * @return The bytes of the checkpoint, or null if the keyboard has no checkpoint.
+     * @throws IOException If an I/O error occurs while reading the checkpoint.
+     */
+    public byte[] getCheckpoint(String key) throws IOException {
+        return checkpointsController.getCheckpoint(key);
+    }
+
+    /**
+     * Gets the directory where the instances of QAPLIB are saved by default.
+     *
+     * @return The path of the directory.
+     */
+    public String getQAPLIBDirectory() {
+        return qaplibController.getDirectory();
+    }
+
+    /**
+     * Retrieves the names of the instances of QAPLIB of a directory.
+     *
+     * @param directory The directory of the instances.
+     * @return A Vector containing the names of the instances, in alphabetical order.
+     * @throws IOException If an I/O error occurs while listing the directory.
+     */
+    public Vector<String> getQAPLIBInstanceNames(String directory) throws IOException {
+        return qaplibController.getInstanceNames(directory);
+    }
+
+    /**
+     * Retrieves the two matrices of an instance of QAPLIB.
+     *
+     * @param pathFile The path of the ".dat" file.
+     * @return The first matrix and the second matrix of the instance, in the order of the file.
+     * @throws IOException If an I/O error occurs while reading the instance.
+     */
+    public Pair<int[][], int[][]> getQAPLIBInstance(String pathFile) throws IOException {
+        return qaplibController.readInstance(pathFile);
+    }
+
+    /**
+     * Retrieves the best known solution of an instance of QAPLIB.
+     *
+     * @param pathFile The path of the ".sln" file.
+     * @return The cost of the solution and the location of every facility, starting from 0, or null if the file
+     * does not exist.
+     * @throws IOException If an I/O error occurs while reading the solution.
+     */
+    public Pair<Long, int[]> getQAPLIBSolution(String pathFile) throws IOException {
+        return qaplibController.readSolution(pathFile);
+    }
+
     // DELETE
 
     /**
@@ -130,6 +224,27 @@ public class PersistenceController {
         transitionController.deleteTransition(name);
     }
 
+    /**
+     * Deletes the layout of the cache of solved keyboards with the specified key.
+     *
+     * @param key The key of the search that found the layout.
+     * @throws IOException If an I/O error occurs while deleting the layout.
+     * @throws FileNotDeleted If the file deletion operation fails.
+     */
+    public void deleteCachedLayout(String key) throws IOException, FileNotDeleted {
+        layoutCacheController.deleteLayout(key);
+    }
+
+    /**
+     * Deletes the checkpoint of the search of a keyboard, if it exists.
+     *
+     * @param key The key of the keyboard being searched.
+     * @throws FileNotDeleted If the file deletion operation fails.
+     */
+    public void deleteCheckpoint(String key) throws FileNotDeleted {
+        checkpointsController.deleteCheckpoint(key);
+    }
+
     // MODIFY
 
     /**
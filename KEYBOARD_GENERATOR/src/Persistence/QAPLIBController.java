@@ -0,0 +1,153 @@
+package Persistence;
+
+import Model.Pair;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * The QAPLIBController class reads the instances of the Quadratic Assignment Problem in the format of QAPLIB,
+ * saved in the "QAPLIB" directory: every instance is a ".dat" file with its size followed by its two matrices,
+ * and its best known solution, if any, is a ".sln" file with the same name holding the size, the cost and the
+ * permutation.
+ * The numbers may be separated by any whitespace, and the matrices may span any number of lines.
+ */
+public class QAPLIBController {
+
+    private final CSVController csvCtrl;
+
+    /**
+     * Constructs an instance of QAPLIBController with an associated CSVController.
+     */
+    public QAPLIBController() {
+        this.csvCtrl = new CSVController();
+    }
+
+    /**
+     * Gets the directory where the instances are saved by default.
+     *
+     * @return The path of the "QAPLIB" directory.
+     */
+    public String getDirectory() {
+        return this.csvCtrl.getPath() + "QAPLIB";
+    }
+
+    /**
+     * Retrieves the names of the instances of a directory.
+     *
+     * @param directory The directory of the instances.
+     * @return A Vector containing the names of the ".dat" files without their extension, in alphabetical order.
+     * @throws IOException If an I/O error occurs while listing the directory.
+     */
+    public Vector<String> getInstanceNames(String directory) throws IOException {
+        Vector<String> names = new Vector<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), "*.dat")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                names.add(fileName.substring(0, fileName.length() - ".dat".length()));
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Reads the two matrices of an instance.
+     *
+     * @param pathFile The path of the ".dat" file.
+     * @return The first matrix and the second matrix of the instance, in the order of the file.
+     * @throws IOException If an I/O error occurs while reading the file, or it is not an instance of QAPLIB.
+     */
+    public Pair<int[][], int[][]> readInstance(String pathFile) throws IOException {
+        Scanner scanner = open(pathFile);
+        try {
+            int size = nextInt(scanner, pathFile);
+            if (size <= 0) throw new IOException("Incorrect size of the instance " + pathFile);
+            int[][] first = readMatrix(scanner, size, pathFile);
+            int[][] second = readMatrix(scanner, size, pathFile);
+            return new Pair<>(first, second);
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Reads the best known solution of an instance.
+     *
+     * @param pathFile The path of the ".sln" file.
+     * @return The cost of the solution and the location of every facility, starting from 0, or null if the file
+     * does not exist.
+     * @throws IOException If an I/O error occurs while reading the file, or it is not a solution of QAPLIB.
+     */
+    public Pair<Long, int[]> readSolution(String pathFile) throws IOException {
+        if (!Files.exists(Paths.get(pathFile))) return null;
+        Scanner scanner = open(pathFile);
+        try {
+            int size = nextInt(scanner, pathFile);
+            long cost = nextLong(scanner, pathFile);
+            int[] permutation = new int[size];
+            for (int i = 0; i < size; ++i) {
+                permutation[i] = nextInt(scanner, pathFile) - 1;
+                if (permutation[i] < 0 || permutation[i] >= size) throw new IOException("Incorrect location in " + pathFile);
+            }
+            return new Pair<>(cost, permutation);
+        } finally {
+            scanner.close();
+        }
+    }
+
+    /**
+     * Opens a file to read its numbers.
+     *
+     * @param pathFile The path of the file.
+     * @return A Scanner of the numbers of the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    private Scanner open(String pathFile) throws IOException {
+        return new Scanner(new BufferedReader(new FileReader(pathFile))).useLocale(Locale.ROOT);
+    }
+
+    /**
+     * Reads a square matrix row by row.
+     *
+     * @param scanner  The Scanner of the file.
+     * @param size     The number of rows and columns of the matrix.
+     * @param pathFile The path of the file, for the error messages.
+     * @return The matrix.
+     * @throws IOException If the file ends before the matrix or holds something that is not an integer.
+     */
+    private int[][] readMatrix(Scanner scanner, int size, String pathFile) throws IOException {
+        int[][] matrix = new int[size][size];
+        for (int i = 0; i < size; ++i) {
+            for (int j = 0; j < size; ++j) matrix[i][j] = nextInt(scanner, pathFile);
+        }
+        return matrix;
+    }
+
+    /**
+     * Reads the next integer of a file.
+     *
+     * @param scanner  The Scanner of the file.
+     * @param pathFile The path of the file, for the error messages.
+     * @return The integer.
+     * @throws IOException If the file ends or the next number is not an integer.
+     */
+    private int nextInt(Scanner scanner, String pathFile) throws IOException {
+        if (!scanner.hasNextInt()) throw new IOException("Missing or incorrect number in " + pathFile);
+        return scanner.nextInt();
+    }
+
+    /**
+     * Reads the next long integer of a file.
+     *
+     * @param scanner  The Scanner of the file.
+     * @param pathFile The path of the file, for the error messages.
+     * @return The long integer.
+     * @throws IOException If the file ends or the next number is not an integer.
+     */
+    private long nextLong(Scanner scanner, String pathFile) throws IOException {
+        if (!scanner.hasNextLong()) throw new IOException("Missing or incorrect number in " + pathFile);
+        return scanner.nextLong();
+    }
+}
@@ -1,5 +1,7 @@
 package Presentation;
 
+import Domain.GenerationHandle;
+import Domain.GenerationProgress;
 import Exceptions.ContainsKey;
 import Exceptions.IncorrectType;
 import Exceptions.NotContainsKey;
@@ -8,6 +10,7 @@ import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.IOException;
+import java.util.Locale;
 
 /**
  * The AddKeyboardView class represents a view for adding a new keyboard. It includes
@@ -42,7 +45,10 @@ public class AddKeyboardView {
     private JComboBox transComboBox;
     private JLabel info;
 
-    private volatile boolean thinking = false;
+    /**
+     * The handle of the keyboard generation running, or null if there is none.
+     */
+    private volatile GenerationHandle generation;
 
     /**
      * Constructs a new AddKeyboardView with the specified MainViewController and
@@ -52,8 +58,8 @@ public class AddKeyboardView {
      * @param father The parent JPanel to update after a keyboard is added.
      */
     public AddKeyboardView(MainViewController mv, JPanel father) {
-        algorithmComboBox.addItem("Greedy");
-        algorithmComboBox.addItem("QAP");
+        for (String algorithm : mv.listAlgorithms())
+            algorithmComboBox.addItem(algorithm);
         String[] transitions = new String[0];
         try {
             transitions = mv.listTransitions();
@@ -66,26 +72,27 @@ public class AddKeyboardView {
 
         cancelButton.addActionListener(new ActionListener() {
             /**
-             * Closes the AddKeyboardView when the cancel button is clicked.
+             * Closes the AddKeyboardView when the cancel button is clicked, or stops the keyboard generation running,
+             * which then adds the best keyboard found so far.
              *
              * @param e The event to be processed.
              */
             @Override
             public void actionPerformed(ActionEvent e) {
-                JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(addKeyboardView);
-                frame.setTitle("KeyboardList");
-                try {
-                    KeyboardList keyboardList = new KeyboardList(mv);
-                    frame.setContentPane(keyboardList.getKeyboardList());
-                    frame.setVisible(true);
-                } catch (IOException ex) {
-                    throw new RuntimeException(ex);
+                GenerationHandle running = generation;
+                if (running != null) {
+                    // The search stops at its next check, and the best keyboard found so far is added
+                    running.cancel();
+                    info.setText("Stopping... the best keyboard found so far will be added.");
+                    return;
                 }
+                showKeyboardList(mv);
             }
         });
         acceptButton.addActionListener(new ActionListener() {
             /**
-             * Attempts to add a new keyboard when the accept button is clicked.
+             * Starts adding a new keyboard when the accept button is clicked. The info label shows the progress of the
+             * generation, which adds the keyboard when it finishes.
              *
              * @param e The event to be processed.
              */
@@ -93,44 +100,82 @@ public class AddKeyboardView {
             public void actionPerformed(ActionEvent e) {
                 String transition = (String) transComboBox.getSelectedItem();
                 String algorithm = (String) algorithmComboBox.getSelectedItem();
-                if(thinking){
+                if (generation != null) {
                     info.setText("WARNING! There is a process running. Please wait.");
+                    return;
                 }
-                else {
-                    new Thread(() -> {
-                        thinking = true;
-                        info.setText("Please wait...");
-                        try {
-                            mv.addKeyboard(nameKeyboardField.getText(), transition, algorithm);
-                            JFrame added = new JFrame("Keyboard Added");
-                            added.setContentPane(new OperationCorrect().getOperationCorrect());
-                            added.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-                            added.setSize(500, 500);
-                            added.setVisible(true);
-                            JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(addKeyboardView);
-                            frame.setTitle("KeyboardList");
-                            try {
-                                KeyboardList keyboardList = new KeyboardList(mv);
-                                frame.setContentPane(keyboardList.getKeyboardList());
-                                frame.setVisible(true);
-                            } catch (IOException ex) {
-                                throw new RuntimeException(ex);
-                            }
-                        } catch (IncorrectType | IOException | NotContainsKey | ContainsKey ex) {
-                            JFrame frame = new JFrame("Error");
-                            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-                            frame.setSize(500, 500);
-                            frame.setContentPane(new Error(ex.getMessage()).getErrorPanel());
-                            frame.setVisible(true);
-                        }
-                        info.setText("");
-                        thinking = false;
-                    }).start();
+                GenerationHandle handle;
+                try {
+                    handle = mv.startKeyboard(nameKeyboardField.getText(), transition, algorithm);
+                } catch (IncorrectType | NotContainsKey | ContainsKey ex) {
+                    showError(ex.getMessage());
+                    return;
                 }
+                generation = handle;
+                info.setText("Please wait...");
+                handle.addListener(progress -> SwingUtilities.invokeLater(() -> {
+                    if (generation == handle) info.setText(describe(progress));
+                }));
+                handle.whenDone((result, error) -> SwingUtilities.invokeLater(() -> {
+                    generation = null;
+                    info.setText("");
+                    if (error != null) {
+                        showError(error.getMessage());
+                        return;
+                    }
+                    JFrame added = new JFrame("Keyboard Added");
+                    added.setContentPane(new OperationCorrect().getOperationCorrect());
+                    added.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+                    added.setSize(500, 500);
+                    added.setVisible(true);
+                    showKeyboardList(mv);
+                }));
             }
         });
     }
 
+    /**
+     * Describes the progress of the keyboard generation for the info label.
+     *
+     * @param progress The progress of the generation.
+     * @return The cost of the best keyboard found so far, the lower bound if there is any, and the nodes explored per second.
+     */
+    private static String describe(GenerationProgress progress) {
+        String text = String.format(Locale.ROOT, "Best cost: %.0f", progress.getCost());
+        if (progress.getBound() > 0) text += String.format(Locale.ROOT, " (bound %.0f)", progress.getBound());
+        return text + String.format(Locale.ROOT, ", %.0f nodes/s. Cancel to keep it.", progress.getNodesPerSecond());
+    }
+
+    /**
+     * Shows the given error in a new window.
+     *
+     * @param message The message of the error.
+     */
+    private static void showError(String message) {
+        JFrame frame = new JFrame("Error");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.setSize(500, 500);
+        frame.setContentPane(new Error(message).getErrorPanel());
+        frame.setVisible(true);
+    }
+
+    /**
+     * Replaces this view with the KeyboardList.
+     *
+     * @param mv The MainViewController associated with this AddKeyboardView.
+     */
+    private void showKeyboardList(MainViewController mv) {
+        JFrame frame = (JFrame) SwingUtilities.getWindowAncestor(addKeyboardView);
+        frame.setTitle("KeyboardList");
+        try {
+            KeyboardList keyboardList = new KeyboardList(mv);
+            frame.setContentPane(keyboardList.getKeyboardList());
+            frame.setVisible(true);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     /**
      * Gets the JPanel associated with this AddKeyboardView.
      *
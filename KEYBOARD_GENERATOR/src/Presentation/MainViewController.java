@@ -1,5 +1,6 @@
 package Presentation;
 
+import Domain.GenerationHandle;
 import Exceptions.ContainsKey;
 import Exceptions.FileNotDeleted;
 import Exceptions.IncorrectType;
@@ -71,6 +72,23 @@ public class MainViewController {
         pc.createKeyboard(text, text1, text2);
     }
 
+    /**
+     * Starts adding a new keyboard with the specified parameters using the PresentationController,
+     * without waiting for the algorithm.
+     *
+     * @param text  The key for the new keyboard.
+     * @param text1 The transKey for the new keyboard.
+     * @param text2 The algorithm to be used by the new keyboard.
+     * @return The handle that publishes the progress of the generation and can cancel it.
+     * @throws IncorrectType  If the key for the new keyboard is empty.
+     * @throws NotContainsKey If the PresentationController does not contain the specified transKey.
+     * @throws ContainsKey    If the PresentationController already contains the specified key.
+     */
+    public GenerationHandle startKeyboard(String text, String text1, String text2)
+            throws IncorrectType, NotContainsKey, ContainsKey {
+        return pc.startKeyboard(text, text1, text2);
+    }
+
     /**
      * Deletes the keyboard with the specified name using the PresentationController.
      *
@@ -124,6 +142,15 @@ public class MainViewController {
         return pc.listTransitions();
     }
 
+    /**
+     * Retrieves an array of the algorithms available from the presentation controller.
+     *
+     * @return An array of strings representing the names of the algorithms.
+     */
+    public String[] listAlgorithms() {
+        return pc.listAlgorithms();
+    }
+
     /**
      * Restarts the application by initializing the display.
      *
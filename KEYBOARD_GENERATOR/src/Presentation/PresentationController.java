@@ -1,6 +1,7 @@
 package Presentation;
 
 import Domain.DomainController;
+import Domain.GenerationHandle;
 import Exceptions.*;
 
 import javax.swing.*;
@@ -270,6 +271,15 @@ public class PresentationController {
         return domainController.evaluateKeyboard(name, text);
     }
 
+    /**
+     * Retrieves an array of names representing all available algorithms to create keyboards.
+     *
+     * @return an array of strings containing the names of the algorithms.
+     */
+    public String[] listAlgorithms() {
+        return domainController.listAlgorithms();
+    }
+
     /**
      * Retrieves an array of names representing all available keyboards in the system.
      *
@@ -308,6 +318,23 @@ public class PresentationController {
         domainController.createKeyboard(key, transKey, algorithm);
     }
 
+    /**
+     * Starts creating a new keyboard with the provided parameters on another thread,
+     * with the default budget of the algorithm.
+     *
+     * @param key       The key for the new keyboard.
+     * @param transKey  The transKey for the new keyboard.
+     * @param algorithm The algorithm to be used by the new keyboard.
+     * @return The handle that publishes the progress of the generation and can cancel it.
+     * @throws IncorrectType  If the key for the new keyboard is empty.
+     * @throws NotContainsKey If the domain controller does not contain the specified transKey.
+     * @throws ContainsKey    If the domain controller already contains the specified key.
+     */
+    public GenerationHandle startKeyboard(String key, String transKey, String algorithm)
+            throws IncorrectType, NotContainsKey, ContainsKey {
+        return domainController.startKeyboard(key, transKey, algorithm, null);
+    }
+
     /**
      * Deletes the keyboard with the specified name from the domain controller.
      *
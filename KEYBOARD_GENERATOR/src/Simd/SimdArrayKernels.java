@@ -0,0 +1,111 @@
+package Simd;
+
+import Domain.ScalarArrayKernels;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The ArrayKernels written with the incubating Vector API of the JDK, which uses the widest vector registers of the
+ * processor, such as the ones of AVX2 or AVX-512. It is compiled and run with the module jdk.incubator.vector, and
+ * ArrayKernels loads it by name when that module is present.
+ * Every kernel processes as many elements as the lanes of a vector of doubles at a time, and the elements left over
+ * at the end with the scalar loop. The flows are picked with gathers, which the JIT compiler only turns into vector
+ * instructions when they have no mask, so the columns must all be valid.
+ */
+public class SimdArrayKernels extends ScalarArrayKernels {
+
+    /**
+     * The vectors of doubles of the widest shape of the processor.
+     */
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * The vectors of longs with the same lanes as the vectors of doubles.
+     */
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+
+    /**
+     * The vectors of integers with the same lanes as the vectors of doubles, which are half as wide.
+     */
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    /**
+     * Constructs the SIMD kernels.
+     *
+     * @throws UnsupportedOperationException If the processor cannot hold two doubles in a vector register.
+     */
+    public SimdArrayKernels() {
+        if (DOUBLES.length() < 2) throw new UnsupportedOperationException("No vector registers for doubles");
+    }
+
+    @Override
+    public String getName() {
+        return "simd-" + DOUBLES.vectorBitSize();
+    }
+
+    @Override
+    public double dot(int[] a, int aOffset, double[] b, int bOffset, int length) {
+        int k = 0;
+        int upper = DOUBLES.loopBound(length);
+        double sum = 0;
+        if (upper > 0) {
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            for (; k < upper; k += DOUBLES.length()) {
+                DoubleVector transits = (DoubleVector) IntVector.fromArray(INTS, a, aOffset + k).convertShape(VectorOperators.I2D, DOUBLES, 0);
+                acc = transits.fma(DoubleVector.fromArray(DOUBLES, b, bOffset + k), acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; k < length; ++k) sum += a[aOffset + k] * b[bOffset + k];
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, double[] out, int outOffset, int length) {
+        int k = 0;
+        int upper = DOUBLES.loopBound(length);
+        if (upper > 0) {
+            DoubleVector factor = DoubleVector.broadcast(DOUBLES, alpha);
+            for (; k < upper; k += DOUBLES.length()) {
+                DoubleVector.fromArray(DOUBLES, x, xOffset + k).fma(factor, DoubleVector.fromArray(DOUBLES, y, yOffset + k))
+                        .intoArray(out, outOffset + k);
+            }
+        }
+        for (; k < length; ++k) out[outOffset + k] = y[yOffset + k] + x[xOffset + k] * alpha;
+    }
+
+    @Override
+    public double dotGather(double[] a, int aOffset, long[] flow, int flowOffset, int[] index, int indexOffset, int length) {
+        int k = 0;
+        int upper = DOUBLES.loopBound(length);
+        double sum = 0;
+        if (upper > 0) {
+            DoubleVector acc = DoubleVector.zero(DOUBLES);
+            for (; k < upper; k += DOUBLES.length()) {
+                LongVector flows = LongVector.fromArray(LONGS, flow, flowOffset, index, indexOffset + k);
+                acc = ((DoubleVector) flows.convert(VectorOperators.L2D, 0)).fma(DoubleVector.fromArray(DOUBLES, a, aOffset + k), acc);
+            }
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; k < length; ++k) sum += a[aOffset + k] * flow[flowOffset + index[indexOffset + k]];
+        return sum;
+    }
+
+    @Override
+    public long sumGather(long[] flow, int flowOffset, int[] index, int indexOffset, int length) {
+        int k = 0;
+        int upper = LONGS.loopBound(length);
+        long sum = 0;
+        if (upper > 0) {
+            LongVector acc = LongVector.zero(LONGS);
+            for (; k < upper; k += LONGS.length()) acc = acc.add(LongVector.fromArray(LONGS, flow, flowOffset, index, indexOffset + k));
+            sum = acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (; k < length; ++k) sum += flow[flowOffset + index[indexOffset + k]];
+        return sum;
+    }
+}
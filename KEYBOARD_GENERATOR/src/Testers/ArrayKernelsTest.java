@@ -0,0 +1,113 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.ArrayKernels;
+import org.junit.Test;
+
+/**
+ * Test class for the ArrayKernels used by the application, which are checked against plain loops on vectors longer
+ * than any vector register, so that both the vector loop and the elements left over are covered.
+ */
+public class ArrayKernelsTest {
+
+    /**
+     * The length of the vectors, which is not a multiple of the lanes of any vector register.
+     */
+    private static final int LENGTH = 37;
+
+    /**
+     * The offset of the vectors in their arrays.
+     */
+    private static final int OFFSET = 3;
+
+    /**
+     * Generates the distances of a test.
+     *
+     * @return The distances, starting at OFFSET.
+     */
+    private static double[] distances() {
+        double[] distances = new double[OFFSET + LENGTH];
+        for (int k = 0; k < distances.length; ++k) distances[k] = (k * 7 % 11) * 0.5;
+        return distances;
+    }
+
+    /**
+     * Generates a row of flows followed by the columns of a test.
+     *
+     * @return The columns, starting at OFFSET, which pick the flows in a shuffled order.
+     */
+    private static int[] columns() {
+        int[] columns = new int[OFFSET + LENGTH];
+        for (int k = 0; k < LENGTH; ++k) columns[OFFSET + k] = k * 5 % LENGTH;
+        return columns;
+    }
+
+    /**
+     * Generates the flows of a test, whose row of interest starts at LENGTH.
+     *
+     * @return The flows.
+     */
+    private static long[] flows() {
+        long[] flow = new long[2 * LENGTH];
+        for (int k = 0; k < flow.length; ++k) flow[k] = k * 13 % 17;
+        return flow;
+    }
+
+    /**
+     * Test that the dot product of transits and distances is the one of a plain loop.
+     */
+    @Test
+    public void testDot() {
+        int[] transits = new int[OFFSET + LENGTH];
+        for (int k = 0; k < transits.length; ++k) transits[k] = k % 9;
+        double[] distances = distances();
+        double expected = 0;
+        for (int k = 0; k < LENGTH; ++k) expected += transits[OFFSET + k] * distances[k];
+        assertEquals("The dot product should be the one of a plain loop.", expected, ArrayKernels.get().dot(transits, OFFSET, distances, 0, LENGTH), 1e-9);
+    }
+
+    /**
+     * Test that the linear combination writes every element of the result, and only those.
+     */
+    @Test
+    public void testAxpy() {
+        double[] x = distances();
+        double[] y = new double[LENGTH];
+        for (int k = 0; k < LENGTH; ++k) y[k] = k;
+        double[] out = new double[OFFSET + LENGTH + 1];
+        ArrayKernels.get().axpy(3, x, OFFSET, y, 0, out, 1, LENGTH);
+        assertEquals("The elements before the result should not be written.", 0, out[0], 0);
+        for (int k = 0; k < LENGTH; ++k) assertEquals("Every element should be added.", y[k] + 3 * x[OFFSET + k], out[1 + k], 1e-9);
+        assertEquals("The elements after the result should not be written.", 0, out[1 + LENGTH], 0);
+    }
+
+    /**
+     * Test that the flows are picked by their columns from the given row.
+     */
+    @Test
+    public void testGather() {
+        double[] distances = distances();
+        long[] flow = flows();
+        int[] columns = columns();
+        double expectedDot = 0;
+        long expectedSum = 0;
+        for (int k = 0; k < LENGTH; ++k) {
+            expectedDot += distances[OFFSET + k] * flow[LENGTH + columns[OFFSET + k]];
+            expectedSum += flow[LENGTH + columns[OFFSET + k]];
+        }
+        ArrayKernels kernels = ArrayKernels.get();
+        assertEquals("The dot product should use the flows of the row.", expectedDot, kernels.dotGather(distances, OFFSET, flow, LENGTH, columns, OFFSET, LENGTH), 1e-9);
+        assertEquals("The sum should use the flows of the row.", expectedSum, kernels.sumGather(flow, LENGTH, columns, OFFSET, LENGTH));
+    }
+
+    /**
+     * Test that empty vectors give 0.
+     */
+    @Test
+    public void testEmptyVectors() {
+        ArrayKernels kernels = ArrayKernels.get();
+        assertEquals("An empty dot product should be 0.", 0, kernels.dot(new int[0], 0, new double[0], 0, 0), 0);
+        assertEquals("An empty sum should be 0.", 0, kernels.sumGather(flows(), 0, new int[0], 0, 0));
+    }
+}
@@ -0,0 +1,129 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.AlgorithmController;
+import Domain.GenerationHandle;
+import Domain.GenerationProgress;
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.QAPIncumbent;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the GenerationHandle class.
+ */
+public class GenerationHandleTest {
+
+    /**
+     * Builds a deterministic transition table of the given number of characters.
+     *
+     * @param numChars The number of characters.
+     * @return The transition table.
+     */
+    private static int[][] transitTable(int numChars) {
+        int[][] transitTable = new int[numChars][numChars];
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j) transitTable[i][j] = (i * 7 + j * 13) % 11 + (i + j) % 3;
+            }
+        }
+        return transitTable;
+    }
+
+    /**
+     * Test that the GenerationHandle publishes every better Keyboard, with decreasing costs, and that the last one is
+     * the result of the algorithm.
+     */
+    @Test
+    public void testProgress() throws Exception {
+        int[][] transitTable = transitTable(16);
+        AlgorithmController controller = new AlgorithmController();
+        QAPIncumbent incumbent = new QAPIncumbent();
+        // The listener is added to the incumbent before the generation starts, so that it does not miss any Keyboard
+        List<Double> published = new CopyOnWriteArrayList<>();
+        incumbent.addListener(solution -> published.add(solution.getCost()));
+
+        GenerationHandle handle = new GenerationHandle(incumbent,
+                () -> controller.useAlgorithm(transitTable, "Tabu", new SolverBudget(0, 2000, 0), incumbent));
+        SolverResult result = handle.get(10, TimeUnit.SECONDS);
+
+        assertTrue("The generation should be done.", handle.isDone());
+        assertFalse("The generation should not be cancelled.", handle.isCancelled());
+        assertFalse("The generation should publish its Keyboards.", published.isEmpty());
+        for (int i = 1; i < published.size(); ++i) {
+            assertTrue("Every published Keyboard should be better than the previous one.",
+                    published.get(i) < published.get(i - 1));
+        }
+        assertEquals("The last published Keyboard should be the result.",
+                result.getCost(), published.get(published.size() - 1), 1e-9);
+
+        GenerationProgress progress = handle.getProgress();
+        assertEquals("The progress should have the best Keyboard.", result.getCost(), progress.getCost(), 1e-9);
+        assertEquals("The progress should count every iteration.", 2000, progress.getNodes());
+        assertEquals("The cost of the progress should be the one of its Keyboard.",
+                new KeyboardAvaluator().getTotalCost(progress.getPositions(), transitTable), progress.getCost(), 1e-6);
+    }
+
+    /**
+     * Test that cancelling a GenerationHandle stops the algorithm soon, and that its result is the best Keyboard found
+     * until then.
+     */
+    @Test
+    public void testCancel() throws Exception {
+        int[][] transitTable = transitTable(25);
+        AlgorithmController controller = new AlgorithmController();
+        QAPIncumbent incumbent = new QAPIncumbent();
+        GenerationHandle handle = new GenerationHandle(incumbent,
+                () -> controller.useAlgorithm(transitTable, "Annealing", new SolverBudget(60000, 0, 0), incumbent));
+
+        Thread.sleep(200);
+        assertFalse("The generation should still be running.", handle.isDone());
+        handle.cancel();
+        SolverResult result = handle.get(5, TimeUnit.SECONDS);
+
+        assertTrue("The generation should be cancelled.", handle.isCancelled());
+        assertTrue("The generation should stop soon after being cancelled.", result.getElapsedTime() < 5000);
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        assertTrue("The result should not be worse than the greedy Keyboard.",
+                result.getCost() <= new KeyboardAvaluator().getTotalCost(greedyPositions, transitTable) + 1e-9);
+        assertEquals("The result should be the best Keyboard published.", incumbent.getCost(), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the GenerationHandle publishes the progress periodically while the algorithm does not find any better
+     * Keyboard, and that it stops publishing when the generation finishes.
+     */
+    @Test
+    public void testPeriodicProgress() throws Exception {
+        QAPIncumbent incumbent = new QAPIncumbent();
+        GenerationHandle handle = new GenerationHandle(incumbent, () -> {
+            for (int i = 0; i < 10; ++i) {
+                incumbent.addNodes(100);
+                Thread.sleep(GenerationHandle.PROGRESS_PERIOD / 2);
+            }
+            return new SolverResult(new int[][] {{ -1 }}, 0, 0, incumbent.getNodes(), 0, false);
+        });
+        List<GenerationProgress> published = new CopyOnWriteArrayList<>();
+        handle.addListener(published::add);
+        handle.get(10, TimeUnit.SECONDS);
+
+        assertTrue("The progress should be published periodically.", published.size() >= 2);
+        for (int i = 1; i < published.size(); ++i) {
+            assertTrue("The published nodes should not decrease.",
+                    published.get(i).getNodes() >= published.get(i - 1).getNodes());
+        }
+        assertTrue("The periodic progress should count the nodes.", published.get(published.size() - 1).getNodes() > 0);
+        assertNull("There should be no Keyboard before the algorithm finds one.", published.get(0).getPositions());
+
+        int finished = published.size();
+        Thread.sleep(3 * GenerationHandle.PROGRESS_PERIOD);
+        assertEquals("The progress should not be published after the generation finishes.", finished, published.size());
+    }
+}
@@ -0,0 +1,89 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GeneticAlgorithm;
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.QAPAlgorithm;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Test class for the GeneticAlgorithm class.
+ */
+public class GeneticAlgorithmTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7},
+            {3, 0, 4, 1, 0, 2},
+            {1, 6, 0, 2, 3, 0},
+            {0, 2, 8, 0, 1, 4},
+            {5, 0, 1, 3, 0, 2},
+            {2, 1, 0, 6, 4, 0}
+    };
+
+    /**
+     * Test that the {@code solve} method of the GeneticAlgorithm class finds the optimal Keyboard of a small
+     * TransitionMatrix.
+     */
+    @Test
+    public void testSolve() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int initialBound = (int) (avaluator.avaluateKeyboard(greedyPositions, transitTable) * 100);
+        int[][] optimal = new QAPAlgorithm().getPositions(transitTable, greedyPositions, initialBound);
+
+        SolverResult result = new GeneticAlgorithm(2, 1).solve(transitTable, greedyPositions, new SolverBudget(0, 200, 0));
+
+        assertEquals("The genetic algorithm should find the optimal Keyboard.",
+                avaluator.avaluateKeyboard(optimal, transitTable),
+                avaluator.avaluateKeyboard(result.getPositions(), transitTable), 1e-9);
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                avaluator.getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the {@code solve} method of the GeneticAlgorithm class respects the node limit and is reproducible
+     * with the same seed, even if its islands evolve in parallel.
+     */
+    @Test
+    public void testSolveSeed() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        SolverBudget budget = new SolverBudget(0, 50, 0);
+
+        SolverResult first = new GeneticAlgorithm(3, 7).solve(transitTable, greedyPositions, budget);
+        SolverResult second = new GeneticAlgorithm(3, 7).solve(transitTable, greedyPositions, budget);
+
+        assertEquals("The genetic algorithm should stop at the node limit.", 50, first.getNodes());
+        assertArrayEquals("The same seed should give the same Keyboard.", first.getPositions(), second.getPositions());
+    }
+
+    /**
+     * Test that the {@code solve} method of the GeneticAlgorithm class respects a time limit too short to build its
+     * islands, and still gives a Keyboard with its cost.
+     */
+    @Test
+    public void testSolveTimeLimit() {
+        int numChars = 80;
+        Random random = new Random(1);
+        int[][] transits = new int[numChars][numChars];
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j) transits[i][j] = random.nextInt(100);
+            }
+        }
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transits);
+
+        long start = System.currentTimeMillis();
+        SolverResult result = new GeneticAlgorithm(4, 1).solve(transits, greedyPositions, new SolverBudget(100, 0, 0));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue("The genetic algorithm should stop soon after the time limit, not after " + elapsed + " ms.", elapsed < 300);
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                new KeyboardAvaluator().getTotalCost(result.getPositions(), transits), result.getCost(), 1e-6);
+    }
+}
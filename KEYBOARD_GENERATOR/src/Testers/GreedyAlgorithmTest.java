@@ -40,6 +40,25 @@ public class GreedyAlgorithmTest {
         assertTrue("Result should be a valid distribution.", isValidDistribution(result));
     }
 
+    /**
+     * Test that the {@code getPositions} method keeps the pinned characters on their slots.
+     */
+    @Test
+    public void testGetPositionsPinned() {
+        GreedyAlgorithm greedyAlgorithm = new GreedyAlgorithm();
+        int[][] transitTable = {
+                {0, 1, 2},
+                {3, 4, 5},
+                {6, 7, 8}
+        };
+
+        // The character with the most transits would be placed on the first slot without pinning it
+        int[][] result = greedyAlgorithm.getPositions(transitTable, new int[] {-1, -1, 2});
+
+        assertEquals("The pinned character should stay on its slot.", 2, result[2][0]);
+        assertTrue("Result should have unique character indices.", areUnique(result));
+    }
+
     /**
      * Check if all elements in the 2D array are unique.
      *
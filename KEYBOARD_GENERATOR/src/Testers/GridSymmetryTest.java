@@ -0,0 +1,70 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GridSymmetry;
+import org.junit.Test;
+
+/**
+ * Test class for the GridSymmetry class.
+ */
+public class GridSymmetryTest {
+
+    /**
+     * Gives the row-major order of the first slots of a grid.
+     *
+     * @param numChars The number of slots used.
+     * @return The slot of every depth.
+     */
+    private static int[] rowMajor(int numChars) {
+        int[] slotOrder = new int[numChars];
+        for (int depth = 0; depth < numChars; ++depth) slotOrder[depth] = depth;
+        return slotOrder;
+    }
+
+    /**
+     * Test that only the symmetries that keep the used slots and the pinned slots in place are counted.
+     */
+    @Test
+    public void testGetOrder() {
+        assertEquals("A full square grid should have 8 symmetries.", 8, new GridSymmetry(3, 3, rowMajor(9), 0, 0, 1).getOrder());
+        assertEquals("A full rectangular grid should have 4 symmetries.", 4, new GridSymmetry(4, 3, rowMajor(12), 0, 0, 1).getOrder());
+        assertEquals("A partial grid should have no symmetry.", 1, new GridSymmetry(4, 3, rowMajor(10), 0, 0, 1).getOrder());
+        assertEquals("Pinning the center should keep every symmetry.", 8,
+                new GridSymmetry(3, 3, new int[] {4, 0, 1, 2, 3, 5, 6, 7, 8}, 1, 0, 1).getOrder());
+        assertEquals("Pinning a corner should only keep the transposition.", 2,
+                new GridSymmetry(3, 3, new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, 1, 1, 2).getOrder());
+    }
+
+    /**
+     * Test that the first character is restricted to the first slot of every orbit of a full square grid.
+     */
+    @Test
+    public void testIsAllowedFirst() {
+        GridSymmetry symmetry = new GridSymmetry(3, 3, rowMajor(9), 0, 0, 1);
+        int[] partialPositions = new int[9];
+        assertTrue("A corner should be allowed.", symmetry.isAllowed(0, 0, partialPositions));
+        partialPositions[0] = 1;
+        assertFalse("A mirrored edge should not be allowed.", symmetry.isAllowed(3, 0, partialPositions));
+        assertTrue("The center should be allowed.", symmetry.isAllowed(4, 0, partialPositions));
+        partialPositions[1] = 3;
+        partialPositions[2] = 4;
+        partialPositions[3] = 5;
+        assertFalse("The center should be kept for the first character, since it has not been placed.", symmetry.isAllowed(4, 6, partialPositions));
+    }
+
+    /**
+     * Test that the second character is restricted by the symmetries that keep the slot of the first one in place.
+     */
+    @Test
+    public void testIsAllowedSecond() {
+        GridSymmetry symmetry = new GridSymmetry(3, 3, rowMajor(9), 0, 0, 1);
+        int[] partialPositions = new int[9];
+        partialPositions[0] = 0;
+        assertTrue("The edge next to the corner should be allowed.", symmetry.isAllowed(1, 1, partialPositions));
+        partialPositions[1] = 2;
+        partialPositions[2] = 3;
+        assertFalse("The transposed edge should not be allowed.", symmetry.isAllowed(3, 1, partialPositions));
+        assertTrue("Another character should be allowed on the transposed edge.", symmetry.isAllowed(3, 4, partialPositions));
+    }
+}
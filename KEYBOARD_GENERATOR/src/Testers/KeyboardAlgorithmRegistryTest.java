@@ -0,0 +1,131 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.AlgorithmCapability;
+import Domain.AlgorithmController;
+import Domain.AlgorithmParameters;
+import Domain.KeyboardAlgorithm;
+import Domain.KeyboardAlgorithmRegistry;
+import Domain.QAPIncumbent;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Test class for the KeyboardAlgorithmRegistry class and the KeyboardAlgorithms of the application.
+ */
+public class KeyboardAlgorithmRegistryTest {
+
+    private KeyboardAlgorithmRegistry registry;
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7, 1},
+            {3, 0, 4, 1, 0, 2, 6},
+            {1, 6, 0, 2, 3, 0, 2},
+            {0, 2, 8, 0, 1, 4, 0},
+            {5, 0, 1, 3, 0, 2, 3},
+            {2, 1, 0, 6, 4, 0, 1},
+            {4, 0, 2, 1, 0, 3, 0}
+    };
+
+    /**
+     * Set up the registry before each test.
+     */
+    @Before
+    public void setUp() {
+        registry = new KeyboardAlgorithmRegistry();
+    }
+
+    /**
+     * Test that the registry contains the algorithms of the application, in order, with their capabilities.
+     */
+    @Test
+    public void testBuiltInAlgorithms() {
+        String[] names = {"Greedy", "QAP", "QAPParallel", "QAPAssignment", "Tabu", "Annealing", "Genetic", "LNS", "Portfolio"};
+        String[] registered = registry.getNames();
+        for (int i = 0; i < names.length; ++i) {
+            assertEquals("The algorithms of the application should be registered in order.", names[i], registered[i]);
+            assertEquals("The algorithm should be found by its name.", names[i], registry.get(names[i]).getName());
+        }
+        assertNull("An unknown algorithm should not be found.", registry.get("Unknown"));
+
+        assertTrue("The QAP should be exact.", registry.get("QAP").getCapabilities().contains(AlgorithmCapability.EXACT));
+        assertFalse("The QAP should run on a single thread.", registry.get("QAP").getCapabilities().contains(AlgorithmCapability.PARALLEL));
+        assertTrue("The QAPParallel should be parallel.", registry.get("QAPParallel").getCapabilities().contains(AlgorithmCapability.PARALLEL));
+        assertEquals("The Tabu should be anytime and use given distances.", EnumSet.of(AlgorithmCapability.ANYTIME, AlgorithmCapability.CUSTOM_DISTANCES),
+                registry.get("Tabu").getCapabilities());
+        assertEquals("The Greedy should only keep the pinned keys.", EnumSet.of(AlgorithmCapability.PINNED_KEYS), registry.get("Greedy").getCapabilities());
+    }
+
+    /**
+     * Test that the seed of the parameters makes the randomized algorithms reproducible.
+     */
+    @Test
+    public void testSeed() {
+        AlgorithmParameters parameters = new AlgorithmParameters(new SolverBudget(0, 300, 0));
+        parameters.setSeed(42L);
+        for (String name : new String[] {"Tabu", "Annealing"}) {
+            SolverResult first = registry.get(name).solve(transitTable, parameters, null);
+            SolverResult second = registry.get(name).solve(transitTable, parameters, null);
+            assertArrayEquals("The same seed should give the same Keyboard.", first.getPositions(), second.getPositions());
+        }
+    }
+
+    /**
+     * Test that the AlgorithmController runs an algorithm registered at runtime, and still rejects unknown algorithms.
+     */
+    @Test
+    public void testRegister() {
+        registry.register(new KeyboardAlgorithm() {
+            @Override
+            public String getName() {
+                return "Identity";
+            }
+
+            @Override
+            public Set<AlgorithmCapability> getCapabilities() {
+                return EnumSet.noneOf(AlgorithmCapability.class);
+            }
+
+            @Override
+            public SolverBudget getDefaultBudget(int numChars) {
+                return new SolverBudget(0, 0, 0);
+            }
+
+            @Override
+            public SolverResult solve(int[][] transitTable, AlgorithmParameters parameters, QAPIncumbent incumbent) {
+                return new SolverResult(new int[][] {{0, 1, 2}, {3, 4, 5}, {6, -1, -1}}, 0, 0, 0, 0, false);
+            }
+        });
+        AlgorithmController controller = new AlgorithmController(registry);
+
+        assertArrayEquals("The registered algorithm should be used.", new int[][] {{0, 1, 2}, {3, 4, 5}, {6, -1, -1}},
+                controller.useAlgorithm(transitTable, "Identity"));
+        assertEquals("An unknown algorithm should fail.", -1, controller.useAlgorithm(transitTable, "Unknown")[0][0]);
+    }
+
+    /**
+     * Test that the AlgorithmController keeps the pinned characters with the algorithms that can, and rejects the
+     * others.
+     */
+    @Test
+    public void testPinnedKeys() {
+        AlgorithmController controller = new AlgorithmController(registry);
+        AlgorithmParameters parameters = new AlgorithmParameters(new SolverBudget(0, 0, 0));
+        // The grid of 7 characters has 4 rows and 2 columns
+        parameters.setPinnedSlots(new int[] {-1, 7, -1, -1, -1, -1, 0});
+
+        for (String name : new String[] {"Greedy", "Greedy+LocalSearch", "QAP"}) {
+            int[][] positions = controller.useAlgorithm(transitTable, name, parameters, null).getPositions();
+            assertEquals("The " + name + " should keep the first pinned character.", 1, positions[3][1]);
+            assertEquals("The " + name + " should keep the second pinned character.", 6, positions[0][0]);
+        }
+        assertEquals("An algorithm that cannot keep the pinned characters should fail.", -1,
+                controller.useAlgorithm(transitTable, "Tabu", parameters, null).getPositions()[0][0]);
+    }
+}
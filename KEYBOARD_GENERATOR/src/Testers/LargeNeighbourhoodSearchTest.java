@@ -0,0 +1,141 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.LargeNeighbourhoodSearch;
+import Domain.LocalSearch;
+import Domain.QAPAlgorithm;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for the LargeNeighbourhoodSearch class.
+ */
+public class LargeNeighbourhoodSearchTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7},
+            {3, 0, 4, 1, 0, 2},
+            {1, 6, 0, 2, 3, 0},
+            {0, 2, 8, 0, 1, 4},
+            {5, 0, 1, 3, 0, 2},
+            {2, 1, 0, 6, 4, 0}
+    };
+
+    /**
+     * Builds a sparse TransitionMatrix of the given number of characters.
+     *
+     * @param numChars The number of characters.
+     * @return The transits between every pair of characters.
+     */
+    private static int[][] randomTransitTable(int numChars) {
+        Random random = new Random(5);
+        int[][] transits = new int[numChars][numChars];
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j && random.nextInt(4) == 0) transits[i][j] = random.nextInt(50);
+            }
+        }
+        return transits;
+    }
+
+    /**
+     * Test that a neighbourhood with every character is solved exactly.
+     */
+    @Test
+    public void testSolveWholeKeyboard() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int initialBound = (int) (avaluator.avaluateKeyboard(greedyPositions, transitTable) * 100);
+        int[][] optimal = new QAPAlgorithm().getPositions(transitTable, greedyPositions, initialBound);
+
+        LargeNeighbourhoodSearch lns = new LargeNeighbourhoodSearch(1, 1);
+        SolverResult result = lns.solve(transitTable, greedyPositions, new SolverBudget(0, 100, 0));
+
+        assertEquals("A single neighbourhood should be solved.", 1, lns.getIterations());
+        assertEquals("The search should find the optimal Keyboard.",
+                avaluator.getTotalCost(optimal, transitTable), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the search improves a big Keyboard with neighbourhoods solved in parallel, and that the cost of the
+     * result is the one of its Keyboard.
+     */
+    @Test
+    public void testSolveParallel() {
+        int[][] transits = randomTransitTable(40);
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transits);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+
+        LargeNeighbourhoodSearch lns = new LargeNeighbourhoodSearch(3, 4);
+        SolverResult result = lns.solve(transits, greedyPositions, new SolverBudget(0, 40, 0));
+
+        assertEquals("The search should stop at the node limit.", 40, lns.getIterations());
+        assertTrue("The search should improve the initial Keyboard.",
+                result.getCost() < avaluator.getTotalCost(greedyPositions, transits));
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                avaluator.getTotalCost(result.getPositions(), transits), result.getCost(), 1e-6);
+        boolean[] placed = new boolean[40];
+        for (int[] row : result.getPositions()) {
+            for (int character : row) {
+                if (character < 0) continue;
+                assertFalse("Every character should be placed once.", placed[character]);
+                placed[character] = true;
+            }
+        }
+    }
+
+    /**
+     * Test that the search is not worse than the LocalSearch from the same Keyboard, on dense and sparse
+     * TransitionMatrices.
+     */
+    @Test
+    public void testNotWorseThanLocalSearch() {
+        for (int numChars : new int[] {40, 100}) {
+            Random random = new Random(1);
+            int[][] transits = new int[numChars][numChars];
+            for (int i = 0; i < numChars; ++i) {
+                for (int j = 0; j < numChars; ++j) {
+                    if (i != j) transits[i][j] = random.nextInt(100);
+                }
+            }
+            for (int[][] table : new int[][][] {transits, randomTransitTable(numChars)}) {
+                int[][] greedyPositions = new GreedyAlgorithm().getPositions(table);
+                SolverResult localSearch = new LocalSearch(1).solve(table, greedyPositions, LocalSearch.getDefaultBudget(numChars));
+                SolverResult result = new LargeNeighbourhoodSearch(1, 1).solve(table, greedyPositions, new SolverBudget(0, 50, 0));
+
+                assertTrue("The search should not be worse than the LocalSearch with " + numChars + " characters.",
+                        result.getCost() <= localSearch.getCost() + 1e-6);
+                assertEquals("The cost of the result should be the one of its Keyboard.",
+                        new KeyboardAvaluator().getTotalCost(result.getPositions(), table), result.getCost(), 1e-6);
+            }
+        }
+    }
+
+    /**
+     * Test that the pinned characters are never freed.
+     */
+    @Test
+    public void testPinnedSlots() {
+        int[][] transits = randomTransitTable(20);
+        int[] pinnedSlots = new int[20];
+        Arrays.fill(pinnedSlots, -1);
+        pinnedSlots[3] = 0;
+        pinnedSlots[7] = 10;
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transits, pinnedSlots);
+
+        LargeNeighbourhoodSearch lns = new LargeNeighbourhoodSearch(3, 2);
+        lns.setPinnedSlots(pinnedSlots);
+        SolverResult result = lns.solve(transits, greedyPositions, new SolverBudget(0, 20, 0));
+
+        int cols = result.getPositions()[0].length;
+        assertEquals("The first pinned character should stay on its slot.", 3, result.getPositions()[0][0]);
+        assertEquals("The second pinned character should stay on its slot.", 7, result.getPositions()[10 / cols][10 % cols]);
+    }
+}
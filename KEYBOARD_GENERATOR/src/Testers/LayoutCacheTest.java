@@ -0,0 +1,173 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.AlgorithmParameters;
+import Domain.Alphabet;
+import Domain.CachedLayout;
+import Domain.GenerationHandle;
+import Domain.KeyboardController;
+import Domain.LayoutCache;
+import Domain.LayoutCacheStore;
+import Domain.QAPIncumbent;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import Domain.TransitionMatrix;
+import Model.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the LayoutCache class and its use by the KeyboardController.
+ */
+public class LayoutCacheTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7, 1},
+            {3, 0, 4, 1, 0, 2, 6},
+            {1, 6, 0, 2, 3, 0, 2},
+            {0, 2, 8, 0, 1, 4, 0},
+            {5, 0, 1, 3, 0, 2, 3},
+            {2, 1, 0, 6, 4, 0, 1},
+            {4, 0, 2, 1, 0, 3, 0}
+    };
+
+    /**
+     * Builds a CachedLayout with the given key and budget.
+     *
+     * @param key    The key of the search.
+     * @param budget The budget of the search.
+     * @return The CachedLayout.
+     */
+    private static CachedLayout layout(String key, SolverBudget budget) {
+        return new CachedLayout(key, "Tabu", new int[][] {{0, 1, 2}, {3, 4, 5}, {6, -1, -1}}, 12.5, 3.25, false, budget);
+    }
+
+    /**
+     * Test that the key of a search depends on the matrix, the algorithm and the seed, but not on the budget.
+     */
+    @Test
+    public void testKey() {
+        String key = LayoutCache.getKey(transitTable, "QAP", new AlgorithmParameters(new SolverBudget(100, 0, 0)));
+        assertEquals("The budget should not change the key.", key,
+                LayoutCache.getKey(transitTable, "QAP", new AlgorithmParameters(new SolverBudget(900, 5, 0))));
+        assertFalse("The algorithm should change the key.",
+                key.equals(LayoutCache.getKey(transitTable, "Tabu", new AlgorithmParameters())));
+
+        AlgorithmParameters seeded = new AlgorithmParameters();
+        seeded.setSeed(7L);
+        assertFalse("The seed should change the key.", key.equals(LayoutCache.getKey(transitTable, "QAP", seeded)));
+
+        int[][] other = new int[transitTable.length][];
+        for (int i = 0; i < other.length; ++i) other[i] = transitTable[i].clone();
+        other[2][5] += 1;
+        assertFalse("The matrix should change the key.",
+                key.equals(LayoutCache.getKey(other, "QAP", new AlgorithmParameters())));
+    }
+
+    /**
+     * Test that a cached layout covers the budgets that are not looser than its own, and survives the round trip to
+     * the values stored on disk.
+     */
+    @Test
+    public void testCoversAndStats() {
+        CachedLayout cached = layout("k", new SolverBudget(1000, 500, 0.1));
+        assertTrue("A smaller budget should be covered.", cached.covers(new SolverBudget(500, 100, 0.2)));
+        assertFalse("A longer time limit should not be covered.", cached.covers(new SolverBudget(2000, 100, 0.2)));
+        assertFalse("No node limit should not be covered.", cached.covers(new SolverBudget(500, 0, 0.2)));
+        assertFalse("A tighter gap should not be covered.", cached.covers(new SolverBudget(500, 100, 0.05)));
+
+        CachedLayout loaded = CachedLayout.fromStats(cached.toStats());
+        assertEquals("The key should be stored.", "k", loaded.getKey());
+        assertEquals("The algorithm should be stored.", "Tabu", loaded.getAlgorithm());
+        assertArrayEquals("The positions should be stored.", cached.getPositions(), loaded.getPositions());
+        assertEquals("The cost should be stored.", 12.5, loaded.getCost(), 0);
+        assertEquals("The bound should be stored.", 3.25, loaded.getBound(), 0);
+        assertEquals("The node limit should be stored.", 500, loaded.getBudget().getNodeLimit());
+    }
+
+    /**
+     * Test that the LayoutCache evicts the least recently used layout and keeps the store up to date.
+     */
+    @Test
+    public void testEviction() {
+        List<String> saved = new ArrayList<>(), deleted = new ArrayList<>();
+        LayoutCache cache = new LayoutCache(2);
+        cache.setStore(new LayoutCacheStore() {
+            @Override
+            public void save(CachedLayout layout) {
+                saved.add(layout.getKey());
+            }
+
+            @Override
+            public void delete(String key) {
+                deleted.add(key);
+            }
+        });
+        SolverBudget budget = new SolverBudget(100, 0, 0);
+        cache.put(layout("a", budget));
+        cache.put(layout("b", budget));
+        assertNotNull("The layout should be cached.", cache.get("a"));
+        cache.put(layout("c", budget));
+
+        assertEquals("The cache should not exceed its capacity.", 2, cache.size());
+        assertNull("The least recently used layout should be evicted.", cache.get("b"));
+        assertNotNull("The recently used layout should be kept.", cache.get("a"));
+        assertEquals("Every layout should be saved.", 3, saved.size());
+        assertEquals("The evicted layout should be deleted from the store.", List.of("b"), deleted);
+    }
+
+    /**
+     * Test that the KeyboardController serves a repeated search from the cache, and warm-starts a search with a larger
+     * budget from the cached Keyboard.
+     */
+    @Test
+    public void testCreateKeyboard() throws Exception {
+        Alphabet alphabet = new Alphabet("abc", new char[]{'a', 'b', 'c', 'd', 'e', 'f', 'g'});
+        TransitionMatrix transitionMatrix = new TransitionMatrix("tm", alphabet, transitTable);
+        KeyboardController controller = new KeyboardController(new Vector<Pair<String, char[][]>>());
+
+        SolverResult first = controller.createKeyboard("k1", transitionMatrix, alphabet, "Tabu", new SolverBudget(0, 50, 0));
+        assertTrue("The first search should explore nodes.", first.getNodes() > 0);
+
+        SolverResult repeated = controller.createKeyboard("k2", transitionMatrix, alphabet, "Tabu", new SolverBudget(0, 50, 0));
+        assertEquals("The repeated search should be served from the cache.", 0, repeated.getNodes());
+        assertArrayEquals("The repeated search should give the cached Keyboard.", first.getPositions(), repeated.getPositions());
+
+        SolverResult larger = controller.createKeyboard("k3", transitionMatrix, alphabet, "Tabu", new SolverBudget(0, 500, 0));
+        assertTrue("The larger search should explore nodes.", larger.getNodes() > 0);
+        assertTrue("The larger search should not be worse than the cached Keyboard.", larger.getCost() <= first.getCost() + 1e-9);
+        assertEquals("The larger search should replace the cached Keyboard.", larger.getCost(),
+                controller.getLayoutCache().get(LayoutCache.getKey(transitTable, "Tabu", new AlgorithmParameters())).getCost(), 1e-9);
+    }
+
+    /**
+     * Test that a cancelled search is not cached, so that a repeated search with the same budget still explores nodes
+     * instead of getting the Keyboard of the cancelled one.
+     */
+    @Test
+    public void testCancelledNotCached() throws Exception {
+        Alphabet alphabet = new Alphabet("abc", new char[]{'a', 'b', 'c', 'd', 'e', 'f', 'g'});
+        TransitionMatrix transitionMatrix = new TransitionMatrix("tm", alphabet, transitTable);
+        KeyboardController controller = new KeyboardController(new Vector<Pair<String, char[][]>>());
+        SolverBudget budget = new SolverBudget(60000, 0, 0);
+
+        SolverResult[] results = new SolverResult[2];
+        for (int k = 0; k < 2; ++k) {
+            String key = "k" + k;
+            QAPIncumbent incumbent = new QAPIncumbent();
+            GenerationHandle handle = new GenerationHandle(incumbent,
+                    () -> controller.createKeyboard(key, transitionMatrix, alphabet, "Tabu", budget, incumbent));
+            Thread.sleep(200);
+            handle.cancel();
+            results[k] = handle.get(5, TimeUnit.SECONDS);
+            assertNull("The cancelled search should not be cached.",
+                    controller.getLayoutCache().get(LayoutCache.getKey(transitTable, "Tabu", new AlgorithmParameters())));
+        }
+        assertTrue("The repeated search should explore nodes.", results[1].getNodes() > 0);
+    }
+}
@@ -0,0 +1,49 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.LinearAssignment;
+import org.junit.Test;
+
+/**
+ * Test class for the LinearAssignment class.
+ */
+public class LinearAssignmentTest {
+
+    /**
+     * Test the {@code solve} method of the LinearAssignment class against a known optimal assignment.
+     */
+    @Test
+    public void testSolve() {
+        double[][] cost = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2}
+        };
+
+        LinearAssignment assignment = new LinearAssignment(3);
+
+        // The optimal assignment is row 0 -> column 1, row 1 -> column 0 and row 2 -> column 2
+        assertEquals("The lowest cost should be found.", 5, assignment.solve(cost, 3, null, 0), 1e-9);
+    }
+
+    /**
+     * Test that warm-starting the {@code solve} method from arbitrary dual values gives the same optimal cost.
+     */
+    @Test
+    public void testSolveWarmStart() {
+        double[][] cost = {
+                {7, 5, 9, 8},
+                {3, 6, 4, 2},
+                {6, 8, 1, 7},
+                {5, 2, 6, 4}
+        };
+        double[] columnDuals = {10, -4, 3, 0.5};
+
+        LinearAssignment assignment = new LinearAssignment(4);
+        double cold = assignment.solve(cost, 4, null, 0);
+        double warm = assignment.solve(cost, 4, columnDuals, 0);
+
+        assertEquals("Warm-starting should not change the optimal cost.", cold, warm, 1e-9);
+    }
+}
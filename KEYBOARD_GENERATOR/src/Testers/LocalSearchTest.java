@@ -0,0 +1,79 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GreedyAlgorithm;
+import Domain.ImprovementStrategy;
+import Domain.KeyboardAvaluator;
+import Domain.LayoutCost;
+import Domain.LocalSearch;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+/**
+ * Test class for the LocalSearch class.
+ */
+public class LocalSearchTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7, 1},
+            {3, 0, 4, 1, 0, 2, 6},
+            {1, 6, 0, 2, 3, 0, 2},
+            {0, 2, 8, 0, 1, 4, 0},
+            {5, 0, 1, 3, 0, 2, 3},
+            {2, 1, 0, 6, 4, 0, 1},
+            {4, 0, 2, 1, 0, 3, 0}
+    };
+
+    /**
+     * Test that the {@code solve} method of the LocalSearch class gives a local optimum no worse than the initial
+     * Keyboard, with every strategy and in parallel.
+     */
+    @Test
+    public void testSolve() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        double greedyCost = avaluator.getTotalCost(greedyPositions, transitTable);
+
+        for (ImprovementStrategy strategy : ImprovementStrategy.values()) {
+            for (int parallelism = 1; parallelism <= 2; ++parallelism) {
+                LocalSearch localSearch = new LocalSearch(parallelism);
+                localSearch.setStrategy(strategy);
+                SolverResult result = localSearch.solve(transitTable, greedyPositions, new SolverBudget(0, 0, 0));
+
+                assertTrue("Local search should not worsen the initial Keyboard.", result.getCost() <= greedyCost + 1e-9);
+                assertEquals("The cost of the result should be the one of its Keyboard.",
+                        avaluator.getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-9);
+
+                LayoutCost layoutCost = new LayoutCost(transitTable, greedyPositions.length, greedyPositions[0].length);
+                int[] permutation = layoutCost.toPermutation(result.getPositions());
+                for (int r = 0; r < transitTable.length; ++r) {
+                    for (int s = r + 1; s < layoutCost.getSize(); ++s) {
+                        assertTrue("No exchange should improve a local optimum.", layoutCost.swapDelta(permutation, r, s) > -1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that the {@code cycleDelta} method of the LayoutCost class gives the change of the cost of a rotation of
+     * three keys.
+     */
+    @Test
+    public void testCycleDelta() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        LayoutCost layoutCost = new LayoutCost(transitTable, greedyPositions.length, greedyPositions[0].length);
+        int[] permutation = layoutCost.toPermutation(greedyPositions);
+        double cost = layoutCost.cost(permutation);
+
+        double delta = layoutCost.cycleDelta(permutation, 0, 3, 5);
+        int slot = permutation[0];
+        permutation[0] = permutation[3];
+        permutation[3] = permutation[5];
+        permutation[5] = slot;
+
+        assertEquals("The delta should be the change of the cost.", layoutCost.cost(permutation) - cost, delta, 1e-9);
+    }
+}
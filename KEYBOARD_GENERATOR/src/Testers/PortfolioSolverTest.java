@@ -0,0 +1,98 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.PortfolioSolver;
+import Domain.QAPAlgorithm;
+import Domain.QAPIncumbent;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+/**
+ * Test class for the PortfolioSolver class.
+ */
+public class PortfolioSolverTest {
+
+    /**
+     * Test that the {@code solve} method of the PortfolioSolver class proves the optimality of the Keyboard when the
+     * characters fill the whole grid.
+     */
+    @Test
+    public void testSolveOptimal() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7},
+                {3, 0, 4, 1, 0, 2},
+                {1, 6, 0, 2, 3, 0},
+                {0, 2, 8, 0, 1, 4},
+                {5, 0, 1, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0}
+        };
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int initialBound = (int) (avaluator.avaluateKeyboard(greedyPositions, transitTable) * 100);
+        int[][] optimal = new QAPAlgorithm().getPositions(transitTable, greedyPositions, initialBound);
+
+        SolverResult result = new PortfolioSolver().solve(transitTable, new SolverBudget(10000, 0, 0));
+
+        assertTrue("The portfolio should prove that the Keyboard is optimal.", result.isOptimal());
+        assertEquals("The portfolio should find the optimal Keyboard.",
+                avaluator.getTotalCost(optimal, transitTable), result.getCost(), 1e-9);
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                avaluator.getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the {@code solve} method of the PortfolioSolver class stops at the deadline when the optimality cannot
+     * be proved.
+     */
+    @Test
+    public void testSolveDeadline() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1},
+                {3, 0, 4, 1, 0, 2, 6},
+                {1, 6, 0, 2, 3, 0, 2},
+                {0, 2, 8, 0, 1, 4, 0},
+                {5, 0, 1, 3, 0, 2, 3},
+                {2, 1, 0, 6, 4, 0, 1},
+                {4, 0, 2, 1, 0, 3, 0}
+        };
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+
+        SolverResult result = new PortfolioSolver().solve(transitTable, new SolverBudget(300, 0, 0));
+
+        assertFalse("The portfolio cannot prove optimality with empty slots.", result.isOptimal());
+        assertTrue("The portfolio should stop near the deadline.", result.getElapsedTime() < 2000);
+        assertTrue("The portfolio should not worsen the greedy Keyboard.",
+                result.getCost() <= avaluator.getTotalCost(greedyPositions, transitTable) + 1e-9);
+    }
+
+    /**
+     * Test that proving optimality stops the race but not the incumbent of the caller, which gets the best Keyboard
+     * and the work of the racers.
+     */
+    @Test
+    public void testSolveKeepsCallerRunning() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7},
+                {3, 0, 4, 1, 0, 2},
+                {1, 6, 0, 2, 3, 0},
+                {0, 2, 8, 0, 1, 4},
+                {5, 0, 1, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0}
+        };
+        QAPIncumbent incumbent = new QAPIncumbent();
+        PortfolioSolver portfolio = new PortfolioSolver(1L, 1);
+        portfolio.setIncumbent(incumbent);
+
+        SolverResult result = portfolio.solve(transitTable, new SolverBudget(10000, 0, 0));
+
+        assertTrue("The portfolio should prove that the Keyboard is optimal.", result.isOptimal());
+        assertFalse("The incumbent of the caller should not be stopped.", incumbent.isStopped());
+        assertEquals("The incumbent of the caller should get the best Keyboard.", result.getCost(), incumbent.getCost(), 1e-9);
+        assertTrue("The incumbent of the caller should get the work of the racers.", incumbent.getNodes() > 0);
+    }
+}
@@ -2,7 +2,13 @@ package Testers;
 
 import static org.junit.Assert.*;
 
+import Domain.BoundStrategy;
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
 import Domain.QAPAlgorithm;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import Domain.SolverStats;
 import org.junit.Test;
 
 /**
@@ -41,4 +47,233 @@ public class QAPAlgorithmTest {
         assertTrue("Result should have at least one row.", result.length > 0);
         assertTrue("Result should have at least one column.", result[0].length > 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that the parallel mode of the QAPAlgorithm finds a Keyboard as good as the sequential one.
+     */
+    @Test
+    public void testGetPositionsParallel() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7},
+                {3, 0, 4, 1, 0, 2},
+                {1, 6, 0, 2, 3, 0},
+                {0, 2, 8, 0, 1, 4},
+                {5, 0, 1, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0}
+        };
+        int[][] greedyPositions = {
+                {0, 1},
+                {2, 3},
+                {4, 5}
+        };
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        double initialBound = avaluator.getTotalCost(greedyPositions, transitTable);
+        SolverBudget budget = QAPAlgorithm.getDefaultBudget(transitTable.length);
+
+        int[][] sequential = new QAPAlgorithm().solve(transitTable, greedyPositions, initialBound, budget).getPositions();
+        int[][] parallel = new QAPAlgorithm(4).solve(transitTable, greedyPositions, initialBound, budget).getPositions();
+
+        assertEquals("Parallel search should find a Keyboard with the same cost.",
+                avaluator.avaluateKeyboard(sequential, transitTable),
+                avaluator.avaluateKeyboard(parallel, transitTable), 1e-9);
+    }
+
+    /**
+     * Test that bounding with the exact linear assignment finds a Keyboard as good as bounding with the row minimums,
+     * expanding fewer nodes of the tree of solutions.
+     */
+    @Test
+    public void testLinearAssignmentBound() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1},
+                {3, 0, 4, 1, 0, 2, 6},
+                {1, 6, 0, 2, 3, 0, 2},
+                {0, 2, 8, 0, 1, 4, 0},
+                {5, 0, 1, 3, 0, 2, 3},
+                {2, 1, 0, 6, 4, 0, 1},
+                {4, 0, 2, 1, 0, 3, 0}
+        };
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        double initialBound = avaluator.getTotalCost(greedyPositions, transitTable);
+        SolverBudget budget = QAPAlgorithm.getDefaultBudget(transitTable.length);
+
+        QAPAlgorithm rowMinimum = new QAPAlgorithm();
+        int[][] rowMinimumResult = rowMinimum.solve(transitTable, greedyPositions, initialBound, budget).getPositions();
+        QAPAlgorithm assignment = new QAPAlgorithm();
+        assignment.setBoundStrategy(BoundStrategy.LINEAR_ASSIGNMENT);
+        int[][] assignmentResult = assignment.solve(transitTable, greedyPositions, initialBound, budget).getPositions();
+
+        assertEquals("Both bounds should find a Keyboard with the same cost.",
+                avaluator.avaluateKeyboard(rowMinimumResult, transitTable),
+                avaluator.avaluateKeyboard(assignmentResult, transitTable), 1e-9);
+        assertTrue("The linear assignment bound should not expand more nodes.",
+                assignment.getExpandedNodes() <= rowMinimum.getExpandedNodes());
+    }
+
+    /**
+     * Test that the {@code solve} method stops when its node budget runs out, and proves optimality when the whole tree
+     * of solutions fits in the budget.
+     */
+    @Test
+    public void testSolveBudget() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1},
+                {3, 0, 4, 1, 0, 2, 6},
+                {1, 6, 0, 2, 3, 0, 2},
+                {0, 2, 8, 0, 1, 4, 0},
+                {5, 0, 1, 3, 0, 2, 3},
+                {2, 1, 0, 6, 4, 0, 1},
+                {4, 0, 2, 1, 0, 3, 0}
+        };
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        double initialBound = new KeyboardAvaluator().getTotalCost(greedyPositions, transitTable);
+
+        SolverResult limited = new QAPAlgorithm().solve(transitTable, greedyPositions, initialBound, new SolverBudget(0, 10, 0));
+        assertFalse("A search stopped by its budget should not be optimal.", limited.isOptimal());
+        assertTrue("The search should stop at the node budget.", limited.getNodes() <= 10);
+
+        SolverResult complete = new QAPAlgorithm().solve(transitTable, greedyPositions, initialBound, new SolverBudget(0, 0, 0));
+        assertTrue("A complete search should be optimal.", complete.isOptimal());
+        assertTrue("The root bound should not exceed the optimal cost.", complete.getRootBound() <= complete.getCost() + 1e-9);
+        assertTrue("The optimal cost should not exceed the budget-limited one.", complete.getCost() <= limited.getCost() + 1e-9);
+    }
+
+    /**
+     * Test that the pinned characters stay on their slots, that the search finds the best Keyboard with them, which is
+     * checked against every assignment of the other characters, and that it expands fewer nodes than without them.
+     */
+    @Test
+    public void testPinnedSlots() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1, 3, 0},
+                {3, 0, 4, 1, 0, 2, 6, 0, 2},
+                {1, 6, 0, 2, 3, 0, 2, 1, 4},
+                {0, 2, 8, 0, 1, 4, 0, 5, 1},
+                {5, 0, 1, 3, 0, 2, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0, 1, 2, 0},
+                {4, 0, 2, 1, 0, 3, 0, 1, 6},
+                {1, 3, 0, 2, 5, 0, 2, 0, 1},
+                {0, 2, 3, 0, 1, 4, 0, 3, 0}
+        };
+        int[] pinnedSlots = {8, -1, -1, -1, 0, -1, -1, -1, -1};
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable, pinnedSlots);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        double initialBound = avaluator.getTotalCost(greedyPositions, transitTable);
+
+        QAPAlgorithm pinned = new QAPAlgorithm();
+        pinned.setPinnedSlots(pinnedSlots);
+        SolverResult result = pinned.solve(transitTable, greedyPositions, initialBound, new SolverBudget(0, 0, 0));
+        assertTrue("A complete search should be optimal.", result.isOptimal());
+        assertEquals("The first pinned character should stay on its slot.", 0, result.getPositions()[2][2]);
+        assertEquals("The second pinned character should stay on its slot.", 4, result.getPositions()[0][0]);
+        assertTrue("The root bound should not exceed the optimal cost.", result.getRootBound() <= result.getCost() + 1e-9);
+
+        int[][] positions = new int[3][3];
+        positions[2][2] = 0;
+        positions[0][0] = 4;
+        boolean[] used = new boolean[9];
+        used[0] = used[4] = true;
+        double best = bestCost(transitTable, positions, used, 0, avaluator);
+        assertEquals("The search should find the best Keyboard with the pinned characters.", best, result.getCost(), 1e-6);
+
+        QAPAlgorithm free = new QAPAlgorithm();
+        free.solve(transitTable, new GreedyAlgorithm().getPositions(transitTable), initialBound, new SolverBudget(0, 0, 0));
+        assertTrue("Pinning characters should expand fewer nodes.", pinned.getExpandedNodes() < free.getExpandedNodes());
+    }
+
+    /**
+     * Test that breaking the symmetries of the grid keeps the optimal cost and expands fewer nodes.
+     */
+    @Test
+    public void testSymmetryBreaking() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1, 3, 0},
+                {3, 0, 4, 1, 0, 2, 6, 0, 2},
+                {1, 6, 0, 2, 3, 0, 2, 1, 4},
+                {0, 2, 8, 0, 1, 4, 0, 5, 1},
+                {5, 0, 1, 3, 0, 2, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0, 1, 2, 0},
+                {4, 0, 2, 1, 0, 3, 0, 1, 6},
+                {1, 3, 0, 2, 5, 0, 2, 0, 1},
+                {0, 2, 3, 0, 1, 4, 0, 3, 0}
+        };
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+
+        QAPAlgorithm broken = new QAPAlgorithm();
+        SolverResult result = broken.solve(transitTable, greedyPositions, Double.MAX_VALUE, new SolverBudget(0, 0, 0));
+        QAPAlgorithm full = new QAPAlgorithm();
+        full.setSymmetryBreaking(false);
+        SolverResult expected = full.solve(transitTable, greedyPositions, Double.MAX_VALUE, new SolverBudget(0, 0, 0));
+
+        assertTrue("A complete search should be optimal.", result.isOptimal());
+        assertEquals("Breaking the symmetries should keep the optimal cost.", expected.getCost(), result.getCost(), 1e-6);
+        assertEquals("The cost should be the one of the Keyboard.",
+                new KeyboardAvaluator().getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-6);
+        assertTrue("Breaking the symmetries should expand fewer nodes.", broken.getExpandedNodes() < full.getExpandedNodes());
+    }
+
+    /**
+     * Test that the statistics of a search count its nodes, prunes, bounds and improvements, on one and on several
+     * threads.
+     */
+    @Test
+    public void testSolverStats() {
+        int[][] transitTable = {
+                {0, 5, 1, 0, 2, 7, 1, 3, 0},
+                {3, 0, 4, 1, 0, 2, 6, 0, 2},
+                {1, 6, 0, 2, 3, 0, 2, 1, 4},
+                {0, 2, 8, 0, 1, 4, 0, 5, 1},
+                {5, 0, 1, 3, 0, 2, 3, 0, 2},
+                {2, 1, 0, 6, 4, 0, 1, 2, 0},
+                {4, 0, 2, 1, 0, 3, 0, 1, 6},
+                {1, 3, 0, 2, 5, 0, 2, 0, 1},
+                {0, 2, 3, 0, 1, 4, 0, 3, 0}
+        };
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+
+        for (int threads : new int[] {1, 4}) {
+            SolverResult result = new QAPAlgorithm(threads).solve(transitTable, greedyPositions, Double.MAX_VALUE, new SolverBudget(0, 0, 0));
+            SolverStats stats = result.getStats();
+            assertNotNull("The QAPAlgorithm should return its statistics.", stats);
+            assertEquals("The statistics should count the nodes of the result.", result.getNodes(), stats.getNodes());
+            assertEquals("There should be a count of pruned children per depth.", transitTable.length, stats.getPrunedPerDepth().length);
+            assertTrue("The search should prune some children.", stats.getPrunedNodes() > 0);
+            assertTrue("Every expanded node should have its bound calculated.", stats.getBoundEvaluations() >= stats.getNodes());
+            assertTrue("The time of the bounds should not be negative.", stats.getFirstTermNanos() >= 0 && stats.getSecondTermNanos() >= 0);
+            assertTrue("The search should improve the initial Keyboard.", stats.getImprovementCosts().length > 0);
+            assertEquals("The last improvement should be the Keyboard of the result.", result.getCost(),
+                    stats.getImprovementCosts()[stats.getImprovementCosts().length - 1], 1e-6);
+            for (int k = 1; k < stats.getImprovementCosts().length; ++k) {
+                assertTrue("Every improvement should lower the cost.", stats.getImprovementCosts()[k] < stats.getImprovementCosts()[k - 1]);
+            }
+            assertEquals("A complete search should have no gap.", 0, stats.getGap(), 0);
+            assertTrue("The statistics should be loggable.", stats.toString().startsWith("nodes=" + stats.getNodes()));
+        }
+    }
+
+    /**
+     * Gives the lowest cost of every assignment of the characters that are not pinned to the free slots, which are all
+     * the slots but the first and the last one.
+     *
+     * @param transitTable The matrix of the transits.
+     * @param positions    The positions of the characters, where the pinned characters and the ones already assigned are placed.
+     * @param used         Whether every character is already placed.
+     * @param slot         The first slot that may be free.
+     * @param avaluator    The evaluator of the Keyboards.
+     * @return The lowest cost.
+     */
+    private static double bestCost(int[][] transitTable, int[][] positions, boolean[] used, int slot, KeyboardAvaluator avaluator) {
+        while (slot < 9 && (slot == 0 || slot == 8)) ++slot;
+        if (slot == 9) return avaluator.getTotalCost(positions, transitTable);
+        double best = Double.POSITIVE_INFINITY;
+        for (int character = 0; character < 9; ++character) {
+            if (used[character]) continue;
+            used[character] = true;
+            positions[slot / 3][slot % 3] = character;
+            best = Math.min(best, bestCost(transitTable, positions, used, slot + 1, avaluator));
+            used[character] = false;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,129 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.BoundStrategy;
+import Domain.GreedyAlgorithm;
+import Domain.QAPAlgorithm;
+import Domain.QAPCheckpoint;
+import Domain.QAPCheckpointStore;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test class for the checkpoints of the QAPAlgorithm.
+ */
+public class QAPCheckpointTest {
+
+    /**
+     * A QAPCheckpointStore that keeps the bytes of the last checkpoint in memory.
+     */
+    private static class MemoryStore implements QAPCheckpointStore {
+        private byte[] data;
+        private boolean deleted;
+
+        @Override
+        public void save(QAPCheckpoint checkpoint) {
+            data = checkpoint.toBytes();
+            deleted = false;
+        }
+
+        @Override
+        public void delete() {
+            data = null;
+            deleted = true;
+        }
+    }
+
+    /**
+     * Gives a random transition matrix.
+     *
+     * @param numChars The number of characters.
+     * @param seed     The seed of the random number generator.
+     * @return The transits between every pair of characters.
+     */
+    private static int[][] randomTransits(int numChars, long seed) {
+        Random random = new Random(seed);
+        int[][] transitTable = new int[numChars][numChars];
+        for (int i = 0; i < numChars; ++i) {
+            for (int j = 0; j < numChars; ++j) {
+                if (i != j) transitTable[i][j] = random.nextInt(20);
+            }
+        }
+        return transitTable;
+    }
+
+    /**
+     * Test that a checkpoint keeps every field through its binary format.
+     */
+    @Test
+    public void testBytesRoundTrip() throws IOException {
+        int[][] transitTable = randomTransits(5, 1);
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(new int[] {1, 3, 0});
+        frontier.add(new int[] {0, 2});
+        QAPCheckpoint checkpoint = new QAPCheckpoint(transitTable, 3, 2, new int[] {-1, 4, -1, -1, -1},
+                BoundStrategy.LINEAR_ASSIGNMENT, false, new int[][] {{0, 1}, {2, 3}, {4, -2}}, 123.5, 456, 789, frontier);
+
+        QAPCheckpoint copy = QAPCheckpoint.fromBytes(checkpoint.toBytes());
+        assertTrue("The transits should be kept.", Arrays.deepEquals(transitTable, copy.getTransitTable()));
+        assertEquals("The rows should be kept.", 3, copy.getRows());
+        assertEquals("The columns should be kept.", 2, copy.getCols());
+        assertArrayEquals("The pinned slots should be kept.", new int[] {-1, 4, -1, -1, -1}, copy.getPinnedSlots());
+        assertEquals("The bound strategy should be kept.", BoundStrategy.LINEAR_ASSIGNMENT, copy.getBoundStrategy());
+        assertFalse("The symmetry breaking should be kept.", copy.isSymmetryBreaking());
+        assertTrue("The positions should be kept.", Arrays.deepEquals(new int[][] {{0, 1}, {2, 3}, {4, -2}}, copy.getPositions()));
+        assertEquals("The cost should be kept.", 123.5, copy.getCost(), 0);
+        assertEquals("The nodes should be kept.", 456, copy.getNodes());
+        assertEquals("The time should be kept.", 789, copy.getElapsedTime());
+        assertEquals("The frontier should be kept.", 2, copy.getFrontier().size());
+        assertArrayEquals("The subtrees should be kept.", new int[] {1, 3, 0}, copy.getFrontier().get(0));
+    }
+
+    /**
+     * Test that bytes which are not a checkpoint are rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testFromBytesRejectsOtherData() throws IOException {
+        QAPCheckpoint.fromBytes(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    }
+
+    /**
+     * Test that a search stopped by its budget and resumed from its checkpoints finds the cost of the uninterrupted
+     * search, and that the checkpoint is deleted when the whole tree has been explored.
+     */
+    @Test
+    public void testResumeReachesOptimum() throws IOException {
+        int[][] transitTable = randomTransits(9, 7);
+        int[][] greedy = new GreedyAlgorithm().getPositions(transitTable);
+        SolverResult reference = new QAPAlgorithm().solve(transitTable, greedy, Double.MAX_VALUE, new SolverBudget(0, 0, 0));
+        assertTrue("The uninterrupted search should be complete.", reference.isOptimal());
+
+        MemoryStore store = new MemoryStore();
+        QAPAlgorithm qap = new QAPAlgorithm();
+        qap.setCheckpointStore(store, 0);
+        long step = Math.max(50, reference.getNodes() / 5);
+        SolverResult result = qap.solve(transitTable, greedy, Double.MAX_VALUE, new SolverBudget(0, step, 0));
+        assertFalse("The search should be stopped by its budget.", result.isOptimal());
+        assertNotNull("A stopped search should save a checkpoint.", store.data);
+
+        int resumes = 0;
+        while (!result.isOptimal() && resumes < 100) {
+            QAPAlgorithm resumed = new QAPAlgorithm();
+            resumed.setCheckpointStore(store, 0);
+            result = resumed.resume(QAPCheckpoint.fromBytes(store.data), new SolverBudget(0, step, 0));
+            ++resumes;
+        }
+        assertTrue("The resumed search should be complete.", result.isOptimal());
+        assertTrue("The checkpoint of a complete search should be deleted.", store.deleted);
+        assertEquals("The resumed search should find the optimal cost.", reference.getCost(), result.getCost(), 1e-6);
+        assertTrue("The nodes of the previous searches should be counted.", result.getNodes() >= reference.getNodes() / 2);
+    }
+}
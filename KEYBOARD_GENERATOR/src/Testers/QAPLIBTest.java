@@ -0,0 +1,164 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.AlgorithmController;
+import Domain.AlgorithmParameters;
+import Domain.QAPBenchmark;
+import Domain.QAPBenchmarkResult;
+import Domain.QAPInstance;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import Exceptions.IncorrectType;
+import Model.Pair;
+import Persistence.QAPLIBController;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Test class for the instances of QAPLIB and the QAPBenchmark.
+ */
+public class QAPLIBTest {
+
+    /**
+     * An instance of size 4 whose second matrix is symmetric, split over lines as in QAPLIB.
+     */
+    private static final String INSTANCE = "4\n\n 0 3 0 2\n 3 0 0 1\n 0 0 0 4\n 2 1 4 0\n\n 0 1 2 3\n 1 0 1 2\n 2 1 0 1\n 3 2 1\n 0\n";
+
+    /**
+     * Writes a temporary file.
+     *
+     * @param suffix  The extension of the file.
+     * @param content The content of the file.
+     * @return The path of the file, which is deleted when the JVM exits.
+     */
+    private static String writeTemporary(String suffix, String content) throws IOException {
+        File file = File.createTempFile("qaplib", suffix);
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), content);
+        return file.getPath();
+    }
+
+    /**
+     * Finds the optimal cost of an instance by trying every permutation.
+     *
+     * @param first  The first matrix.
+     * @param second The second matrix.
+     * @return The optimal cost of the instance in the form of QAPLIB.
+     */
+    private static long bruteForce(int[][] first, int[][] second) {
+        int[] permutation = new int[first.length];
+        for (int i = 0; i < permutation.length; ++i) permutation[i] = i;
+        return bruteForce(first, second, permutation, 0);
+    }
+
+    /**
+     * Finds the optimal cost of the permutations that keep the first locations of the given one.
+     *
+     * @param first       The first matrix.
+     * @param second      The second matrix.
+     * @param permutation The location of every facility, whose first k locations are kept.
+     * @param k           The number of locations kept.
+     * @return The optimal cost of those permutations.
+     */
+    private static long bruteForce(int[][] first, int[][] second, int[] permutation, int k) {
+        if (k == permutation.length) {
+            long cost = 0;
+            for (int i = 0; i < permutation.length; ++i) {
+                for (int j = 0; j < permutation.length; ++j) cost += (long) first[i][j] * second[permutation[i]][permutation[j]];
+            }
+            return cost;
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = k; i < permutation.length; ++i) {
+            int swap = permutation[k]; permutation[k] = permutation[i]; permutation[i] = swap;
+            best = Math.min(best, bruteForce(first, second, permutation, k + 1));
+            swap = permutation[k]; permutation[k] = permutation[i]; permutation[i] = swap;
+        }
+        return best;
+    }
+
+    /**
+     * Test that an instance and its solution are read whatever the whitespace, with the locations starting from 0.
+     */
+    @Test
+    public void testReadInstanceAndSolution() throws IOException {
+        QAPLIBController controller = new QAPLIBController();
+        Pair<int[][], int[][]> matrices = controller.readInstance(writeTemporary(".dat", INSTANCE));
+        assertEquals("The first matrix should have the size of the instance.", 4, matrices.getFirst().length);
+        assertArrayEquals("The first matrix should be read row by row.", new int[] {2, 1, 4, 0}, matrices.getFirst()[3]);
+        assertArrayEquals("The rows may span several lines.", new int[] {3, 2, 1, 0}, matrices.getSecond()[3]);
+
+        String path = writeTemporary(".sln", "4 22\n 3 4 2 1\n");
+        Pair<Long, int[]> solution = controller.readSolution(path);
+        assertEquals("The cost should be read.", Long.valueOf(22), solution.getFirst());
+        assertArrayEquals("The locations should start from 0.", new int[] {2, 3, 1, 0}, solution.getSecond());
+        assertNull("A missing solution should be null.", controller.readSolution(path + ".missing"));
+    }
+
+    /**
+     * Test that a truncated instance is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testReadTruncatedInstance() throws IOException {
+        new QAPLIBController().readInstance(writeTemporary(".dat", "3\n 0 1 2\n 1 0 3\n"));
+    }
+
+    /**
+     * Test that the cost of the instance is the one of QAPLIB, also when the first matrix gives the distances.
+     */
+    @Test
+    public void testCostKeepsRoles() throws IncorrectType {
+        int[][] flow = {{0, 5, 2}, {1, 0, 3}, {4, 0, 0}};
+        int[][] distances = {{0, 2, 7}, {2, 0, 1}, {7, 1, 0}};
+        int[] permutation = {1, 2, 0};
+        long cost = 0;
+        for (int i = 0; i < 3; ++i) {
+            for (int j = 0; j < 3; ++j) cost += (long) flow[i][j] * distances[permutation[i]][permutation[j]];
+        }
+
+        QAPInstance instance = QAPInstance.fromMatrices("direct", flow, distances, cost, permutation);
+        assertEquals("The cost should be the one of QAPLIB.", cost, instance.getCost(instance.toPositions(permutation)), 1e-9);
+
+        // The same problem with the matrices exchanged, whose solution is the inverse permutation
+        int[] inverse = new int[3];
+        for (int i = 0; i < 3; ++i) inverse[permutation[i]] = i;
+        QAPInstance swapped = QAPInstance.fromMatrices("swapped", distances, flow, cost, inverse);
+        assertArrayEquals("The best known permutation should be inverted.", permutation, swapped.getBestKnownPermutation());
+        assertEquals("The cost should be kept.", cost, swapped.getCost(swapped.toPositions(permutation)), 1e-9);
+    }
+
+    /**
+     * Test that an instance without a symmetric matrix is rejected.
+     */
+    @Test(expected = IncorrectType.class)
+    public void testRejectAsymmetricInstance() throws IncorrectType {
+        int[][] asymmetric = {{0, 1}, {2, 0}};
+        QAPInstance.fromMatrices("asymmetric", asymmetric, asymmetric, null, null);
+    }
+
+    /**
+     * Test that the QAP with the distances of an instance finds its optimum, and that an algorithm that cannot use
+     * them is not run.
+     */
+    @Test
+    public void testQAPReachesOptimum() throws IOException, IncorrectType {
+        Pair<int[][], int[][]> matrices = new QAPLIBController().readInstance(writeTemporary(".dat", INSTANCE));
+        long optimum = bruteForce(matrices.getFirst(), matrices.getSecond());
+        QAPInstance instance = QAPInstance.fromMatrices("test", matrices.getFirst(), matrices.getSecond(), optimum, null);
+
+        QAPBenchmarkResult result = new QAPBenchmark().run(instance, "QAP", 10000);
+        assertTrue("The QAP should prove the optimum.", result.isOptimal());
+        assertEquals("The QAP should find the optimum.", optimum, result.getCost(), 1e-9);
+        assertEquals("The gap should be 0.", 0, result.getGap(), 1e-12);
+        assertTrue("The optimum should be reached.", result.getTimeToTarget() >= 0);
+
+        AlgorithmParameters parameters = new AlgorithmParameters(new SolverBudget(1000, 0, 0));
+        parameters.setDistances(instance.getDistances());
+        SolverResult greedy = new AlgorithmController().useAlgorithm(instance.getTransitTable(), "Greedy", parameters, null);
+        assertEquals("The Greedy cannot use the distances.", -1, greedy.getPositions()[0][0]);
+    }
+}
@@ -0,0 +1,109 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.Alphabet;
+import Domain.Keyboard;
+import Domain.KeyboardController;
+import Domain.QAPIncumbent;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import Domain.TransitionMatrix;
+import Exceptions.IncorrectType;
+import Exceptions.NotContainsKey;
+import Model.Pair;
+import org.junit.Test;
+
+import java.util.Vector;
+
+/**
+ * Test class for the reoptimization of an existing Keyboard by the KeyboardController.
+ */
+public class ReoptimizeKeyboardTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7, 1},
+            {3, 0, 4, 1, 0, 2, 6},
+            {1, 6, 0, 2, 3, 0, 2},
+            {0, 2, 8, 0, 1, 4, 0},
+            {5, 0, 1, 3, 0, 2, 3},
+            {2, 1, 0, 6, 4, 0, 1},
+            {4, 0, 2, 1, 0, 3, 0}
+    };
+
+    private final Alphabet alphabet = new Alphabet("abc", new char[]{'a', 'b', 'c', 'd', 'e', 'f', 'g'});
+
+    private final TransitionMatrix transitionMatrix = new TransitionMatrix("tm", alphabet, transitTable);
+
+    /**
+     * Test that a modified Keyboard is improved from its own distribution, and that its cost seeds the incumbent.
+     */
+    @Test
+    public void testReoptimize() throws Exception {
+        Vector<Pair<String, char[][]>> boards = new Vector<>();
+        boards.add(new Pair<>("k", new char[][] {{'G', 'F'}, {'E', 'D'}, {'C', 'B'}, {'A', ' '}}));
+        KeyboardController controller = new KeyboardController(boards);
+        double before = controller.evaluateKeyboard(controller.getKeyboard("k"), transitionMatrix);
+
+        QAPIncumbent incumbent = new QAPIncumbent();
+        SolverResult result = controller.reoptimizeKeyboard("k", transitionMatrix, "QAP", new SolverBudget(0, 0, 0), incumbent);
+        assertTrue("The reoptimized Keyboard should be optimal.", result.isOptimal());
+        assertEquals("The result should be the best Keyboard of the incumbent.", incumbent.getCost(), result.getCost(), 1e-9);
+
+        Keyboard keyboard = controller.getKeyboard("k");
+        assertEquals("The shape of the Keyboard should be kept.", 4, keyboard.getDistribution().length);
+        double after = controller.evaluateKeyboard(keyboard, transitionMatrix);
+        assertTrue("The stored Keyboard should not be worse.", after <= before + 1e-9);
+    }
+
+    /**
+     * Test that an algorithm that does not improve the initial Keyboard never replaces it with a worse one.
+     */
+    @Test
+    public void testNeverWorse() throws Exception {
+        KeyboardController controller = new KeyboardController(new Vector<Pair<String, char[][]>>());
+        controller.createKeyboard("k", transitionMatrix, alphabet, "QAP", new SolverBudget(0, 0, 0));
+        char[][] optimal = controller.getKeyboardDistribution("k");
+        SolverResult optimum = controller.reoptimizeKeyboard("k", transitionMatrix, "QAP", new SolverBudget(0, 0, 0), null);
+
+        SolverResult result = controller.reoptimizeKeyboard("k", transitionMatrix, "Greedy", null, null);
+        assertEquals("The optimal Keyboard should be kept.", optimum.getCost(), result.getCost(), 1e-9);
+        assertArrayEquals("The distribution should not change.", optimal, controller.getKeyboardDistribution("k"));
+    }
+
+    /**
+     * Builds a KeyboardController with a Keyboard that lacks a character of the Alphabet and one with another shape.
+     *
+     * @return The KeyboardController.
+     */
+    private static KeyboardController incorrectKeyboards() {
+        Vector<Pair<String, char[][]>> boards = new Vector<>();
+        boards.add(new Pair<>("missing", new char[][] {{'G', 'F'}, {'E', 'D'}, {'C', 'B'}, {'X', ' '}}));
+        boards.add(new Pair<>("shape", new char[][] {{'A', 'B', 'C', 'D'}, {'E', 'F', 'G', ' '}}));
+        return new KeyboardController(boards);
+    }
+
+    /**
+     * Test that a Keyboard that lacks a character of the Alphabet is rejected.
+     */
+    @Test(expected = IncorrectType.class)
+    public void testMissingCharacter() throws Exception {
+        incorrectKeyboards().reoptimizeKeyboard("missing", transitionMatrix, "Tabu", null, null);
+    }
+
+    /**
+     * Test that a Keyboard that does not have the shape of the grid of the algorithms is rejected.
+     */
+    @Test(expected = IncorrectType.class)
+    public void testIncorrectShape() throws Exception {
+        incorrectKeyboards().reoptimizeKeyboard("shape", transitionMatrix, "Tabu", null, null);
+    }
+
+    /**
+     * Test that a Keyboard that does not exist is rejected.
+     */
+    @Test(expected = NotContainsKey.class)
+    public void testNotContainsKey() throws Exception {
+        incorrectKeyboards().reoptimizeKeyboard("none", transitionMatrix, "Tabu", null, null);
+    }
+}
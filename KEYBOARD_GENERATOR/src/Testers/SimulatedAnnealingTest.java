@@ -0,0 +1,62 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.QAPAlgorithm;
+import Domain.SimulatedAnnealing;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import org.junit.Test;
+
+/**
+ * Test class for the SimulatedAnnealing class.
+ */
+public class SimulatedAnnealingTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7},
+            {3, 0, 4, 1, 0, 2},
+            {1, 6, 0, 2, 3, 0},
+            {0, 2, 8, 0, 1, 4},
+            {5, 0, 1, 3, 0, 2},
+            {2, 1, 0, 6, 4, 0}
+    };
+
+    /**
+     * Test that the {@code solve} method of the SimulatedAnnealing class finds the optimal Keyboard of a small
+     * TransitionMatrix.
+     */
+    @Test
+    public void testSolve() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int initialBound = (int) (avaluator.avaluateKeyboard(greedyPositions, transitTable) * 100);
+        int[][] optimal = new QAPAlgorithm().getPositions(transitTable, greedyPositions, initialBound);
+
+        SolverResult result = new SimulatedAnnealing(1).solve(transitTable, greedyPositions, new SolverBudget(0, 100000, 0));
+
+        assertEquals("Simulated annealing should find the optimal Keyboard.",
+                avaluator.avaluateKeyboard(optimal, transitTable),
+                avaluator.avaluateKeyboard(result.getPositions(), transitTable), 1e-9);
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                avaluator.getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the {@code solve} method of the SimulatedAnnealing class respects the node limit and is reproducible
+     * with the same seed.
+     */
+    @Test
+    public void testSolveSeed() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        SolverBudget budget = new SolverBudget(0, 500, 0);
+
+        SolverResult first = new SimulatedAnnealing(7).solve(transitTable, greedyPositions, budget);
+        SolverResult second = new SimulatedAnnealing(7).solve(transitTable, greedyPositions, budget);
+
+        assertEquals("Simulated annealing should stop at the node limit.", 500, first.getNodes());
+        assertArrayEquals("The same seed should give the same Keyboard.", first.getPositions(), second.getPositions());
+    }
+}
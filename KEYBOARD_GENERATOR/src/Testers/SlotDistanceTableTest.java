@@ -0,0 +1,36 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.SlotDistanceTable;
+import org.junit.Test;
+
+/**
+ * Test class for the SlotDistanceTable class.
+ */
+public class SlotDistanceTableTest {
+
+    /**
+     * Test that the {@code distance} method gives the distance between the keys of a non-square grid.
+     */
+    @Test
+    public void testDistance() {
+        SlotDistanceTable table = SlotDistanceTable.get(4, 3);
+
+        assertEquals("The grid should have 12 slots.", 12, table.getSlots());
+        // Slot 1 is (0, 1) and slot 11 is (3, 2)
+        assertEquals("The distance should follow the key distance formula.",
+                Math.sqrt(Math.pow(2, 3) + Math.pow(2, 1)), table.distance(1, 11), 1e-12);
+        assertEquals("The distance should be symmetric.", table.distance(1, 11), table.distance(11, 1), 0);
+        assertEquals("The distance of a slot to itself should be 0.", 0, table.distance(5, 5), 0);
+    }
+
+    /**
+     * Test that the tables are shared for the same grid shape.
+     */
+    @Test
+    public void testGetCached() {
+        assertSame("The same grid shape should give the same table.", SlotDistanceTable.get(5, 4), SlotDistanceTable.get(5, 4));
+        assertNotSame("Different grid shapes should give different tables.", SlotDistanceTable.get(5, 4), SlotDistanceTable.get(4, 5));
+    }
+}
@@ -0,0 +1,62 @@
+package Testers;
+
+import static org.junit.Assert.*;
+
+import Domain.GreedyAlgorithm;
+import Domain.KeyboardAvaluator;
+import Domain.QAPAlgorithm;
+import Domain.SolverBudget;
+import Domain.SolverResult;
+import Domain.TabuSearch;
+import org.junit.Test;
+
+/**
+ * Test class for the TabuSearch class.
+ */
+public class TabuSearchTest {
+
+    private final int[][] transitTable = {
+            {0, 5, 1, 0, 2, 7},
+            {3, 0, 4, 1, 0, 2},
+            {1, 6, 0, 2, 3, 0},
+            {0, 2, 8, 0, 1, 4},
+            {5, 0, 1, 3, 0, 2},
+            {2, 1, 0, 6, 4, 0}
+    };
+
+    /**
+     * Test that the {@code solve} method of the TabuSearch class finds the optimal Keyboard of a small TransitionMatrix.
+     */
+    @Test
+    public void testSolve() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+        int initialBound = (int) (avaluator.avaluateKeyboard(greedyPositions, transitTable) * 100);
+        int[][] optimal = new QAPAlgorithm().getPositions(transitTable, greedyPositions, initialBound);
+
+        SolverResult result = new TabuSearch(1).solve(transitTable, greedyPositions, new SolverBudget(0, 1000, 0));
+
+        assertEquals("Tabu search should find the optimal Keyboard.",
+                avaluator.avaluateKeyboard(optimal, transitTable),
+                avaluator.avaluateKeyboard(result.getPositions(), transitTable), 1e-9);
+        assertEquals("The cost of the result should be the one of its Keyboard.",
+                avaluator.getTotalCost(result.getPositions(), transitTable), result.getCost(), 1e-9);
+    }
+
+    /**
+     * Test that the {@code solve} method of the TabuSearch class respects the node limit and never worsens the initial
+     * Keyboard.
+     */
+    @Test
+    public void testSolveBudget() {
+        int[][] greedyPositions = new GreedyAlgorithm().getPositions(transitTable);
+        KeyboardAvaluator avaluator = new KeyboardAvaluator();
+
+        SolverResult result = new TabuSearch(1).solve(transitTable, greedyPositions, new SolverBudget(0, 10, 0));
+
+        assertEquals("Tabu search should stop at the node limit.", 10, result.getNodes());
+        assertTrue("Tabu search should not worsen the initial Keyboard.",
+                result.getCost() <= avaluator.getTotalCost(greedyPositions, transitTable) + 1e-9);
+        assertFalse("Tabu search cannot prove optimality.", result.isOptimal());
+    }
+}
@@ -1,6 +1,7 @@
 package Testers;
 
 import Domain.Alphabet;
+import Domain.FlowMatrix;
 import Domain.TransitionMatrix;
 import org.junit.Before;
 import org.junit.Test;
@@ -56,4 +57,25 @@ public class TransitionMatrixTest {
         transitionMatrix.setAlphabet(alphabet);
         assertEquals(alphabet, transitionMatrix.getAlphabet());
     }
+
+    /**
+     * Test that the flow adds the transits in both directions, leaves the diagonal at 0, keeps the row sums, and is
+     * recomputed when the TransitionMatrix is replaced.
+     */
+    @Test
+    public void testGetFlowMatrix() {
+        TransitionMatrix transitionMatrix = new TransitionMatrix("TestId", alphabet, new int[][] {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}});
+        FlowMatrix flowMatrix = transitionMatrix.getFlowMatrix();
+        assertSame(flowMatrix, transitionMatrix.getFlowMatrix());
+        assertEquals(6, flowMatrix.getFlow(0, 1));
+        assertEquals(6, flowMatrix.getFlow(1, 0));
+        assertEquals(14, flowMatrix.getFlow(1, 2));
+        assertEquals(0, flowMatrix.getFlow(2, 2));
+        assertEquals(6, flowMatrix.getRowSum(0));
+        assertEquals(24, flowMatrix.getRowSum(2));
+
+        transitionMatrix.setTransitionMatrix(new int[][] {{0, 1}, {0, 0}});
+        assertEquals(2, transitionMatrix.getFlowMatrix().getSize());
+        assertEquals(1, transitionMatrix.getFlowMatrix().getFlow(1, 0));
+    }
 }